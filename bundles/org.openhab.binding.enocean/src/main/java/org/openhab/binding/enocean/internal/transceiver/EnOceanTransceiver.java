@@ -15,17 +15,22 @@ package org.openhab.binding.enocean.internal.transceiver;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Queue;
+import java.util.Set;
 import java.util.TooManyListenersException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.io.IOUtils;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.util.HexUtils;
 import org.eclipse.smarthome.io.transport.serial.PortInUseException;
 import org.eclipse.smarthome.io.transport.serial.SerialPort;
@@ -51,6 +56,15 @@ public abstract class EnOceanTransceiver implements SerialPortEventListener {
 
     public static final int ENOCEAN_MAX_DATA = 65790;
 
+    // Bytes which are read from the serial port at once
+    private static final int READ_BUFFER_SIZE = 256;
+
+    // Telegrams which are waiting for their listeners. When full, the oldest telegram is dropped, so reading from the
+    // gateway never waits for the listeners.
+    static final int MAX_PENDING_TELEGRAMS = 256;
+
+    private static final String THREAD_POOL_NAME = "enocean";
+
     // Thread management
     protected Future<?> readingTask = null;
     private Future<?> timeOut = null;
@@ -140,8 +154,14 @@ public abstract class EnOceanTransceiver implements SerialPortEventListener {
     RequestQueue requestQueue;
     Request currentRequest = null;
 
-    protected Map<Long, HashSet<PacketListener>> listeners;
-    protected PacketListener teachInListener;
+    protected Map<Long, Set<PacketListener>> listeners;
+    protected volatile PacketListener teachInListener;
+
+    // Listeners are called on a pool thread, so a slow thing handler does not stall reading from the gateway.
+    // Only one pool thread at a time works off the notifications, which keeps the telegrams in order.
+    private final BlockingQueue<Runnable> notifications = new ArrayBlockingQueue<>(MAX_PENDING_TELEGRAMS);
+    private final AtomicBoolean notifying = new AtomicBoolean();
+    private final AtomicLong droppedTelegrams = new AtomicLong();
 
     protected InputStream inputStream;
     protected OutputStream outputStream;
@@ -154,7 +174,7 @@ public abstract class EnOceanTransceiver implements SerialPortEventListener {
 
         requestQueue = new RequestQueue(scheduler);
 
-        listeners = new HashMap<>();
+        listeners = new ConcurrentHashMap<>();
         teachInListener = null;
 
         this.errorListener = errorListener;
@@ -220,6 +240,7 @@ public abstract class EnOceanTransceiver implements SerialPortEventListener {
 
         readingTask = null;
         timeOut = null;
+        notifications.clear();
         listeners.clear();
         teachInListener = null;
         errorListener = null;
@@ -246,18 +267,28 @@ public abstract class EnOceanTransceiver implements SerialPortEventListener {
     }
 
     private void receivePackets() {
-        byte[] buffer = new byte[1];
+        byte[] buffer = new byte[READ_BUFFER_SIZE];
 
         while (readingTask != null && !readingTask.isCancelled()) {
 
-            int bytesRead = read(buffer, 1);
+            int bytesRead = read(buffer, buffer.length);
             if (bytesRead > 0) {
-                processMessage(buffer[0]);
+                processMessage(buffer, bytesRead);
+            } else if (bytesRead == -1 && readingTask != null && !readingTask.isCancelled()) {
+                errorListener.ErrorOccured(new IOException("could not read from inputstream"));
+                return;
             }
         }
     }
 
-    protected abstract void processMessage(byte firstByte);
+    /**
+     * Decodes the next bytes received from the gateway. Packets may span several calls, so the decoder keeps its
+     * state between them.
+     *
+     * @param buffer the received bytes
+     * @param length the number of valid bytes in the buffer
+     */
+    protected abstract void processMessage(byte[] buffer, int length);
 
     protected int read(byte[] buffer, int length) {
         try {
@@ -279,10 +310,11 @@ public abstract class EnOceanTransceiver implements SerialPortEventListener {
                     return;
                 }
 
-                if (teachInListener != null) {
+                PacketListener teachIn = teachInListener;
+                if (teachIn != null) {
                     if (msg.getIsTeachIn() || (msg.getRORG() == RORG.RPS)) {
                         logger.info("Received teach in message from {}", HexUtils.bytesToHex(msg.getSenderId()));
-                        teachInListener.packetReceived(msg);
+                        dispatch(() -> teachIn.packetReceived(msg));
                         return;
                     }
                 } else {
@@ -293,10 +325,9 @@ public abstract class EnOceanTransceiver implements SerialPortEventListener {
                     }
                 }
 
-                long s = Long.parseLong(HexUtils.bytesToHex(senderId), 16);
-                HashSet<PacketListener> pl = listeners.get(s);
+                Set<PacketListener> pl = listeners.get(toLong(senderId));
                 if (pl != null) {
-                    pl.forEach(l -> l.packetReceived(msg));
+                    dispatch(() -> pl.forEach(l -> l.packetReceived(msg)));
                 }
             }
         } catch (Exception e) {
@@ -304,6 +335,50 @@ public abstract class EnOceanTransceiver implements SerialPortEventListener {
         }
     }
 
+    private void dispatch(Runnable notification) {
+        while (!notifications.offer(notification)) {
+            if (notifications.poll() != null) {
+                long dropped = droppedTelegrams.incrementAndGet();
+                // log the 1st, 2nd, 4th, 8th... dropped telegram to not flood the log while listeners are behind
+                if (Long.bitCount(dropped) == 1) {
+                    logger.warn("Listeners are {} telegrams behind, dropped the oldest one ({} dropped in total)",
+                            MAX_PENDING_TELEGRAMS, dropped);
+                }
+            }
+        }
+        if (notifying.compareAndSet(false, true)) {
+            ThreadPoolManager.getPool(THREAD_POOL_NAME).execute(this::notifyListeners);
+        }
+    }
+
+    // Number of telegrams dropped because the listeners were too slow
+    long getDroppedTelegrams() {
+        return droppedTelegrams.get();
+    }
+
+    private void notifyListeners() {
+        do {
+            Runnable notification;
+            while ((notification = notifications.poll()) != null) {
+                try {
+                    notification.run();
+                } catch (Exception e) {
+                    logger.error("Exception in informListeners", e);
+                }
+            }
+            notifying.set(false);
+            // a notification may have been queued after the queue was found empty
+        } while (!notifications.isEmpty() && notifying.compareAndSet(false, true));
+    }
+
+    private static long toLong(byte[] senderId) {
+        long result = 0;
+        for (byte b : senderId) {
+            result = (result << 8) | (b & 0xFF);
+        }
+        return result;
+    }
+
     protected void handleResponse(Response response) throws IOException {
         if (currentRequest != null) {
             if (currentRequest.ResponseListener != null) {
@@ -344,19 +419,20 @@ public abstract class EnOceanTransceiver implements SerialPortEventListener {
 
     public void addPacketListener(PacketListener listener, long senderIdToListenTo) {
 
-        if (listeners.computeIfAbsent(senderIdToListenTo, k -> new HashSet<>()).add(listener)) {
-            logger.debug("Listener added: {}", senderIdToListenTo);
-        }
+        listeners.compute(senderIdToListenTo, (id, pl) -> {
+            Set<PacketListener> result = pl != null ? pl : ConcurrentHashMap.newKeySet();
+            if (result.add(listener)) {
+                logger.debug("Listener added: {}", id);
+            }
+            return result;
+        });
     }
 
     public void removePacketListener(PacketListener listener, long senderIdToListenTo) {
-        HashSet<PacketListener> pl = listeners.get(senderIdToListenTo);
-        if (pl != null) {
+        listeners.computeIfPresent(senderIdToListenTo, (id, pl) -> {
             pl.remove(listener);
-            if (pl.isEmpty()) {
-                listeners.remove(senderIdToListenTo);
-            }
-        }
+            return pl.isEmpty() ? null : pl;
+        });
     }
 
     public void startDiscovery(PacketListener teachInListener) {
@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.enocean.internal.transceiver;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.smarthome.io.transport.serial.SerialPortManager;
+import org.junit.Test;
+import org.openhab.binding.enocean.internal.messages.BasePacket;
+import org.openhab.binding.enocean.internal.messages.ERP1Message;
+
+/**
+ * Tests that slow listeners don't stall receiving telegrams
+ *
+ * @author agent - Initial contribution
+ */
+public class EnOceanTransceiverTest {
+
+    private static final long SENDER_ID = 0x01020304L;
+
+    private static class TestTransceiver extends EnOceanTransceiver {
+
+        public TestTransceiver() {
+            super("/dev/null", mock(TransceiverErrorListener.class), mock(ScheduledExecutorService.class),
+                    mock(SerialPortManager.class));
+        }
+
+        @Override
+        protected void processMessage(byte[] buffer, int length) {
+        }
+
+        @Override
+        protected byte[] serializePacket(BasePacket packet) {
+            return new byte[0];
+        }
+    }
+
+    private static class SlowListener implements PacketListener {
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch proceed = new CountDownLatch(1);
+        private final List<BasePacket> received = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void packetReceived(BasePacket packet) {
+            entered.countDown();
+            try {
+                proceed.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            received.add(packet);
+        }
+
+        @Override
+        public long getSenderIdToListenTo() {
+            return SENDER_ID;
+        }
+    }
+
+    private static ERP1Message telegram() {
+        ERP1Message msg = mock(ERP1Message.class);
+        when(msg.getSenderId()).thenReturn(new byte[] { 0x01, 0x02, 0x03, 0x04 });
+        when(msg.getIsTeachIn()).thenReturn(false);
+        return msg;
+    }
+
+    @Test
+    public void slowListenerDoesNotStallReceiving() throws InterruptedException {
+        TestTransceiver transceiver = new TestTransceiver();
+        SlowListener listener = new SlowListener();
+        transceiver.addPacketListener(listener, SENDER_ID);
+
+        ERP1Message first = telegram();
+        transceiver.informListeners(first);
+        assertThat(listener.entered.await(5, TimeUnit.SECONDS), is(true));
+
+        // the listener is stuck with the first telegram, more telegrams than fit in the queue arrive meanwhile
+        int overflow = 10;
+        ERP1Message[] telegrams = new ERP1Message[EnOceanTransceiver.MAX_PENDING_TELEGRAMS + overflow];
+        for (int i = 0; i < telegrams.length; i++) {
+            telegrams[i] = telegram();
+        }
+        long start = System.nanoTime();
+        for (ERP1Message msg : telegrams) {
+            transceiver.informListeners(msg);
+        }
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000, is(true));
+        assertThat(transceiver.getDroppedTelegrams(), is(equalTo((long) overflow)));
+
+        listener.proceed.countDown();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (listener.received.size() < EnOceanTransceiver.MAX_PENDING_TELEGRAMS + 1
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        // the oldest telegrams were dropped, the latest ones are delivered in order
+        assertThat(listener.received.size(), is(equalTo(EnOceanTransceiver.MAX_PENDING_TELEGRAMS + 1)));
+        assertThat(listener.received.get(0), is(sameInstance(first)));
+        assertThat(listener.received.get(1), is(sameInstance(telegrams[overflow])));
+        assertThat(listener.received.get(listener.received.size() - 1),
+                is(sameInstance(telegrams[telegrams.length - 1])));
+    }
+}
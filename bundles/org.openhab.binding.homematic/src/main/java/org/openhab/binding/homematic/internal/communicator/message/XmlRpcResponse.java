@@ -37,6 +37,10 @@ import org.xml.sax.helpers.DefaultHandler;
  * @author Gerhard Riegler - Initial contribution
  */
 public class XmlRpcResponse implements RpcResponse {
+    private static final SAXParserFactory SAX_PARSER_FACTORY = SAXParserFactory.newInstance();
+    // SAXParser is not thread safe, each thread reuses its own parser
+    private static final ThreadLocal<SAXParser> SAX_PARSER = new ThreadLocal<>();
+
     private String methodName;
     private Object[] responseData;
 
@@ -45,11 +49,28 @@ public class XmlRpcResponse implements RpcResponse {
      */
     public XmlRpcResponse(InputStream is, String encoding)
             throws SAXException, ParserConfigurationException, IOException {
-        SAXParserFactory factory = SAXParserFactory.newInstance();
-        SAXParser saxParser = factory.newSAXParser();
+        SAXParser saxParser = getSaxParser();
         InputSource inputSource = new InputSource(is);
         inputSource.setEncoding(encoding);
-        saxParser.parse(inputSource, new XmlRpcHandler());
+        try {
+            saxParser.parse(inputSource, new XmlRpcHandler());
+        } finally {
+            saxParser.reset();
+        }
+    }
+
+    /**
+     * Returns the parser of the current thread, it is created once per thread.
+     */
+    private static SAXParser getSaxParser() throws SAXException, ParserConfigurationException {
+        SAXParser saxParser = SAX_PARSER.get();
+        if (saxParser == null) {
+            synchronized (SAX_PARSER_FACTORY) {
+                saxParser = SAX_PARSER_FACTORY.newSAXParser();
+            }
+            SAX_PARSER.set(saxParser);
+        }
+        return saxParser;
     }
 
     @Override
@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator.server;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.text.ParseException;
+
+import org.openhab.binding.homematic.internal.communicator.message.BinRpcMessage;
+
+/**
+ * A keep-alive connection of the Homematic gateway to the BIN-RPC callback server. BIN-RPC frames are decoded
+ * incrementally from the non-blocking channel, so a connection never blocks the server while a frame is incomplete.
+ *
+ * @author agent - Initial contribution
+ */
+public class BinRpcConnection {
+    private static final int HEADER_LENGTH = 8;
+    /** Upper limit for the size of a message, larger ones are rejected instead of allocating a buffer for them */
+    static final int MAX_FRAME_SIZE = 16 * 1024 * 1024;
+
+    private final SocketChannel channel;
+    private final String encoding;
+    private final long created;
+
+    private final ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+    private ByteBuffer frame;
+    private ByteBuffer pendingResponse;
+    private volatile byte[] asyncResponse;
+
+    public BinRpcConnection(SocketChannel channel, String encoding) {
+        this.channel = channel;
+        this.encoding = encoding;
+        this.created = System.currentTimeMillis();
+    }
+
+    public SocketChannel getChannel() {
+        return channel;
+    }
+
+    /**
+     * Reads the available bytes from the channel and decodes the next BIN-RPC message.
+     *
+     * @return the decoded message or null if the message is not complete yet
+     * @throws EOFException if the gateway closed the connection
+     */
+    public BinRpcMessage read() throws IOException {
+        if (frame == null) {
+            if (fill(header)) {
+                return null;
+            }
+            byte[] sig = header.array();
+            if (sig[0] != 'B' || sig[1] != 'i' || sig[2] != 'n') {
+                throw new UnsupportedEncodingException("No BinX signature");
+            }
+            int datasize = header.getInt(4);
+            if (datasize < 0 || datasize > MAX_FRAME_SIZE - HEADER_LENGTH) {
+                throw new IOException("Invalid BIN-RPC message length " + datasize);
+            }
+            frame = ByteBuffer.allocate(HEADER_LENGTH + datasize);
+            frame.put(sig);
+            header.clear();
+        }
+        if (fill(frame)) {
+            return null;
+        }
+        byte[] message = frame.array();
+        frame = null;
+        try {
+            return new BinRpcMessage(message, true, encoding);
+        } catch (ParseException ex) {
+            throw new IOException(ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Reads from the channel into the buffer.
+     *
+     * @return true if the buffer still has remaining space
+     */
+    private boolean fill(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            int length = channel.read(buffer);
+            if (length == -1) {
+                throw new EOFException("Connection closed after " + buffer.position() + " bytes of a message");
+            }
+            if (length == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes the response to the channel.
+     *
+     * @return true if the response has been written completely, false if the channel is not writable
+     */
+    public boolean write(byte[] response) throws IOException {
+        pendingResponse = ByteBuffer.wrap(response);
+        return flush();
+    }
+
+    /**
+     * Continues writing a response that did not fit into the socket buffer.
+     *
+     * @return true if no part of a response is pending
+     */
+    public boolean flush() throws IOException {
+        if (pendingResponse != null) {
+            channel.write(pendingResponse);
+            if (pendingResponse.hasRemaining()) {
+                return false;
+            }
+            pendingResponse = null;
+        }
+        return true;
+    }
+
+    /**
+     * Stores the response of a method call that has been handled outside of the server thread.
+     */
+    public void setAsyncResponse(byte[] response) {
+        asyncResponse = response;
+    }
+
+    /**
+     * Returns and clears the response of a method call that has been handled outside of the server thread.
+     */
+    public byte[] takeAsyncResponse() {
+        byte[] response = asyncResponse;
+        asyncResponse = null;
+        return response;
+    }
+
+    /**
+     * Returns true if the connection has been open longer than the configured socket max alive time.
+     */
+    public boolean isMaxAliveReached(int socketMaxAlive) {
+        return System.currentTimeMillis() - created > (socketMaxAlive * 1000L);
+    }
+
+    /**
+     * Closes the connection.
+     */
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException ioe) {
+            // ignore
+        }
+    }
+}
@@ -12,32 +12,49 @@
  */
 package org.openhab.binding.homematic.internal.communicator.server;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.net.InetSocketAddress;
-import java.net.ServerSocket;
-import java.net.Socket;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.openhab.binding.homematic.internal.common.HomematicConfig;
 import org.openhab.binding.homematic.internal.communicator.message.BinRpcMessage;
 import org.openhab.binding.homematic.internal.communicator.message.RpcRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
- * Waits for a message from the Homematic gateway and starts the RpcCallbackHandler to handle the message.
+ * Waits for messages from the Homematic gateway on all open connections and handles the method calls.
+ *
+ * All connections are served by a single thread with a non-blocking selector that only reads and writes. Handling an
+ * event may call back the Homematic gateway, so all method calls are handled on the RPC thread pool and the response
+ * is written by the selector thread afterwards.
  *
  * @author Gerhard Riegler - Initial contribution
  */
 public class BinRpcNetworkService implements Runnable {
+    private final Logger logger = LoggerFactory.getLogger(BinRpcNetworkService.class);
+
     private static final byte BIN_EMPTY_STRING[] = { 'B', 'i', 'n', 1, 0, 0, 0, 8, 0, 0, 0, 3, 0, 0, 0, 0 };
     private static final byte BIN_EMPTY_ARRAY[] = { 'B', 'i', 'n', 1, 0, 0, 0, 8, 0, 0, 1, 0, 0, 0, 0, 0 };
     private static final byte BIN_EMPTY_EVENT_LIST[] = { 'B', 'i', 'n', 1, 0, 0, 0, 21, 0, 0, 1, 0, 0, 0, 0, 1, 0, 0, 0,
             3, 0, 0, 0, 5, 'e', 'v', 'e', 'n', 't' };
 
     private static final String RPC_POOL_NAME = "homematicRpc";
-    private ServerSocket serverSocket;
-    private boolean accept = true;
+    private ServerSocketChannel serverChannel;
+    private Selector selector;
+    private volatile boolean accept = true;
     private HomematicConfig config;
     private RpcResponseHandler<byte[]> rpcResponseHandler;
+    private final Queue<BinRpcConnection> asyncResponses = new ConcurrentLinkedQueue<>();
 
     /**
      * Creates the socket for listening to events from the Homematic gateway.
@@ -45,9 +62,12 @@ public class BinRpcNetworkService implements Runnable {
     public BinRpcNetworkService(RpcEventListener listener, HomematicConfig config) throws IOException {
         this.config = config;
 
-        serverSocket = new ServerSocket();
-        serverSocket.setReuseAddress(true);
-        serverSocket.bind(new InetSocketAddress(config.getBindAddress(), config.getBinCallbackPort()));
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.socket().setReuseAddress(true);
+        serverChannel.bind(new InetSocketAddress(config.getBindAddress(), config.getBinCallbackPort()));
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
 
         this.rpcResponseHandler = new RpcResponseHandler<byte[]>(listener) {
 
@@ -74,19 +94,155 @@ public class BinRpcNetworkService implements Runnable {
     }
 
     /**
-     * Listening for events and starts the callbackHandler if a event received.
+     * Returns the port the server is listening on.
+     */
+    public int getLocalPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * Listening for events and handles the method calls of all connections.
      */
     @Override
     public void run() {
-        while (accept) {
-            try {
-                Socket cs = serverSocket.accept();
-                BinRpcResponseHandler rpcHandler = new BinRpcResponseHandler(cs, rpcResponseHandler, config);
-                ThreadPoolManager.getPool(RPC_POOL_NAME).execute(rpcHandler);
-            } catch (IOException ex) {
-                // ignore
+        try {
+            while (accept && !Thread.currentThread().isInterrupted()) {
+                selector.select();
+                BinRpcConnection connection;
+                while ((connection = asyncResponses.poll()) != null) {
+                    SelectionKey key = connection.getChannel().keyFor(selector);
+                    if (key != null && key.isValid()) {
+                        respond(key, connection, connection.takeAsyncResponse());
+                    }
+                }
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        acceptConnection();
+                    } else {
+                        handleConnection(key);
+                    }
+                }
+            }
+        } catch (IOException | ClosedSelectorException ex) {
+            if (accept) {
+                logger.warn("BIN-RPC server stopped: {}", ex.getMessage(), ex);
+            }
+        } finally {
+            closeAll();
+        }
+    }
+
+    private void acceptConnection() {
+        try {
+            SocketChannel channel;
+            while ((channel = serverChannel.accept()) != null) {
+                channel.configureBlocking(false);
+                channel.register(selector, SelectionKey.OP_READ,
+                        new BinRpcConnection(channel, config.getEncoding()));
+            }
+        } catch (IOException ex) {
+            // ignore
+        }
+    }
+
+    /**
+     * Reads all complete messages of the connection and writes the responses.
+     */
+    private void handleConnection(SelectionKey key) {
+        BinRpcConnection connection = (BinRpcConnection) key.attachment();
+        try {
+            if (key.isWritable() && !flush(key, connection)) {
+                return;
+            }
+            if (!key.isReadable()) {
+                return;
+            }
+            BinRpcMessage message = connection.read();
+            if (message != null) {
+                logger.trace("Event BinRpcMessage: {}", message);
+                // the gateway waits for the response before it sends the next message on this connection
+                key.interestOps(0);
+                ThreadPoolManager.getPool(RPC_POOL_NAME).execute(() -> handleMethodCall(connection, message));
+            }
+        } catch (EOFException eof) {
+            closeConnection(key);
+        } catch (Exception e) {
+            logger.warn("{}", e.getMessage(), e);
+            closeConnection(key);
+        }
+    }
+
+    /**
+     * Handles a method call, which may call back the Homematic gateway, and passes the response to the selector
+     * thread.
+     */
+    private void handleMethodCall(BinRpcConnection connection, BinRpcMessage message) {
+        try {
+            connection.setAsyncResponse(
+                    rpcResponseHandler.handleMethodCall(message.getMethodName(), message.getResponseData()));
+        } catch (Exception e) {
+            logger.warn("{}", e.getMessage(), e);
+            connection.close();
+            return;
+        }
+        asyncResponses.add(connection);
+        selector.wakeup();
+    }
+
+    private void respond(SelectionKey key, BinRpcConnection connection, byte[] returnValue) {
+        try {
+            if (returnValue != null && !connection.write(returnValue)) {
+                key.interestOps(SelectionKey.OP_WRITE);
+                return;
             }
+            finishResponse(key, connection);
+        } catch (IOException ex) {
+            closeConnection(key);
+        }
+    }
+
+    private boolean flush(SelectionKey key, BinRpcConnection connection) throws IOException {
+        if (!connection.flush()) {
+            return false;
+        }
+        finishResponse(key, connection);
+        return key.isValid();
+    }
+
+    /**
+     * Waits for the next message or closes the connection if it has been open long enough.
+     */
+    private void finishResponse(SelectionKey key, BinRpcConnection connection) {
+        if (connection.isMaxAliveReached(config.getSocketMaxAlive())) {
+            closeConnection(key);
+        } else {
+            key.interestOps(SelectionKey.OP_READ);
+        }
+    }
+
+    private void closeConnection(SelectionKey key) {
+        key.cancel();
+        ((BinRpcConnection) key.attachment()).close();
+    }
+
+    private void closeAll() {
+        try {
+            for (SelectionKey key : selector.keys()) {
+                if (key.attachment() instanceof BinRpcConnection) {
+                    ((BinRpcConnection) key.attachment()).close();
+                }
+            }
+            selector.close();
+        } catch (IOException | ClosedSelectorException ex) {
+            // ignore
         }
+        asyncResponses.clear();
     }
 
     /**
@@ -95,10 +251,11 @@ public class BinRpcNetworkService implements Runnable {
     public void shutdown() {
         accept = false;
         try {
-            serverSocket.close();
+            serverChannel.close();
         } catch (IOException ioe) {
             // ignore
         }
+        selector.wakeup();
     }
 
 }
@@ -0,0 +1,173 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator.server;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.homematic.internal.common.HomematicConfig;
+import org.openhab.binding.homematic.internal.communicator.message.BinRpcMessage;
+import org.openhab.binding.homematic.internal.model.HmDatapointInfo;
+
+/**
+ * Load test of the BIN-RPC callback server with simulated CCU clients sending system.multicall batches of events over
+ * keep-alive connections.
+ *
+ * @author agent - Initial contribution
+ */
+public class BinRpcNetworkServiceTest {
+    private static final String ENCODING = "ISO-8859-1";
+    private static final int CLIENTS = 8;
+    private static final int BATCHES_PER_CLIENT = 250;
+    private static final int EVENTS_PER_BATCH = 20;
+
+    private final AtomicInteger events = new AtomicInteger();
+    private final AtomicInteger newDevices = new AtomicInteger();
+    private BinRpcNetworkService networkService;
+    private Thread networkServiceThread;
+
+    @Before
+    public void setup() throws IOException {
+        HomematicConfig config = new HomematicConfig();
+        config.setBindAddress("127.0.0.1");
+        config.setBinCallbackPort(0);
+
+        networkService = new BinRpcNetworkService(new RpcEventListener() {
+            @Override
+            public void eventReceived(HmDatapointInfo dpInfo, Object newValue) {
+                events.incrementAndGet();
+            }
+
+            @Override
+            public void newDevices(List<String> adresses) {
+                newDevices.addAndGet(adresses.size());
+            }
+
+            @Override
+            public void deleteDevices(List<String> addresses) {
+            }
+        }, config);
+        networkServiceThread = new Thread(networkService);
+        networkServiceThread.start();
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        networkService.shutdown();
+        networkServiceThread.join(5000);
+    }
+
+    @Test
+    public void allEventsOfConcurrentMulticallsAreReceived() throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            int client = i;
+            results.add(clients.submit(() -> {
+                simulateCcu(client);
+                return null;
+            }));
+        }
+        for (Future<?> result : results) {
+            result.get(60, TimeUnit.SECONDS);
+        }
+        clients.shutdown();
+
+        assertThat(events.get(), is(CLIENTS * BATCHES_PER_CLIENT * EVENTS_PER_BATCH));
+    }
+
+    @Test
+    public void methodCallsOutsideOfEventsAreAnswered() throws Exception {
+        try (Socket socket = new Socket("127.0.0.1", networkService.getLocalPort())) {
+            BinRpcMessage request = new BinRpcMessage("newDevices", ENCODING);
+            request.addArg("BidCos-RF");
+            Map<String, Object> device = new HashMap<>();
+            device.put("ADDRESS", "NEQ0000001");
+            request.addArg(Arrays.asList(device));
+
+            Object[] response = call(socket, request);
+
+            assertThat(response.length, is(1));
+            assertThat(newDevices.get(), is(1));
+
+            // the connection is kept alive after the asynchronous response
+            call(socket, createMulticall(0, 0));
+            assertThat(events.get(), is(EVENTS_PER_BATCH));
+        }
+    }
+
+    @Test
+    public void oversizedMessagesAreRejected() throws Exception {
+        try (Socket socket = new Socket("127.0.0.1", networkService.getLocalPort())) {
+            socket.setSoTimeout(5000);
+            OutputStream out = socket.getOutputStream();
+            out.write(new byte[] { 'B', 'i', 'n', 0, 0x7f, 0, 0, 0 });
+            out.flush();
+
+            // the server closes the connection instead of waiting for two gigabytes
+            assertThat(socket.getInputStream().read(), is(-1));
+        }
+    }
+
+    /**
+     * Sends batches of events on a keep-alive connection like a CCU and waits for each response.
+     */
+    private void simulateCcu(int client) throws IOException {
+        try (Socket socket = new Socket("127.0.0.1", networkService.getLocalPort())) {
+            for (int batch = 0; batch < BATCHES_PER_CLIENT; batch++) {
+                Object[] response = call(socket, createMulticall(client, batch));
+                assertThat(Arrays.asList((Object[]) response[0]), hasItem("event"));
+            }
+        }
+    }
+
+    private BinRpcMessage createMulticall(int client, int batch) {
+        List<Object> calls = new ArrayList<>();
+        for (int i = 0; i < EVENTS_PER_BATCH; i++) {
+            Map<String, Object> call = new HashMap<>();
+            call.put("methodName", "event");
+            call.put("params", Arrays.asList("BidCos-RF", String.format("NEQ%07d:1", client * 1000 + i), "LEVEL",
+                    Double.valueOf(batch / 100.0)));
+            calls.add(call);
+        }
+        BinRpcMessage message = new BinRpcMessage("system.multicall", ENCODING);
+        message.addArg(calls);
+        return message;
+    }
+
+    private Object[] call(Socket socket, BinRpcMessage request) throws IOException {
+        OutputStream out = socket.getOutputStream();
+        out.write(request.createMessage());
+        out.flush();
+        InputStream in = socket.getInputStream();
+        return new BinRpcMessage(in, false, ENCODING).getResponseData();
+    }
+}
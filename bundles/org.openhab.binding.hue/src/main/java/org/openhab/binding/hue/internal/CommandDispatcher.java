@@ -0,0 +1,278 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.hue.internal.HttpClient.Result;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+/**
+ * Sends the asynchronous PUT requests of a {@link HttpClient} one after the other.
+ *
+ * Pending requests to the same address are coalesced: the attributes of a later request overwrite the ones of a
+ * request that has not been sent yet. When all lights of a known group have a pending request with the same body,
+ * they are replaced by a single request to the action of the group.
+ *
+ * The rate is limited by a token bucket that is measured in milliseconds. Each request costs its message delay, a
+ * group action costs {@link #GROUP_MESSAGE_DELAY}. A request is only sent when the bucket is not empty, otherwise the
+ * dispatcher is rescheduled when it is refilled. Unused time accumulates up to {@link #BURST_CAPACITY} so a short
+ * burst of commands is sent without waiting.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class CommandDispatcher {
+    /**
+     * The bridge handles about one group command per second, see
+     * https://developers.meethue.com/documentation/hue-system-performance
+     */
+    static final long GROUP_MESSAGE_DELAY = 1000;
+    static final long BURST_CAPACITY = 1000;
+
+    /**
+     * The attributes of each color mode. The bridge prefers xy over ct over hue and sat, so a pending attribute of
+     * another color mode would hide the one of a later update.
+     */
+    private static final List<List<String>> COLOR_MODE_ATTRIBUTES = Arrays.asList(Arrays.asList("xy", "xy_inc"),
+            Arrays.asList("ct", "ct_inc"), Arrays.asList("hue", "sat", "hue_inc", "sat_inc"));
+
+    private final Logger logger = LoggerFactory.getLogger(CommandDispatcher.class);
+    private final HttpClient client;
+
+    private final Map<String, PendingCommand> pendingCommands = new LinkedHashMap<>();
+    private Map<String, Set<String>> groupMembers = Collections.emptyMap();
+    private Map<String, List<String>> groupsOfMember = Collections.emptyMap();
+
+    private long tokens = BURST_CAPACITY;
+    private long lastRefill = System.nanoTime();
+    private boolean dispatching = false;
+    private volatile long lastLatency = 0;
+
+    private static class PendingCommand {
+        final String address;
+        JsonElement body;
+        long delay;
+        long created = System.nanoTime();
+        final List<CompletableFuture<Result>> futures = new ArrayList<>();
+
+        PendingCommand(String address, JsonElement body, long delay, CompletableFuture<Result> future) {
+            this.address = address;
+            this.body = body;
+            this.delay = delay;
+            futures.add(future);
+        }
+
+        /**
+         * Last write wins: attributes of the update overwrite the pending ones. When the update sets a color mode, the
+         * pending attributes of the other color modes are dropped.
+         */
+        void merge(JsonElement update, long updateDelay, CompletableFuture<Result> future) {
+            if (body.isJsonObject() && update.isJsonObject()) {
+                JsonObject merged = body.getAsJsonObject();
+                JsonObject updated = update.getAsJsonObject();
+                for (List<String> mode : COLOR_MODE_ATTRIBUTES) {
+                    if (mode.stream().anyMatch(updated::has)) {
+                        COLOR_MODE_ATTRIBUTES.stream().filter(other -> other != mode)
+                                .forEach(other -> other.forEach(merged::remove));
+                    }
+                }
+                updated.entrySet().forEach(e -> merged.add(e.getKey(), e.getValue()));
+            } else {
+                body = update;
+            }
+            delay = Math.max(delay, updateDelay);
+            futures.add(future);
+        }
+    }
+
+    public CommandDispatcher(HttpClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Sets the known groups used for merging light commands.
+     *
+     * @param groupMembers the address of the action of each group and the addresses of the states of its lights
+     */
+    public void setGroups(Map<String, Set<String>> groupMembers) {
+        Map<String, List<String>> newGroupsOfMember = new HashMap<>();
+        groupMembers.forEach((group, members) -> {
+            if (members.size() > 1) {
+                for (String member : members) {
+                    newGroupsOfMember.computeIfAbsent(member, m -> new ArrayList<>()).add(group);
+                }
+            }
+        });
+        synchronized (pendingCommands) {
+            this.groupMembers = new HashMap<>(groupMembers);
+            this.groupsOfMember = newGroupsOfMember;
+        }
+    }
+
+    /**
+     * Queues a PUT request.
+     *
+     * @param address the address
+     * @param body the JSON body
+     * @param delay the time the bridge needs to process the request
+     * @param scheduler the scheduler that sends the requests
+     * @return the result of the request
+     */
+    public CompletableFuture<Result> submit(String address, String body, long delay,
+            ScheduledExecutorService scheduler) {
+        CompletableFuture<Result> future = new CompletableFuture<>();
+        JsonElement json;
+        try {
+            json = new JsonParser().parse(body);
+        } catch (JsonParseException e) {
+            future.completeExceptionally(e);
+            return future;
+        }
+
+        synchronized (pendingCommands) {
+            PendingCommand pending = pendingCommands.get(address);
+            if (pending != null) {
+                logger.trace("Merging {} into pending command for {}", body, address);
+                pending.merge(json, delay, future);
+            } else {
+                pendingCommands.put(address, new PendingCommand(address, json, delay, future));
+            }
+            if (!dispatching) {
+                dispatching = true;
+                scheduler.submit(() -> dispatch(scheduler));
+            }
+        }
+        return future;
+    }
+
+    /**
+     * Returns the number of requests that have not been sent yet.
+     */
+    public int getQueueLength() {
+        synchronized (pendingCommands) {
+            return pendingCommands.values().stream().mapToInt(c -> c.futures.size()).sum();
+        }
+    }
+
+    /**
+     * Returns the time in milliseconds between queuing and completion of the last sent request.
+     */
+    public long getLastLatency() {
+        return lastLatency;
+    }
+
+    private void dispatch(ScheduledExecutorService scheduler) {
+        while (true) {
+            PendingCommand command;
+            synchronized (pendingCommands) {
+                if (pendingCommands.isEmpty()) {
+                    dispatching = false;
+                    return;
+                }
+                refillTokens();
+                if (tokens <= 0) {
+                    scheduler.schedule(() -> dispatch(scheduler), Math.max(1, -tokens), TimeUnit.MILLISECONDS);
+                    return;
+                }
+                command = takeNextCommand();
+                tokens -= command.delay;
+            }
+
+            String body = command.body.toString();
+            logger.debug("Async sending put to address: {} delay: {} body: {}", command.address, command.delay, body);
+            try {
+                Result result = client.put(command.address, body);
+                command.futures.forEach(future -> future.complete(result));
+            } catch (IOException | RuntimeException e) {
+                command.futures.forEach(future -> future.completeExceptionally(e));
+            }
+            lastLatency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - command.created);
+        }
+    }
+
+    private void refillTokens() {
+        long now = System.nanoTime();
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(now - lastRefill);
+        // keep the fraction of a millisecond for the next refill
+        lastRefill += TimeUnit.MILLISECONDS.toNanos(elapsed);
+        tokens = Math.min(BURST_CAPACITY, tokens + elapsed);
+    }
+
+    /**
+     * Removes the oldest pending command. If it is part of a group of which all lights have the same pending command,
+     * these are removed as well and replaced by a command for the largest of these groups.
+     */
+    private PendingCommand takeNextCommand() {
+        Iterator<PendingCommand> iterator = pendingCommands.values().iterator();
+        PendingCommand head = iterator.next();
+        iterator.remove();
+
+        String groupAddress = null;
+        Set<String> mergedMembers = Collections.emptySet();
+        for (String group : groupsOfMember.getOrDefault(head.address, Collections.emptyList())) {
+            Set<String> members = groupMembers.get(group);
+            if (members != null && members.size() > mergedMembers.size() && hasSameCommand(members, head)) {
+                groupAddress = group;
+                mergedMembers = members;
+            }
+        }
+        if (groupAddress == null) {
+            return head;
+        }
+
+        logger.trace("Merging commands for {} into {}", mergedMembers, groupAddress);
+        PendingCommand groupCommand = new PendingCommand(groupAddress, head.body,
+                Math.max(head.delay, GROUP_MESSAGE_DELAY), head.futures.get(0));
+        groupCommand.futures.addAll(head.futures.subList(1, head.futures.size()));
+        groupCommand.created = head.created;
+        for (String member : mergedMembers) {
+            PendingCommand memberCommand = pendingCommands.remove(member);
+            if (memberCommand != null) {
+                groupCommand.futures.addAll(memberCommand.futures);
+            }
+        }
+        return groupCommand;
+    }
+
+    private boolean hasSameCommand(Set<String> members, PendingCommand head) {
+        for (String member : members) {
+            if (!member.equals(head.address)) {
+                PendingCommand other = pendingCommands.get(member);
+                if (other == null || !other.body.equals(head.body)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -12,7 +12,12 @@
  */
 package org.openhab.binding.hue.internal;
 
+import java.lang.reflect.Type;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+
+import com.google.gson.reflect.TypeToken;
 
 /**
  * Detailed group information.
@@ -21,6 +26,9 @@ import java.util.List;
  * @author Denis Dudnik - moved Jue library source code inside the smarthome Hue binding
  */
 public class FullGroup extends Group {
+    public static final Type GSON_TYPE = new TypeToken<Map<String, FullGroup>>() {
+    }.getType();
+
     private State action;
     private List<String> lights;
 
@@ -43,6 +51,6 @@ public class FullGroup extends Group {
      * @return lights in the group
      */
     public List<HueObject> getLights() {
-        return Util.idsToLights(lights);
+        return lights != null ? Util.idsToLights(lights) : Collections.emptyList();
     }
 }
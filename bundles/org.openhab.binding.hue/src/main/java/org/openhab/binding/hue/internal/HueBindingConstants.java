@@ -82,6 +82,10 @@ public class HueBindingConstants {
     public static final String PROTOCOL = "protocol";
     public static final String USER_NAME = "userName";
 
+    // Bridge properties
+    public static final String PROPERTY_COMMAND_QUEUE_LENGTH = "commandQueueLength";
+    public static final String PROPERTY_COMMAND_DISPATCH_LATENCY = "commandDispatchLatency";
+
     // Light config properties
     public static final String LIGHT_ID = "lightId";
     public static final String SENSOR_ID = "sensorId";
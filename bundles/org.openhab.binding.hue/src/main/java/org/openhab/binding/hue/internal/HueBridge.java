@@ -23,9 +23,12 @@ import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
 
@@ -436,6 +439,62 @@ public class HueBridge {
         return groupList;
     }
 
+    /**
+     * Returns detailed information about all groups, without the all lights pseudo group.
+     *
+     * @return list of groups
+     * @throws UnauthorizedException thrown if the user no longer exists
+     */
+    public List<FullGroup> getFullGroups() throws IOException, ApiException {
+        requireAuthentication();
+
+        Result result = http.get(getRelativeURL("groups"));
+
+        handleErrors(result);
+
+        Map<String, FullGroup> groupMap = safeFromJson(result.getBody(), FullGroup.GSON_TYPE);
+        ArrayList<FullGroup> groupList = new ArrayList<>();
+
+        for (String id : groupMap.keySet()) {
+            FullGroup group = groupMap.get(id);
+            group.setId(id);
+            groupList.add(group);
+        }
+
+        return groupList;
+    }
+
+    /**
+     * Sets the groups of which the lights get a single group action when they all receive the same state update.
+     *
+     * @param groups groups of the bridge
+     */
+    public void setCommandGroups(List<FullGroup> groups) {
+        Map<String, Set<String>> groupMembers = new HashMap<>();
+        for (FullGroup group : groups) {
+            Set<String> members = new HashSet<>();
+            for (HueObject light : group.getLights()) {
+                members.add(getRelativeURL("lights/" + enc(light.getId()) + "/state"));
+            }
+            groupMembers.put(getRelativeURL("groups/" + enc(group.getId()) + "/action"), members);
+        }
+        http.getCommandDispatcher().setGroups(groupMembers);
+    }
+
+    /**
+     * Returns the number of state updates that have not been sent to the bridge yet.
+     */
+    public int getCommandQueueLength() {
+        return http.getCommandDispatcher().getQueueLength();
+    }
+
+    /**
+     * Returns the time in milliseconds between queuing and completion of the last sent state update.
+     */
+    public long getCommandDispatchLatency() {
+        return http.getCommandDispatcher().getLastLatency();
+    }
+
     /**
      * Creates a new group and returns it.
      * Due to API limitations, the name of the returned object
@@ -16,13 +16,13 @@ import static org.eclipse.smarthome.core.thing.Thing.*;
 import static org.openhab.binding.hue.internal.HueBindingConstants.*;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
@@ -30,6 +30,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -47,11 +48,12 @@ import org.openhab.binding.hue.internal.ApiVersionUtils;
 import org.openhab.binding.hue.internal.Config;
 import org.openhab.binding.hue.internal.ConfigUpdate;
 import org.openhab.binding.hue.internal.FullConfig;
+import org.openhab.binding.hue.internal.FullGroup;
 import org.openhab.binding.hue.internal.FullLight;
 import org.openhab.binding.hue.internal.FullSensor;
 import org.openhab.binding.hue.internal.HueBridge;
 import org.openhab.binding.hue.internal.HueConfigStatusMessage;
-import org.openhab.binding.hue.internal.State;
+import org.openhab.binding.hue.internal.HueObject;
 import org.openhab.binding.hue.internal.StateUpdate;
 import org.openhab.binding.hue.internal.config.HueBridgeConfig;
 import org.openhab.binding.hue.internal.exceptions.ApiException;
@@ -152,6 +154,25 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
     private static final String STATE_ADDED = "added";
     private static final String STATE_GONE = "gone";
     private static final String STATE_CHANGED = "changed";
+    private static final String GROUP_MEMBERSHIPS = "memberships";
+
+    /**
+     * Light polling interval while state updates are sent
+     */
+    private static final long ACTIVE_LIGHT_POLLING_INTERVAL = TimeUnit.SECONDS.toMillis(1);
+    /**
+     * Number of light polls without any change after which the light polling interval is lengthened
+     */
+    private static final int IDLE_LIGHT_POLLS = 6;
+    private static final int MAX_IDLE_LIGHT_POLLING_FACTOR = 3;
+    /**
+     * Interval in which the groups used for group commands are fetched from bridges that support full lights
+     */
+    private static final long GROUP_REFRESH_INTERVAL = TimeUnit.MINUTES.toMillis(5);
+    /**
+     * Minimum interval between updates of the command queue properties, each update persists the thing
+     */
+    private static final long COMMAND_QUEUE_PROPERTIES_INTERVAL = TimeUnit.MINUTES.toMillis(1);
 
     public static final Set<ThingTypeUID> SUPPORTED_THING_TYPES = Collections.singleton(THING_TYPE_BRIDGE);
 
@@ -161,6 +182,9 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
 
     private final Map<String, FullLight> lastLightStates = new ConcurrentHashMap<>();
     private final Map<String, FullSensor> lastSensorStates = new ConcurrentHashMap<>();
+    private final StateFingerprints lightFingerprints = new StateFingerprints();
+    private final StateFingerprints sensorFingerprints = new StateFingerprints();
+    private final StateFingerprints groupFingerprints = new StateFingerprints();
 
     private boolean lastBridgeConnectionState = false;
 
@@ -170,6 +194,12 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
     private final List<SensorStatusListener> sensorStatusListeners = new CopyOnWriteArrayList<>();
 
     private @Nullable ScheduledFuture<?> lightPollingJob;
+    private final Object lightPollingJobLock = new Object();
+    private int lightPollingGeneration = 0;
+    private volatile int unchangedLightPolls = 0;
+    private volatile long lastLightStateUpdate = 0;
+    private volatile long lastGroupRefresh = 0;
+    private volatile long lastCommandQueuePropertiesUpdate = 0;
     private @Nullable ScheduledFuture<?> sensorPollingJob;
 
     private @NonNullByDefault({}) HueBridge hueBridge = null;
@@ -183,15 +213,15 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
             for (final FullSensor sensor : hueBridge.getSensors()) {
                 String sensorId = sensor.getId();
                 if (lastSensorStateCopy.containsKey(sensorId)) {
-                    final FullSensor lastFullSensor = lastSensorStateCopy.remove(sensorId);
-                    final Map<String, Object> lastFullSensorState = lastFullSensor.getState();
+                    lastSensorStateCopy.remove(sensorId);
                     lastSensorStates.put(sensorId, sensor);
-                    if (!lastFullSensorState.equals(sensor.getState())) {
+                    if (sensorFingerprints.update(sensorId, getRelevantState(sensor))) {
                         logger.debug("Status update for Hue sensor '{}' detected: {}", sensorId, sensor.getState());
                         notifySensorStatusListeners(sensor, STATE_CHANGED);
                     }
                 } else {
                     lastSensorStates.put(sensorId, sensor);
+                    sensorFingerprints.update(sensorId, getRelevantState(sensor));
                     logger.debug("Hue sensor '{}' added.", sensorId);
                     notifySensorStatusListeners(sensor, STATE_ADDED);
 
@@ -201,6 +231,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
             // Check for removed sensors
             for (Entry<String, FullSensor> fullSensorEntry : lastSensorStateCopy.entrySet()) {
                 lastSensorStates.remove(fullSensorEntry.getKey());
+                sensorFingerprints.remove(fullSensorEntry.getKey());
                 logger.debug("Hue sensor '{}' removed.", fullSensorEntry.getKey());
                 for (SensorStatusListener sensorStatusListener : sensorStatusListeners) {
                     try {
@@ -217,26 +248,37 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         @Override
         protected void doConnectedRun() throws IOException, ApiException {
             Map<String, FullLight> lastLightStateCopy = new HashMap<>(lastLightStates);
+            boolean changed = false;
 
             List<FullLight> lights;
             if (ApiVersionUtils.supportsFullLights(hueBridge.getVersion())) {
                 lights = hueBridge.getFullLights();
+                long now = System.currentTimeMillis();
+                if (now - lastGroupRefresh >= GROUP_REFRESH_INTERVAL) {
+                    updateCommandGroups(hueBridge.getFullGroups());
+                    lastGroupRefresh = now;
+                }
             } else {
-                lights = hueBridge.getFullConfig().getLights();
+                FullConfig fullConfig = hueBridge.getFullConfig();
+                lights = fullConfig.getLights();
+                updateCommandGroups(fullConfig.getGroups());
             }
+            updateCommandQueueProperties();
 
             for (final FullLight fullLight : lights) {
                 final String lightId = fullLight.getId();
                 if (lastLightStateCopy.containsKey(lightId)) {
-                    final FullLight lastFullLight = lastLightStateCopy.remove(lightId);
-                    final State lastFullLightState = lastFullLight.getState();
+                    lastLightStateCopy.remove(lightId);
                     lastLightStates.put(lightId, fullLight);
-                    if (!isEqual(lastFullLightState, fullLight.getState())) {
+                    if (lightFingerprints.update(lightId, fullLight.getState())) {
                         logger.debug("Status update for Hue light '{}' detected.", lightId);
                         notifyLightStatusListeners(fullLight, STATE_CHANGED);
+                        changed = true;
                     }
                 } else {
                     lastLightStates.put(lightId, fullLight);
+                    lightFingerprints.update(lightId, fullLight.getState());
+                    changed = true;
                     logger.debug("Hue light '{}' added.", lightId);
                     notifyLightStatusListeners(fullLight, STATE_ADDED);
                 }
@@ -245,6 +287,8 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
             // Check for removed lights
             for (Entry<String, FullLight> fullLightEntry : lastLightStateCopy.entrySet()) {
                 lastLightStates.remove(fullLightEntry.getKey());
+                lightFingerprints.remove(fullLightEntry.getKey());
+                changed = true;
                 logger.debug("Hue light '{}' removed.", fullLightEntry.getKey());
                 for (LightStatusListener lightStatusListener : lightStatusListeners) {
                     try {
@@ -254,9 +298,45 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                     }
                 }
             }
+
+            unchangedLightPolls = changed ? 0 : unchangedLightPolls + 1;
         }
     };
 
+    private Object getRelevantState(FullSensor sensor) {
+        return Arrays.asList(sensor.getState(), sensor.getConfig());
+    }
+
+    private void updateCommandGroups(List<FullGroup> groups) {
+        Map<String, List<String>> memberships = new HashMap<>();
+        for (FullGroup group : groups) {
+            memberships.put(group.getId(),
+                    group.getLights().stream().map(HueObject::getId).collect(Collectors.toList()));
+        }
+        if (groupFingerprints.update(GROUP_MEMBERSHIPS, memberships)) {
+            logger.debug("Updating the groups used for group commands: {}", memberships);
+            hueBridge.setCommandGroups(groups);
+        }
+    }
+
+    private void updateCommandQueueProperties() {
+        int queueLength = hueBridge.getCommandQueueLength();
+        long dispatchLatency = hueBridge.getCommandDispatchLatency();
+        if (queueLength > 0) {
+            logger.debug("{} state updates are waiting to be sent, sending the last one took {} ms", queueLength,
+                    dispatchLatency);
+        }
+        long now = System.currentTimeMillis();
+        if (now - lastCommandQueuePropertiesUpdate < COMMAND_QUEUE_PROPERTIES_INTERVAL) {
+            return;
+        }
+        lastCommandQueuePropertiesUpdate = now;
+        Map<String, String> properties = editProperties();
+        properties.put(PROPERTY_COMMAND_QUEUE_LENGTH, String.valueOf(queueLength));
+        properties.put(PROPERTY_COMMAND_DISPATCH_LATENCY, String.valueOf(dispatchLatency));
+        updateProperties(properties);
+    }
+
     public HueBridgeHandler(Bridge bridge) {
         super(bridge);
     }
@@ -269,6 +349,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
     @Override
     public void updateLightState(FullLight light, StateUpdate stateUpdate) {
         if (hueBridge != null) {
+            onLightStateUpdateSent();
             hueBridge.setLightState(light, stateUpdate).thenAccept(result -> {
                 try {
                     hueBridge.handleErrors(result);
@@ -372,22 +453,77 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
     }
 
     private void startLightPolling() {
-        if (lightPollingJob == null || lightPollingJob.isCancelled()) {
-            if (hueBridgeConfig.getPollingInterval() < 1) {
-                logger.info("Wrong configuration value for polling interval. Using default value: {}s",
-                        lightPollingInterval);
-            } else {
-                lightPollingInterval = hueBridgeConfig.getPollingInterval();
+        synchronized (lightPollingJobLock) {
+            if (lightPollingJob == null || lightPollingJob.isCancelled()) {
+                if (hueBridgeConfig.getPollingInterval() < 1) {
+                    logger.info("Wrong configuration value for polling interval. Using default value: {}s",
+                            lightPollingInterval);
+                } else {
+                    lightPollingInterval = hueBridgeConfig.getPollingInterval();
+                }
+                unchangedLightPolls = 0;
+                scheduleLightPolling(TimeUnit.SECONDS.toMillis(1));
             }
-            lightPollingJob = scheduler.scheduleWithFixedDelay(lightPollingRunnable, 1, lightPollingInterval,
-                    TimeUnit.SECONDS);
         }
     }
 
     private void stopLightPolling() {
-        if (lightPollingJob != null && !lightPollingJob.isCancelled()) {
-            lightPollingJob.cancel(true);
-            lightPollingJob = null;
+        synchronized (lightPollingJobLock) {
+            if (lightPollingJob != null && !lightPollingJob.isCancelled()) {
+                lightPollingJob.cancel(true);
+                lightPollingJob = null;
+            }
+            // stops a polling run that is currently executed from scheduling the next one
+            lightPollingGeneration++;
+        }
+    }
+
+    /**
+     * Schedules the next light polling run, replacing the scheduled one.
+     */
+    private void scheduleLightPolling(long delayMillis) {
+        synchronized (lightPollingJobLock) {
+            ScheduledFuture<?> job = lightPollingJob;
+            if (job != null) {
+                job.cancel(false);
+            }
+            int generation = ++lightPollingGeneration;
+            lightPollingJob = scheduler.schedule(() -> pollLights(generation), delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void pollLights(int generation) {
+        lightPollingRunnable.run();
+        synchronized (lightPollingJobLock) {
+            if (generation == lightPollingGeneration && lightPollingJob != null) {
+                scheduleLightPolling(getNextLightPollingDelay());
+            }
+        }
+    }
+
+    /**
+     * Polls more often while state updates are sent so their effect is reported soon, and less often when nothing
+     * changed for a while.
+     */
+    private long getNextLightPollingDelay() {
+        long interval = TimeUnit.SECONDS.toMillis(lightPollingInterval);
+        boolean commandsInFlight = (hueBridge != null && hueBridge.getCommandQueueLength() > 0)
+                || System.currentTimeMillis() - lastLightStateUpdate < interval;
+        if (commandsInFlight) {
+            return Math.min(ACTIVE_LIGHT_POLLING_INTERVAL, interval);
+        }
+        return interval * Math.min(MAX_IDLE_LIGHT_POLLING_FACTOR, 1 + unchangedLightPolls / IDLE_LIGHT_POLLS);
+    }
+
+    private void onLightStateUpdateSent() {
+        lastLightStateUpdate = System.currentTimeMillis();
+        unchangedLightPolls = 0;
+        synchronized (lightPollingJobLock) {
+            ScheduledFuture<?> job = lightPollingJob;
+            // a running poll picks up the new interval itself
+            if (job != null && job.getDelay(TimeUnit.MILLISECONDS) > ACTIVE_LIGHT_POLLING_INTERVAL) {
+                scheduleLightPolling(ACTIVE_LIGHT_POLLING_INTERVAL);
+            }
         }
     }
 
@@ -434,6 +570,9 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
             if (hueBridge == null) {
                 hueBridge = new HueBridge(ip, hueBridgeConfig.getPort(), hueBridgeConfig.getProtocol(), scheduler);
                 hueBridge.setTimeout(5000);
+                // the new bridge does not know the groups yet
+                groupFingerprints.remove(GROUP_MEMBERSHIPS);
+                lastGroupRefresh = 0;
             }
             onUpdate();
         }
@@ -766,22 +905,6 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         }
     }
 
-    /**
-     * Compare to states for equality.
-     *
-     * @param state1 Reference state
-     * @param state2 State which is checked for equality.
-     * @return {@code true} if the available information of both states are equal.
-     */
-    private boolean isEqual(State state1, State state2) {
-        return state1.getAlertMode().equals(state2.getAlertMode()) && state1.isOn() == state2.isOn()
-                && state1.getBrightness() == state2.getBrightness()
-                && state1.getColorTemperature() == state2.getColorTemperature() && state1.getHue() == state2.getHue()
-                && state1.getSaturation() == state2.getSaturation() && state1.isReachable() == state2.isReachable()
-                && Objects.equals(state1.getColorMode(), state2.getColorMode())
-                && Objects.equals(state1.getEffect(), state2.getEffect());
-    }
-
     @Override
     public Collection<ConfigStatusMessage> getConfigStatus() {
         // The bridge IP address to be used for checks
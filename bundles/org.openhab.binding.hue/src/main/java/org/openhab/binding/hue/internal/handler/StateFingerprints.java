@@ -0,0 +1,50 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal.handler;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+import com.google.gson.Gson;
+
+/**
+ * Remembers the last known state of lights, sensors or groups to detect which of them changed between two polls.
+ *
+ * The fingerprint of an object is its relevant part serialized to JSON. Everything that ends up in the JSON counts as
+ * a change, so only the parts that listeners use should be passed.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class StateFingerprints {
+    private final Gson gson = new Gson();
+    private final Map<String, String> fingerprints = new ConcurrentHashMap<>();
+
+    /**
+     * Stores the fingerprint of the given object.
+     *
+     * @param id the id of the object
+     * @param relevantState the part of the object to compare
+     * @return true if the object is unknown or its fingerprint changed
+     */
+    boolean update(String id, Object relevantState) {
+        String fingerprint = gson.toJson(relevantState);
+        return !fingerprint.equals(fingerprints.put(id, fingerprint));
+    }
+
+    void remove(String id) {
+        fingerprints.remove(id);
+    }
+}
@@ -0,0 +1,158 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.hue.internal.HttpClient.Result;
+
+/**
+ * Tests for {@link CommandDispatcher}.
+ *
+ * @author agent - Initial contribution
+ */
+public class CommandDispatcherTest {
+
+    private static final String LIGHT_1 = "http://bridge/api/user/lights/1/state";
+    private static final String LIGHT_2 = "http://bridge/api/user/lights/2/state";
+    private static final String LIGHT_3 = "http://bridge/api/user/lights/3/state";
+    private static final String GROUP_1 = "http://bridge/api/user/groups/1/action";
+
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final CountDownLatch firstRequestStarted = new CountDownLatch(1);
+    private final CountDownLatch firstRequestReleased = new CountDownLatch(1);
+
+    private ScheduledExecutorService scheduler;
+    private HttpClient client;
+
+    @Before
+    public void setUp() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        client = new HttpClient() {
+            @Override
+            protected Result doNetwork(String address, String requestMethod, @Nullable String body)
+                    throws IOException {
+                requests.add(address + " " + body);
+                firstRequestStarted.countDown();
+                try {
+                    firstRequestReleased.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                return new Result("[]", 200);
+            }
+        };
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    private CompletableFuture<Result> put(String address, String body) {
+        return client.putAsync(address, body, 0, scheduler);
+    }
+
+    /**
+     * Sends a first request and blocks it, so the following requests are queued
+     */
+    private void blockDispatcher() throws InterruptedException {
+        put("http://bridge/api/user/lights/9/state", "{\"on\":true}");
+        assertTrue(firstRequestStarted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void pendingUpdatesForTheSameLightAreMerged() throws Exception {
+        blockDispatcher();
+        CompletableFuture<Result> first = put(LIGHT_1, "{\"on\":true,\"bri\":10}");
+        CompletableFuture<Result> second = put(LIGHT_1, "{\"bri\":20}");
+        assertThat(client.getCommandDispatcher().getQueueLength(), is(2));
+
+        firstRequestReleased.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+
+        assertThat(requests.size(), is(2));
+        assertThat(requests.get(1), is(LIGHT_1 + " {\"on\":true,\"bri\":20}"));
+        assertThat(client.getCommandDispatcher().getQueueLength(), is(0));
+    }
+
+    @Test
+    public void laterColorModeReplacesPendingColorMode() throws Exception {
+        blockDispatcher();
+        CompletableFuture<Result> first = put(LIGHT_1, "{\"xy\":[0.3,0.3],\"bri\":10}");
+        CompletableFuture<Result> second = put(LIGHT_1, "{\"ct\":300}");
+
+        firstRequestReleased.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+
+        assertThat(requests.size(), is(2));
+        assertThat(requests.get(1), is(LIGHT_1 + " {\"bri\":10,\"ct\":300}"));
+    }
+
+    @Test
+    public void sameUpdateForAllGroupMembersIsSentToTheGroup() throws Exception {
+        client.getCommandDispatcher()
+                .setGroups(Collections.singletonMap(GROUP_1, new HashSet<>(Arrays.asList(LIGHT_1, LIGHT_2))));
+
+        blockDispatcher();
+        CompletableFuture<Result> light1 = put(LIGHT_1, "{\"on\":false}");
+        CompletableFuture<Result> light2 = put(LIGHT_2, "{\"on\":false}");
+        CompletableFuture<Result> light3 = put(LIGHT_3, "{\"on\":false}");
+
+        firstRequestReleased.countDown();
+        light1.get(5, TimeUnit.SECONDS);
+        light2.get(5, TimeUnit.SECONDS);
+        light3.get(5, TimeUnit.SECONDS);
+
+        assertThat(requests.size(), is(3));
+        assertThat(requests.get(1), is(GROUP_1 + " {\"on\":false}"));
+        assertThat(requests.get(2), is(LIGHT_3 + " {\"on\":false}"));
+    }
+
+    @Test
+    public void differentUpdatesForGroupMembersAreSentSeparately() throws Exception {
+        client.getCommandDispatcher()
+                .setGroups(Collections.singletonMap(GROUP_1, new HashSet<>(Arrays.asList(LIGHT_1, LIGHT_2))));
+
+        blockDispatcher();
+        CompletableFuture<Result> light1 = put(LIGHT_1, "{\"on\":false}");
+        CompletableFuture<Result> light2 = put(LIGHT_2, "{\"on\":true}");
+
+        firstRequestReleased.countDown();
+        light1.get(5, TimeUnit.SECONDS);
+        light2.get(5, TimeUnit.SECONDS);
+
+        assertThat(requests.size(), is(3));
+        assertThat(requests.get(1), is(LIGHT_1 + " {\"on\":false}"));
+        assertThat(requests.get(2), is(LIGHT_2 + " {\"on\":true}"));
+    }
+}
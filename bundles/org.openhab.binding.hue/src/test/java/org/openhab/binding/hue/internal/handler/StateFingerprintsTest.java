@@ -0,0 +1,58 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal.handler;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.openhab.binding.hue.internal.FullConfig;
+import org.openhab.binding.hue.internal.State;
+
+import com.google.gson.Gson;
+
+/**
+ * Tests for {@link StateFingerprints}.
+ *
+ * @author agent - Initial contribution
+ */
+public class StateFingerprintsTest {
+
+    private final Gson gson = new Gson();
+
+    private State parseState(String state) {
+        String config = "{\"lights\":{\"1\":{\"state\":" + state + "}}}";
+        return gson.fromJson(config, FullConfig.class).getLights().get(0).getState();
+    }
+
+    @Test
+    public void onlyChangedStatesAreReported() {
+        StateFingerprints fingerprints = new StateFingerprints();
+
+        assertTrue(fingerprints.update("1", parseState("{\"on\":true,\"bri\":100,\"xy\":[0.3,0.3]}")));
+        assertFalse(fingerprints.update("1", parseState("{\"on\":true,\"bri\":100,\"xy\":[0.3,0.3]}")));
+        assertTrue(fingerprints.update("1", parseState("{\"on\":true,\"bri\":100,\"xy\":[0.4,0.3]}")));
+        assertTrue(fingerprints.update("2", parseState("{\"on\":true,\"bri\":100,\"xy\":[0.4,0.3]}")));
+    }
+
+    @Test
+    public void forgottenObjectsAreReportedAgain() {
+        StateFingerprints fingerprints = new StateFingerprints();
+        fingerprints.update("1", parseState("{\"on\":false}"));
+        fingerprints.update("2", parseState("{\"on\":false}"));
+
+        fingerprints.remove("1");
+
+        assertTrue(fingerprints.update("1", parseState("{\"on\":false}")));
+        assertFalse(fingerprints.update("2", parseState("{\"on\":false}")));
+    }
+}
@@ -12,7 +12,12 @@
  */
 package org.openhab.binding.knx.internal.client;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
@@ -86,6 +91,11 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private @Nullable ScheduledFuture<?> connectJob;
 
     private final Set<GroupAddressListener> groupAddressListeners = new CopyOnWriteArraySet<>();
+    /**
+     * Listeners per group address, filled when the first telegram for a group address is received and cleared
+     * whenever a listener is registered or unregistered
+     */
+    private final Map<GroupAddress, List<GroupAddressListener>> groupAddressListenerIndex = new ConcurrentHashMap<>();
     private final LinkedBlockingQueue<ReadDatapoint> readDatapoints = new LinkedBlockingQueue<>();
 
     @FunctionalInterface
@@ -251,10 +261,37 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         IndividualAddress source = event.getSourceAddr();
         byte[] asdu = event.getASDU();
         logger.trace("Received a {} telegram from '{}' to '{}' with value '{}'", task, source, destination, asdu);
-        for (GroupAddressListener listener : groupAddressListeners) {
-            if (listener.listensTo(destination)) {
-                knxScheduler.schedule(() -> action.apply(listener, source, destination, asdu), 0, TimeUnit.SECONDS);
+        List<GroupAddressListener> listeners = getGroupAddressListeners(destination);
+        if (listeners.isEmpty()) {
+            return;
+        }
+        knxScheduler.execute(() -> {
+            for (GroupAddressListener listener : listeners) {
+                try {
+                    action.apply(listener, source, destination, asdu);
+                } catch (RuntimeException e) {
+                    logger.warn("Failed to process a {} telegram to '{}': {}", task, destination, e.getMessage(), e);
+                }
             }
+        });
+    }
+
+    private List<GroupAddressListener> getGroupAddressListeners(GroupAddress destination) {
+        List<GroupAddressListener> listeners = groupAddressListenerIndex.get(destination);
+        if (listeners != null) {
+            return listeners;
+        }
+        // a listener registered concurrently must not be missing from the index
+        synchronized (groupAddressListenerIndex) {
+            return groupAddressListenerIndex.computeIfAbsent(destination, address -> {
+                List<GroupAddressListener> matching = new ArrayList<>();
+                for (GroupAddressListener listener : groupAddressListeners) {
+                    if (listener.listensTo(address)) {
+                        matching.add(listener);
+                    }
+                }
+                return matching.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(matching);
+            });
         }
     }
 
@@ -377,12 +414,18 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
 
     @Override
     public final boolean registerGroupAddressListener(GroupAddressListener listener) {
-        return groupAddressListeners.add(listener);
+        synchronized (groupAddressListenerIndex) {
+            groupAddressListenerIndex.clear();
+            return groupAddressListeners.add(listener);
+        }
     }
 
     @Override
     public final boolean unregisterGroupAddressListener(GroupAddressListener listener) {
-        return groupAddressListeners.remove(listener);
+        synchronized (groupAddressListenerIndex) {
+            groupAddressListenerIndex.clear();
+            return groupAddressListeners.remove(listener);
+        }
     }
 
     @Override
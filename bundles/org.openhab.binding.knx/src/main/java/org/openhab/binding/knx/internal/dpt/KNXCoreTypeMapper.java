@@ -24,6 +24,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.eclipse.smarthome.core.library.types.DateTimeType;
 import org.eclipse.smarthome.core.library.types.DecimalType;
@@ -107,6 +110,15 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
     /** stores the default KNX DPT to use for each openHAB type */
     private final Map<Class<? extends Type>, String> defaultDptMap;
 
+    /** caches the datapoint type for each DPT id, datapoint types are immutable */
+    private final Map<String, DPT> dptCache = new ConcurrentHashMap<>();
+
+    /**
+     * pools of idle translators per datapoint type. Translators are stateful and not thread-safe, so a translator is
+     * taken out of the pool while in use. A pool never holds more translators than were used concurrently.
+     */
+    private final Map<String, Queue<DPTXlator>> translators = new ConcurrentHashMap<>();
+
     public KNXCoreTypeMapper() {
 
         @SuppressWarnings("unused")
@@ -586,11 +598,14 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
             return null;
         }
 
-        try {
-            DPTXlator translator = TranslatorTypes.createTranslator(mainNumber, dptID);
-            dpt = translator.getType();
-        } catch (KNXException e) {
-            return null;
+        dpt = dptCache.get(dptID);
+        if (dpt == null) {
+            try {
+                dpt = TranslatorTypes.createTranslator(mainNumber, dptID).getType();
+            } catch (KNXException e) {
+                return null;
+            }
+            dptCache.put(dptID, dpt);
         }
 
         try {
@@ -674,8 +689,9 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
 
     @Override
     public Type toType(Datapoint datapoint, byte[] data) {
+        DPTXlator translator = null;
         try {
-            DPTXlator translator = TranslatorTypes.createTranslator(datapoint.getMainNumber(), datapoint.getDPT());
+            translator = borrowTranslator(datapoint.getMainNumber(), datapoint.getDPT());
             translator.setData(data);
             String value = translator.getValue();
 
@@ -856,11 +872,40 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
                     datapoint.getDPT());
         } catch (KNXException e) {
             logger.warn("Failed creating a translator for datapoint type '{}'.", datapoint.getDPT(), e);
+        } finally {
+            if (translator != null) {
+                returnTranslator(datapoint.getMainNumber(), datapoint.getDPT(), translator);
+            }
         }
 
         return null;
     }
 
+    /**
+     * Take an idle translator for the given datapoint type out of the pool, or create one
+     *
+     * @param mainNumber the main number of the datapoint type, or 0 to derive it from the id
+     * @param dptID the datapoint type id
+     * @return the translator, to be handed back by {@link #returnTranslator(int, String, DPTXlator)}
+     * @throws KNXException if no translator is available for the datapoint type
+     */
+    private DPTXlator borrowTranslator(int mainNumber, String dptID) throws KNXException {
+        Queue<DPTXlator> pool = translators.get(mainNumber + ":" + dptID);
+        DPTXlator translator = pool != null ? pool.poll() : null;
+        return translator != null ? translator : TranslatorTypes.createTranslator(mainNumber, dptID);
+    }
+
+    /**
+     * Put a translator back into the pool of its datapoint type
+     *
+     * @param mainNumber the main number the translator was borrowed with
+     * @param dptID the datapoint type id the translator was borrowed with
+     * @param translator the translator, must not be used by the caller anymore
+     */
+    private void returnTranslator(int mainNumber, String dptID, DPTXlator translator) {
+        translators.computeIfAbsent(mainNumber + ":" + dptID, k -> new ConcurrentLinkedQueue<>()).offer(translator);
+    }
+
     /**
      * Converts a datapoint type id into an openHAB type class
      *
@@ -83,10 +83,11 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
 
     @Override
     public void initialize() {
-        super.initialize();
         DeviceConfig config = getConfigAs(DeviceConfig.class);
         readInterval = config.getReadInterval().intValue();
+        // the group addresses must be known before the handler registers itself as listener
         initializeGroupAddresses();
+        super.initialize();
     }
 
     private void initializeGroupAddresses() {
@@ -15,8 +15,13 @@ package org.openhab.binding.knx.internal.dpt;
 import static org.junit.Assert.assertEquals;
 
 import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.OnOffType;
 import org.junit.Test;
 
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+import tuwien.auto.calimero.datapoint.Datapoint;
+
 /**
  *
  * @author Simon Kaufmann - initial contribution and API
@@ -30,4 +35,25 @@ public class KNXCoreTypeMapperTest {
         assertEquals("3", new KNXCoreTypeMapper().toDPTValue(new DecimalType("3.0"), "17.001"));
     }
 
+    @Test
+    public void testToType_translatorReusedForSubsequentTelegrams() {
+        KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+        Datapoint switchDatapoint = new CommandDP(new GroupAddress(1, 2, 3), "test", 0, "1.001");
+        Datapoint temperatureDatapoint = new CommandDP(new GroupAddress(1, 2, 4), "test", 0, "9.001");
+
+        assertEquals(OnOffType.ON, mapper.toType(switchDatapoint, new byte[] { 1 }));
+        assertEquals(new DecimalType("21"), mapper.toType(temperatureDatapoint, new byte[] { 0x0C, 0x1A }));
+        assertEquals(OnOffType.OFF, mapper.toType(switchDatapoint, new byte[] { 0 }));
+        assertEquals(new DecimalType("0"), mapper.toType(temperatureDatapoint, new byte[] { 0, 0 }));
+        assertEquals(OnOffType.ON, mapper.toType(switchDatapoint, new byte[] { 1 }));
+    }
+
+    @Test
+    public void testToDPTValue_repeatedConversions() {
+        KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+        assertEquals("on", mapper.toDPTValue(OnOffType.ON, "1.001"));
+        assertEquals("off", mapper.toDPTValue(OnOffType.OFF, "1.001"));
+        assertEquals("on", mapper.toDPTValue(OnOffType.ON, "1.001"));
+    }
+
 }
@@ -12,19 +12,14 @@
  */
 package org.openhab.binding.lifx.internal;
 
-import static org.openhab.binding.lifx.internal.LifxBindingConstants.PACKET_INTERVAL;
 import static org.openhab.binding.lifx.internal.fields.MACAddress.BROADCAST_ADDRESS;
 import static org.openhab.binding.lifx.internal.util.LifxMessageUtil.randomSourceId;
-import static org.openhab.binding.lifx.internal.util.LifxSelectorUtil.*;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
-import java.nio.channels.SelectionKey;
-import java.nio.channels.Selector;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.BiFunction;
@@ -38,7 +33,6 @@ import org.openhab.binding.lifx.internal.listener.LifxResponsePacketListener;
 import org.openhab.binding.lifx.internal.protocol.GetServiceRequest;
 import org.openhab.binding.lifx.internal.protocol.Packet;
 import org.openhab.binding.lifx.internal.protocol.StateServiceResponse;
-import org.openhab.binding.lifx.internal.util.LifxNetworkUtil;
 import org.openhab.binding.lifx.internal.util.LifxSelectorUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -63,17 +57,11 @@ public class LifxLightCommunicationHandler {
 
     private int service;
     private int unicastPort;
-    private final int broadcastPort = LifxNetworkUtil.getNewBroadcastPort();
-
-    private @Nullable ScheduledFuture<?> networkJob;
 
     private @Nullable MACAddress macAddress;
     private @Nullable InetSocketAddress host;
     private boolean broadcastEnabled;
 
-    private @Nullable Selector selector;
-    private @Nullable SelectionKey broadcastKey;
-    private @Nullable SelectionKey unicastKey;
     private @Nullable LifxSelectorContext selectorContext;
 
     public LifxLightCommunicationHandler(LifxLightContext context) {
@@ -102,26 +90,14 @@ public class LifxLightCommunicationHandler {
             logger.debug("{} : Starting communication handler", logId);
             logger.debug("{} : Using '{}' as source identifier", logId, Long.toString(sourceId, 16));
 
-            ScheduledFuture<?> localNetworkJob = networkJob;
-            if (localNetworkJob == null || localNetworkJob.isCancelled()) {
-                networkJob = scheduler.scheduleWithFixedDelay(this::receiveAndHandlePackets, 0, PACKET_INTERVAL,
-                        TimeUnit.MILLISECONDS);
-            }
-
             currentLightState.setOffline();
 
-            Selector localSelector = Selector.open();
-            selector = localSelector;
+            LifxPacketReactor.register(sourceId, this::receivePacket);
+            selectorContext = new LifxSelectorContext(sourceId, sequenceNumberSupplier, logId, host, macAddress);
 
             if (isBroadcastEnabled()) {
-                broadcastKey = openBroadcastChannel(selector, logId, broadcastPort);
-                selectorContext = new LifxSelectorContext(localSelector, sourceId, sequenceNumberSupplier, logId, host,
-                        macAddress, broadcastKey, unicastKey);
                 broadcastPacket(new GetServiceRequest());
             } else {
-                unicastKey = openUnicastChannel(selector, logId, host);
-                selectorContext = new LifxSelectorContext(localSelector, sourceId, sequenceNumberSupplier, logId, host,
-                        macAddress, broadcastKey, unicastKey);
                 sendPacket(new GetServiceRequest());
             }
         } catch (IOException e) {
@@ -136,16 +112,7 @@ public class LifxLightCommunicationHandler {
         try {
             lock.lock();
 
-            ScheduledFuture<?> localNetworkJob = networkJob;
-            if (localNetworkJob != null && !localNetworkJob.isCancelled()) {
-                localNetworkJob.cancel(true);
-                networkJob = null;
-            }
-
-            closeSelector(selector, logId);
-            selector = null;
-            broadcastKey = null;
-            unicastKey = null;
+            LifxPacketReactor.unregister(sourceId);
             selectorContext = null;
         } finally {
             lock.unlock();
@@ -160,22 +127,24 @@ public class LifxLightCommunicationHandler {
         return macAddress;
     }
 
-    public void receiveAndHandlePackets() {
-        try {
-            lock.lock();
-            Selector localSelector = selector;
-            if (localSelector == null || !localSelector.isOpen()) {
-                logger.debug("{} : Unable to receive and handle packets with null or closed selector", logId);
-            } else {
-                LifxSelectorUtil.receiveAndHandlePackets(localSelector, logId,
-                        (packet, address) -> handlePacket(packet, address));
+    /**
+     * Called by the {@link LifxPacketReactor} thread, the packet is handled by the scheduler so the reactor can
+     * continue receiving packets of other lights.
+     */
+    private void receivePacket(Packet packet, InetSocketAddress address) {
+        scheduler.execute(() -> {
+            try {
+                lock.lock();
+                if (selectorContext != null) {
+                    handlePacket(packet, address);
+                }
+            } catch (Exception e) {
+                logger.error("{} while handling a packet from the light ({}): {}", e.getClass().getSimpleName(),
+                        logId, e.getMessage());
+            } finally {
+                lock.unlock();
             }
-        } catch (Exception e) {
-            logger.error("{} while receiving a packet from the light ({}): {}", e.getClass().getSimpleName(), logId,
-                    e.getMessage());
-        } finally {
-            lock.unlock();
-        }
+        });
     }
 
     private void handlePacket(Packet packet, InetSocketAddress address) {
@@ -216,20 +185,9 @@ public class LifxLightCommunicationHandler {
                         } else {
                             this.host = new InetSocketAddress(address.getAddress(), unicastPort);
 
-                            try {
-                                cancelKey(unicastKey, logId);
-                                unicastKey = openUnicastChannel(selector, logId, host);
-
-                                LifxSelectorContext context = selectorContext;
-                                if (context != null) {
-                                    context.setHost(host);
-                                    context.setUnicastKey(unicastKey);
-                                }
-                            } catch (IOException e) {
-                                logger.warn("{} while opening the unicast channel of the light ({}): {}",
-                                        e.getClass().getSimpleName(), logId, e.getMessage());
-                                currentLightState.setOfflineByCommunicationError();
-                                return;
+                            LifxSelectorContext context = selectorContext;
+                            if (context != null) {
+                                context.setHost(host);
                             }
 
                             currentLightState.setOnline();
@@ -18,9 +18,9 @@ import static org.openhab.binding.lifx.internal.util.LifxSelectorUtil.*;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
-import java.nio.channels.SelectionKey;
-import java.nio.channels.Selector;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -43,7 +43,6 @@ import org.openhab.binding.lifx.internal.protocol.Product;
 import org.openhab.binding.lifx.internal.protocol.StateLabelResponse;
 import org.openhab.binding.lifx.internal.protocol.StateServiceResponse;
 import org.openhab.binding.lifx.internal.protocol.StateVersionResponse;
-import org.openhab.binding.lifx.internal.util.LifxSelectorUtil;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
@@ -65,7 +64,8 @@ public class LifxLightDiscovery extends AbstractDiscoveryService {
 
     private static final String LOG_ID = "Discovery";
     private static final long REFRESH_INTERVAL = TimeUnit.MINUTES.toSeconds(1);
-    private static final long SELECTOR_TIMEOUT = TimeUnit.SECONDS.toMillis(10);
+    private static final long SCAN_TIMEOUT = TimeUnit.SECONDS.toMillis(10);
+    private static final long REQUEST_INTERVAL = 200;
 
     private final Logger logger = LoggerFactory.getLogger(LifxLightDiscovery.class);
 
@@ -73,11 +73,9 @@ public class LifxLightDiscovery extends AbstractDiscoveryService {
     private final long sourceId = randomSourceId();
     private final Supplier<Integer> sequenceNumberSupplier = new LifxSequenceNumberSupplier();
 
-    private @Nullable Selector selector;
-    private @Nullable SelectionKey broadcastKey;
-
     private @Nullable ScheduledFuture<?> discoveryJob;
     private @Nullable ScheduledFuture<?> networkJob;
+    private @Nullable ScheduledFuture<?> scanTimeoutJob;
 
     private boolean isScanning = false;
 
@@ -94,25 +92,17 @@ public class LifxLightDiscovery extends AbstractDiscoveryService {
 
         private long lastRequestTimeMillis;
 
-        public DiscoveredLight(Selector lightSelector, MACAddress macAddress, InetSocketAddress socketAddress,
-                String logId, @Nullable SelectionKey unicastKey) {
+        public DiscoveredLight(MACAddress macAddress, InetSocketAddress socketAddress, String logId) {
             this.macAddress = macAddress;
             this.logId = logId;
             this.socketAddress = socketAddress;
-            this.selectorContext = new LifxSelectorContext(lightSelector, sourceId, sequenceNumberSupplier, logId,
-                    socketAddress, macAddress, broadcastKey, unicastKey);
+            this.selectorContext = new LifxSelectorContext(sourceId, sequenceNumberSupplier, logId, socketAddress,
+                    macAddress);
         }
 
         public boolean isDataComplete() {
             return label != null && product != null;
         }
-
-        public void cancelUnicastKey() {
-            SelectionKey unicastKey = selectorContext.getUnicastKey();
-            if (unicastKey != null) {
-                cancelKey(unicastKey, selectorContext.getLogId());
-            }
-        }
     }
 
     public LifxLightDiscovery() throws IllegalArgumentException {
@@ -157,11 +147,7 @@ public class LifxLightDiscovery extends AbstractDiscoveryService {
             discoveryJob = null;
         }
 
-        ScheduledFuture<?> localNetworkJob = networkJob;
-        if (localNetworkJob != null && !localNetworkJob.isCancelled()) {
-            localNetworkJob.cancel(true);
-            networkJob = null;
-        }
+        stopReceiving();
     }
 
     @Override
@@ -175,25 +161,24 @@ public class LifxLightDiscovery extends AbstractDiscoveryService {
         removeOlderResults(getTimestampOfLastScan());
     }
 
-    protected void doScan() {
+    protected synchronized void doScan() {
         try {
             if (!isScanning) {
                 isScanning = true;
-                if (selector != null) {
-                    closeSelector(selector, LOG_ID);
-                }
 
                 logger.debug("The LIFX discovery service will use '{}' as source identifier",
                         Long.toString(sourceId, 16));
 
-                Selector localSelector = Selector.open();
-                selector = localSelector;
-
-                broadcastKey = openBroadcastChannel(localSelector, LOG_ID, BROADCAST_PORT);
-                networkJob = scheduler.schedule(this::receiveAndHandlePackets, 0, TimeUnit.MILLISECONDS);
+                synchronized (discoveredLights) {
+                    discoveredLights.clear();
+                }
+                LifxPacketReactor.register(sourceId, this::receivePacket);
+                networkJob = scheduler.scheduleWithFixedDelay(this::requestAdditionalLightData, REQUEST_INTERVAL,
+                        REQUEST_INTERVAL, TimeUnit.MILLISECONDS);
+                scanTimeoutJob = scheduler.schedule(this::stopReceiving, SCAN_TIMEOUT, TimeUnit.MILLISECONDS);
 
-                LifxSelectorContext selectorContext = new LifxSelectorContext(localSelector, sourceId,
-                        sequenceNumberSupplier, LOG_ID, broadcastKey);
+                LifxSelectorContext selectorContext = new LifxSelectorContext(sourceId, sequenceNumberSupplier,
+                        LOG_ID);
                 broadcastPacket(selectorContext, new GetServiceRequest());
             } else {
                 logger.info("A discovery scan for LIFX lights is already underway");
@@ -204,65 +189,64 @@ public class LifxLightDiscovery extends AbstractDiscoveryService {
         }
     }
 
-    public void receiveAndHandlePackets() {
-        Selector localSelector = selector;
-
-        try {
-            if (localSelector == null || !localSelector.isOpen()) {
-                logger.debug("Unable to receive and handle packets with null or closed selector");
-                return;
-            }
-
-            discoveredLights.clear();
-            logger.trace("Entering read loop");
-            long startStamp = System.currentTimeMillis();
-
-            while (System.currentTimeMillis() - startStamp < SELECTOR_TIMEOUT) {
-                int lightCount = discoveredLights.size();
-                long selectStamp = System.currentTimeMillis();
+    private synchronized void stopReceiving() {
+        ScheduledFuture<?> localNetworkJob = networkJob;
+        if (localNetworkJob != null) {
+            localNetworkJob.cancel(true);
+            networkJob = null;
+        }
 
-                LifxSelectorUtil.receiveAndHandlePackets(localSelector, LOG_ID,
-                        (packet, address) -> handlePacket(packet, address));
-                requestAdditionalLightData();
+        ScheduledFuture<?> localScanTimeoutJob = scanTimeoutJob;
+        if (localScanTimeoutJob != null) {
+            localScanTimeoutJob.cancel(false);
+            scanTimeoutJob = null;
+        }
 
-                boolean discoveredNewLights = lightCount < discoveredLights.size();
-                if (!discoveredNewLights) {
-                    boolean preventBusyWaiting = System.currentTimeMillis() - selectStamp < PACKET_INTERVAL;
-                    if (preventBusyWaiting) {
-                        Thread.sleep(PACKET_INTERVAL);
-                    }
-                }
-            }
-            logger.trace("Exited read loop");
-        } catch (Exception e) {
-            logger.debug("{} while receiving and handling discovery packets: {}", e.getClass().getSimpleName(),
-                    e.getMessage(), e);
-        } finally {
-            LifxSelectorUtil.closeSelector(localSelector, LOG_ID);
-            selector = null;
+        if (isScanning) {
+            LifxPacketReactor.unregister(sourceId);
             isScanning = false;
         }
     }
 
     private void requestAdditionalLightData() {
-        // Iterate through the discovered lights that have to be set up, and the packets that have to be sent
-        // Workaround to avoid a ConcurrentModifictionException on the selector.SelectedKeys() Set
-        for (DiscoveredLight light : discoveredLights.values()) {
-            if (light == null) {
-                continue;
-            }
-            boolean waitingForLightResponse = System.currentTimeMillis() - light.lastRequestTimeMillis < 200;
-
-            if (light.supportedProduct && !light.isDataComplete() && !waitingForLightResponse) {
-                if (light.product == null) {
-                    sendPacket(light.selectorContext, new GetVersionRequest());
+        // Collect the requests while locked, the packets are sent without holding the lock because sending is
+        // throttled
+        List<LifxSelectorContext> versionRequests = new ArrayList<>();
+        List<LifxSelectorContext> labelRequests = new ArrayList<>();
+        synchronized (discoveredLights) {
+            for (DiscoveredLight light : discoveredLights.values()) {
+                if (light == null) {
+                    continue;
                 }
-                if (light.label == null) {
-                    sendPacket(light.selectorContext, new GetLabelRequest());
+                boolean waitingForLightResponse = System.currentTimeMillis()
+                        - light.lastRequestTimeMillis < REQUEST_INTERVAL;
+
+                if (light.supportedProduct && !light.isDataComplete() && !waitingForLightResponse) {
+                    if (light.product == null) {
+                        versionRequests.add(light.selectorContext);
+                    }
+                    if (light.label == null) {
+                        labelRequests.add(light.selectorContext);
+                    }
+                    light.lastRequestTimeMillis = System.currentTimeMillis();
                 }
-                light.lastRequestTimeMillis = System.currentTimeMillis();
             }
         }
+
+        versionRequests.forEach(context -> sendPacket(context, new GetVersionRequest()));
+        labelRequests.forEach(context -> sendPacket(context, new GetLabelRequest()));
+    }
+
+    /**
+     * Called by the {@link LifxPacketReactor} thread, the packet is handled by the scheduler so the reactor can
+     * continue receiving packets of the lights.
+     */
+    private void receivePacket(Packet packet, InetSocketAddress address) {
+        scheduler.execute(() -> {
+            synchronized (discoveredLights) {
+                handlePacket(packet, address);
+            }
+        });
     }
 
     private void handlePacket(Packet packet, InetSocketAddress address) {
@@ -277,25 +261,13 @@ public class LifxLightDiscovery extends AbstractDiscoveryService {
             if (packet instanceof StateServiceResponse) {
                 int port = (int) ((StateServiceResponse) packet).getPort();
                 if (port != 0) {
-                    try {
-                        InetSocketAddress socketAddress = new InetSocketAddress(address.getAddress(), port);
-                        if (light == null || (!socketAddress.equals(light.socketAddress))) {
-                            if (light != null) {
-                                light.cancelUnicastKey();
-                            }
-
-                            Selector lightSelector = selector;
-                            if (lightSelector != null) {
-                                String logId = getLogId(macAddress, socketAddress);
-                                light = new DiscoveredLight(lightSelector, macAddress, socketAddress, logId,
-                                        openUnicastChannel(lightSelector, logId, socketAddress));
-                                discoveredLights.put(macAddress, light);
-                            }
-                        }
-                    } catch (Exception e) {
-                        logger.warn("{} while connecting to IP address: {}", e.getClass().getSimpleName(),
-                                e.getMessage());
-                        return;
+                    InetSocketAddress socketAddress = new InetSocketAddress(address.getAddress(), port);
+                    if (light == null || (!socketAddress.equals(light.socketAddress))) {
+                        String logId = getLogId(macAddress, socketAddress);
+                        light = new DiscoveredLight(macAddress, socketAddress, logId);
+                        discoveredLights.put(macAddress, light);
+                        // request the label and version right away instead of waiting for the next request interval
+                        scheduler.execute(this::requestAdditionalLightData);
                     }
                 }
             } else if (light != null) {
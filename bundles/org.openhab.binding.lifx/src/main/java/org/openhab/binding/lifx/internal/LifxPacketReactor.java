@@ -0,0 +1,301 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.lifx.internal;
+
+import static org.openhab.binding.lifx.internal.LifxBindingConstants.BROADCAST_PORT;
+import static org.openhab.binding.lifx.internal.util.LifxNetworkUtil.isRemoteAddress;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.lifx.internal.protocol.Packet;
+import org.openhab.binding.lifx.internal.util.LifxNetworkUtil;
+import org.openhab.binding.lifx.internal.util.LifxSelectorUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link LifxPacketReactor} owns the sockets used for communicating with all LIFX lights. A single thread blocks
+ * on a {@link Selector} with one broadcast and one unicast channel and dispatches the received packets to the
+ * consumers registered with the source identifier of the packets. Packets without a source identifier are dispatched
+ * to all consumers.
+ *
+ * The reactor is started when the first consumer is registered and it is stopped when the last consumer is
+ * unregistered. When the reactor fails, it is restarted with the registered consumers. If that fails too, sending a
+ * packet retries to start it.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class LifxPacketReactor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LifxPacketReactor.class);
+    private static final String LOG_ID = "Reactor";
+    private static final int MAX_SEND_RETRIES = 10;
+    private static final long SEND_RETRY_INTERVAL = 20;
+    private static final long RESTART_INTERVAL = TimeUnit.SECONDS.toNanos(10);
+
+    private static final Map<Long, BiConsumer<Packet, InetSocketAddress>> CONSUMERS = new ConcurrentHashMap<>();
+    private static volatile @Nullable LifxPacketReactor instance;
+    private static long lastStartNanos;
+
+    private final Selector selector;
+    private final DatagramChannel broadcastChannel;
+    private final DatagramChannel unicastChannel;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    private LifxPacketReactor(Selector selector, DatagramChannel broadcastChannel, DatagramChannel unicastChannel) {
+        this.selector = selector;
+        this.broadcastChannel = broadcastChannel;
+        this.unicastChannel = unicastChannel;
+        this.thread = new Thread(this::run, "OH-binding-lifx-reactor");
+        this.thread.setDaemon(true);
+    }
+
+    @SuppressWarnings("resource")
+    private static LifxPacketReactor start() throws IOException {
+        lastStartNanos = System.nanoTime();
+        Selector selector = Selector.open();
+        DatagramChannel broadcastChannel = null;
+        DatagramChannel unicastChannel = null;
+        try {
+            broadcastChannel = DatagramChannel.open(StandardProtocolFamily.INET)
+                    .setOption(StandardSocketOptions.SO_REUSEADDR, true)
+                    .setOption(StandardSocketOptions.SO_BROADCAST, true);
+            broadcastChannel.configureBlocking(false);
+            LOGGER.debug("{} : Binding the broadcast channel on port {}", LOG_ID, BROADCAST_PORT);
+            broadcastChannel.bind(new InetSocketAddress(BROADCAST_PORT));
+            broadcastChannel.register(selector, SelectionKey.OP_READ);
+
+            unicastChannel = DatagramChannel.open(StandardProtocolFamily.INET);
+            unicastChannel.configureBlocking(false);
+            unicastChannel.bind(null);
+            LOGGER.debug("{} : Bound the unicast channel on {}", LOG_ID, unicastChannel.getLocalAddress());
+            unicastChannel.register(selector, SelectionKey.OP_READ);
+        } catch (IOException e) {
+            closeQuietly(selector);
+            closeQuietly(broadcastChannel);
+            closeQuietly(unicastChannel);
+            throw e;
+        }
+
+        LifxPacketReactor reactor = new LifxPacketReactor(selector, broadcastChannel, unicastChannel);
+        reactor.thread.start();
+        return reactor;
+    }
+
+    /**
+     * Registers a consumer for the packets that are received with the given source identifier. The consumer is called
+     * by the reactor thread so it should hand off any work that may block.
+     *
+     * @param sourceId the source identifier used in the packets sent by the consumer
+     * @param consumer the consumer of the received packets
+     * @throws IOException when the reactor could not be started
+     */
+    public static synchronized void register(long sourceId, BiConsumer<Packet, InetSocketAddress> consumer)
+            throws IOException {
+        if (instance == null) {
+            instance = start();
+        }
+        CONSUMERS.put(sourceId, consumer);
+    }
+
+    /**
+     * Unregisters the consumer of the given source identifier and stops the reactor when it was the last consumer.
+     *
+     * @param sourceId the source identifier of the consumer
+     */
+    public static synchronized void unregister(long sourceId) {
+        CONSUMERS.remove(sourceId);
+        LifxPacketReactor reactor = instance;
+        if (reactor != null && CONSUMERS.isEmpty()) {
+            instance = null;
+            reactor.stop();
+        }
+    }
+
+    /**
+     * Starts a new reactor for the registered consumers after the previous one failed. Attempts are made at most
+     * once per {@link #RESTART_INTERVAL}.
+     *
+     * @return the running reactor or null when no reactor is needed or it could not be started
+     */
+    private static synchronized @Nullable LifxPacketReactor restart() {
+        LifxPacketReactor reactor = instance;
+        if (reactor == null && !CONSUMERS.isEmpty() && System.nanoTime() - lastStartNanos >= RESTART_INTERVAL) {
+            try {
+                reactor = start();
+                instance = reactor;
+            } catch (IOException e) {
+                LOGGER.warn("{} : Failed to restart receiving packets from the lights : {}", LOG_ID, e.getMessage());
+            }
+        }
+        return reactor;
+    }
+
+    /**
+     * Sends the bytes of a packet to the given address.
+     *
+     * @param bytes the bytes of the packet
+     * @param address the address of a light or a broadcast address
+     * @param broadcast whether the packet is sent using the broadcast channel
+     * @return true when the packet was sent, false when the reactor is not running or the send buffer stayed full
+     * @throws IOException when sending fails
+     */
+    @SuppressWarnings("resource")
+    public static boolean send(ByteBuffer bytes, InetSocketAddress address, boolean broadcast) throws IOException {
+        LifxPacketReactor reactor = instance;
+        if (reactor == null) {
+            reactor = restart();
+            if (reactor == null) {
+                return false;
+            }
+        }
+
+        DatagramChannel channel = broadcast ? reactor.broadcastChannel : reactor.unicastChannel;
+        for (int i = 0; i <= MAX_SEND_RETRIES; i++) {
+            if (channel.send(bytes, address) > 0) {
+                return true;
+            }
+            // the socket send buffer is full
+            try {
+                Thread.sleep(SEND_RETRY_INTERVAL);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        LOGGER.debug("Failed to send packet to {} after {} retries", address, MAX_SEND_RETRIES);
+        return false;
+    }
+
+    private void stop() {
+        running = false;
+        selector.wakeup();
+    }
+
+    private void run() {
+        LOGGER.debug("{} : Started receiving packets", LOG_ID);
+        try {
+            while (running) {
+                selector.select();
+                Iterator<SelectionKey> keyIterator = selector.selectedKeys().iterator();
+                while (keyIterator.hasNext()) {
+                    SelectionKey key = keyIterator.next();
+                    keyIterator.remove();
+                    if (key.isValid() && key.isReadable()) {
+                        receivePackets((DatagramChannel) key.channel());
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.error("{} while receiving packets from the lights : {}", e.getClass().getSimpleName(),
+                    e.getMessage());
+        } finally {
+            close();
+            LOGGER.debug("{} : Stopped receiving packets", LOG_ID);
+            if (running) {
+                restartAfterFailure();
+            }
+        }
+    }
+
+    /**
+     * Replaces the failed reactor. A reactor that failed right after it was started is not restarted immediately,
+     * the next packet sent after the {@link #RESTART_INTERVAL} retries.
+     */
+    private void restartAfterFailure() {
+        synchronized (LifxPacketReactor.class) {
+            if (instance == this) {
+                instance = null;
+                restart();
+            }
+        }
+    }
+
+    private void receivePackets(DatagramChannel channel) {
+        // drain the channel so one wake up handles all packets that have arrived in the meantime
+        while (running) {
+            try {
+                ByteBuffer readBuffer = ByteBuffer.allocate(LifxNetworkUtil.getBufferSize());
+                InetSocketAddress address = (InetSocketAddress) channel.receive(readBuffer);
+                if (address == null) {
+                    return;
+                }
+                if (isRemoteAddress(address.getAddress())) {
+                    LifxSelectorUtil.parsePacket(readBuffer, address, LOG_ID, this::dispatchPacket);
+                }
+            } catch (IOException | RuntimeException e) {
+                LOGGER.debug("{} while reading data from the lights : {}", e.getClass().getSimpleName(),
+                        e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private void dispatchPacket(Packet packet, InetSocketAddress address) {
+        if (packet.getSource() == 0) {
+            CONSUMERS.values().forEach(consumer -> acceptPacket(consumer, packet, address));
+        } else {
+            BiConsumer<Packet, InetSocketAddress> consumer = CONSUMERS.get(packet.getSource());
+            if (consumer != null) {
+                acceptPacket(consumer, packet, address);
+            } else {
+                LOGGER.trace("{} : Ignoring packet type '{}' from '{}' for unknown source '{}'", LOG_ID,
+                        packet.getClass().getSimpleName(), address, Long.toString(packet.getSource(), 16));
+            }
+        }
+    }
+
+    private void acceptPacket(BiConsumer<Packet, InetSocketAddress> consumer, Packet packet,
+            InetSocketAddress address) {
+        try {
+            consumer.accept(packet, address);
+        } catch (RuntimeException e) {
+            LOGGER.warn("{} while handling a packet received from '{}': {}", e.getClass().getSimpleName(), address,
+                    e.getMessage(), e);
+        }
+    }
+
+    private void close() {
+        closeQuietly(selector);
+        closeQuietly(broadcastChannel);
+        closeQuietly(unicastChannel);
+    }
+
+    private static void closeQuietly(@Nullable Closeable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                LOGGER.debug("{} while closing '{}': {}", e.getClass().getSimpleName(), closeable, e.getMessage());
+            }
+        }
+    }
+}
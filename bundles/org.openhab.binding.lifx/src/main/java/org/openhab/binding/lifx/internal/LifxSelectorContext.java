@@ -13,8 +13,6 @@
 package org.openhab.binding.lifx.internal;
 
 import java.net.InetSocketAddress;
-import java.nio.channels.SelectionKey;
-import java.nio.channels.Selector;
 import java.util.function.Supplier;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -23,42 +21,30 @@ import org.openhab.binding.lifx.internal.fields.MACAddress;
 
 /**
  * The {@link LifxSelectorContext} stores the context that is used for broadcast and unicast communications with a
- * light using a {@link Selector}.
+ * light using the {@link LifxPacketReactor}.
  *
  * @author Wouter Born - Make selector logic reusable between discovery and handlers
  */
 @NonNullByDefault
 public class LifxSelectorContext {
 
-    private final Selector selector;
     private final long sourceId;
     private final Supplier<Integer> sequenceNumberSupplier;
     private final String logId;
     private @Nullable InetSocketAddress host;
     private @Nullable MACAddress macAddress;
-    private @Nullable SelectionKey broadcastKey;
-    private @Nullable SelectionKey unicastKey;
 
-    public LifxSelectorContext(Selector selector, long sourceId, Supplier<Integer> sequenceNumberSupplier, String logId,
-            @Nullable SelectionKey broadcastKey) {
-        this(selector, sourceId, sequenceNumberSupplier, logId, null, null, broadcastKey, null);
+    public LifxSelectorContext(long sourceId, Supplier<Integer> sequenceNumberSupplier, String logId) {
+        this(sourceId, sequenceNumberSupplier, logId, null, null);
     }
 
-    public LifxSelectorContext(Selector selector, long sourceId, Supplier<Integer> sequenceNumberSupplier, String logId,
-            @Nullable InetSocketAddress host, @Nullable MACAddress macAddress, @Nullable SelectionKey broadcastKey,
-            @Nullable SelectionKey unicastKey) {
-        this.selector = selector;
+    public LifxSelectorContext(long sourceId, Supplier<Integer> sequenceNumberSupplier, String logId,
+            @Nullable InetSocketAddress host, @Nullable MACAddress macAddress) {
         this.sourceId = sourceId;
         this.sequenceNumberSupplier = sequenceNumberSupplier;
         this.logId = logId;
         this.host = host;
         this.macAddress = macAddress;
-        this.broadcastKey = broadcastKey;
-        this.unicastKey = unicastKey;
-    }
-
-    public Selector getSelector() {
-        return selector;
     }
 
     public long getSourceId() {
@@ -81,14 +67,6 @@ public class LifxSelectorContext {
         return macAddress;
     }
 
-    public @Nullable SelectionKey getBroadcastKey() {
-        return broadcastKey;
-    }
-
-    public @Nullable SelectionKey getUnicastKey() {
-        return unicastKey;
-    }
-
     public void setHost(@Nullable InetSocketAddress host) {
         this.host = host;
     }
@@ -97,12 +75,4 @@ public class LifxSelectorContext {
         this.macAddress = macAddress;
     }
 
-    public void setBroadcastKey(@Nullable SelectionKey broadcastKey) {
-        this.broadcastKey = broadcastKey;
-    }
-
-    public void setUnicastKey(@Nullable SelectionKey unicastKey) {
-        this.unicastKey = unicastKey;
-    }
-
 }
@@ -54,7 +54,6 @@ import org.openhab.binding.loxone.internal.types.LxConfig;
 import org.openhab.binding.loxone.internal.types.LxConfig.LxServerInfo;
 import org.openhab.binding.loxone.internal.types.LxErrorCode;
 import org.openhab.binding.loxone.internal.types.LxResponse;
-import org.openhab.binding.loxone.internal.types.LxState;
 import org.openhab.binding.loxone.internal.types.LxStateUpdate;
 import org.openhab.binding.loxone.internal.types.LxUuid;
 import org.slf4j.Logger;
@@ -82,11 +81,11 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
     // initial delay to initiate connection
     private AtomicInteger reconnectDelay = new AtomicInteger();
 
-    // Map of state UUID to a map of control UUID and state objects
+    // Index of state UUID to a map of control UUID and state objects
     // State with a unique UUID can be configured in many controls and each control can even have a different name of
     // the state. It must be ensured that updates received for this state UUID are passed to all controls that have this
     // state UUID configured.
-    private Map<LxUuid, Map<LxUuid, LxState>> states = new HashMap<>();
+    private final LxStateIndex states = new LxStateIndex();
 
     private LxWebSocket socket;
     private WebSocketClient wsClient;
@@ -264,16 +263,7 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
         logger.debug("[{}] Removing control: {}", debugId, control.getName());
         control.getSubControls().values().forEach(subControl -> removeControl(subControl));
         LxUuid controlUuid = control.getUuid();
-        control.getStates().values().forEach(state -> {
-            LxUuid stateUuid = state.getUuid();
-            Map<LxUuid, LxState> perUuid = states.get(stateUuid);
-            if (perUuid != null) {
-                perUuid.remove(controlUuid);
-                if (perUuid.isEmpty()) {
-                    states.remove(stateUuid);
-                }
-            }
-        });
+        control.getStates().values().forEach(state -> states.remove(controlUuid, state));
 
         ThingBuilder builder = editThing();
         control.getChannels().forEach(channel -> {
@@ -460,13 +450,45 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
     }
 
     /**
-     * Put a new state update event to the queue for processing and signal thread to process it
+     * Put a new value state update received in a binary table of value states to the queue for processing. The update
+     * is queued only if any control has this state and the value is different from the last received value.
      *
-     * @param uuid state uuid (null indicates websocket session should be closed)
+     * @param data buffer with the binary state UUID
+     * @param offset offset of the state UUID in the buffer
      * @param value new state value
+     * @return true if the update was queued
+     */
+    boolean queueStateUpdate(byte data[], int offset, double value) {
+        LxStateIndex.Entry entry = states.updateValue(data, offset, value);
+        if (entry == null) {
+            return false;
+        }
+        stateUpdateQueue.add(new LxStateUpdate(entry.getUuid(), value));
+        return true;
+    }
+
+    /**
+     * Put a new text state update received in a binary table of text states to the queue for processing. The update
+     * is queued only if any control has this state and the text is different from the last received text.
+     *
+     * @param data buffer with the binary state UUID
+     * @param offset offset of the state UUID in the buffer
+     * @param value new state text
+     * @return true if the update was queued
      */
-    void queueStateUpdate(LxUuid uuid, Object value) {
-        stateUpdateQueue.add(new LxStateUpdate(uuid, value));
+    boolean queueStateUpdate(byte data[], int offset, String value) {
+        LxStateIndex.Entry entry = states.updateText(data, offset, value);
+        if (entry == null) {
+            return false;
+        }
+        stateUpdateQueue.add(new LxStateUpdate(entry.getUuid(), value));
+        return true;
+    }
+
+    /**
+     * Signal thread to process the queued state updates
+     */
+    void signalStateUpdate() {
         queueUpdatedLock.lock();
         try {
             queueUpdated.signalAll();
@@ -483,9 +505,9 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
      * @param update Miniserver's update event
      */
     private void updateStateValue(LxStateUpdate update) {
-        Map<LxUuid, LxState> perStateUuid = states.get(update.getUuid());
-        if (perStateUuid != null) {
-            perStateUuid.forEach((controlUuid, state) -> {
+        LxStateIndex.Entry entry = states.get(update.getUuid());
+        if (entry != null) {
+            entry.getStates().forEach((controlUuid, state) -> {
                 state.setStateValue(update.getValue());
             });
         }
@@ -504,14 +526,7 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
     private void addControlStructures(LxControl control) {
         LxUuid uuid = control.getUuid();
         logger.debug("[{}] Adding control to handler: {}, {}", debugId, uuid, control.getName());
-        control.getStates().values().forEach(state -> {
-            Map<LxUuid, LxState> perUuid = states.get(state.getUuid());
-            if (perUuid == null) {
-                perUuid = new HashMap<>();
-                states.put(state.getUuid(), perUuid);
-            }
-            perUuid.put(uuid, state);
-        });
+        control.getStates().values().forEach(state -> states.add(uuid, state));
         controls.put(control.getUuid(), control);
         control.getChannels().forEach(channel -> channels.put(channel.getUID(), control));
         control.getSubControls().values().forEach(subControl -> addControlStructures(subControl));
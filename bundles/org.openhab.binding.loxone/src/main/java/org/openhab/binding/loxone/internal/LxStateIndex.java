@@ -0,0 +1,254 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.loxone.internal;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.openhab.binding.loxone.internal.types.LxState;
+import org.openhab.binding.loxone.internal.types.LxUuid;
+
+/**
+ * Index of the control states by their state UUID.
+ * <p>
+ * State with a unique UUID can be configured in many controls and each control can even have a different name of the
+ * state. Each entry of the index keeps the states of all controls that have this state UUID configured.
+ * <p>
+ * The Miniserver sends state updates in binary tables, where each state is identified by a 16 byte UUID. The index is
+ * an open addressing hash table keyed by the two long values of a binary UUID, so updates can be looked up without
+ * creating any objects. The last received value of each state is kept in the index, so updates that do not change the
+ * value are recognized before they are queued for the controls.
+ * <p>
+ * States with UUIDs that are not in the standard format can't be received in binary form and are kept in a separate
+ * map.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+class LxStateIndex {
+
+    /**
+     * States of all controls that share a state UUID and the last value received for this UUID
+     */
+    static class Entry {
+        private final LxUuid uuid;
+        private final Map<LxUuid, LxState> perControl = new HashMap<>();
+        private double lastValue;
+        private String lastText;
+        private boolean hasValue;
+
+        private Entry(LxUuid uuid) {
+            this.uuid = uuid;
+        }
+
+        LxUuid getUuid() {
+            return uuid;
+        }
+
+        /**
+         * @return map of control UUID to the state object of this control
+         */
+        Map<LxUuid, LxState> getStates() {
+            return perControl;
+        }
+    }
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private long[] mostSignificantBits = new long[INITIAL_CAPACITY];
+    private long[] leastSignificantBits = new long[INITIAL_CAPACITY];
+    private Entry[] entries = new Entry[INITIAL_CAPACITY];
+    private int size;
+
+    private final Map<LxUuid, Entry> otherEntries = new HashMap<>();
+
+    /**
+     * Adds a state of a control to the index.
+     *
+     * @param controlUuid UUID of the control that has the state
+     * @param state state to add
+     */
+    synchronized void add(LxUuid controlUuid, LxState state) {
+        LxUuid uuid = state.getUuid();
+        Entry entry = get(uuid);
+        if (entry == null) {
+            entry = new Entry(uuid);
+            if (uuid.isBinary()) {
+                put(entry);
+            } else {
+                otherEntries.put(uuid, entry);
+            }
+        }
+        entry.perControl.put(controlUuid, state);
+    }
+
+    /**
+     * Removes a state of a control from the index.
+     *
+     * @param controlUuid UUID of the control that has the state
+     * @param state state to remove
+     */
+    synchronized void remove(LxUuid controlUuid, LxState state) {
+        LxUuid uuid = state.getUuid();
+        Entry entry = get(uuid);
+        if (entry != null) {
+            entry.perControl.remove(controlUuid);
+            if (entry.perControl.isEmpty()) {
+                if (uuid.isBinary()) {
+                    delete(indexOf(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()));
+                } else {
+                    otherEntries.remove(uuid);
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the entry of a state UUID.
+     *
+     * @param uuid state UUID
+     * @return entry with the states of this UUID or null if no control has this state
+     */
+    synchronized Entry get(LxUuid uuid) {
+        if (!uuid.isBinary()) {
+            return otherEntries.get(uuid);
+        }
+        int index = indexOf(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        return index >= 0 ? entries[index] : null;
+    }
+
+    /**
+     * Stores a value state received in a binary table of value states.
+     *
+     * @param data buffer with the binary UUID
+     * @param offset offset of the UUID in the buffer
+     * @param value received value
+     * @return entry of the state UUID or null if no control has this state or the value did not change
+     */
+    synchronized Entry updateValue(byte data[], int offset, double value) {
+        Entry entry = find(data, offset);
+        if (entry == null || (entry.hasValue && Double.compare(entry.lastValue, value) == 0)) {
+            return null;
+        }
+        entry.lastValue = value;
+        entry.hasValue = true;
+        return entry;
+    }
+
+    /**
+     * Stores a text state received in a binary table of text states.
+     *
+     * @param data buffer with the binary UUID
+     * @param offset offset of the UUID in the buffer
+     * @param text received text
+     * @return entry of the state UUID or null if no control has this state or the text did not change
+     */
+    synchronized Entry updateText(byte data[], int offset, String text) {
+        Entry entry = find(data, offset);
+        if (entry == null || text.equals(entry.lastText)) {
+            return null;
+        }
+        entry.lastText = text;
+        return entry;
+    }
+
+    /**
+     * Finds the entry of a binary UUID.
+     *
+     * @param data buffer with the binary UUID
+     * @param offset offset of the UUID in the buffer
+     * @return entry with the states of this UUID or null if no control has this state
+     */
+    synchronized Entry find(byte data[], int offset) {
+        int index = indexOf(LxUuid.getMostSignificantBits(data, offset), LxUuid.getLeastSignificantBits(data, offset));
+        return index >= 0 ? entries[index] : null;
+    }
+
+    /**
+     * Removes all states from the index.
+     */
+    synchronized void clear() {
+        Arrays.fill(entries, null);
+        size = 0;
+        otherEntries.clear();
+    }
+
+    synchronized int size() {
+        return size + otherEntries.size();
+    }
+
+    private int slot(long msb, long lsb) {
+        long hash = (msb ^ lsb) * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32) & (entries.length - 1);
+    }
+
+    private int indexOf(long msb, long lsb) {
+        int mask = entries.length - 1;
+        for (int i = slot(msb, lsb); entries[i] != null; i = (i + 1) & mask) {
+            if (mostSignificantBits[i] == msb && leastSignificantBits[i] == lsb) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void put(Entry entry) {
+        if (2 * (size + 1) > entries.length) {
+            resize();
+        }
+        long msb = entry.uuid.getMostSignificantBits();
+        long lsb = entry.uuid.getLeastSignificantBits();
+        int mask = entries.length - 1;
+        int i = slot(msb, lsb);
+        while (entries[i] != null) {
+            i = (i + 1) & mask;
+        }
+        mostSignificantBits[i] = msb;
+        leastSignificantBits[i] = lsb;
+        entries[i] = entry;
+        size++;
+    }
+
+    /**
+     * Removes the entry at the given index and moves the following entries of the probe sequence, so no entry
+     * becomes unreachable.
+     */
+    private void delete(int index) {
+        if (index < 0) {
+            return;
+        }
+        int mask = entries.length - 1;
+        entries[index] = null;
+        size--;
+        for (int i = (index + 1) & mask; entries[i] != null; i = (i + 1) & mask) {
+            Entry entry = entries[i];
+            entries[i] = null;
+            size--;
+            put(entry);
+        }
+    }
+
+    private void resize() {
+        Entry[] oldEntries = entries;
+        mostSignificantBits = new long[oldEntries.length * 2];
+        leastSignificantBits = new long[oldEntries.length * 2];
+        entries = new Entry[oldEntries.length * 2];
+        size = 0;
+        for (Entry entry : oldEntries) {
+            if (entry != null) {
+                put(entry);
+            }
+        }
+    }
+}
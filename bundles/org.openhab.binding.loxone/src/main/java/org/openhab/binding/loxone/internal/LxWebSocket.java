@@ -80,6 +80,8 @@ public class LxWebSocket {
     private String fwVersion;
     private ScheduledFuture<?> timeout;
     private LxWsBinaryHeader header;
+    // little-endian view of the last received binary message, reused as long as the websocket passes the same buffer
+    private ByteBuffer dataView;
     private LxWsSecurity security;
     private boolean awaitingConfiguration = false;
     private final Lock webSocketLock = new ReentrantLock();
@@ -237,24 +239,33 @@ public class LxWebSocket {
                 switch (header.getType()) {
                     case EVENT_TABLE_OF_VALUE_STATES:
                         stopResponseTimeout();
+                        ByteBuffer values = getDataView(data);
+                        boolean valuesQueued = false;
                         while (length > 0) {
-                            Double value = ByteBuffer.wrap(data, offset + 16, 8).order(ByteOrder.LITTLE_ENDIAN)
-                                    .getDouble();
-                            thingHandler.queueStateUpdate(new LxUuid(data, offset), value);
+                            // unchanged values and states of unknown controls are dropped without allocating objects
+                            valuesQueued |= thingHandler.queueStateUpdate(data, offset, values.getDouble(offset + 16));
                             offset += 24;
                             length -= 24;
                         }
+                        if (valuesQueued) {
+                            thingHandler.signalStateUpdate();
+                        }
                         break;
                     case EVENT_TABLE_OF_TEXT_STATES:
+                        ByteBuffer texts = getDataView(data);
+                        boolean textsQueued = false;
                         while (length > 0) {
                             // unused today at (offset + 16): iconUuid
-                            int textLen = ByteBuffer.wrap(data, offset + 32, 4).order(ByteOrder.LITTLE_ENDIAN).getInt();
+                            int textLen = texts.getInt(offset + 32);
                             String value = new String(data, offset + 36, textLen);
                             int size = 36 + (textLen % 4 > 0 ? textLen + 4 - (textLen % 4) : textLen);
-                            thingHandler.queueStateUpdate(new LxUuid(data, offset), value);
+                            textsQueued |= thingHandler.queueStateUpdate(data, offset, value);
                             offset += size;
                             length -= size;
                         }
+                        if (textsQueued) {
+                            thingHandler.signalStateUpdate();
+                        }
                         break;
                     case KEEPALIVE_RESPONSE:
                     case TEXT_MESSAGE:
@@ -503,6 +514,21 @@ public class LxWebSocket {
      * Private methods
      */
 
+    /**
+     * Returns a little-endian view of the binary message data. The view is created again only when the websocket
+     * passes a different buffer than with the previous message.
+     * The caller must take care of thread synchronization.
+     *
+     * @param data binary message data
+     * @return little-endian view of the whole data buffer
+     */
+    private ByteBuffer getDataView(byte data[]) {
+        if (dataView == null || dataView.array() != data) {
+            dataView = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return dataView;
+    }
+
     /**
      * Stops scheduled timeout waiting for a Miniserver response
      * The caller must take care of thread synchronization.
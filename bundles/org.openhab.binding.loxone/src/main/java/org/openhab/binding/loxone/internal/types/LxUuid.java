@@ -13,8 +13,7 @@
 package org.openhab.binding.loxone.internal.types;
 
 import java.lang.reflect.Type;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
+import java.util.regex.Pattern;
 
 import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonDeserializer;
@@ -26,13 +25,21 @@ import com.google.gson.JsonParseException;
  * <p>
  * It is defined by the Miniserver. UUID can represent a control, room, category, etc. and provides a unique ID space
  * across all objects residing on the Miniserver.
+ * <p>
+ * A UUID in the standard Loxone format is also kept as two long values, that are used as a key when state updates are
+ * received in binary form. For these UUIDs {@link #isBinary()} returns true.
  *
  * @author Pawel Pieczul - initial contribution
  *
  */
 public class LxUuid {
+    private static final Pattern BINARY_FORMAT = Pattern.compile("[0-9A-F]{8}-[0-9A-F]{4}-[0-9A-F]{4}-[0-9A-F]{16}");
+
     private final String uuid;
     private final String uuidOriginal;
+    private final boolean binary;
+    private final long mostSignificantBits;
+    private final long leastSignificantBits;
 
     public static final JsonDeserializer<LxUuid> DESERIALIZER = new JsonDeserializer<LxUuid>() {
         @Override
@@ -53,22 +60,85 @@ public class LxUuid {
      */
     public LxUuid(String uuid) {
         uuidOriginal = uuid;
-        this.uuid = init(uuid);
+        this.uuid = uuid.replaceAll("[^a-zA-Z0-9-]", "-").toUpperCase();
+        binary = BINARY_FORMAT.matcher(this.uuid).matches();
+        if (binary) {
+            mostSignificantBits = Long.parseUnsignedLong(this.uuid.substring(0, 8), 16) << 32
+                    | Long.parseUnsignedLong(this.uuid.substring(9, 13), 16) << 16
+                    | Long.parseUnsignedLong(this.uuid.substring(14, 18), 16);
+            leastSignificantBits = Long.parseUnsignedLong(this.uuid.substring(19), 16);
+        } else {
+            mostSignificantBits = 0;
+            leastSignificantBits = 0;
+        }
     }
 
+    /**
+     * Create a new {@link LxUuid} object from a binary UUID received from a Miniserver.
+     *
+     * @param data buffer with the binary UUID
+     * @param offset offset of the UUID in the buffer
+     */
     public LxUuid(byte data[], int offset) {
-        String id = String.format("%08x-%04x-%04x-%02x%02x%02x%02x%02x%02x%02x%02x",
-                ByteBuffer.wrap(data, offset, 4).order(ByteOrder.LITTLE_ENDIAN).getInt(),
-                ByteBuffer.wrap(data, offset + 4, 2).order(ByteOrder.LITTLE_ENDIAN).getShort(),
-                ByteBuffer.wrap(data, offset + 6, 2).order(ByteOrder.LITTLE_ENDIAN).getShort(), data[offset + 8],
-                data[offset + 9], data[offset + 10], data[offset + 11], data[offset + 12], data[offset + 13],
-                data[offset + 14], data[offset + 15]);
-        uuidOriginal = id;
-        this.uuid = init(id);
+        this(String.format("%016x%016x", getMostSignificantBits(data, offset), getLeastSignificantBits(data, offset))
+                .replaceFirst("(.{8})(.{4})(.{4})(.{16})", "$1-$2-$3-$4"));
+    }
+
+    /**
+     * Reads the first part of a binary UUID, which consists of a 32-bit and two 16-bit little endian numbers.
+     *
+     * @param data buffer with the binary UUID
+     * @param offset offset of the UUID in the buffer
+     * @return value that {@link #getMostSignificantBits()} returns for this UUID
+     */
+    public static long getMostSignificantBits(byte data[], int offset) {
+        long data1 = (data[offset] & 0xffL) | (data[offset + 1] & 0xffL) << 8 | (data[offset + 2] & 0xffL) << 16
+                | (data[offset + 3] & 0xffL) << 24;
+        long data2 = (data[offset + 4] & 0xffL) | (data[offset + 5] & 0xffL) << 8;
+        long data3 = (data[offset + 6] & 0xffL) | (data[offset + 7] & 0xffL) << 8;
+        return data1 << 32 | data2 << 16 | data3;
+    }
+
+    /**
+     * Reads the last part of a binary UUID, which consists of 8 bytes in the order they are printed.
+     *
+     * @param data buffer with the binary UUID
+     * @param offset offset of the UUID in the buffer
+     * @return value that {@link #getLeastSignificantBits()} returns for this UUID
+     */
+    public static long getLeastSignificantBits(byte data[], int offset) {
+        long value = 0;
+        for (int i = 8; i < 16; i++) {
+            value = value << 8 | (data[offset + i] & 0xffL);
+        }
+        return value;
+    }
+
+    /**
+     * Checks if the UUID is in the standard format, which is used for binary state updates.
+     *
+     * @return true if {@link #getMostSignificantBits()} and {@link #getLeastSignificantBits()} identify the UUID
+     */
+    public boolean isBinary() {
+        return binary;
     }
 
-    private String init(String uuid) {
-        return uuidOriginal.replaceAll("[^a-zA-Z0-9-]", "-").toUpperCase();
+    /**
+     * Returns the first 8 bytes of a UUID in the standard format.
+     *
+     * @return first part of the binary UUID or 0 if the UUID is not in the standard format
+     */
+    public long getMostSignificantBits() {
+        return mostSignificantBits;
+    }
+
+    /**
+     * Returns the last 8 bytes of a UUID in the standard format.
+     *
+     * @return last part of the binary UUID or 0 if the UUID is not in the standard format
+     */
+    public long getLeastSignificantBits() {
+        return leastSignificantBits;
     }
 
     @Override
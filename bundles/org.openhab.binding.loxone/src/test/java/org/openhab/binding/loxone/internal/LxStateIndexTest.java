@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.loxone.internal;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.loxone.internal.types.LxState;
+import org.openhab.binding.loxone.internal.types.LxUuid;
+
+/**
+ * Test class for {@link LxStateIndex}
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class LxStateIndexTest {
+
+    private static final String STATE_UUID = "0F86A2FE-0378-3E08-FFFF504F94000000";
+    // the same UUID as received in a binary table of states, data1 to data3 are little-endian
+    private static final byte[] STATE_UUID_BINARY = { (byte) 0xFE, (byte) 0xA2, (byte) 0x86, 0x0F, 0x78, 0x03, 0x08,
+            0x3E, (byte) 0xFF, (byte) 0xFF, 0x50, 0x4F, (byte) 0x94, 0x00, 0x00, 0x00 };
+
+    private LxStateIndex index;
+    private LxUuid controlUuid;
+    private LxState state;
+
+    @Before
+    public void setup() {
+        index = new LxStateIndex();
+        controlUuid = new LxUuid("0F86A2FE-0378-3E08-FFFF504F94000001");
+        state = new LxState(new LxUuid(STATE_UUID), "value", null);
+        index.add(controlUuid, state);
+    }
+
+    @Test
+    public void testBinaryUuid() {
+        LxUuid uuid = new LxUuid(STATE_UUID_BINARY, 0);
+        assertEquals(new LxUuid(STATE_UUID), uuid);
+        assertTrue(uuid.isBinary());
+        assertEquals(uuid.getMostSignificantBits(), LxUuid.getMostSignificantBits(STATE_UUID_BINARY, 0));
+        assertEquals(uuid.getLeastSignificantBits(), LxUuid.getLeastSignificantBits(STATE_UUID_BINARY, 0));
+        assertFalse(new LxUuid("0f86a2fe-0378-3e08").isBinary());
+    }
+
+    @Test
+    public void testFind() {
+        LxStateIndex.Entry entry = index.find(STATE_UUID_BINARY, 0);
+        assertNotNull(entry);
+        assertEquals(state, entry.getStates().get(controlUuid));
+        assertSame(entry, index.get(new LxUuid(STATE_UUID)));
+        assertNull(index.find(new byte[16], 0));
+    }
+
+    @Test
+    public void testUnchangedValueSuppressed() {
+        assertNotNull(index.updateValue(STATE_UUID_BINARY, 0, 0.0));
+        assertNull(index.updateValue(STATE_UUID_BINARY, 0, 0.0));
+        assertNotNull(index.updateValue(STATE_UUID_BINARY, 0, 1.5));
+        assertNull(index.updateValue(STATE_UUID_BINARY, 0, 1.5));
+        assertNotNull(index.updateText(STATE_UUID_BINARY, 0, "text"));
+        assertNull(index.updateText(STATE_UUID_BINARY, 0, "text"));
+        assertNull(index.updateValue(new byte[16], 0, 1.0));
+    }
+
+    @Test
+    public void testRemove() {
+        LxUuid otherControlUuid = new LxUuid("0F86A2FE-0378-3E08-FFFF504F94000002");
+        index.add(otherControlUuid, state);
+        assertEquals(1, index.size());
+        index.remove(controlUuid, state);
+        assertNotNull(index.find(STATE_UUID_BINARY, 0));
+        index.remove(otherControlUuid, state);
+        assertNull(index.find(STATE_UUID_BINARY, 0));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void testManyStates() {
+        for (int i = 0; i < 1000; i++) {
+            index.add(controlUuid, new LxState(new LxUuid(String.format("0F86A2FE-0378-3E08-FFFF504F%08X", i)),
+                    "value" + i, null));
+        }
+        assertEquals(1001, index.size());
+        for (int i = 0; i < 1000; i += 2) {
+            LxUuid uuid = new LxUuid(String.format("0F86A2FE-0378-3E08-FFFF504F%08X", i));
+            index.remove(controlUuid, index.get(uuid).getStates().get(controlUuid));
+        }
+        assertEquals(501, index.size());
+        for (int i = 0; i < 1000; i++) {
+            LxUuid uuid = new LxUuid(String.format("0F86A2FE-0378-3E08-FFFF504F%08X", i));
+            assertEquals(i % 2 == 1, index.get(uuid) != null);
+        }
+        assertNotNull(index.find(STATE_UUID_BINARY, 0));
+    }
+}
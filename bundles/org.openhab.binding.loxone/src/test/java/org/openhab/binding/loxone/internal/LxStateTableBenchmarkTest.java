@@ -0,0 +1,138 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.loxone.internal;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.loxone.internal.types.LxState;
+import org.openhab.binding.loxone.internal.types.LxUuid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Benchmark of decoding a binary table of value states, as the Miniserver sends it on connect and for energy meter
+ * updates. The table is generated with random state UUIDs, each entry is a 16 byte UUID followed by a little-endian
+ * double value.
+ * <p>
+ * The decoding with {@link LxStateIndex} is compared with decoding by creating an {@link LxUuid} per entry and looking
+ * it up in a {@link HashMap}, as it was done before the index was introduced.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class LxStateTableBenchmarkTest {
+
+    private static final int STATES = 5000;
+    private static final int ENTRY_SIZE = 24;
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int ROUNDS = 100;
+
+    private final Logger logger = LoggerFactory.getLogger(LxStateTableBenchmarkTest.class);
+
+    private LxStateIndex index;
+    private Map<LxUuid, LxState> statesByUuid;
+    private byte[] table;
+    private ByteBuffer view;
+
+    @Before
+    public void setup() {
+        Random random = new Random(42);
+        table = new byte[STATES * ENTRY_SIZE];
+        random.nextBytes(table);
+        view = ByteBuffer.wrap(table).order(ByteOrder.LITTLE_ENDIAN);
+
+        index = new LxStateIndex();
+        statesByUuid = new HashMap<>();
+        LxUuid controlUuid = new LxUuid("0F86A2FE-0378-3E08-FFFF504F94000001");
+        for (int offset = 0; offset < table.length; offset += ENTRY_SIZE) {
+            LxState state = new LxState(new LxUuid(table, offset), "value" + offset, null);
+            index.add(controlUuid, state);
+            statesByUuid.put(state.getUuid(), state);
+            view.putDouble(offset + 16, 0.0);
+        }
+    }
+
+    /**
+     * Changes the value of every other state
+     */
+    private void changeValues(int round) {
+        for (int offset = 0; offset < table.length; offset += 2 * ENTRY_SIZE) {
+            view.putDouble(offset + 16, round);
+        }
+    }
+
+    private int decodeWithIndex() {
+        int updates = 0;
+        for (int offset = 0; offset < table.length; offset += ENTRY_SIZE) {
+            if (index.updateValue(table, offset, view.getDouble(offset + 16)) != null) {
+                updates++;
+            }
+        }
+        return updates;
+    }
+
+    private int decodeWithUuidObjects() {
+        int updates = 0;
+        for (int offset = 0; offset < table.length; offset += ENTRY_SIZE) {
+            ByteBuffer entry = ByteBuffer.wrap(table, offset, ENTRY_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            LxUuid uuid = new LxUuid(table, offset);
+            if (statesByUuid.get(uuid) != null && !Double.isNaN(entry.getDouble(offset + 16))) {
+                updates++;
+            }
+        }
+        return updates;
+    }
+
+    @Test
+    public void testUnchangedValuesAreSuppressed() {
+        assertEquals(STATES, index.size());
+        assertEquals(STATES, decodeWithIndex());
+        assertEquals(0, decodeWithIndex());
+        changeValues(1);
+        assertEquals(STATES / 2, decodeWithIndex());
+        assertEquals(0, decodeWithIndex());
+    }
+
+    @Test
+    public void benchmarkStateTable() {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            changeValues(round);
+            decodeWithIndex();
+            decodeWithUuidObjects();
+        }
+
+        long indexNanos = 0;
+        long uuidObjectsNanos = 0;
+        for (int round = WARMUP_ROUNDS; round < WARMUP_ROUNDS + ROUNDS; round++) {
+            changeValues(round);
+            long start = System.nanoTime();
+            assertEquals(STATES / 2, decodeWithIndex());
+            indexNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            assertEquals(STATES, decodeWithUuidObjects());
+            uuidObjectsNanos += System.nanoTime() - start;
+        }
+
+        logger.info("Decoding a table of {} value states: {} us with the state index, {} us with UUID objects", STATES,
+                indexNanos / ROUNDS / 1000, uuidObjectsNanos / ROUNDS / 1000);
+    }
+}
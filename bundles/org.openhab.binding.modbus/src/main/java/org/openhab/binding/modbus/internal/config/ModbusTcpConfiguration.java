@@ -32,6 +32,7 @@ public class ModbusTcpConfiguration {
     private int connectMaxTries;
     private int reconnectAfterMillis;
     private int connectTimeoutMillis;
+    private int maxConcurrentTransactions = 1;
     private boolean enableDiscovery;
 
     public @Nullable String getHost() {
@@ -98,6 +99,14 @@ public class ModbusTcpConfiguration {
         this.connectTimeoutMillis = connectTimeoutMillis;
     }
 
+    public int getMaxConcurrentTransactions() {
+        return maxConcurrentTransactions;
+    }
+
+    public void setMaxConcurrentTransactions(int maxConcurrentTransactions) {
+        this.maxConcurrentTransactions = maxConcurrentTransactions;
+    }
+
     public boolean isDiscoveryEnabled() {
         return enableDiscovery;
     }
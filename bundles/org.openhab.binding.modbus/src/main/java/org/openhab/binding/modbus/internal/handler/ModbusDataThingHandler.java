@@ -150,6 +150,8 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
     private volatile Map<String, ChannelUID> channelCache = new HashMap<>();
     private volatile Map<ChannelUID, Long> channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
     private volatile Map<ChannelUID, State> channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+    private volatile @Nullable State lastNumericState;
+    private volatile long lastRawValue;
 
     private volatile LocalDateTime lastStatusInfoUpdate = LocalDateTime.MIN;
     private volatile ThingStatusInfo statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE,
@@ -419,6 +421,8 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
         statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE, null);
         channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
         channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+        lastNumericState = null;
+        lastRawValue = 0;
     }
 
     @Override
@@ -683,8 +687,17 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
             int itemsPerRegister = 16 / readValueType.getBits();
             extractIndex = (readIndex.get() - pollStart) * itemsPerRegister + subIndex;
         }
-        numericState = ModbusBitUtilities.extractStateFromRegisters(registers, extractIndex, readValueType)
-                .map(state -> (State) state).orElse(UnDefType.UNDEF);
+        // Compare the raw value with the previous poll first, and construct new state only if the value has changed
+        long rawValue = extractRawValue(registers, extractIndex, readValueType);
+        State lastNumericState = this.lastNumericState;
+        if (lastNumericState != null && rawValue == lastRawValue) {
+            numericState = lastNumericState;
+        } else {
+            numericState = ModbusBitUtilities.extractStateFromRegisters(registers, extractIndex, readValueType)
+                    .map(state -> (State) state).orElse(UnDefType.UNDEF);
+            this.lastNumericState = numericState;
+            this.lastRawValue = rawValue;
+        }
         boolean boolValue = !numericState.equals(DecimalType.ZERO);
         Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
         logger.debug(
@@ -693,6 +706,20 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
                 boolValue, registers, request);
     }
 
+    /**
+     * Extract the value as primitive long which is unique for each distinct value
+     */
+    private static long extractRawValue(ModbusRegisterArray registers, int extractIndex, ValueType readValueType) {
+        switch (readValueType) {
+            case FLOAT32:
+            case FLOAT32_SWAP:
+                return Double.doubleToRawLongBits(
+                        ModbusBitUtilities.extractDoubleFromRegisters(registers, extractIndex, readValueType));
+            default:
+                return ModbusBitUtilities.extractLongFromRegisters(registers, extractIndex, readValueType);
+        }
+    }
+
     @Override
     public synchronized void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
         if (hasConfigurationError()) {
@@ -42,6 +42,7 @@ import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.core.types.UnDefType;
 import org.eclipse.smarthome.core.util.UIDUtils;
 import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.binding.mqtt.generic.tools.SharedPayloadDecoder;
 import org.openhab.binding.mqtt.generic.utils.FutureCollector;
 import org.openhab.binding.mqtt.generic.values.OnOffValue;
 import org.openhab.binding.mqtt.generic.values.Value;
@@ -84,6 +85,11 @@ public abstract class AbstractMQTTThingHandler extends BaseThingHandler
     protected @Nullable MqttBrokerConnection connection;
 
     private AtomicBoolean messageReceived = new AtomicBoolean(false);
+    /**
+     * Decoder shared by the {@link ChannelState}s of this thing. A message on a state topic that is used by several
+     * channels is decoded once and parsed once for the transformations of all those channels.
+     */
+    protected final SharedPayloadDecoder payloadDecoder = new SharedPayloadDecoder();
     private Map<String, @Nullable ChannelState> availabilityStates = new ConcurrentHashMap<>();
 
     public AbstractMQTTThingHandler(Thing thing, int subscribeTimeout) {
@@ -119,6 +125,7 @@ public abstract class AbstractMQTTThingHandler extends BaseThingHandler
             }
             return CompletableFuture.allOf();
         }).collect(FutureCollector.allOf()).join();
+        payloadDecoder.clear();
         resetMessageReceived();
     }
 
@@ -41,6 +41,11 @@ public class ChannelConfig {
     public boolean retained = false;
     /** If true, the state topic will not update a state, but trigger a channel instead. */
     public boolean trigger = false;
+    /**
+     * If true, a received value which is the same as the previously received one after the incoming transformations
+     * does not update the state again.
+     */
+    public boolean ignoreUnchangedValues = false;
     public String unit = "";
 
     public String transformationPattern = "";
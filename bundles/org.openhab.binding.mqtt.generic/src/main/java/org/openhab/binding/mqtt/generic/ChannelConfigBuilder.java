@@ -73,4 +73,9 @@ public class ChannelConfigBuilder {
         config.trigger = trigger;
         return this;
     }
+
+    public ChannelConfigBuilder withIgnoreUnchangedValues(boolean ignoreUnchangedValues) {
+        config.ignoreUnchangedValues = ignoreUnchangedValues;
+        return this;
+    }
 }
@@ -12,7 +12,6 @@
  */
 package org.openhab.binding.mqtt.generic;
 
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.IllegalFormatException;
 import java.util.List;
@@ -28,8 +27,11 @@ import org.eclipse.smarthome.core.library.types.StringType;
 import org.eclipse.smarthome.core.thing.ChannelUID;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.TypeParser;
+import org.eclipse.smarthome.core.types.UnDefType;
 import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
 import org.eclipse.smarthome.io.transport.mqtt.MqttMessageSubscriber;
+import org.openhab.binding.mqtt.generic.tools.ReceivedPayload;
+import org.openhab.binding.mqtt.generic.tools.SharedPayloadDecoder;
 import org.openhab.binding.mqtt.generic.values.TextValue;
 import org.openhab.binding.mqtt.generic.values.Value;
 import org.slf4j.Logger;
@@ -61,6 +63,8 @@ public class ChannelState implements MqttMessageSubscriber {
     protected boolean hasSubscribed = false;
     private @Nullable ScheduledFuture<?> scheduledFuture;
     private CompletableFuture<@Nullable Void> future = new CompletableFuture<>();
+    private @Nullable SharedPayloadDecoder payloadDecoder;
+    private @Nullable String lastTransformedValue;
 
     /**
      * Creates a new channel state.
@@ -112,6 +116,16 @@ public class ChannelState implements MqttMessageSubscriber {
         transformationsOut.clear();
     }
 
+    /**
+     * Set the decoder shared by all channels of a thing. Channels sharing a state topic then decode and parse each
+     * received message only once.
+     *
+     * @param payloadDecoder A shared decoder
+     */
+    public void setPayloadDecoder(SharedPayloadDecoder payloadDecoder) {
+        this.payloadDecoder = payloadDecoder;
+    }
+
     /**
      * Returns the cached value state object of this message subscriber.
      * <p>
@@ -153,9 +167,14 @@ public class ChannelState implements MqttMessageSubscriber {
         }
 
         // String value: Apply transformations
-        String strValue = new String(payload, StandardCharsets.UTF_8);
-        for (ChannelStateTransformation t : transformationsIn) {
-            String transformedValue = t.processValue(strValue);
+        final SharedPayloadDecoder payloadDecoder = this.payloadDecoder;
+        final ReceivedPayload receivedPayload = payloadDecoder != null ? payloadDecoder.decode(topic, payload)
+                : new ReceivedPayload(payload);
+        String strValue = receivedPayload.getText();
+        for (int i = 0; i < transformationsIn.size(); i++) {
+            ChannelStateTransformation t = transformationsIn.get(i);
+            // the first transformation gets the received message, which may have been parsed for another channel
+            String transformedValue = i == 0 ? t.processValue(receivedPayload) : t.processValue(strValue);
             if (transformedValue != null) {
                 strValue = transformedValue;
             } else {
@@ -165,6 +184,15 @@ public class ChannelState implements MqttMessageSubscriber {
             }
         }
 
+        // Extracted value did not change: Nothing to update if configured. This is typically the case for a document
+        // carrying several values on a shared state topic, where only some of the values change with each message.
+        if (config.ignoreUnchangedValues && !transformationsIn.isEmpty() && !config.trigger && !config.postCommand
+                && strValue.equals(lastTransformedValue) && !(cachedValue.getChannelState() instanceof UnDefType)) {
+            logger.trace("Value '{}' of channel {} did not change, skipping update", strValue, channelUID);
+            receivedOrTimeout();
+            return;
+        }
+
         // Is trigger?: Special handling
         if (config.trigger) {
             channelStateUpdateListener.triggerChannel(channelUID, strValue);
@@ -196,6 +224,7 @@ public class ChannelState implements MqttMessageSubscriber {
             receivedOrTimeout();
             return;
         }
+        lastTransformedValue = strValue;
 
         if (config.postCommand) {
             channelStateUpdateListener.postChannelCommand(channelUID, (Command) cachedValue.getChannelState());
@@ -254,6 +283,7 @@ public class ChannelState implements MqttMessageSubscriber {
         this.connection = null;
         this.channelStateUpdateListener = null;
         hasSubscribed = false;
+        lastTransformedValue = null;
         cachedValue.resetState();
     }
 
@@ -331,6 +361,8 @@ public class ChannelState implements MqttMessageSubscriber {
      */
     public CompletableFuture<Boolean> publishValue(Command command) {
         cachedValue.update(command);
+        // The state is the commanded one now, the next received value must update it even if it is unchanged
+        lastTransformedValue = null;
 
         Value mqttCommandValue = cachedValue;
 
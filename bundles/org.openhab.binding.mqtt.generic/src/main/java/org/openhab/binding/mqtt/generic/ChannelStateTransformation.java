@@ -13,11 +13,14 @@
 package org.openhab.binding.mqtt.generic;
 
 import java.lang.ref.WeakReference;
+import java.util.Optional;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.transform.TransformationException;
 import org.eclipse.smarthome.core.transform.TransformationService;
+import org.openhab.binding.mqtt.generic.tools.PayloadParser;
+import org.openhab.binding.mqtt.generic.tools.ReceivedPayload;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -70,6 +73,33 @@ public class ChannelStateTransformation {
         this.provider = provider;
     }
 
+    /**
+     * Will be called by the {@link ChannelState} for each incoming MQTT message, if this is the first transformation.
+     * If there is a {@link PayloadParser} for the transformation type, the pattern is evaluated against the document
+     * that has been parsed from the message once for all channels on the topic.
+     *
+     * @param payload The incoming message
+     * @return The transformed value
+     */
+    protected @Nullable String processValue(ReceivedPayload payload) {
+        PayloadParser parser = provider.getPayloadParser(serviceName);
+        if (parser != null && getTransformationService() != null) {
+            Object document = payload.getDocument(parser);
+            if (document != null) {
+                try {
+                    Optional<String> returnValue = parser.transform(pattern, document);
+                    if (returnValue.isPresent()) {
+                        return returnValue.get();
+                    }
+                } catch (TransformationException e) {
+                    logger.warn("Executing the {}-transformation failed: {}", serviceName, e.getMessage());
+                    return null;
+                }
+            }
+        }
+        return processValue(payload.getText());
+    }
+
     /**
      * Will be called by the {@link ChannelState} for each incoming MQTT value.
      *
@@ -77,14 +107,10 @@ public class ChannelStateTransformation {
      * @return The transformed value
      */
     protected @Nullable String processValue(String value) {
-        TransformationService transformationService = this.transformationService.get();
+        TransformationService transformationService = getTransformationService();
         if (transformationService == null) {
-            transformationService = provider.getTransformationService(serviceName);
-            if (transformationService == null) {
-                logger.warn("Transformation service {} for pattern {} not found!", serviceName, pattern);
-                return value;
-            }
-            this.transformationService = new WeakReference<>(transformationService);
+            logger.warn("Transformation service {} for pattern {} not found!", serviceName, pattern);
+            return value;
         }
         String returnValue = null;
         try {
@@ -94,4 +120,15 @@ public class ChannelStateTransformation {
         }
         return returnValue;
     }
+
+    private @Nullable TransformationService getTransformationService() {
+        TransformationService transformationService = this.transformationService.get();
+        if (transformationService == null) {
+            transformationService = provider.getTransformationService(serviceName);
+            if (transformationService != null) {
+                this.transformationService = new WeakReference<>(transformationService);
+            }
+        }
+        return transformationService;
+    }
 }
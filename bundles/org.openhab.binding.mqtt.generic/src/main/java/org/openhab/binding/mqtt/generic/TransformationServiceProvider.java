@@ -15,6 +15,7 @@ package org.openhab.binding.mqtt.generic;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.transform.TransformationService;
+import org.openhab.binding.mqtt.generic.tools.PayloadParser;
 
 /**
  * Provide a transformation service which can be used during MQTT topic transformation.
@@ -31,4 +32,15 @@ public interface TransformationServiceProvider {
      */
     @Nullable
     TransformationService getTransformationService(String type);
+
+    /**
+     * Provide a {@link PayloadParser} for the transformations of the given type. A message on a state topic is then
+     * parsed once for the transformations of all channels on that topic.
+     *
+     * @param type the type of the transformations.
+     * @return a {@link PayloadParser} or null if the {@link TransformationService} transforms each message.
+     */
+    default @Nullable PayloadParser getPayloadParser(String type) {
+        return null;
+    }
 }
@@ -28,6 +28,8 @@ import org.eclipse.smarthome.core.transform.TransformationService;
 import org.openhab.binding.mqtt.generic.MqttChannelStateDescriptionProvider;
 import org.openhab.binding.mqtt.generic.TransformationServiceProvider;
 import org.openhab.binding.mqtt.generic.internal.handler.GenericMQTTThingHandler;
+import org.openhab.binding.mqtt.generic.tools.JsonPathPayloadParser;
+import org.openhab.binding.mqtt.generic.tools.PayloadParser;
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -44,6 +46,7 @@ import org.osgi.service.component.annotations.Reference;
 @NonNullByDefault
 public class MqttThingHandlerFactory extends BaseThingHandlerFactory implements TransformationServiceProvider {
     private @NonNullByDefault({}) MqttChannelStateDescriptionProvider stateDescriptionProvider;
+    private final PayloadParser jsonPathParser = new JsonPathPayloadParser();
     private static final Set<ThingTypeUID> SUPPORTED_THING_TYPES_UIDS = Stream
             .of(MqttBindingConstants.GENERIC_MQTT_THING).collect(Collectors.toSet());
 
@@ -88,4 +91,9 @@ public class MqttThingHandlerFactory extends BaseThingHandlerFactory implements
         return TransformationHelper.getTransformationService(bundleContext, type);
     }
 
+    @Override
+    public @Nullable PayloadParser getPayloadParser(String type) {
+        return JsonPathPayloadParser.TYPE.equals(type) ? jsonPathParser : null;
+    }
+
 }
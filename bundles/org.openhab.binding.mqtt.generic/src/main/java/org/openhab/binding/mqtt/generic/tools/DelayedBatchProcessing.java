@@ -13,20 +13,29 @@
 package org.openhab.binding.mqtt.generic.tools;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 
 /**
- * Collects objects over time until a specified delay passed by.
+ * Collects objects over time until a specified delay passed by or the maximum batch size is reached.
  * Then call the user back with a list of accumulated objects and start over again.
  *
+ * <p>
+ * Objects can be added from any number of threads without locking. Batches are delivered one after another, the
+ * consumer is never called concurrently. If more objects than the maximum batch size are queued, they are delivered
+ * in several successive batches.
+ *
  * @author David Graeff - Initial contribution
  *
  * @param <T> Any object
@@ -34,25 +43,47 @@ import org.eclipse.jdt.annotation.Nullable;
 @NonNullByDefault
 public class DelayedBatchProcessing<T> implements Consumer<T> {
     private final int delay;
+    private final int maxBatchSize;
     private final Consumer<List<T>> consumer;
-    private final List<T> queue = Collections.synchronizedList(new ArrayList<>());
+    private final Queue<T> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queueSize = new AtomicInteger();
+    private final AtomicBoolean armed = new AtomicBoolean();
+    private final AtomicBoolean processNow = new AtomicBoolean();
+    private final ReentrantLock deliveryLock = new ReentrantLock();
     private final ScheduledExecutorService executor;
     protected @Nullable ScheduledFuture<?> future;
 
     /**
-     * Creates a {@link DelayedBatchProcessing}.
+     * Creates a {@link DelayedBatchProcessing} without batch size limit.
      *
      * @param delay A delay in milliseconds
      * @param consumer A consumer of the list of collected objects
      * @param executor A scheduled executor service
      */
     public DelayedBatchProcessing(int delay, Consumer<List<T>> consumer, ScheduledExecutorService executor) {
+        this(delay, Integer.MAX_VALUE, consumer, executor);
+    }
+
+    /**
+     * Creates a {@link DelayedBatchProcessing}.
+     *
+     * @param delay The maximum time in milliseconds an object waits for its batch to be delivered
+     * @param maxBatchSize The maximum number of objects in a batch. A batch is delivered right away when it is full.
+     * @param consumer A consumer of the list of collected objects
+     * @param executor A scheduled executor service
+     */
+    public DelayedBatchProcessing(int delay, int maxBatchSize, Consumer<List<T>> consumer,
+            ScheduledExecutorService executor) {
         this.delay = delay;
+        this.maxBatchSize = maxBatchSize;
         this.consumer = consumer;
         this.executor = executor;
         if (delay <= 0) {
             throw new IllegalArgumentException("Delay need to be greater than 0!");
         }
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Maximum batch size need to be greater than 0!");
+        }
     }
 
     /**
@@ -64,9 +95,11 @@ public class DelayedBatchProcessing<T> implements Consumer<T> {
     @Override
     public void accept(T t) {
         queue.add(t);
-        final ScheduledFuture<?> scheduledFuture = this.future;
-        if (scheduledFuture == null || scheduledFuture.isDone()) {
-            this.future = executor.schedule(this::run, delay, TimeUnit.MILLISECONDS);
+        if (queueSize.incrementAndGet() == maxBatchSize) {
+            // Batch is full, no need to wait for the timer
+            executor.execute(this::run);
+        } else {
+            arm(delay);
         }
     }
 
@@ -76,16 +109,8 @@ public class DelayedBatchProcessing<T> implements Consumer<T> {
      * @return A list of accumulated objects
      */
     public List<T> join() {
-        ScheduledFuture<?> scheduledFuture = this.future;
-        if (scheduledFuture != null && !scheduledFuture.isDone()) {
-            scheduledFuture.cancel(false);
-        }
-        List<T> lqueue = new ArrayList<>();
-        synchronized (queue) {
-            lqueue.addAll(queue);
-            queue.clear();
-        }
-        return lqueue;
+        cancel();
+        return drain(Integer.MAX_VALUE);
     }
 
     /**
@@ -93,29 +118,94 @@ public class DelayedBatchProcessing<T> implements Consumer<T> {
      */
     public boolean isArmed() {
         ScheduledFuture<?> scheduledFuture = this.future;
-        return scheduledFuture != null && !scheduledFuture.isDone();
+        return armed.get() && scheduledFuture != null && !scheduledFuture.isDone();
     }
 
     /**
-     * Deliver queued items now to the target consumer.
+     * Deliver queued items now to the target consumer. Waits for a batch that is being delivered right now.
+     * If called by the consumer while it processes a batch, the queued items are delivered right after that batch.
      */
     public void forceProcessNow() {
+        if (deliveryLock.isHeldByCurrentThread()) {
+            processNow.set(true);
+            return;
+        }
+        cancel();
+        deliveryLock.lock();
+        try {
+            while (queueSize.get() > 0) {
+                deliverLocked();
+            }
+            processNow.set(false);
+        } finally {
+            deliveryLock.unlock();
+        }
+    }
+
+    private void arm(int armDelay) {
+        if (armed.compareAndSet(false, true)) {
+            this.future = executor.schedule(this::run, armDelay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void cancel() {
         ScheduledFuture<?> scheduledFuture = this.future;
         if (scheduledFuture != null && !scheduledFuture.isDone()) {
             scheduledFuture.cancel(false);
         }
-        run();
+        armed.set(false);
     }
 
     private void run() {
-        List<T> lqueue = new ArrayList<>();
-        synchronized (queue) {
-            lqueue.addAll(queue);
-            queue.clear();
+        armed.set(false);
+        if (!deliverBatch()) {
+            // Another batch is being delivered right now, it takes care of the remaining objects
+            return;
+        }
+        boolean now = processNow.getAndSet(false);
+        int remaining = queueSize.get();
+        if (remaining > 0) {
+            if (now || remaining >= maxBatchSize) {
+                // replace a delayed run armed by objects added during the delivery
+                cancel();
+                arm(0);
+            } else {
+                arm(delay);
+            }
+        }
+    }
+
+    /**
+     * Deliver up to maxBatchSize objects to the consumer.
+     *
+     * @return false if another thread is currently delivering a batch
+     */
+    private boolean deliverBatch() {
+        if (!deliveryLock.tryLock()) {
+            return false;
         }
+        try {
+            deliverLocked();
+        } finally {
+            deliveryLock.unlock();
+        }
+        return true;
+    }
 
+    private void deliverLocked() {
+        List<T> lqueue = drain(maxBatchSize);
         if (!lqueue.isEmpty()) {
             consumer.accept(lqueue);
         }
     }
+
+    private List<T> drain(int maxItems) {
+        List<T> lqueue = new ArrayList<>(Math.min(maxItems, Math.max(queueSize.get(), 0)));
+        T item;
+        while (lqueue.size() < maxItems && (item = queue.poll()) != null) {
+            queueSize.decrementAndGet();
+            lqueue.add(item);
+        }
+        return lqueue;
+    }
 }
@@ -0,0 +1,217 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.tools;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.transform.TransformationException;
+import org.eclipse.smarthome.core.types.UnDefType;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+
+/**
+ * Parses JSON messages for the transformations of type {@value #TYPE}.
+ *
+ * Definite paths of member names and array indices, like <code>$.device.status.temperature</code> or
+ * <code>$['device'].sensors[0]</code>, are evaluated against the parsed document. The results are formatted like the
+ * JSONPath transformation service formats them. Other paths (wildcards, deep scans, filters, functions) and results
+ * that are objects are left to the JSONPath transformation service.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JsonPathPayloadParser implements PayloadParser {
+    /**
+     * The type of the transformations
+     */
+    public static final String TYPE = "JSONPATH";
+
+    /**
+     * The JSONPath transformation service parses longer decimals as {@link BigDecimal} and shorter ones as double
+     */
+    private static final int MAX_DOUBLE_LENGTH = 18;
+
+    private final JsonParser jsonParser = new JsonParser();
+
+    /**
+     * The member names (String) and array indices (Integer) of the paths, an empty list for unsupported paths
+     */
+    private final Map<String, List<Object>> compiledPaths = new ConcurrentHashMap<>();
+
+    @Override
+    public @Nullable Object parse(String text) {
+        if (text.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return jsonParser.parse(text);
+        } catch (JsonParseException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public Optional<String> transform(String pattern, Object document) throws TransformationException {
+        List<Object> path = compiledPaths.computeIfAbsent(pattern, JsonPathPayloadParser::compile);
+        if (path.isEmpty()) {
+            return Optional.empty();
+        }
+        JsonElement element = (JsonElement) document;
+        for (Object segment : path) {
+            JsonElement child = null;
+            if (segment instanceof String && element.isJsonObject()) {
+                child = ((JsonObject) element).get((String) segment);
+            } else if (segment instanceof Integer && element.isJsonArray()
+                    && (Integer) segment < ((JsonArray) element).size()) {
+                child = ((JsonArray) element).get((Integer) segment);
+            }
+            if (child == null) {
+                throw new TransformationException("Invalid path '" + pattern + "' in '" + document + "'");
+            }
+            element = child;
+        }
+        return format(element);
+    }
+
+    /**
+     * Format a result like the JSONPath transformation service does
+     */
+    private static Optional<String> format(JsonElement element) {
+        if (element.isJsonPrimitive()) {
+            return Optional.of(formatPrimitive(element.getAsJsonPrimitive()));
+        }
+        if (!element.isJsonArray()) {
+            return Optional.empty();
+        }
+        // the transformation service flattens a list of results
+        JsonArray array = element.getAsJsonArray();
+        if (array.size() == 0) {
+            return Optional.of(UnDefType.NULL.toFullString());
+        }
+        if (array.size() == 1) {
+            return array.get(0).isJsonPrimitive() ? Optional.of(formatPrimitive(array.get(0).getAsJsonPrimitive()))
+                    : Optional.empty();
+        }
+        JsonElement first = array.get(0);
+        if (!first.isJsonPrimitive()) {
+            return Optional.empty();
+        }
+        boolean quoted = first.getAsJsonPrimitive().isString();
+        List<String> values = new ArrayList<>();
+        for (JsonElement value : array) {
+            if (value.isJsonPrimitive()) {
+                String text = formatPrimitive(value.getAsJsonPrimitive());
+                values.add(quoted ? "\"" + text + "\"" : text);
+            } else if (value.isJsonNull()) {
+                values.add(quoted ? "\"null\"" : "null");
+            } else {
+                return Optional.empty();
+            }
+        }
+        return Optional.of("[" + String.join(", ", values) + "]");
+    }
+
+    private static String formatPrimitive(JsonPrimitive primitive) {
+        if (!primitive.isNumber()) {
+            return primitive.getAsString();
+        }
+        String number = primitive.getAsString();
+        if (number.indexOf('.') < 0 && number.indexOf('e') < 0 && number.indexOf('E') < 0) {
+            return new BigInteger(number).toString();
+        }
+        return number.length() > MAX_DOUBLE_LENGTH ? new BigDecimal(number).toString()
+                : Double.toString(Double.parseDouble(number));
+    }
+
+    /**
+     * Compile a definite path of member names and array indices
+     *
+     * @return The path segments or an empty list if the path isn't supported
+     */
+    static List<Object> compile(String pattern) {
+        String path = pattern.trim();
+        if (path.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (path.charAt(0) != '$') {
+            // the transformation service accepts paths without the root too
+            if (!Character.isLetter(path.charAt(0)) && path.charAt(0) != '_') {
+                return Collections.emptyList();
+            }
+            path = "$." + path;
+        }
+        List<Object> segments = new ArrayList<>();
+        int index = 1;
+        while (index < path.length()) {
+            char c = path.charAt(index);
+            int end;
+            if (c == '.') {
+                end = index + 1;
+                while (end < path.length() && isNameChar(path.charAt(end))) {
+                    end++;
+                }
+                if (end == index + 1) {
+                    // deep scan, wildcard or a name with other characters
+                    return Collections.emptyList();
+                }
+                segments.add(path.substring(index + 1, end));
+            } else if (c == '[' && index + 1 < path.length()
+                    && (path.charAt(index + 1) == '\'' || path.charAt(index + 1) == '"')) {
+                char quote = path.charAt(index + 1);
+                int close = path.indexOf(quote, index + 2);
+                if (close < 0 || close + 1 >= path.length() || path.charAt(close + 1) != ']') {
+                    return Collections.emptyList();
+                }
+                String name = path.substring(index + 2, close);
+                if (name.isEmpty() || name.indexOf('\\') >= 0 || name.indexOf('\'') >= 0 || name.indexOf('"') >= 0) {
+                    return Collections.emptyList();
+                }
+                segments.add(name);
+                end = close + 2;
+            } else if (c == '[') {
+                end = index + 1;
+                while (end < path.length() && Character.isDigit(path.charAt(end))) {
+                    end++;
+                }
+                if (end == index + 1 || end - index > 10 || end >= path.length() || path.charAt(end) != ']') {
+                    // wildcard, slice, union, filter, negative or too large index
+                    return Collections.emptyList();
+                }
+                segments.add(Integer.valueOf(path.substring(index + 1, end)));
+                end++;
+            } else {
+                return Collections.emptyList();
+            }
+            index = end;
+        }
+        return segments;
+    }
+
+    private static boolean isNameChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '-';
+    }
+}
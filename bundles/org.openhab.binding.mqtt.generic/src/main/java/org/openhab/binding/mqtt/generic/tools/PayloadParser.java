@@ -0,0 +1,52 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.tools;
+
+import java.util.Optional;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.transform.TransformationException;
+
+/**
+ * Parses a received message into a document once, so the transformations of all channels on a state topic are
+ * evaluated against the same document instead of each transformation service parsing the message again.
+ *
+ * A parser is provided for a transformation type by the
+ * {@link org.openhab.binding.mqtt.generic.TransformationServiceProvider}. It only evaluates the patterns it can
+ * evaluate exactly like the transformation service of that type, all others are left to the transformation service.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public interface PayloadParser {
+
+    /**
+     * Parse a received message
+     *
+     * @param text The received message
+     * @return The parsed document or null if the message can't be parsed
+     */
+    @Nullable
+    Object parse(String text);
+
+    /**
+     * Evaluate a transformation pattern against a parsed document
+     *
+     * @param pattern The transformation pattern, without the transformation type
+     * @param document A document returned by {@link #parse(String)}
+     * @return The transformed value or empty if the transformation service has to transform the message instead
+     * @throws TransformationException If the pattern doesn't match the document
+     */
+    Optional<String> transform(String pattern, Object document) throws TransformationException;
+}
@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.tools;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A message received on a state topic, as text and as the documents parsed from it.
+ *
+ * The same instance is handed to all channels on the topic by the {@link SharedPayloadDecoder}, so the message is
+ * decoded once and parsed at most once by each {@link PayloadParser}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ReceivedPayload {
+    private final byte[] payload;
+    private final String text;
+    private final Map<PayloadParser, Optional<Object>> documents = new HashMap<>();
+
+    /**
+     * Decode a received message
+     *
+     * @param payload The UTF-8 payload of the message
+     */
+    public ReceivedPayload(byte[] payload) {
+        this.payload = payload;
+        this.text = new String(payload, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Return true if this is the given payload array of a received message
+     */
+    boolean isPayload(byte[] payload) {
+        return this.payload == payload;
+    }
+
+    /**
+     * Return the message as text
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Return the document parsed from the message. The message is parsed the first time the document is requested.
+     *
+     * @param parser The parser of the document
+     * @return The parsed document or null if the message can't be parsed
+     */
+    public synchronized @Nullable Object getDocument(PayloadParser parser) {
+        return documents.computeIfAbsent(parser, p -> Optional.ofNullable(p.parse(text))).orElse(null);
+    }
+}
@@ -0,0 +1,53 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.tools;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Decodes MQTT payloads once per message and topic.
+ *
+ * The broker connection hands the same payload array to every subscriber of a topic. When several channels of a
+ * thing share a state topic, the first channel decodes the payload and the other channels receive the very same
+ * {@link ReceivedPayload}, including the documents parsed from it, instead of decoding and parsing it again.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SharedPayloadDecoder {
+
+    private final Map<String, ReceivedPayload> lastReceived = new ConcurrentHashMap<>();
+
+    /**
+     * Decode the UTF-8 payload
+     *
+     * @param topic The topic the message has been received on
+     * @param payload The payload of the received message
+     * @return The received message. The same instance is returned for the same payload array on the same topic.
+     */
+    public ReceivedPayload decode(String topic, byte[] payload) {
+        return lastReceived.compute(topic,
+                (t, received) -> received != null && received.isPayload(payload) ? received
+                        : new ReceivedPayload(payload));
+    }
+
+    /**
+     * Forget the last received payloads
+     */
+    public void clear() {
+        lastReceived.clear();
+    }
+}
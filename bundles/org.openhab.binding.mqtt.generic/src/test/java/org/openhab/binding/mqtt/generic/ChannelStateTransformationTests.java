@@ -24,6 +24,8 @@ import java.util.concurrent.CompletableFuture;
 import javax.naming.ConfigurationException;
 
 import org.eclipse.smarthome.config.core.Configuration;
+import org.eclipse.smarthome.core.library.types.StringType;
+import org.eclipse.smarthome.core.thing.ChannelUID;
 import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingStatus;
 import org.eclipse.smarthome.core.thing.ThingStatusDetail;
@@ -37,6 +39,11 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.openhab.binding.mqtt.generic.internal.handler.GenericMQTTThingHandler;
+import org.openhab.binding.mqtt.generic.tools.JsonPathPayloadParser;
+import org.openhab.binding.mqtt.generic.tools.PayloadParser;
+import org.openhab.binding.mqtt.generic.tools.ReceivedPayload;
+import org.openhab.binding.mqtt.generic.tools.SharedPayloadDecoder;
+import org.openhab.binding.mqtt.generic.values.NumberValue;
 import org.openhab.binding.mqtt.handler.AbstractBrokerHandler;
 
 /**
@@ -128,4 +135,111 @@ public class ChannelStateTransformationTests {
         verify(callback).stateUpdated(eq(textChannelUID), argThat(arg -> "23.2".equals(arg.toString())));
         assertThat(channelConfig.getCache().getChannelState().toString(), is("23.2"));
     }
+
+    @SuppressWarnings("null")
+    @Test
+    public void processUnchangedMessageWithJSONPath() throws Exception {
+        when(jsonPathService.transform(jsonPathPattern, jsonPathJSON)).thenReturn("23.2");
+
+        thingHandler.initialize();
+        ChannelState channelConfig = thingHandler.getChannelState(textChannelUID);
+        channelConfig.setChannelStateUpdateListener(thingHandler);
+        channelConfig.config.ignoreUnchangedValues = true;
+
+        byte payload[] = jsonPathJSON.getBytes();
+        channelConfig.processMessage(channelConfig.getStateTopic(), payload);
+        channelConfig.processMessage(channelConfig.getStateTopic(), jsonPathJSON.getBytes());
+
+        // The extracted value did not change, the second message must not update the state again
+        verify(callback, times(1)).stateUpdated(eq(textChannelUID), argThat(arg -> "23.2".equals(arg.toString())));
+        assertThat(channelConfig.getCache().getChannelState().toString(), is("23.2"));
+    }
+
+    @SuppressWarnings("null")
+    @Test
+    public void processUnchangedMessageUpdatesStateByDefault() throws Exception {
+        when(jsonPathService.transform(jsonPathPattern, jsonPathJSON)).thenReturn("23.2");
+
+        thingHandler.initialize();
+        ChannelState channelConfig = thingHandler.getChannelState(textChannelUID);
+        channelConfig.setChannelStateUpdateListener(thingHandler);
+
+        channelConfig.processMessage(channelConfig.getStateTopic(), jsonPathJSON.getBytes());
+        channelConfig.processMessage(channelConfig.getStateTopic(), jsonPathJSON.getBytes());
+
+        verify(callback, times(2)).stateUpdated(eq(textChannelUID), argThat(arg -> "23.2".equals(arg.toString())));
+        verify(jsonPathService, times(2)).transform(jsonPathPattern, jsonPathJSON);
+    }
+
+    @SuppressWarnings("null")
+    @Test
+    public void processUnchangedMessageAfterCommand() throws Exception {
+        when(jsonPathService.transform(jsonPathPattern, jsonPathJSON)).thenReturn("23.2");
+
+        thingHandler.initialize();
+        ChannelState channelConfig = thingHandler.getChannelState(textChannelUID);
+        channelConfig.setChannelStateUpdateListener(thingHandler);
+        channelConfig.config.ignoreUnchangedValues = true;
+
+        channelConfig.processMessage(channelConfig.getStateTopic(), jsonPathJSON.getBytes());
+        channelConfig.publishValue(new StringType("10"));
+        assertThat(channelConfig.getCache().getChannelState().toString(), is("10"));
+
+        // The device did not follow the command, the reported state must replace the commanded one
+        channelConfig.processMessage(channelConfig.getStateTopic(), jsonPathJSON.getBytes());
+
+        verify(callback, times(2)).stateUpdated(eq(textChannelUID), argThat(arg -> "23.2".equals(arg.toString())));
+        assertThat(channelConfig.getCache().getChannelState().toString(), is("23.2"));
+    }
+
+    @Test
+    public void sharedPayloadIsDecodedOnce() {
+        SharedPayloadDecoder decoder = new SharedPayloadDecoder();
+        byte payload[] = jsonPathJSON.getBytes();
+
+        ReceivedPayload first = decoder.decode("test/state", payload);
+        assertThat(first.getText(), is(jsonPathJSON));
+        assertThat(decoder.decode("test/state", payload) == first, is(true));
+        assertThat(decoder.decode("test/state", jsonPathJSON.getBytes()) == first, is(false));
+        assertThat(decoder.decode("test/other", payload) == first, is(false));
+    }
+
+    @Test
+    public void sharedPayloadIsParsedOnceForAllChannels() throws Exception {
+        PayloadParser parser = spy(new JsonPathPayloadParser());
+        when(transformationServiceProvider.getPayloadParser(JsonPathPayloadParser.TYPE)).thenReturn(parser);
+        ChannelStateUpdateListener listener = mock(ChannelStateUpdateListener.class);
+        SharedPayloadDecoder decoder = new SharedPayloadDecoder();
+        String json = "{ \"device\": { \"status\": { \"temperature\": 23.2, \"humidity\": 45 }}}";
+
+        NumberValue temperature = new NumberValue(null, null, null, null);
+        ChannelState temperatureChannel = new ChannelState(ChannelConfigBuilder.create("test/state", null).build(),
+                new ChannelUID(testGenericThing, "temperature"), temperature, listener);
+        temperatureChannel.addTransformation(
+                new ChannelStateTransformation("JSONPATH:$.device.status.temperature", transformationServiceProvider));
+        temperatureChannel.setPayloadDecoder(decoder);
+
+        NumberValue humidity = new NumberValue(null, null, null, null);
+        ChannelState humidityChannel = new ChannelState(ChannelConfigBuilder.create("test/state", null).build(),
+                new ChannelUID(testGenericThing, "humidity"), humidity, listener);
+        humidityChannel.addTransformation(
+                new ChannelStateTransformation("JSONPATH:$.device.status.humidity", transformationServiceProvider));
+        humidityChannel.setPayloadDecoder(decoder);
+
+        // the subscription delivers the same message to every channel on the topic
+        byte payload[] = json.getBytes();
+        temperatureChannel.processMessage("test/state", payload);
+        humidityChannel.processMessage("test/state", payload);
+
+        assertThat(temperature.getChannelState().toString(), is("23.2"));
+        assertThat(humidity.getChannelState().toString(), is("45"));
+        verify(parser, times(1)).parse(anyString());
+        verify(jsonPathService, never()).transform(anyString(), anyString());
+
+        // the next message is parsed again
+        payload = json.getBytes();
+        temperatureChannel.processMessage("test/state", payload);
+        humidityChannel.processMessage("test/state", payload);
+        verify(parser, times(2)).parse(anyString());
+    }
 }
@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.tools;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests cases for {@link DelayedBatchProcessing}.
+ *
+ * @author agent - Initial contribution
+ */
+public class DelayedBatchProcessingTests {
+    private ScheduledExecutorService scheduler;
+    private final List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+
+    @Before
+    public void setUp() {
+        scheduler = Executors.newScheduledThreadPool(2);
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    private int deliveredCount() {
+        return batches.stream().mapToInt(List::size).sum();
+    }
+
+    @Test
+    public void deliversAfterDelay() throws InterruptedException {
+        DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(50, batches::add, scheduler);
+        processing.accept(1);
+        processing.accept(2);
+        assertTrue(processing.isArmed());
+
+        long timeout = System.currentTimeMillis() + 5000;
+        while (batches.isEmpty() && System.currentTimeMillis() < timeout) {
+            Thread.sleep(10);
+        }
+        assertThat(batches.size(), is(1));
+        assertThat(batches.get(0).size(), is(2));
+    }
+
+    @Test
+    public void splitsIntoBatchesOfMaximumSize() throws InterruptedException {
+        // Long delay: Only the batch size can trigger the delivery within the test
+        DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(60000, 10, batches::add, scheduler);
+        for (int i = 0; i < 35; i++) {
+            processing.accept(i);
+        }
+
+        long timeout = System.currentTimeMillis() + 5000;
+        while (deliveredCount() < 30 && System.currentTimeMillis() < timeout) {
+            Thread.sleep(10);
+        }
+        assertThat(deliveredCount(), is(30));
+        batches.forEach(batch -> assertThat(batch.size(), is(10)));
+
+        // The remaining items are delivered on request
+        processing.forceProcessNow();
+        assertThat(deliveredCount(), is(35));
+        assertThat(processing.join().size(), is(0));
+    }
+
+    @Test
+    public void forceProcessNowByConsumerDoesNotBlock() throws InterruptedException {
+        final DelayedBatchProcessing<?>[] self = new DelayedBatchProcessing<?>[1];
+        final CountDownLatch allAccepted = new CountDownLatch(1);
+        DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(60000, 10, batch -> {
+            batches.add(batch);
+            try {
+                allAccepted.await();
+            } catch (InterruptedException e) {
+                return;
+            }
+            self[0].forceProcessNow();
+        }, scheduler);
+        self[0] = processing;
+        for (int i = 0; i < 15; i++) {
+            processing.accept(i);
+        }
+        // The consumer requests the remaining items while it processes the first batch
+        allAccepted.countDown();
+
+        long timeout = System.currentTimeMillis() + 5000;
+        while (deliveredCount() < 15 && System.currentTimeMillis() < timeout) {
+            Thread.sleep(10);
+        }
+        assertThat(deliveredCount(), is(15));
+        assertThat(batches.size(), is(2));
+    }
+}
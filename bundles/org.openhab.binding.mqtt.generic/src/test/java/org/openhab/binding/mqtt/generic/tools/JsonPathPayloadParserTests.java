@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.tools;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+
+import java.util.Optional;
+
+import org.eclipse.smarthome.core.transform.TransformationException;
+import org.junit.Test;
+
+/**
+ * Tests cases for {@link JsonPathPayloadParser}. The expected results are the ones of the JSONPath transformation
+ * service.
+ *
+ * @author agent - Initial contribution
+ */
+public class JsonPathPayloadParserTests {
+    private static final String JSON = "{ \"device\": { \"status\": { \"temperature\": 23.2, \"humidity\": 45,"
+            + " \"state\": \"ON\", \"ok\": true, \"error\": null, \"large\": 12345678901234567890,"
+            + " \"exp\": 1e3, \"scaled\": 1.50, \"precise\": 0.1234567890123456789 },"
+            + " \"sensors\": [ 21.5, 22, 23 ], \"names\": [ \"a\", \"b\" ], \"single\": [ \"a\" ], \"empty\": [],"
+            + " \"objects\": [ { \"id\": 1 } ] } }";
+
+    private final JsonPathPayloadParser parser = new JsonPathPayloadParser();
+    private final Object document = parser.parse(JSON);
+
+    private Optional<String> transform(String pattern) throws TransformationException {
+        return parser.transform(pattern, document);
+    }
+
+    @Test
+    public void primitiveValues() throws TransformationException {
+        assertThat(transform("$.device.status.temperature"), is(Optional.of("23.2")));
+        assertThat(transform("$.device.status.humidity"), is(Optional.of("45")));
+        assertThat(transform("$.device.status.state"), is(Optional.of("ON")));
+        assertThat(transform("$.device.status.ok"), is(Optional.of("true")));
+        assertThat(transform("$['device'][\"status\"].temperature"), is(Optional.of("23.2")));
+        assertThat(transform("device.status.temperature"), is(Optional.of("23.2")));
+        assertThat(transform(" $.device.sensors[1] "), is(Optional.of("22")));
+    }
+
+    @Test
+    public void numbersAreFormattedLikeTheTransformationService() throws TransformationException {
+        assertThat(transform("$.device.status.large"), is(Optional.of("12345678901234567890")));
+        assertThat(transform("$.device.status.exp"), is(Optional.of("1000.0")));
+        assertThat(transform("$.device.status.scaled"), is(Optional.of("1.5")));
+        assertThat(transform("$.device.status.precise"), is(Optional.of("0.1234567890123456789")));
+    }
+
+    @Test
+    public void listsAreFlattenedLikeTheTransformationService() throws TransformationException {
+        assertThat(transform("$.device.sensors"), is(Optional.of("[21.5, 22, 23]")));
+        assertThat(transform("$.device.names"), is(Optional.of("[\"a\", \"b\"]")));
+        assertThat(transform("$.device.single"), is(Optional.of("a")));
+        assertThat(transform("$.device.empty"), is(Optional.of("NULL")));
+    }
+
+    @Test
+    public void otherResultsAreLeftToTheTransformationService() throws TransformationException {
+        assertThat(transform("$.device.status"), is(Optional.empty()));
+        assertThat(transform("$.device.status.error"), is(Optional.empty()));
+        assertThat(transform("$.device.objects"), is(Optional.empty()));
+    }
+
+    @Test
+    public void otherPathsAreLeftToTheTransformationService() throws TransformationException {
+        assertThat(transform("$"), is(Optional.empty()));
+        assertThat(transform("$..temperature"), is(Optional.empty()));
+        assertThat(transform("$.device.*"), is(Optional.empty()));
+        assertThat(transform("$.device.sensors[*]"), is(Optional.empty()));
+        assertThat(transform("$.device.sensors[-1]"), is(Optional.empty()));
+        assertThat(transform("$.device.sensors[0:2]"), is(Optional.empty()));
+        assertThat(transform("$.device.sensors[0,1]"), is(Optional.empty()));
+        assertThat(transform("$.device.sensors.length()"), is(Optional.empty()));
+        assertThat(transform("$.device.objects[?(@.id == 1)]"), is(Optional.empty()));
+        assertThat(transform("$['device','other']"), is(Optional.empty()));
+    }
+
+    @Test(expected = TransformationException.class)
+    public void missingMember() throws TransformationException {
+        transform("$.device.status.pressure");
+    }
+
+    @Test(expected = TransformationException.class)
+    public void indexOutOfBounds() throws TransformationException {
+        transform("$.device.sensors[3]");
+    }
+
+    @Test(expected = TransformationException.class)
+    public void memberOfNull() throws TransformationException {
+        transform("$.device.status.error.value");
+    }
+
+    @Test
+    public void invalidMessagesAreNotParsed() {
+        assertNull(parser.parse(""));
+        assertNull(parser.parse("{ \"device\": "));
+        assertNull(parser.parse("hello world"));
+    }
+}
@@ -78,6 +78,11 @@ import com.google.gson.GsonBuilder;
 public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
         implements ComponentDiscovered, Consumer<List<AbstractComponent<?>>> {
     public static final String AVAILABILITY_CHANNEL = "availability";
+    /**
+     * Maximum number of discovered components added to the thing at once. A broker replaying thousands of retained
+     * configuration topics thereby results in several smaller thing updates instead of a single huge one.
+     */
+    public static final int DISCOVERY_BATCH_SIZE = 100;
 
     private final Logger logger = LoggerFactory.getLogger(HomeAssistantThingHandler.class);
 
@@ -113,7 +118,8 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
         this.channelTypeProvider = channelTypeProvider;
         this.transformationServiceProvider = transformationServiceProvider;
         this.attributeReceiveTimeout = attributeReceiveTimeout;
-        this.delayedProcessing = new DelayedBatchProcessing<>(attributeReceiveTimeout, this, scheduler);
+        this.delayedProcessing = new DelayedBatchProcessing<>(attributeReceiveTimeout, DISCOVERY_BATCH_SIZE, this,
+                scheduler);
         this.discoverComponents = new DiscoverComponents(thing.getUID(), scheduler, this, this, gson,
                 this.transformationServiceProvider);
     }
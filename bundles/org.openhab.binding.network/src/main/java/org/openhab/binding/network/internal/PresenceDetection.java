@@ -19,8 +19,6 @@ import java.net.SocketException;
 import java.net.UnknownHostException;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -29,6 +27,7 @@ import java.util.function.Consumer;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.cache.ExpiringCache;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.openhab.binding.network.internal.dhcp.DHCPListenService;
 import org.openhab.binding.network.internal.dhcp.IPRequestReceivedCallback;
 import org.openhab.binding.network.internal.toberemoved.cache.ExpiringCacheAsync;
@@ -36,6 +35,7 @@ import org.openhab.binding.network.internal.utils.NetworkUtils;
 import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
 import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
 import org.openhab.binding.network.internal.utils.PingResult;
+import org.openhab.binding.network.internal.utils.TaskGroup;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -52,6 +52,13 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     public static final double NOT_REACHABLE = -1;
     public static final int DESTINATION_TTL = 300 * 1000; // in ms, 300 s
 
+    /** Name of the thread pool shared by the checks of all presence detections of the binding */
+    public static final String THREAD_POOL_NAME = "network-presence";
+    /** Number of consecutive unreachable results after which the refresh interval is doubled */
+    static final int UNREACHABLE_RESULTS_PER_BACKOFF = 5;
+    /** Upper limit for the refresh interval of unreachable devices, as multiple of the configured interval */
+    static final int MAX_BACKOFF_FACTOR = 4;
+
     NetworkUtils networkUtils = new NetworkUtils();
     private final Logger logger = LoggerFactory.getLogger(PresenceDetection.class);
 
@@ -64,6 +71,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     protected @Nullable IpPingMethodEnum pingMethod = null;
     private boolean iosDevice;
     private Set<Integer> tcpPorts = new HashSet<>();
+    private String threadPoolName = THREAD_POOL_NAME;
 
     private long refreshIntervalInMS = 60000;
     private int timeoutInMS = 5000;
@@ -79,10 +87,12 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     ExpiringCacheAsync<PresenceDetectionValue> cache;
     private final PresenceDetectionListener updateListener;
     private @Nullable ScheduledFuture<?> refreshJob;
-    protected @Nullable ExecutorService executorService;
+    protected @Nullable TaskGroup executorService;
     private String dhcpState = "off";
     Integer currentCheck = 0;
     int detectionChecks;
+    int unreachableResultsInRow = 0;
+    private int skippedRefreshes = 0;
 
     public PresenceDetection(final PresenceDetectionListener updateListener, int cacheDeviceStateTimeInMS)
             throws IllegalArgumentException {
@@ -279,14 +289,29 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         cache.getValue(callback);
     }
 
-    public ExecutorService getThreadsFor(int threadCount) {
-        return Executors.newFixedThreadPool(threadCount);
+    /**
+     * Set the name of the thread pool the checks run on. Defaults to {@link #THREAD_POOL_NAME}.
+     *
+     * @param threadPoolName The name of a pool of the {@link ThreadPoolManager}
+     */
+    public void setThreadPoolName(String threadPoolName) {
+        this.threadPoolName = threadPoolName;
+    }
+
+    /**
+     * Return an executor for the checks of one presence detection. The checks run on a pool of the
+     * {@link ThreadPoolManager}, so that many devices do not result in a thread per device and check.
+     *
+     * @param threadCount The number of checks that are about to be performed
+     */
+    public TaskGroup getThreadsFor(int threadCount) {
+        return new TaskGroup(ThreadPoolManager.getScheduledPool(threadPoolName));
     }
 
     /**
      * Perform a presence detection with ICMP-, ARP ping and
-     * TCP connection attempts simultaneously. A fixed thread pool will be created with as many
-     * thread as necessary to perform all tests at once.
+     * TCP connection attempts simultaneously. The checks run on a thread pool shared by all
+     * presence detections, so they are performed at once as long as the pool is not exhausted.
      *
      * This is a NO-OP, if there is already an ongoing detection or if the cached value
      * is not expired yet.
@@ -327,47 +352,43 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             return false;
         }
 
-        final ExecutorService executorService = getThreadsFor(detectionChecks);
+        final TaskGroup executorService = getThreadsFor(detectionChecks);
         this.executorService = executorService;
 
         for (Integer tcpPort : tcpPorts) {
-            executorService.execute(() -> {
-                Thread.currentThread().setName("presenceDetectionTCP_" + hostname + " " + String.valueOf(tcpPort));
+            executorService.execute(() -> runNamed("presenceDetectionTCP_" + hostname + " " + tcpPort, () -> {
                 performServicePing(tcpPort);
                 checkIfFinished();
-            });
+            }));
         }
 
         // ARP ping for IPv4 addresses. Use single executor for Windows tool and
         // each own executor for each network interface for other tools
         if (arpPingMethod == ArpPingUtilEnum.ELI_FULKERSON_ARP_PING_FOR_WINDOWS) {
-            executorService.execute(() -> {
-                Thread.currentThread().setName("presenceDetectionARP_" + hostname + " ");
+            executorService.execute(() -> runNamed("presenceDetectionARP_" + hostname + " ", () -> {
                 // arp-ping.exe tool capable of handling multiple interfaces by itself
                 performARPping("");
                 checkIfFinished();
-            });
+            }));
         } else if (interfaceNames != null) {
             for (final String interfaceName : interfaceNames) {
-                executorService.execute(() -> {
-                    Thread.currentThread().setName("presenceDetectionARP_" + hostname + " " + interfaceName);
+                executorService.execute(() -> runNamed("presenceDetectionARP_" + hostname + " " + interfaceName, () -> {
                     performARPping(interfaceName);
                     checkIfFinished();
-                });
+                }));
             }
         }
 
         // ICMP ping
         if (pingMethod != null) {
-            executorService.execute(() -> {
+            executorService.execute(() -> runNamed("presenceDetectionICMP_" + hostname, () -> {
                 if (pingMethod != IpPingMethodEnum.JAVA_PING) {
-                    Thread.currentThread().setName("presenceDetectionICMP_" + hostname);
                     performSystemPing();
                 } else {
                     performJavaPing();
                 }
                 checkIfFinished();
-            });
+            }));
         }
 
         if (waitForDetectionToFinish) {
@@ -377,6 +398,20 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         return true;
     }
 
+    /**
+     * Runs the given check with a descriptive thread name. The name of the pool thread is restored afterwards.
+     */
+    private void runNamed(String name, Runnable check) {
+        Thread thread = Thread.currentThread();
+        String poolThreadName = thread.getName();
+        thread.setName(name);
+        try {
+            check.run();
+        } finally {
+            thread.setName(poolThreadName);
+        }
+    }
+
     /**
      * Calls updateListener.finalDetectionResult() with a final result value.
      * Safe to be called from different threads. After a call to this method,
@@ -385,7 +420,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      */
     private synchronized void submitFinalResult() {
         // Do nothing if we are not in a detection process
-        ExecutorService service = executorService;
+        TaskGroup service = executorService;
         if (service == null) {
             return;
         }
@@ -410,6 +445,9 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         if (!v.isReachable()) {
             // if target can't be reached, check if name resolution need to be updated
             destination.invalidateValue();
+            unreachableResultsInRow++;
+        } else {
+            unreachableResultsInRow = 0;
         }
         updateListener.finalDetectionResult(v);
     }
@@ -431,15 +469,20 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     /**
      * Waits for the presence detection threads to finish. Returns immediately
      * if no presence detection is performed right now.
+     *
+     * Checks may be queued while the pool is busy with other detections. The timeout
+     * only applies from the moment a check starts, queued checks are waited for until
+     * the next refresh is due. Checks that did not run by then are cancelled.
      */
     public void waitForPresenceDetection() {
-        ExecutorService service = executorService;
+        TaskGroup service = executorService;
         if (service == null) {
             return;
         }
         try {
             // We may get interrupted here by cancelRefreshJob().
-            service.awaitTermination(timeoutInMS + 100, TimeUnit.MILLISECONDS);
+            service.awaitTasks(timeoutInMS + 100, Math.max(refreshIntervalInMS, timeoutInMS + 100),
+                    TimeUnit.MILLISECONDS);
             submitFinalResult();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt(); // Reset interrupt flag
@@ -461,6 +504,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      */
     synchronized PresenceDetectionValue updateReachableValue(PresenceDetectionType type, double latency) {
         lastSeenInMS = System.currentTimeMillis();
+        unreachableResultsInRow = 0;
         PresenceDetectionValue v;
         if (cache.isExpired()) {
             v = new PresenceDetectionValue(hostname, 0);
@@ -603,8 +647,33 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         if (future != null && !future.isDone()) {
             future.cancel(true);
         }
-        refreshJob = scheduledExecutorService.scheduleWithFixedDelay(() -> performPresenceDetection(true), 0,
-                refreshIntervalInMS, TimeUnit.MILLISECONDS);
+        refreshJob = scheduledExecutorService.scheduleWithFixedDelay(() -> {
+            if (!skipRefresh()) {
+                performPresenceDetection(true);
+            }
+        }, 0, refreshIntervalInMS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Return the factor by which the refresh interval is currently stretched. Checks of unreachable devices run
+     * until they time out and are therefore the most expensive ones. The longer a device stays unreachable, the less
+     * often it is checked, up to {@link #MAX_BACKOFF_FACTOR} times the configured interval. Reachable devices are
+     * always checked at the configured interval and any sign of the device (like a DHCP request) ends the backoff.
+     */
+    synchronized int getRefreshBackoffFactor() {
+        int doublings = unreachableResultsInRow / UNREACHABLE_RESULTS_PER_BACKOFF;
+        return doublings >= Integer.numberOfTrailingZeros(MAX_BACKOFF_FACTOR) ? MAX_BACKOFF_FACTOR : 1 << doublings;
+    }
+
+    /**
+     * Return true if the current automatic refresh should be skipped because of the backoff.
+     */
+    synchronized boolean skipRefresh() {
+        if (++skippedRefreshes < getRefreshBackoffFactor()) {
+            return true;
+        }
+        skippedRefreshes = 0;
+        return false;
     }
 
     /**
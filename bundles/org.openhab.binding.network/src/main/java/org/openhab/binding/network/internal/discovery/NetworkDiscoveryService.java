@@ -14,7 +14,10 @@ package org.openhab.binding.network.internal.discovery;
 
 import static org.openhab.binding.network.internal.NetworkBindingConstants.*;
 
+import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -37,6 +40,7 @@ import org.openhab.binding.network.internal.PresenceDetection;
 import org.openhab.binding.network.internal.PresenceDetectionListener;
 import org.openhab.binding.network.internal.PresenceDetectionValue;
 import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.TcpPortSweep;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
@@ -49,6 +53,11 @@ import org.slf4j.LoggerFactory;
  * the current Network. It uses every Network Interface which is connected to a network.
  * It tries common TCP ports to connect to, ICMP pings and ARP pings.
  *
+ * The sweep is paced to a configurable number of packets per second. TCP connection attempts are
+ * multiplexed on a single thread, pings run on a pool of their own, so that a scan does not delay the
+ * presence detection of configured things. Devices are reported as soon as they respond. A scan that
+ * got stopped resumes with the remaining addresses next time.
+ *
  * @author Marc Mettke - Initial contribution
  * @author David Graeff - Rewritten
  */
@@ -57,6 +66,11 @@ import org.slf4j.LoggerFactory;
 public class NetworkDiscoveryService extends AbstractDiscoveryService implements PresenceDetectionListener {
     static final int PING_TIMEOUT_IN_MS = 500;
     static final int MAXIMUM_IPS_PER_INTERFACE = 255;
+    static final String PARAMETER_PACKETS_PER_SECOND = "packetsPerSecond";
+    static final int DEFAULT_PACKETS_PER_SECOND = 200;
+    static final String PING_THREAD_POOL_NAME = "network-discovery-ping";
+    /** Maximum number of IPs whose pings are queued or running at the same time */
+    static final int MAX_PENDING_PING_DETECTIONS = 32;
     private static final long DISCOVERY_RESULT_TTL = TimeUnit.MINUTES.toSeconds(10);
     private final Logger logger = LoggerFactory.getLogger(NetworkDiscoveryService.class);
 
@@ -65,7 +79,8 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     // TCP port 1025 (Xbox / MS-RPC)
     private Set<Integer> tcpServicePorts = Collections
             .unmodifiableSet(Stream.of(80, 548, 554, 1025).collect(Collectors.toSet()));
-    private Integer scannedIPcount = 0;
+    private final Deque<String> remainingIPs = new ArrayDeque<>();
+    private int packetsPerSecond = DEFAULT_PACKETS_PER_SECOND;
     private @Nullable ExecutorService executorService = null;
     private final NetworkBindingConfiguration configuration = new NetworkBindingConfiguration();
     private final NetworkUtils networkUtils = new NetworkUtils();
@@ -91,13 +106,23 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
         // configuration, the values are automatically available in all handlers. Because they all
         // share the same instance.
         configuration.update(new Configuration(config).as(NetworkBindingConfiguration.class));
+        Object rate = config != null ? config.get(PARAMETER_PACKETS_PER_SECOND) : null;
+        try {
+            packetsPerSecond = rate != null ? Math.max(1, Integer.parseInt(rate.toString().trim()))
+                    : DEFAULT_PACKETS_PER_SECOND;
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid {} '{}', using {}", PARAMETER_PACKETS_PER_SECOND, rate, DEFAULT_PACKETS_PER_SECOND);
+            packetsPerSecond = DEFAULT_PACKETS_PER_SECOND;
+        }
     }
 
     @Override
     @Deactivate
     protected void deactivate() {
-        if (executorService != null) {
-            executorService.shutdown();
+        ExecutorService service = executorService;
+        if (service != null) {
+            service.shutdownNow();
+            executorService = null;
         }
         super.deactivate();
     }
@@ -120,46 +145,114 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Starts the DiscoveryThread for each IP on each interface on the network
+     * Starts the sweep over all IPs on each interface on the network. If the previous scan was stopped before it
+     * finished, the remaining IPs are scanned first.
      */
     @Override
-    protected void startScan() {
-        if (executorService == null) {
-            executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
-        }
-        final ExecutorService service = executorService;
-        if (service == null) {
+    protected synchronized void startScan() {
+        if (executorService != null) {
+            logger.debug("Network Device Discovery is already running");
             return;
         }
         removeOlderResults(getTimestampOfLastScan(), null);
         logger.trace("Starting Network Device Discovery");
 
-        final Set<String> networkIPs = networkUtils.getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE);
-        scannedIPcount = 0;
-
-        for (String ip : networkIPs) {
-            final PresenceDetection s = new PresenceDetection(this, 2000);
-            s.setHostname(ip);
-            s.setIOSDevice(true);
-            s.setUseDhcpSniffing(false);
-            s.setTimeout(PING_TIMEOUT_IN_MS);
-            // Ping devices
-            s.setUseIcmpPing(true);
-            s.setUseArpPing(true, configuration.arpPingToolPath, configuration.arpPingUtilMethod);
-            // TCP devices
-            s.setServicePorts(tcpServicePorts);
-
-            service.execute(() -> {
-                Thread.currentThread().setName("Discovery thread " + ip);
-                s.performPresenceDetection(true);
-                synchronized (scannedIPcount) {
-                    scannedIPcount += 1;
-                    if (scannedIPcount == networkIPs.size()) {
-                        logger.trace("Scan of {} IPs successful", scannedIPcount);
-                        stopScan();
-                    }
+        synchronized (remainingIPs) {
+            if (remainingIPs.isEmpty()) {
+                remainingIPs.addAll(networkUtils.getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE));
+            } else {
+                logger.debug("Resuming Network Device Discovery with {} remaining IPs", remainingIPs.size());
+            }
+        }
+
+        ExecutorService service = Executors.newSingleThreadExecutor(r -> new Thread(r, "network-discovery"));
+        executorService = service;
+        service.execute(this::sweep);
+    }
+
+    private void sweep() {
+        Deque<PresenceDetection> detections = new ArrayDeque<>();
+        int interfaceCount = networkUtils.getInterfaceNames().size();
+        long nanosPerPacket = TimeUnit.SECONDS.toNanos(1) / packetsPerSecond;
+        long nextPacketNanos = System.nanoTime();
+        int scannedIPcount = 0;
+
+        try (TcpPortSweep tcpSweep = new TcpPortSweep(PING_TIMEOUT_IN_MS, (ip, port, latency) -> {
+            newServiceDevice(ip, port);
+        })) {
+            while (!Thread.currentThread().isInterrupted()) {
+                String ip;
+                synchronized (remainingIPs) {
+                    ip = remainingIPs.peek();
+                }
+                if (ip == null) {
+                    break;
+                }
+
+                // Do not queue up pings faster than the pool can run them
+                while (detections.size() >= MAX_PENDING_PING_DETECTIONS) {
+                    detections.removeFirst().waitForPresenceDetection();
+                }
+                if (Thread.currentThread().isInterrupted()) {
+                    break;
+                }
+
+                // Pace the sweep: one packet per TCP port, an ICMP ping and an ARP ping per interface
+                long waitNanos = nextPacketNanos - System.nanoTime();
+                if (waitNanos > 0) {
+                    TimeUnit.NANOSECONDS.sleep(waitNanos);
                 }
-            });
+                nextPacketNanos = Math.max(nextPacketNanos, System.nanoTime())
+                        + (tcpServicePorts.size() + 1 + interfaceCount) * nanosPerPacket;
+
+                for (int port : tcpServicePorts) {
+                    tcpSweep.probe(ip, port);
+                }
+                PresenceDetection detection = createPingDetection(ip);
+                if (detection.performPresenceDetection(false)) {
+                    detections.add(detection);
+                }
+
+                synchronized (remainingIPs) {
+                    remainingIPs.poll();
+                }
+                scannedIPcount++;
+            }
+
+            tcpSweep.awaitIdle(PING_TIMEOUT_IN_MS * 2, TimeUnit.MILLISECONDS);
+            for (PresenceDetection detection : detections) {
+                detection.waitForPresenceDetection();
+            }
+            logger.trace("Scan of {} IPs finished", scannedIPcount);
+        } catch (InterruptedException e) {
+            logger.trace("Scan interrupted after {} IPs", scannedIPcount);
+            return;
+        } catch (IOException e) {
+            logger.warn("Could not start the network discovery: {}", e.getMessage());
+        }
+        finishScan();
+    }
+
+    private PresenceDetection createPingDetection(String ip) {
+        PresenceDetection s = new PresenceDetection(this, 2000);
+        s.setHostname(ip);
+        s.setIOSDevice(true);
+        s.setUseDhcpSniffing(false);
+        s.setTimeout(PING_TIMEOUT_IN_MS);
+        // Ping devices, TCP ports are probed by the sweep
+        s.setUseIcmpPing(true);
+        s.setUseArpPing(true, configuration.arpPingToolPath, configuration.arpPingUtilMethod);
+        s.setServicePorts(Collections.emptySet());
+        s.setThreadPoolName(PING_THREAD_POOL_NAME);
+        return s;
+    }
+
+    private synchronized void finishScan() {
+        super.stopScan();
+        ExecutorService service = executorService;
+        if (service != null) {
+            service.shutdown();
+            executorService = null;
         }
     }
 
@@ -170,13 +263,8 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
         if (service == null) {
             return;
         }
-
-        try {
-            service.awaitTermination(PING_TIMEOUT_IN_MS, TimeUnit.MILLISECONDS);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt(); // Reset interrupt flag
-        }
-        service.shutdown();
+        // Interrupt the sweep, the remaining IPs are scanned by the next scan
+        service.shutdownNow();
         executorService = null;
     }
 
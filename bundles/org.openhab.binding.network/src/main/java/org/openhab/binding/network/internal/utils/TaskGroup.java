@@ -0,0 +1,185 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * An {@link java.util.concurrent.ExecutorService} that runs its tasks on a shared executor.
+ *
+ * Shutting down the group only affects the tasks submitted to this group: {@link #shutdownNow()} cancels them and
+ * {@link #awaitTermination(long, TimeUnit)} waits for them to finish. The shared executor keeps running, so many
+ * groups can be created and discarded without creating any threads.
+ *
+ * Tasks may wait in the queue of the shared executor for a while. {@link #awaitTasks(long, long, TimeUnit)} therefore
+ * times out a task only after it ran for too long, and bounds the total wait separately.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class TaskGroup extends AbstractExecutorService {
+    private final Executor executor;
+    private final Set<GroupTask> tasks = ConcurrentHashMap.newKeySet();
+    private volatile boolean shutdown = false;
+
+    private class GroupTask extends FutureTask<Void> {
+        /** {@link System#nanoTime()} when the task started running, 0 while it is queued */
+        volatile long startNanos = 0;
+
+        GroupTask(Runnable runnable) {
+            super(runnable, null);
+        }
+
+        @Override
+        public void run() {
+            synchronized (tasks) {
+                startNanos = System.nanoTime() | 1; // never 0
+                tasks.notifyAll();
+            }
+            super.run();
+        }
+
+        @Override
+        protected void done() {
+            synchronized (tasks) {
+                tasks.remove(this);
+                tasks.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Create a task group
+     *
+     * @param executor The shared executor that runs the tasks
+     */
+    public TaskGroup(Executor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        GroupTask task = new GroupTask(command);
+        synchronized (tasks) {
+            if (shutdown) {
+                throw new RejectedExecutionException("Task group has been shut down");
+            }
+            tasks.add(task);
+        }
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.cancel(false);
+            throw e;
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        synchronized (tasks) {
+            shutdown = true;
+            tasks.notifyAll();
+        }
+    }
+
+    /**
+     * Cancels all tasks of this group, running tasks are interrupted.
+     *
+     * @return Always an empty list, cancelled tasks are not handed back
+     */
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        for (GroupTask task : tasks.toArray(new GroupTask[0])) {
+            task.cancel(true);
+        }
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown && tasks.isEmpty();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (tasks) {
+            while (!isTerminated()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(tasks, remaining);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Waits for all tasks of this group to finish. A task times out when it runs for longer than the task timeout,
+     * the time it waits in the queue of the shared executor does not count. The total wait is bounded by the maximum
+     * wait time, so a saturated shared executor does not block the caller indefinitely.
+     *
+     * @param taskTimeout The maximum time a single task may run
+     * @param maxWait The maximum time to wait in total
+     * @param unit The unit of the timeouts
+     * @return True if all tasks finished, false if a task runs for longer than the task timeout or the maximum wait
+     *         time elapsed
+     * @throws InterruptedException If interrupted while waiting
+     */
+    public boolean awaitTasks(long taskTimeout, long maxWait, TimeUnit unit) throws InterruptedException {
+        long taskTimeoutNanos = unit.toNanos(taskTimeout);
+        long deadline = System.nanoTime() + unit.toNanos(maxWait);
+        synchronized (tasks) {
+            while (!tasks.isEmpty()) {
+                long now = System.nanoTime();
+                long remaining = deadline - now;
+                for (GroupTask task : tasks) {
+                    long startNanos = task.startNanos;
+                    if (startNanos != 0) {
+                        remaining = Math.min(remaining, startNanos + taskTimeoutNanos - now);
+                    }
+                }
+                if (remaining <= 0) {
+                    return false;
+                }
+                // Wait for a task to start or finish, a timeout or the deadline
+                TimeUnit.NANOSECONDS.timedWait(tasks, remaining);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Return the number of submitted tasks that are not finished yet.
+     */
+    public int getPendingTaskCount() {
+        return tasks.size();
+    }
+}
@@ -0,0 +1,261 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Probes TCP ports of many hosts concurrently without a thread per connection attempt.
+ *
+ * All connection attempts are non-blocking and multiplexed on a single {@link Selector} thread. A port is reported
+ * as open as soon as the connection is established, the connection is closed right away. Refused connections and
+ * attempts that do not complete within the timeout are dropped silently.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class TcpPortSweep implements Closeable {
+    private final Logger logger = LoggerFactory.getLogger(TcpPortSweep.class);
+
+    /**
+     * Receives open ports. Called from the selector thread.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void portOpen(String host, int port, double latencyInMS);
+    }
+
+    private static class Probe {
+        final String host;
+        final int port;
+        final long startNanos;
+        final SocketChannel channel;
+        boolean finished = false;
+
+        Probe(String host, int port, SocketChannel channel) {
+            this.host = host;
+            this.port = port;
+            this.channel = channel;
+            this.startNanos = System.nanoTime();
+        }
+    }
+
+    private final int timeoutInMS;
+    private final Listener listener;
+    private final Selector selector;
+    private final Thread selectorThread;
+    private final Queue<Probe> newProbes = new ConcurrentLinkedQueue<>();
+    private final Object idleLock = new Object();
+    private int pendingProbes = 0;
+    private volatile boolean closed = false;
+
+    /**
+     * Create a sweep and start its selector thread.
+     *
+     * @param timeoutInMS Time to wait for a connection to be established
+     * @param listener Receives the open ports
+     * @throws IOException If the selector cannot be opened
+     */
+    public TcpPortSweep(int timeoutInMS, Listener listener) throws IOException {
+        this.timeoutInMS = timeoutInMS;
+        this.listener = listener;
+        this.selector = Selector.open();
+        this.selectorThread = new Thread(this::run, "network-tcp-sweep");
+        this.selectorThread.setDaemon(true);
+        this.selectorThread.start();
+    }
+
+    /**
+     * Start a connection attempt. Returns immediately, the result is reported to the listener.
+     *
+     * @param host The IP address
+     * @param port The TCP port
+     */
+    public void probe(String host, int port) {
+        if (closed) {
+            return;
+        }
+        SocketChannel channel = null;
+        Probe probe = null;
+        try {
+            channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            probe = new Probe(host, port, channel);
+            synchronized (idleLock) {
+                pendingProbes++;
+            }
+            if (channel.connect(new InetSocketAddress(host, port))) {
+                finish(probe, true);
+                return;
+            }
+            newProbes.add(probe);
+            selector.wakeup();
+            if (closed) {
+                // the selector thread might have stopped before the probe was queued
+                finish(probe, false);
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.trace("Could not start a connection attempt to {}:{}", host, port, e);
+            if (probe != null) {
+                finish(probe, false);
+            } else {
+                closeQuietly(channel);
+            }
+        }
+    }
+
+    /**
+     * Wait until all started connection attempts are finished.
+     *
+     * @param timeout The maximum time to wait
+     * @param unit The unit of the timeout
+     * @return True if no connection attempts are pending anymore
+     */
+    public boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (idleLock) {
+            while (pendingProbes > 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(idleLock, remaining);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Abort all pending connection attempts and stop the selector thread.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        selector.wakeup();
+        try {
+            selectorThread.join(timeoutInMS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        try {
+            while (!closed) {
+                registerNewProbes();
+                selector.select(Math.max(1, Math.min(timeoutInMS, 100)));
+                Iterator<SelectionKey> selected = selector.selectedKeys().iterator();
+                while (selected.hasNext()) {
+                    SelectionKey key = selected.next();
+                    selected.remove();
+                    Probe probe = (Probe) key.attachment();
+                    boolean connected;
+                    try {
+                        connected = probe.channel.finishConnect();
+                    } catch (IOException e) {
+                        finish(probe, false);
+                        continue;
+                    }
+                    if (connected) {
+                        finish(probe, true);
+                    }
+                }
+                expireProbes();
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.debug("TCP port sweep stopped unexpectedly", e);
+        } finally {
+            Probe probe;
+            while ((probe = newProbes.poll()) != null) {
+                finish(probe, false);
+            }
+            for (SelectionKey key : selector.keys()) {
+                finish((Probe) key.attachment(), false);
+            }
+            closeQuietly(selector);
+        }
+    }
+
+    private void registerNewProbes() {
+        Probe probe;
+        while ((probe = newProbes.poll()) != null) {
+            try {
+                probe.channel.register(selector, SelectionKey.OP_CONNECT, probe);
+            } catch (IOException | RuntimeException e) {
+                finish(probe, false);
+            }
+        }
+    }
+
+    private void expireProbes() {
+        long now = System.nanoTime();
+        for (SelectionKey key : selector.keys()) {
+            Probe probe = (Probe) key.attachment();
+            if (now - probe.startNanos > TimeUnit.MILLISECONDS.toNanos(timeoutInMS)) {
+                finish(probe, false);
+            }
+        }
+    }
+
+    private void finish(Probe probe, boolean open) {
+        synchronized (probe) {
+            if (probe.finished) {
+                return;
+            }
+            probe.finished = true;
+        }
+        closeQuietly(probe.channel);
+        if (open) {
+            double latency = (System.nanoTime() - probe.startNanos) / 1000000.0;
+            try {
+                listener.portOpen(probe.host, probe.port, latency);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to process open port {}:{}", probe.host, probe.port, e);
+            }
+        }
+        probeDone();
+    }
+
+    private void probeDone() {
+        synchronized (idleLock) {
+            pendingProbes--;
+            if (pendingProbes == 0) {
+                idleLock.notifyAll();
+            }
+        }
+    }
+
+    private static void closeQuietly(@Nullable Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+        }
+    }
+}
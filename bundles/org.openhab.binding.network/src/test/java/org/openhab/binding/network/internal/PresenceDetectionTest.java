@@ -21,7 +21,6 @@ import java.io.IOException;
 import java.net.UnknownHostException;
 import java.util.Collections;
 import java.util.Optional;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
@@ -37,6 +36,7 @@ import org.openhab.binding.network.internal.utils.NetworkUtils;
 import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
 import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
 import org.openhab.binding.network.internal.utils.PingResult;
+import org.openhab.binding.network.internal.utils.TaskGroup;
 
 /**
  * Tests cases for {@see PresenceDetectionValue}
@@ -52,7 +52,7 @@ public class PresenceDetectionTest {
     PresenceDetectionListener listener;
 
     @Mock
-    ExecutorService executorService;
+    TaskGroup executorService;
 
     @Mock
     Consumer<PresenceDetectionValue> callback;
@@ -176,6 +176,24 @@ public class PresenceDetectionTest {
         verify(callback, times(2)).accept(any());
     }
 
+    @Test
+    public void refreshBackoffForUnreachableDevices() {
+        assertThat(subject.getRefreshBackoffFactor(), is(1));
+        assertFalse(subject.skipRefresh());
+
+        subject.unreachableResultsInRow = PresenceDetection.UNREACHABLE_RESULTS_PER_BACKOFF;
+        assertThat(subject.getRefreshBackoffFactor(), is(2));
+        assertTrue(subject.skipRefresh());
+        assertFalse(subject.skipRefresh());
+
+        subject.unreachableResultsInRow = 100 * PresenceDetection.UNREACHABLE_RESULTS_PER_BACKOFF;
+        assertThat(subject.getRefreshBackoffFactor(), is(PresenceDetection.MAX_BACKOFF_FACTOR));
+
+        // Any sign of the device ends the backoff
+        subject.updateReachableValue(PresenceDetectionType.DHCP_REQUEST, 0);
+        assertThat(subject.getRefreshBackoffFactor(), is(1));
+    }
+
     @Test
     public void reuseValueTests() throws InterruptedException, IOException {
         final long START_TIME = 1000L;
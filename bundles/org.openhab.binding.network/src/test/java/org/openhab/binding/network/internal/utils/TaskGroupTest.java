@@ -0,0 +1,158 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests cases for {@see TaskGroup}
+ *
+ * @author agent - Initial contribution
+ */
+public class TaskGroupTest {
+    private final ExecutorService sharedPool = Executors.newFixedThreadPool(2);
+
+    @After
+    public void tearDown() {
+        sharedPool.shutdownNow();
+    }
+
+    @Test
+    public void shutdownNowOnlyAffectsGroup() throws InterruptedException {
+        TaskGroup group = new TaskGroup(sharedPool);
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        group.execute(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(10000);
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            }
+        });
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        group.shutdownNow();
+        assertTrue(group.awaitTermination(1, TimeUnit.SECONDS));
+        assertTrue(group.isTerminated());
+        assertFalse(sharedPool.isShutdown());
+
+        // The shared pool still runs tasks of other groups
+        TaskGroup otherGroup = new TaskGroup(sharedPool);
+        CountDownLatch otherRun = new CountDownLatch(1);
+        otherGroup.execute(otherRun::countDown);
+        assertTrue(otherRun.await(1, TimeUnit.SECONDS));
+        assertTrue(interrupted.get());
+    }
+
+    @Test
+    public void awaitTerminationWaitsForShutdown() throws InterruptedException {
+        TaskGroup group = new TaskGroup(sharedPool);
+        group.execute(() -> {
+        });
+        assertFalse(group.awaitTermination(100, TimeUnit.MILLISECONDS));
+        assertEquals(0, group.getPendingTaskCount());
+
+        group.shutdown();
+        assertTrue(group.awaitTermination(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void awaitTasksDoesNotTimeOutQueuedTasks() throws InterruptedException {
+        // Occupy both threads of the shared pool, so that the task of the group is queued
+        CountDownLatch release = new CountDownLatch(1);
+        for (int i = 0; i < 2; i++) {
+            sharedPool.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        TaskGroup group = new TaskGroup(sharedPool);
+        AtomicBoolean run = new AtomicBoolean();
+        group.execute(() -> run.set(true));
+
+        new Thread(() -> {
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            release.countDown();
+        }).start();
+
+        // The task waits longer than the timeout in the queue, but runs within it
+        assertTrue(group.awaitTasks(100, 5000, TimeUnit.MILLISECONDS));
+        assertTrue(run.get());
+    }
+
+    @Test
+    public void awaitTasksTimesOutRunningTasks() throws InterruptedException {
+        TaskGroup group = new TaskGroup(sharedPool);
+        CountDownLatch release = new CountDownLatch(1);
+        group.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertFalse(group.awaitTasks(100, 5000, TimeUnit.MILLISECONDS));
+        release.countDown();
+    }
+
+    @Test
+    public void awaitTasksBoundsTheTotalWait() throws InterruptedException {
+        // Occupy both threads of the shared pool, so that the task of the group stays queued
+        CountDownLatch release = new CountDownLatch(1);
+        for (int i = 0; i < 2; i++) {
+            sharedPool.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        TaskGroup group = new TaskGroup(sharedPool);
+        group.execute(() -> {
+        });
+
+        long start = System.nanoTime();
+        assertFalse(group.awaitTasks(100, 300, TimeUnit.MILLISECONDS));
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(waitedMillis >= 300 && waitedMillis < 2000);
+        release.countDown();
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void rejectsTasksAfterShutdown() {
+        TaskGroup group = new TaskGroup(sharedPool);
+        group.shutdown();
+        group.execute(() -> {
+        });
+    }
+}
@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests cases for {@see TcpPortSweep}. A subnet is simulated by listeners on loopback addresses.
+ *
+ * @author agent - Initial contribution
+ */
+public class TcpPortSweepTest {
+    private static final int HOSTS = 8;
+
+    private final List<ServerSocket> listeners = new ArrayList<>();
+    private final Set<String> expectedOpen = new HashSet<>();
+    private final Set<String> closedPorts = new HashSet<>();
+
+    @Before
+    public void setUp() throws IOException {
+        // Every second host of 127.0.0.1 to 127.0.0.<HOSTS> listens on a port, the others have nothing
+        for (int host = 1; host <= HOSTS; host++) {
+            String ip = "127.0.0." + host;
+            ServerSocket socket = new ServerSocket();
+            try {
+                socket.bind(new InetSocketAddress(InetAddress.getByName(ip), 0));
+            } catch (IOException e) {
+                socket.close();
+                // Only 127.0.0.1 is usable on some systems
+                Assume.assumeTrue("Loopback address " + ip + " not available", host > 1);
+                break;
+            }
+            if (host % 2 == 1) {
+                listeners.add(socket);
+                expectedOpen.add(ip + ":" + socket.getLocalPort());
+            } else {
+                // bound, but closed again: connection attempts are refused
+                closedPorts.add(ip + ":" + socket.getLocalPort());
+                socket.close();
+            }
+        }
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        for (ServerSocket socket : listeners) {
+            socket.close();
+        }
+    }
+
+    @Test
+    public void reportsOnlyOpenPorts() throws IOException, InterruptedException {
+        Set<String> open = ConcurrentHashMap.newKeySet();
+        try (TcpPortSweep sweep = new TcpPortSweep(1000, (host, port, latency) -> open.add(host + ":" + port))) {
+            for (String address : expectedOpen) {
+                String[] parts = address.split(":");
+                sweep.probe(parts[0], Integer.parseInt(parts[1]));
+            }
+            for (String address : closedPorts) {
+                String[] parts = address.split(":");
+                sweep.probe(parts[0], Integer.parseInt(parts[1]));
+            }
+            assertTrue(sweep.awaitIdle(5, TimeUnit.SECONDS));
+        }
+        assertThat(open, is(expectedOpen));
+    }
+
+    @Test
+    public void closeAbortsPendingProbes() throws IOException, InterruptedException {
+        TcpPortSweep sweep = new TcpPortSweep(60000, (host, port, latency) -> {
+        });
+        // TEST-NET-1 (RFC 5737) is not routed, the attempt stays pending until it is aborted
+        sweep.probe("192.0.2.1", 80);
+        sweep.close();
+        assertTrue(sweep.awaitIdle(1, TimeUnit.SECONDS));
+    }
+}
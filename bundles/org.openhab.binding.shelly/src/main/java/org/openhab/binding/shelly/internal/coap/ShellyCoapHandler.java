@@ -18,6 +18,7 @@ import static org.openhab.binding.shelly.internal.api.ShellyApiJsonDTO.*;
 import static org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.*;
 
 import java.io.IOException;
+import java.net.InetAddress;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -69,6 +70,7 @@ public class ShellyCoapHandler implements ShellyCoapListener {
     private final GsonBuilder gsonBuilder;
     private final Gson gson;
     private String thingName;
+    private String deviceAddress = "";
 
     private @Nullable ShellyCoapServer coapServer;
     private @Nullable CoapClient statusClient;
@@ -104,7 +106,8 @@ public class ShellyCoapHandler implements ShellyCoapListener {
 
             if (statusClient == null) {
                 coapServer.init(config.localIp);
-                coapServer.addListener(this);
+                deviceAddress = InetAddress.getByName(config.deviceIp).getHostAddress();
+                coapServer.addListener(deviceAddress, this);
 
                 statusClient = new CoapClient(completeUrl(config.deviceIp, COLOIT_URI_DEVSTATUS))
                         .setTimeout((long) SHELLY_API_TIMEOUT_MS).useNONs().setEndpoint(coapServer.getEndpoint());
@@ -128,10 +131,6 @@ public class ShellyCoapHandler implements ShellyCoapListener {
     @Override
     public void processResponse(@Nullable Response response) {
         if (response == null) {
-            return; // other device instance
-        }
-        String ip = response.getSourceContext().getPeerAddress().toString();
-        if (!ip.contains(config.deviceIp)) {
             return;
         }
 
@@ -351,9 +350,8 @@ public class ShellyCoapHandler implements ShellyCoapListener {
             CoIotDescrSen sen = sensorMap.get(s.index);
             if (sen != null) {
                 // find matching sensor definition from device description, use the Link ID as
-                // index
+                // index. The definition has already been fixed when the description was processed.
                 Validate.notNull(sen.links != null, "Coap: sen.L must not be null!");
-                sen = fixDescription(sen);
                 CoIotDescrBlk element = blockMap.get(sen.links);
                 logger.debug("{}:  Sensor value[{}]: Index={}, Value={} ({}, Type={}, Range={}, Link={}: {})",
                         thingName, i, s.index, s.value, sen.desc, sen.type, sen.range, sen.links,
@@ -739,7 +737,7 @@ public class ShellyCoapHandler implements ShellyCoapListener {
             statusClient.shutdown();
             statusClient = null;
         }
-        coapServer.removeListener(this);
+        coapServer.removeListener(deviceAddress, this);
     }
 
     public void dispose() {
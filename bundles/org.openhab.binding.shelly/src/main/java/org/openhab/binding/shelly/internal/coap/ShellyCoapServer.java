@@ -17,8 +17,8 @@ import static org.openhab.binding.shelly.internal.ShellyBindingConstants.COIOT_P
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
-import java.util.Set;
-import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.lang.Validate;
 import org.eclipse.californium.core.CoapResource;
@@ -50,7 +50,7 @@ public class ShellyCoapServer {
     private @Nullable UdpMulticastConnector statusConnector;
     private @Nullable CoapServer server;
     boolean started = false;
-    private final Set<ShellyCoapListener> coapListeners = new CopyOnWriteArraySet<>();
+    private final Map<String, ShellyCoapListener> coapListeners = new ConcurrentHashMap<>();
 
     @SuppressWarnings("null")
     @NonNullByDefault
@@ -81,12 +81,18 @@ public class ShellyCoapServer {
 
     }
 
-    public void addListener(ShellyCoapListener listener) {
-        coapListeners.add(listener);
+    /**
+     * Register a listener for the CoIoT messages of a device. Each device has at most one listener.
+     *
+     * @param deviceAddress IP address of the device (as returned by InetAddress.getHostAddress())
+     * @param listener listener receiving the messages sent by this device
+     */
+    public void addListener(String deviceAddress, ShellyCoapListener listener) {
+        coapListeners.put(deviceAddress, listener);
     }
 
-    public void removeListener(ShellyCoapListener listener) {
-        coapListeners.remove(listener);
+    public void removeListener(String deviceAddress, ShellyCoapListener listener) {
+        coapListeners.remove(deviceAddress, listener);
     }
 
     @SuppressWarnings("null")
@@ -118,8 +124,20 @@ public class ShellyCoapServer {
         }
     }
 
+    /**
+     * Dispatch a multicast message to the listener of the sending device, messages of other devices are dropped
+     * without decoding them.
+     *
+     * @param response The mapped status message
+     */
     protected void processResponse(Response response) {
-        coapListeners.forEach(listener -> listener.processResponse(response));
+        InetSocketAddress peer = response.getSourceContext().getPeerAddress();
+        ShellyCoapListener listener = coapListeners.get(peer.getAddress().getHostAddress());
+        if (listener != null) {
+            listener.processResponse(response);
+        } else {
+            logger.trace("Ignore CoIoT message from unknown device {}", peer);
+        }
     }
 
     public static Response createResponse(Request request) {
@@ -16,12 +16,13 @@ import java.io.IOException;
 import java.io.StringReader;
 import java.net.URL;
 import java.text.MessageFormat;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -29,6 +30,7 @@ import org.apache.commons.lang.StringEscapeUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 import org.xml.sax.XMLReader;
@@ -55,6 +57,14 @@ public class SonosXMLParser {
                     + "<desc id=\"cdudn\" nameSpace=\"urn:schemas-rinconnetworks-com:metadata-1-0/\">" + "{4}</desc>"
                     + "</item></DIDL-Lite>");
 
+    /**
+     * Creating a reader is expensive compared to parsing the small payloads of the events, so each thread keeps its
+     * readers for reuse. A handler may parse another payload while its own reader is busy, hence a stack of readers.
+     */
+    private static final ThreadLocal<Deque<XMLReader>> XML_READERS = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final int MAX_POOLED_READERS = 4;
+    private static final DefaultHandler NO_HANDLER = new DefaultHandler();
+
     private enum Element {
         TITLE,
         CLASS,
@@ -80,6 +90,31 @@ public class SonosXMLParser {
         desc
     }
 
+    private static void parse(String xml, ContentHandler handler) throws IOException, SAXException {
+        parse(new InputSource(new StringReader(xml)), handler);
+    }
+
+    private static void parse(InputSource source, ContentHandler handler) throws IOException, SAXException {
+        Deque<XMLReader> readers = XML_READERS.get();
+        XMLReader reader = readers.poll();
+        if (reader == null) {
+            reader = XMLReaderFactory.createXMLReader();
+        }
+        reader.setContentHandler(handler);
+        boolean parsed = false;
+        try {
+            reader.parse(source);
+            parsed = true;
+        } finally {
+            // do not keep the handler and its results reachable from the pooled reader
+            reader.setContentHandler(NO_HANDLER);
+            // a reader that failed is dropped, it may not have been reset properly
+            if (parsed && readers.size() < MAX_POOLED_READERS) {
+                readers.push(reader);
+            }
+        }
+    }
+
     /**
      * @param xml
      * @return a list of alarms from the given xml string.
@@ -89,9 +124,7 @@ public class SonosXMLParser {
     public static List<SonosAlarm> getAlarmsFromStringResult(String xml) {
         AlarmHandler handler = new AlarmHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             LOGGER.error("Could not parse Alarms from string '{}'", xml);
         } catch (SAXException s) {
@@ -109,9 +142,7 @@ public class SonosXMLParser {
     public static List<SonosEntry> getEntriesFromString(String xml) {
         EntryHandler handler = new EntryHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             LOGGER.error("Could not parse Entries from string '{}'", xml);
         } catch (SAXException s) {
@@ -130,11 +161,9 @@ public class SonosXMLParser {
      * @throws SAXException
      */
     public static SonosResourceMetaData getResourceMetaData(String xml) throws SAXException {
-        XMLReader reader = XMLReaderFactory.createXMLReader();
         ResourceMetaDataHandler handler = new ResourceMetaDataHandler();
-        reader.setContentHandler(handler);
         try {
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             LOGGER.error("Could not parse Resource MetaData from String '{}'", xml);
         } catch (SAXException s) {
@@ -153,9 +182,7 @@ public class SonosXMLParser {
     public static List<SonosZoneGroup> getZoneGroupFromXML(String xml) {
         ZoneGroupHandler handler = new ZoneGroupHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse ZoneGroup from string '{}'", xml);
@@ -169,9 +196,7 @@ public class SonosXMLParser {
     public static List<String> getRadioTimeFromXML(String xml) {
         OpmlHandler handler = new OpmlHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse RadioTime from string '{}'", xml);
@@ -182,42 +207,48 @@ public class SonosXMLParser {
         return handler.getTextFields();
     }
 
-    public static Map<String, String> getRenderingControlFromXML(String xml) {
-        RenderingControlEventHandler handler = new RenderingControlEventHandler();
+    /**
+     * Parses the LastChange event of the RenderingControl service and passes each changed variable to the given
+     * consumer as soon as it is read.
+     *
+     * @param xml the value of the LastChange variable
+     * @param consumer receives the name and the value of each changed variable, in the order of the event
+     */
+    public static void parseRenderingControlLastChange(String xml, BiConsumer<String, String> consumer) {
+        RenderingControlEventHandler handler = new RenderingControlEventHandler(consumer);
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse Rendering Control from string '{}'", xml);
         } catch (SAXException s) {
             LOGGER.error("Could not parse Rendering Control from string '{}'", xml);
         }
-        return handler.getChanges();
     }
 
-    public static Map<String, String> getAVTransportFromXML(String xml) {
-        AVTransportEventHandler handler = new AVTransportEventHandler();
+    /**
+     * Parses the LastChange event of the AVTransport service and passes each changed variable to the given consumer
+     * as soon as it is read.
+     *
+     * @param xml the value of the LastChange variable
+     * @param consumer receives the name and the value of each changed variable, in the order of the event
+     */
+    public static void parseAVTransportLastChange(String xml, BiConsumer<String, String> consumer) {
+        AVTransportEventHandler handler = new AVTransportEventHandler(consumer);
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse AV Transport from string '{}'", xml);
         } catch (SAXException s) {
             LOGGER.error("Could not parse AV Transport from string '{}'", xml);
         }
-        return handler.getChanges();
     }
 
     public static SonosMetaData getMetaDataFromXML(String xml) {
         MetaDataHandler handler = new MetaDataHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse MetaData from string '{}'", xml);
@@ -231,9 +262,7 @@ public class SonosXMLParser {
     public static List<SonosMusicService> getMusicServicesFromXML(String xml) {
         MusicServiceHandler handler = new MusicServiceHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse music services from string '{}'", xml);
@@ -678,7 +707,11 @@ public class SonosXMLParser {
          * </Event>
          */
 
-        private final Map<String, String> changes = new HashMap<String, String>();
+        private final BiConsumer<String, String> consumer;
+
+        public AVTransportEventHandler(BiConsumer<String, String> consumer) {
+            this.consumer = consumer;
+        }
 
         @Override
         public void startElement(String uri, String localName, String qName, Attributes atts) throws SAXException {
@@ -687,8 +720,9 @@ public class SonosXMLParser {
              * the info we need from here.
              */
             try {
-                if (atts.getValue("val") != null) {
-                    changes.put(localName, atts.getValue("val"));
+                String value = atts.getValue("val");
+                if (value != null) {
+                    consumer.accept(localName, value);
                 }
             } catch (IllegalArgumentException e) {
                 // this means that localName isn't defined in EventType, which is expected for some elements
@@ -696,10 +730,6 @@ public class SonosXMLParser {
             }
         }
 
-        public Map<String, String> getChanges() {
-            return changes;
-        }
-
     }
 
     private static class MetaDataHandler extends DefaultHandler {
@@ -790,25 +820,29 @@ public class SonosXMLParser {
 
     private static class RenderingControlEventHandler extends DefaultHandler {
 
-        private final Map<String, String> changes = new HashMap<String, String>();
+        private final BiConsumer<String, String> consumer;
 
         private boolean getPresetName = false;
         private String presetName;
 
+        public RenderingControlEventHandler(BiConsumer<String, String> consumer) {
+            this.consumer = consumer;
+        }
+
         @Override
         public void startElement(String uri, String localName, String qName, Attributes atts) throws SAXException {
             if ("Volume".equals(qName)) {
-                changes.put(qName + atts.getValue("channel"), atts.getValue("val"));
+                consumer.accept(qName + atts.getValue("channel"), atts.getValue("val"));
             } else if ("Mute".equals(qName)) {
-                changes.put(qName + atts.getValue("channel"), atts.getValue("val"));
+                consumer.accept(qName + atts.getValue("channel"), atts.getValue("val"));
             } else if ("Bass".equals(qName)) {
-                changes.put(qName, atts.getValue("val"));
+                consumer.accept(qName, atts.getValue("val"));
             } else if ("Treble".equals(qName)) {
-                changes.put(qName, atts.getValue("val"));
+                consumer.accept(qName, atts.getValue("val"));
             } else if ("Loudness".equals(qName)) {
-                changes.put(qName + atts.getValue("channel"), atts.getValue("val"));
+                consumer.accept(qName + atts.getValue("channel"), atts.getValue("val"));
             } else if ("OutputFixed".equals(qName)) {
-                changes.put(qName, atts.getValue("val"));
+                consumer.accept(qName, atts.getValue("val"));
             } else if ("PresetNameList".equals(qName)) {
                 getPresetName = true;
             }
@@ -825,14 +859,10 @@ public class SonosXMLParser {
         public void endElement(String uri, String localName, String qName) throws SAXException {
             if (getPresetName) {
                 getPresetName = false;
-                changes.put(qName, presetName);
+                consumer.accept(qName, presetName);
             }
         }
 
-        public Map<String, String> getChanges() {
-            return changes;
-        }
-
     }
 
     private static class MusicServiceHandler extends DefaultHandler {
@@ -856,10 +886,8 @@ public class SonosXMLParser {
     public static String getRoomName(String descriptorXML) {
         RoomNameHandler roomNameHandler = new RoomNameHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(roomNameHandler);
             URL url = new URL(descriptorXML);
-            reader.parse(new InputSource(url.openStream()));
+            parse(new InputSource(url.openStream()), roomNameHandler);
         } catch (IOException | SAXException e) {
             LOGGER.error("Could not parse Sonos room name from string '{}'", descriptorXML);
         }
@@ -894,10 +922,8 @@ public class SonosXMLParser {
     public static String parseModelDescription(URL descriptorURL) {
         ModelNameHandler modelNameHandler = new ModelNameHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(modelNameHandler);
             URL url = new URL(descriptorURL.toString());
-            reader.parse(new InputSource(url.openStream()));
+            parse(new InputSource(url.openStream()), modelNameHandler);
         } catch (IOException | SAXException e) {
             LOGGER.error("Could not parse Sonos model name from string '{}'", descriptorURL.toString());
         }
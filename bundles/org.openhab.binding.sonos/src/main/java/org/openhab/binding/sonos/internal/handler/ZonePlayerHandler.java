@@ -32,6 +32,7 @@ import java.util.Map;
 import java.util.TimeZone;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.smarthome.core.library.types.DecimalType;
@@ -387,32 +388,33 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
 
             // pre-process some variables, eg XML processing
             if (service.equals("AVTransport") && variable.equals("LastChange")) {
-                Map<String, String> parsedValues = SonosXMLParser.getAVTransportFromXML(value);
-                for (String parsedValue : parsedValues.keySet()) {
+                AtomicReference<String> transportState = new AtomicReference<>();
+                SonosXMLParser.parseAVTransportLastChange(value, (parsedVariable, parsedValue) -> {
                     // Update the transport state after the update of the media information
                     // to not break the notification mechanism
-                    if (!parsedValue.equals("TransportState")) {
-                        onValueReceived(parsedValue, parsedValues.get(parsedValue), "AVTransport");
+                    if (parsedVariable.equals("TransportState")) {
+                        transportState.set(parsedValue);
+                    } else {
+                        onValueReceived(parsedVariable, parsedValue, "AVTransport");
                     }
                     // Translate AVTransportURI/AVTransportURIMetaData to CurrentURI/CurrentURIMetaData
                     // for a compatibility with the result of the action GetMediaInfo
-                    if (parsedValue.equals("AVTransportURI")) {
-                        onValueReceived("CurrentURI", parsedValues.get(parsedValue), service);
-                    } else if (parsedValue.equals("AVTransportURIMetaData")) {
-                        onValueReceived("CurrentURIMetaData", parsedValues.get(parsedValue), service);
+                    if (parsedVariable.equals("AVTransportURI")) {
+                        onValueReceived("CurrentURI", parsedValue, service);
+                    } else if (parsedVariable.equals("AVTransportURIMetaData")) {
+                        onValueReceived("CurrentURIMetaData", parsedValue, service);
                     }
-                }
+                });
                 updateMediaInformation();
-                if (parsedValues.get("TransportState") != null) {
-                    onValueReceived("TransportState", parsedValues.get("TransportState"), "AVTransport");
+                if (transportState.get() != null) {
+                    onValueReceived("TransportState", transportState.get(), "AVTransport");
                 }
             }
 
             if (service.equals("RenderingControl") && variable.equals("LastChange")) {
-                Map<String, String> parsedValues = SonosXMLParser.getRenderingControlFromXML(value);
-                for (String parsedValue : parsedValues.keySet()) {
-                    onValueReceived(parsedValue, parsedValues.get(parsedValue), "RenderingControl");
-                }
+                SonosXMLParser.parseRenderingControlLastChange(value,
+                        (parsedVariable, parsedValue) -> onValueReceived(parsedVariable, parsedValue,
+                                "RenderingControl"));
             }
 
             List<StateOption> options = new ArrayList<>();
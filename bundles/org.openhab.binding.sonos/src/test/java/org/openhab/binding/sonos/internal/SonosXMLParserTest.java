@@ -0,0 +1,271 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.sonos.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+import org.xml.sax.helpers.XMLReaderFactory;
+
+/**
+ * Tests the {@link SonosXMLParser} with LastChange events captured from a zone player, including the DIDL metadata
+ * nested in them, and benchmarks replaying them against parsing with a new reader per payload.
+ *
+ * @author agent - Initial contribution
+ */
+public class SonosXMLParserTest {
+
+    private static final int WARMUP_ROUNDS = 500;
+    private static final int ROUNDS = 2000;
+
+    private final Logger logger = LoggerFactory.getLogger(SonosXMLParserTest.class);
+
+    private String avTransportLastChange;
+    private String renderingControlLastChange;
+
+    @Before
+    public void setup() throws IOException {
+        avTransportLastChange = readPayload("avtransport-lastchange.xml");
+        renderingControlLastChange = readPayload("renderingcontrol-lastchange.xml");
+    }
+
+    private String readPayload(String name) throws IOException {
+        try (InputStream stream = getClass().getResourceAsStream(name);
+                BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            return reader.lines().collect(Collectors.joining("\n")).trim();
+        }
+    }
+
+    private static List<Entry<String, String>> parseAVTransport(String xml) {
+        List<Entry<String, String>> variables = new ArrayList<>();
+        SonosXMLParser.parseAVTransportLastChange(xml, (name, value) -> variables.add(new SimpleEntry<>(name, value)));
+        return variables;
+    }
+
+    private static List<String> names(List<Entry<String, String>> variables) {
+        return variables.stream().map(Entry::getKey).collect(Collectors.toList());
+    }
+
+    private static String valueOf(List<Entry<String, String>> variables, String name) {
+        for (Entry<String, String> variable : variables) {
+            if (variable.getKey().equals(name)) {
+                return variable.getValue();
+            }
+        }
+        return null;
+    }
+
+    @Test
+    public void testAVTransportLastChangeInDocumentOrder() {
+        List<Entry<String, String>> variables = parseAVTransport(avTransportLastChange);
+
+        assertThat(names(variables).subList(0, 9),
+                is(equalTo(Arrays.asList("InstanceID", "TransportState", "CurrentPlayMode", "CurrentCrossfadeMode",
+                        "NumberOfTracks", "CurrentTrack", "CurrentSection", "CurrentTrackURI",
+                        "CurrentTrackDuration"))));
+        assertThat(variables.size(), is(equalTo(38)));
+        assertThat(valueOf(variables, "TransportState"), is(equalTo("PLAYING")));
+        assertThat(valueOf(variables, "CurrentTrack"), is(equalTo("12")));
+        assertThat(valueOf(variables, "NextTrackURI"),
+                is(equalTo("x-file-cifs://192.168.1.1/Music/Queens%20Of%20The%20Stone%20Age/Lullabies%20To%20Paralyze/"
+                        + "13%20-%20You%20Got%20A%20Killer%20Scene%20There,%20Man.flac")));
+        assertThat(valueOf(variables, "AVTransportURI"), is(equalTo("x-rincon-queue:RINCON_000E5812BC1801400#0")));
+        assertThat(valueOf(variables, "AVTransportURIMetaData"), is(equalTo("")));
+        assertThat(valueOf(variables, "PossibleRecordQualityModes"), is(equalTo("NOT_IMPLEMENTED")));
+    }
+
+    @Test
+    public void testNestedMetaDataParsedInCallback() {
+        Map<String, SonosMetaData> metaData = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        SonosXMLParser.parseAVTransportLastChange(avTransportLastChange, (name, value) -> {
+            // parse the metadata while the reader of the event is still busy, as the zone player handler does
+            if (name.endsWith("MetaData") && !value.isEmpty()) {
+                metaData.put(name, SonosXMLParser.getMetaDataFromXML(value));
+            }
+            names.add(name);
+        });
+
+        // the nested parses did not disturb the event
+        assertThat(names, is(equalTo(names(parseAVTransport(avTransportLastChange)))));
+
+        SonosMetaData currentTrack = metaData.get("CurrentTrackMetaData");
+        assertThat(currentTrack.getTitle(), is(equalTo("Broken Box")));
+        assertThat(currentTrack.getCreator(), is(equalTo("Queens Of The Stone Age")));
+        assertThat(currentTrack.getAlbum(), is(equalTo("Lullabies To Paralyze")));
+        assertThat(currentTrack.getAlbumArtist(), is(equalTo("Queens Of The Stone Age")));
+        assertThat(currentTrack.getUpnpClass(), is(equalTo("object.item.audioItem.musicTrack")));
+        assertThat(currentTrack.getAlbumArtUri(),
+                is(equalTo("/getaa?u=x-file-cifs%3a%2f%2f192.168.1.1%2fMusic%2f12.flac&v=432")));
+
+        SonosMetaData nextTrack = metaData.get("NextTrackMetaData");
+        assertThat(nextTrack.getTitle(), is(equalTo("''You Got A Killer Scene There, Man...''")));
+
+        SonosMetaData enqueued = metaData.get("EnqueuedTransportURIMetaData");
+        assertThat(enqueued.getId(), is(equalTo("A:ALBUMARTIST/Queens%20Of%20The%20Stone%20Age")));
+        assertThat(enqueued.getParentId(), is(equalTo("A:ALBUMARTIST")));
+        assertThat(enqueued.getTitle(), is(equalTo("Queens Of The Stone Age")));
+        assertThat(enqueued.getUpnpClass(), is(equalTo("object.container")));
+    }
+
+    @Test
+    public void testRenderingControlLastChange() {
+        List<String> variables = new ArrayList<>();
+        SonosXMLParser.parseRenderingControlLastChange(renderingControlLastChange,
+                (name, value) -> variables.add(name + "=" + value));
+
+        assertThat(variables,
+                is(equalTo(Arrays.asList("VolumeMaster=23", "VolumeLF=100", "VolumeRF=100", "MuteMaster=0",
+                        "MuteLF=0", "MuteRF=0", "Bass=-2", "Treble=3", "LoudnessMaster=1", "OutputFixed=0",
+                        "PresetNameList=FactoryDefaults"))));
+    }
+
+    @Test
+    public void testReaderReusedAfterParseError() {
+        List<Entry<String, String>> expected = parseAVTransport(avTransportLastChange);
+
+        // a truncated event delivers the variables up to the error
+        List<Entry<String, String>> truncated = parseAVTransport(
+                avTransportLastChange.substring(0, avTransportLastChange.indexOf("<CurrentTrackURI")) + "<Current");
+        assertThat(truncated, is(equalTo(expected.subList(0, 7))));
+
+        assertThat(parseAVTransport(avTransportLastChange), is(equalTo(expected)));
+        assertThat(parseAVTransport(""), is(equalTo(new ArrayList<>())));
+        assertThat(parseAVTransport(avTransportLastChange), is(equalTo(expected)));
+    }
+
+    @Test
+    public void testReaderReusedAfterNestedParseError() {
+        List<Entry<String, String>> expected = parseAVTransport(avTransportLastChange);
+
+        List<Entry<String, String>> variables = new ArrayList<>();
+        SonosXMLParser.parseAVTransportLastChange(avTransportLastChange, (name, value) -> {
+            if (name.endsWith("MetaData")) {
+                SonosXMLParser.getMetaDataFromXML("<DIDL-Lite><item id=\"-1\"><dc:title>");
+            }
+            variables.add(new SimpleEntry<>(name, value));
+        });
+        assertThat(variables, is(equalTo(expected)));
+        assertThat(SonosXMLParser.getMetaDataFromXML(valueOf(expected, "CurrentTrackMetaData")).getTitle(),
+                is(equalTo("Broken Box")));
+    }
+
+    @Test
+    public void testReaderReusedAfterCallbackFailure() {
+        List<Entry<String, String>> expected = parseAVTransport(avTransportLastChange);
+
+        try {
+            SonosXMLParser.parseAVTransportLastChange(avTransportLastChange, (name, value) -> {
+                if (name.equals("CurrentTrack")) {
+                    throw new IllegalStateException("callback failed");
+                }
+            });
+            fail("the failure of the callback was not propagated");
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage(), is(equalTo("callback failed")));
+        }
+        assertThat(parseAVTransport(avTransportLastChange), is(equalTo(expected)));
+    }
+
+    /**
+     * Handles the events like the parser did before the readers were reused: a new reader for every payload
+     */
+    private static int replayWithNewReaders(String avTransport, String renderingControl)
+            throws IOException, SAXException {
+        List<String> metaData = new ArrayList<>();
+        int[] variables = new int[1];
+        DefaultHandler eventHandler = new DefaultHandler() {
+            @Override
+            public void startElement(String uri, String localName, String qName, Attributes atts) {
+                String value = atts.getValue("val");
+                if (value != null) {
+                    variables[0]++;
+                    if (localName.endsWith("MetaData") && !value.isEmpty()) {
+                        metaData.add(value);
+                    }
+                }
+            }
+        };
+        parseWithNewReader(avTransport, eventHandler);
+        for (String didl : metaData) {
+            parseWithNewReader(didl, new DefaultHandler());
+        }
+        parseWithNewReader(renderingControl, eventHandler);
+        return variables[0];
+    }
+
+    private static void parseWithNewReader(String xml, DefaultHandler handler) throws IOException, SAXException {
+        XMLReader reader = XMLReaderFactory.createXMLReader();
+        reader.setContentHandler(handler);
+        reader.parse(new InputSource(new StringReader(xml)));
+    }
+
+    private static int replay(String avTransport, String renderingControl) {
+        int[] variables = new int[1];
+        SonosXMLParser.parseAVTransportLastChange(avTransport, (name, value) -> {
+            variables[0]++;
+            if (name.endsWith("MetaData") && !value.isEmpty()) {
+                SonosXMLParser.getMetaDataFromXML(value);
+            }
+        });
+        SonosXMLParser.parseRenderingControlLastChange(renderingControl, (name, value) -> variables[0]++);
+        return variables[0];
+    }
+
+    @Test
+    public void benchmarkReplayLastChange() throws IOException, SAXException {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            replay(avTransportLastChange, renderingControlLastChange);
+            replayWithNewReaders(avTransportLastChange, renderingControlLastChange);
+        }
+
+        long pooledNanos = 0;
+        long newReadersNanos = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            assertThat(replay(avTransportLastChange, renderingControlLastChange), is(equalTo(49)));
+            pooledNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            assertThat(replayWithNewReaders(avTransportLastChange, renderingControlLastChange), is(equalTo(57)));
+            newReadersNanos += System.nanoTime() - start;
+        }
+
+        logger.info("Replaying LastChange events of a zone player: {} us reusing the readers, {} us with new readers",
+                pooledNanos / ROUNDS / 1000, newReadersNanos / ROUNDS / 1000);
+    }
+}
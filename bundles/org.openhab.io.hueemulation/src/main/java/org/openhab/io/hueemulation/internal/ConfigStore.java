@@ -12,6 +12,8 @@
  */
 package org.openhab.io.hueemulation.internal;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.net.Inet6Address;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
@@ -23,6 +25,7 @@ import java.util.UUID;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -38,6 +41,7 @@ import org.eclipse.smarthome.core.items.MetadataRegistry;
 import org.eclipse.smarthome.core.net.CidrAddress;
 import org.eclipse.smarthome.core.net.NetUtil;
 import org.eclipse.smarthome.core.net.NetworkAddressService;
+import org.eclipse.smarthome.core.types.State;
 import org.openhab.io.hueemulation.internal.dto.HueAuthorizedConfig;
 import org.openhab.io.hueemulation.internal.dto.HueDataStore;
 import org.openhab.io.hueemulation.internal.dto.HueGroupEntry;
@@ -59,6 +63,9 @@ import org.slf4j.LoggerFactory;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 
 /**
  * This component sets up the hue data store and gets the service configuration.
@@ -91,10 +98,22 @@ public class ConfigStore {
     private @Nullable ScheduledFuture<?> pairingOffFuture;
     private @Nullable ScheduledFuture<?> writeUUIDFuture;
 
+    /**
+     * Serializes single lights. The resulting JSON is kept per light and embedded by the main gson instance.
+     */
+    private final Gson lightGson = new GsonBuilder()
+            .registerTypeAdapter(HueLightEntry.class, new HueLightEntry.Serializer()).create();
+
+    /**
+     * Incremented whenever the JSON of a light changes. Starts at the current time, so that entity tags handed out
+     * before a restart do not match again.
+     */
+    private final AtomicLong lightsRevision = new AtomicLong(System.currentTimeMillis());
+
     /**
      * This is the main gson instance, to be obtained by all components that operate on the dto data fields
      */
-    public final Gson gson = new GsonBuilder().registerTypeAdapter(HueLightEntry.class, new HueLightEntry.Serializer())
+    public final Gson gson = new GsonBuilder().registerTypeAdapter(HueLightEntry.class, new LightJsonAdapter())
             .registerTypeAdapter(HueSensorEntry.class, new HueSensorEntry.Serializer())
             .registerTypeAdapter(HueRuleEntry.Condition.class, new HueRuleEntry.SerializerCondition())
             .registerTypeAdapter(HueAuthorizedConfig.class, new HueAuthorizedConfig.Serializer())
@@ -372,4 +391,119 @@ public class ConfigStore {
     public Set<InetAddress> getDiscoveryIps() {
         return discoveryIps;
     }
+
+    /**
+     * Return the JSON of the given light. The light is only serialized again if its item, the item state, the label
+     * or the last command changed since the previous call. Clients poll the lights a lot, but usually only few of
+     * them change in between.
+     *
+     * @param light A light
+     * @return The JSON of the light
+     */
+    public String getLightJson(HueLightEntry light) {
+        return getCachedLightJson(light).json;
+    }
+
+    private HueLightEntry.CachedJson getCachedLightJson(HueLightEntry light) {
+        synchronized (light) {
+            HueLightEntry.CachedJson cachedJson = light.cachedJson;
+            if (cachedJson != null && cachedJson.isValidFor(light)) {
+                // The serializer would have done this
+                light.updateStateAndLabel();
+                return cachedJson;
+            }
+            // Take the state before serializing. A concurrent state change then just invalidates the JSON again.
+            State itemState = light.item.getState();
+            cachedJson = new HueLightEntry.CachedJson(light, itemState, lightGson.toJson(light),
+                    lightsRevision.incrementAndGet());
+            light.cachedJson = cachedJson;
+            return cachedJson;
+        }
+    }
+
+    /**
+     * Return the entity tag of the list of all lights, without serializing any light.
+     *
+     * @return The entity tag, or null if the JSON of a light is outdated and the list has to be serialized anyway
+     */
+    public @Nullable String getLightsETag() {
+        long revision = 0;
+        int count = 0;
+        for (HueLightEntry light : ds.lights.values()) {
+            HueLightEntry.CachedJson cachedJson = light.cachedJson;
+            if (cachedJson == null || !cachedJson.isValidFor(light)) {
+                return null;
+            }
+            revision = Math.max(revision, cachedJson.revision);
+            count++;
+        }
+        return lightsETag(revision, count);
+    }
+
+    /**
+     * Serialize the list of all lights. The entity tag is computed from the very light JSONs that went into the list.
+     *
+     * @return The JSON and the entity tag of the list
+     */
+    public LightsJson getLightsJson() {
+        StringWriter writer = new StringWriter();
+        long revision = 0;
+        int count = 0;
+        try (JsonWriter out = gson.newJsonWriter(writer)) {
+            out.beginObject();
+            for (Map.Entry<String, HueLightEntry> entry : ds.lights.entrySet()) {
+                HueLightEntry.CachedJson cachedJson = getCachedLightJson(entry.getValue());
+                revision = Math.max(revision, cachedJson.revision);
+                out.name(entry.getKey()).jsonValue(cachedJson.json);
+                count++;
+            }
+            out.endObject();
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // A StringWriter does not throw
+        }
+        return new LightsJson(writer.toString(), lightsETag(revision, count));
+    }
+
+    /**
+     * The JSON of all lights together with its entity tag
+     */
+    public static class LightsJson {
+        public final String json;
+        public final String etag;
+
+        LightsJson(String json, String etag) {
+            this.json = json;
+            this.etag = etag;
+        }
+    }
+
+    /**
+     * A new light always gets a higher revision than all existing ones, so the highest revision changes whenever a
+     * light is added or its JSON changes. Removing a light changes the count.
+     */
+    private static String lightsETag(long highestRevision, int count) {
+        return Long.toHexString(highestRevision) + "-" + count;
+    }
+
+    /**
+     * Embeds the cached JSON of lights
+     */
+    private class LightJsonAdapter extends TypeAdapter<HueLightEntry> {
+        @Override
+        public void write(@Nullable JsonWriter out, @Nullable HueLightEntry light) throws IOException {
+            if (out == null) {
+                return;
+            }
+            if (light == null) {
+                out.nullValue();
+            } else {
+                out.jsonValue(getLightJson(light));
+            }
+        }
+
+        @Override
+        public @Nullable HueLightEntry read(@Nullable JsonReader in) throws IOException {
+            return lightGson.fromJson(in, HueLightEntry.class);
+        }
+    }
 }
@@ -13,12 +13,14 @@
 package org.openhab.io.hueemulation.internal.dto;
 
 import java.lang.reflect.Type;
+import java.util.Objects;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.items.GenericItem;
 import org.eclipse.smarthome.core.library.items.StringItem;
 import org.eclipse.smarthome.core.types.Command;
+import org.eclipse.smarthome.core.types.State;
 import org.openhab.io.hueemulation.internal.DeviceType;
 import org.openhab.io.hueemulation.internal.StateUtils;
 import org.openhab.io.hueemulation.internal.dto.changerequest.HueStateChange;
@@ -56,6 +58,42 @@ public class HueLightEntry {
     public transient DeviceType deviceType;
     public transient @Nullable Command lastCommand = null;
     public transient @Nullable HueStateChange lastHueChange = null;
+    /** JSON of this light as of the last serialization, maintained by the ConfigStore */
+    public transient volatile @Nullable CachedJson cachedJson = null;
+
+    /**
+     * Serialized JSON of a light together with everything the serialization depends on.
+     */
+    public static class CachedJson {
+        private final GenericItem item;
+        private final State itemState;
+        private final @Nullable String label;
+        private final @Nullable Command lastCommand;
+        private final @Nullable HueStateChange lastHueChange;
+        public final String json;
+        /** Increases with every serialization, no matter of which light */
+        public final long revision;
+
+        public CachedJson(HueLightEntry light, State itemState, String json, long revision) {
+            this.item = light.item;
+            this.itemState = itemState;
+            this.label = light.item.getLabel();
+            this.lastCommand = light.lastCommand;
+            this.lastHueChange = light.lastHueChange;
+            this.json = json;
+            this.revision = revision;
+        }
+
+        /**
+         * Return true if the JSON still represents the given light. Item states are immutable, a state change
+         * always comes with a new state object.
+         */
+        public boolean isValidFor(HueLightEntry light) {
+            return item == light.item && itemState.equals(light.item.getState())
+                    && Objects.equals(label, light.item.getLabel()) && lastCommand == light.lastCommand
+                    && lastHueChange == light.lastHueChange;
+        }
+    }
 
     public static class Config {
         public final String archetype = "classicbulb";
@@ -169,19 +207,24 @@ public class HueLightEntry {
 
         @Override
         public JsonElement serialize(HueLightEntry product, Type type, JsonSerializationContext context) {
-
-            product.state = StateUtils.adjustedColorStateFromItemState(product.item.getState(), product.deviceType,
-                    product.lastCommand, product.lastHueChange);
-            String label = product.item.getLabel();
-            if (label != null) {
-                product.name = label;
-            }
+            product.updateStateAndLabel();
 
             JsonElement jsonSubscription = context.serialize(product, HueDeviceHelper.class);
             return jsonSubscription;
         }
     }
 
+    /**
+     * Updates the light state and name from the associated openHAB item and the last command.
+     */
+    public void updateStateAndLabel() {
+        state = StateUtils.adjustedColorStateFromItemState(item.getState(), deviceType, lastCommand, lastHueChange);
+        String label = item.getLabel();
+        if (label != null) {
+            name = label;
+        }
+    }
+
     /**
      * Replaces the associated openHAB item of this hue device with the given once
      * and also synchronizes/updates the color information of this hue device with the item.
@@ -18,17 +18,21 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.common.registry.RegistryChangeListener;
 import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingRegistry;
+import org.eclipse.smarthome.core.thing.link.ItemChannelLink;
 import org.openhab.io.neeo.internal.models.NeeoDevice;
 import org.openhab.io.neeo.internal.models.NeeoDeviceChannel;
 import org.openhab.io.neeo.internal.models.NeeoDeviceType;
@@ -41,7 +45,8 @@ import com.google.gson.JsonParseException;
 
 /**
  * This class manages device definitions. Device definitions map openHAB things/channels to NEEO device/capabilities.
- * All device definition changes are saved to a JSON file in the user data folder.
+ * All device definition changes are saved to a JSON file in the user data folder. The exposed devices are kept in a
+ * {@link TokenSearchIndex} which is updated on definition, thing and link changes.
  *
  * @author Tim Roberts - Initial Contribution
  */
@@ -72,6 +77,52 @@ public class NeeoDeviceDefinitions {
     /** The file we store definitions in */
     private final File file = new File(NeeoConstants.FILENAME_DEVICEDEFINITIONS);
 
+    /** The search index of the exposed devices */
+    private final TokenSearchIndex searchIndex;
+
+    /** Whether the search index has been built from all exposed devices */
+    private boolean searchIndexBuilt;
+
+    /** The devices that have changed since they were indexed */
+    private final Set<NeeoThingUID> staleSearchEntries = ConcurrentHashMap.newKeySet();
+
+    /** Marks the device of a thing as changed */
+    private final RegistryChangeListener<Thing> thingListener = new RegistryChangeListener<Thing>() {
+        @Override
+        public void added(Thing element) {
+            staleSearchEntries.add(new NeeoThingUID(element.getUID()));
+        }
+
+        @Override
+        public void removed(Thing element) {
+            staleSearchEntries.add(new NeeoThingUID(element.getUID()));
+        }
+
+        @Override
+        public void updated(Thing oldElement, Thing element) {
+            staleSearchEntries.add(new NeeoThingUID(element.getUID()));
+        }
+    };
+
+    /** Marks the device of a linked thing as changed (the links determine the exposed channels) */
+    private final RegistryChangeListener<ItemChannelLink> linkListener = new RegistryChangeListener<ItemChannelLink>() {
+        @Override
+        public void added(ItemChannelLink element) {
+            staleSearchEntries.add(new NeeoThingUID(element.getLinkedUID().getThingUID()));
+        }
+
+        @Override
+        public void removed(ItemChannelLink element) {
+            staleSearchEntries.add(new NeeoThingUID(element.getLinkedUID().getThingUID()));
+        }
+
+        @Override
+        public void updated(ItemChannelLink oldElement, ItemChannelLink element) {
+            staleSearchEntries.add(new NeeoThingUID(oldElement.getLinkedUID().getThingUID()));
+            staleSearchEntries.add(new NeeoThingUID(element.getLinkedUID().getThingUID()));
+        }
+    };
+
     /**
      * Create the object based on the {@link ServiceContext} and will read the definitions from the {@link #file}
      *
@@ -82,6 +133,7 @@ public class NeeoDeviceDefinitions {
 
         this.context = context;
         this.converter = new OpenHabToDeviceConverter(context);
+        this.searchIndex = new TokenSearchIndex(context);
 
         exposeAll = context.isExposeAllThings();
         exposeNeeoBinding = context.isExposeNeeoBinding();
@@ -106,6 +158,17 @@ public class NeeoDeviceDefinitions {
                 logger.debug("IOException reading {}: {}", file.toPath(), e.getMessage(), e);
             }
         }
+
+        context.getThingRegistry().addRegistryChangeListener(thingListener);
+        context.getItemChannelLinkRegistry().addRegistryChangeListener(linkListener);
+    }
+
+    /**
+     * Stops listening to thing and link changes
+     */
+    public void close() {
+        context.getThingRegistry().removeRegistryChangeListener(thingListener);
+        context.getItemChannelLinkRegistry().removeRegistryChangeListener(linkListener);
     }
 
     /**
@@ -148,6 +211,7 @@ public class NeeoDeviceDefinitions {
         Objects.requireNonNull(device, "device cannot be null");
 
         uidToDevice.put(device.getUid(), device);
+        staleSearchEntries.add(device.getUid());
         save();
     }
 
@@ -162,6 +226,7 @@ public class NeeoDeviceDefinitions {
 
         final boolean found = uidToDevice.remove(uid) != null;
         if (found) {
+            staleSearchEntries.add(uid);
             save();
         }
         return found;
@@ -175,8 +240,7 @@ public class NeeoDeviceDefinitions {
     public List<NeeoDevice> getExposed() {
         final List<NeeoDevice> devices = new ArrayList<>();
         for (NeeoDevice device : exposeAll || exposeNeeoBinding ? getAllDevices() : uidToDevice.values()) {
-            if (device.getExposedChannels().length > 0 && !NeeoDeviceType.EXCLUDE.equals(device.getType())
-                    && StringUtils.isNotEmpty(device.getType().toString())) {
+            if (isExposed(device)) {
                 devices.add(device);
             }
         }
@@ -184,6 +248,70 @@ public class NeeoDeviceDefinitions {
         return devices;
     }
 
+    /**
+     * Returns the {@link TokenSearchIndex} of the exposed devices. The index is built on the first call and the devices
+     * that have changed since are re-indexed on the following calls.
+     *
+     * @return the non-null search index
+     */
+    TokenSearchIndex getSearchIndex() {
+        synchronized (searchIndex) {
+            if (!searchIndexBuilt) {
+                staleSearchEntries.clear();
+                searchIndexBuilt = true;
+
+                searchIndex.clear();
+                for (NeeoDevice device : getExposed()) {
+                    searchIndex.put(device);
+                }
+            } else {
+                for (Iterator<NeeoThingUID> iter = staleSearchEntries.iterator(); iter.hasNext();) {
+                    final NeeoThingUID uid = iter.next();
+                    iter.remove();
+
+                    final NeeoDevice device = getExposedDevice(uid);
+                    if (device == null) {
+                        searchIndex.remove(uid);
+                    } else {
+                        searchIndex.put(device);
+                    }
+                }
+            }
+        }
+        return searchIndex;
+    }
+
+    /**
+     * Returns the {@link NeeoDevice} for the given {@link NeeoThingUID} the same way {@link #getExposed()} would
+     *
+     * @param uid the non-null uid
+     * @return the exposed device or null if the device isn't exposed
+     */
+    @Nullable
+    private NeeoDevice getExposedDevice(NeeoThingUID uid) {
+        NeeoDevice device = uidToDevice.get(uid);
+        if (exposeAll || exposeNeeoBinding) {
+            if (device == null) {
+                final Thing thing = context.getThingRegistry().get(uid.asThingUID());
+                device = thing == null ? null : converter.convert(thing);
+            } else if (!StringUtils.equalsIgnoreCase(NeeoConstants.NEEOIO_BINDING_ID, uid.getBindingId())) {
+                device = context.getThingRegistry().get(uid.asThingUID()) == null ? null : device.merge(context);
+            }
+        }
+        return device != null && isExposed(device) ? device : null;
+    }
+
+    /**
+     * Checks whether the device is exposed (where the type isn't {@link NeeoDeviceType#EXCLUDE})
+     *
+     * @param device the non-null device
+     * @return true if exposed, false otherwise
+     */
+    private boolean isExposed(NeeoDevice device) {
+        return device.getExposedChannels().length > 0 && !NeeoDeviceType.EXCLUDE.equals(device.getType())
+                && StringUtils.isNotEmpty(device.getType().toString());
+    }
+
     /**
      *
      * Checks to see if the specified itemName is bound given the {@link NeeoDeviceKeys}. This method will find any
@@ -0,0 +1,248 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.neeo.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.apache.commons.lang.StringUtils;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.binding.BindingInfo;
+import org.eclipse.smarthome.core.thing.Thing;
+import org.eclipse.smarthome.core.thing.type.ThingType;
+import org.openhab.io.neeo.internal.models.NeeoDevice;
+import org.openhab.io.neeo.internal.models.NeeoThingUID;
+import org.openhab.io.neeo.internal.models.TokenScore;
+
+/**
+ * An inverted index of the searchable terms (name, binding id, location, vendor, thing type and binding name) of the
+ * exposed {@link NeeoDevice}s. Each token maps to the devices containing it and how often it occurs in them, so a
+ * query only scores each distinct token once instead of splitting and scoring the terms of every device. The index is
+ * maintained by {@link NeeoDeviceDefinitions}. The devices are scored in the order they were first indexed in, so
+ * equal scores keep the exposure order.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class TokenSearchIndex {
+
+    /** The delimiter used to split search terms */
+    private static final char DELIMITER = ' ';
+
+    /** The term every device matches on */
+    private static final String OPENHAB = "openhab";
+
+    /** The service context */
+    private final ServiceContext context;
+
+    /** Cross reference between a token and the number of its occurrences in each device */
+    private final Map<String, Map<NeeoThingUID, Integer>> tokenToDevices = new HashMap<>();
+
+    /** The indexed devices in the order they were first indexed in */
+    private final Map<NeeoThingUID, IndexedDevice> uidToDevice = new LinkedHashMap<>();
+
+    /**
+     * Creates the index based on the {@link ServiceContext}
+     *
+     * @param context the non-null context
+     */
+    TokenSearchIndex(ServiceContext context) {
+        Objects.requireNonNull(context, "context cannot be null");
+        this.context = context;
+    }
+
+    /**
+     * Adds the specified device to the index or replaces the indexed terms of it. A replaced device keeps its position.
+     *
+     * @param device the non-null device
+     */
+    synchronized void put(NeeoDevice device) {
+        Objects.requireNonNull(device, "device cannot be null");
+
+        final IndexedDevice previous = uidToDevice.get(device.getUid());
+        if (previous != null) {
+            removeTokens(device.getUid(), previous);
+        }
+
+        final Map<String, Integer> tokens = new HashMap<>();
+        addTokens(tokens, device.getName());
+        addTokens(tokens, device.getUid().getBindingId());
+
+        final Thing thing = context.getThingRegistry().get(device.getUid().asThingUID());
+        if (thing != null) {
+            final String location = thing.getLocation();
+            if (location != null && StringUtils.isNotEmpty(location)) {
+                addTokens(tokens, location);
+            }
+
+            final Map<@NonNull String, String> properties = thing.getProperties();
+            final String vendor = properties.get(Thing.PROPERTY_VENDOR);
+            if (StringUtils.isNotEmpty(vendor)) {
+                addTokens(tokens, vendor);
+            }
+
+            final ThingType tt = context.getThingTypeRegistry().getThingType(thing.getThingTypeUID());
+            if (tt != null) {
+                addTokens(tokens, tt.getLabel());
+
+                final BindingInfo bi = context.getBindingInfoRegistry().getBindingInfo(tt.getBindingId());
+                if (bi != null) {
+                    addTokens(tokens, bi.getName());
+                }
+            }
+        }
+
+        for (Map.Entry<String, Integer> token : tokens.entrySet()) {
+            tokenToDevices.computeIfAbsent(token.getKey(), k -> new HashMap<>()).put(device.getUid(),
+                    token.getValue());
+        }
+        uidToDevice.put(device.getUid(), new IndexedDevice(device, tokens));
+    }
+
+    /**
+     * Removes the device with the specified {@link NeeoThingUID} from the index
+     *
+     * @param uid the non-null uid
+     */
+    synchronized void remove(NeeoThingUID uid) {
+        Objects.requireNonNull(uid, "uid cannot be null");
+
+        final IndexedDevice indexed = uidToDevice.remove(uid);
+        if (indexed != null) {
+            removeTokens(uid, indexed);
+        }
+    }
+
+    /**
+     * Removes the tokens of the indexed device from the cross reference
+     *
+     * @param uid the non-null uid
+     * @param indexed the non-null indexed device
+     */
+    private void removeTokens(NeeoThingUID uid, IndexedDevice indexed) {
+        for (String token : indexed.tokens.keySet()) {
+            final Map<NeeoThingUID, Integer> devices = tokenToDevices.get(token);
+            if (devices != null) {
+                devices.remove(uid);
+                if (devices.isEmpty()) {
+                    tokenToDevices.remove(token);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all devices from the index
+     */
+    synchronized void clear() {
+        tokenToDevices.clear();
+        uidToDevice.clear();
+    }
+
+    /**
+     * Scores all indexed devices against the needles
+     *
+     * @param needles the non-null items to search
+     * @return a non-null, possibly empty list with the score of every indexed device, in index order
+     */
+    synchronized List<TokenScore<NeeoDevice>> search(String[] needles) {
+        Objects.requireNonNull(needles, "needles cannot be null");
+
+        final Map<NeeoThingUID, Integer> scores = new HashMap<>();
+        for (Map.Entry<String, Map<NeeoThingUID, Integer>> token : tokenToDevices.entrySet()) {
+            final int tokenScore = searchAlgorithm(token.getKey(), needles);
+            if (tokenScore > 0) {
+                for (Map.Entry<NeeoThingUID, Integer> device : token.getValue().entrySet()) {
+                    scores.merge(device.getKey(), tokenScore * device.getValue(), Integer::sum);
+                }
+            }
+        }
+
+        final int openhabScore = searchAlgorithm(OPENHAB, needles);
+        final List<TokenScore<NeeoDevice>> results = new ArrayList<>(uidToDevice.size());
+        for (Map.Entry<NeeoThingUID, IndexedDevice> entry : uidToDevice.entrySet()) {
+            final Integer score = scores.get(entry.getKey());
+            results.add(new TokenScore<>((score == null ? 0 : score) + openhabScore, entry.getValue().device));
+        }
+        return results;
+    }
+
+    /**
+     * Splits the 'haystack' by delimiter and counts each part in the tokens
+     *
+     * @param tokens the non-null token counts
+     * @param haystack the possibly null search term
+     */
+    private static void addTokens(Map<String, Integer> tokens, @Nullable String haystack) {
+        final String[] parts = StringUtils.split(haystack, DELIMITER);
+        if (parts != null) {
+            for (String part : parts) {
+                tokens.merge(part, 1, Integer::sum);
+            }
+        }
+    }
+
+    /**
+     * The search algorithm (lifted from tokensearch.js)
+     *
+     * @param haystack the search term
+     * @param needles the items to search
+     * @return the score of the match
+     */
+    private static int searchAlgorithm(String haystack, String[] needles) {
+        int score = 0;
+
+        int arrayLength = needles.length;
+        for (int i = 0; i < arrayLength; i++) {
+            String needle = needles[i];
+            int stringPos = StringUtils.indexOfIgnoreCase(haystack, needle);
+            int tokenScore = 0;
+            if (stringPos > -1) {
+                if (needle.length() < 2) {
+                    tokenScore = 1;
+                } else {
+                    if (StringUtils.equalsIgnoreCase(haystack, needle)) {
+                        tokenScore = 6;
+                    } else if (stringPos == 0) {
+                        tokenScore = 2;
+                    } else {
+                        tokenScore = 1;
+                    }
+                }
+            }
+            score += tokenScore;
+        }
+        return score;
+    }
+
+    /**
+     * An indexed device with the number of occurrences of each of its tokens
+     *
+     * @author agent - Initial contribution
+     */
+    private static class IndexedDevice {
+        private final NeeoDevice device;
+        private final Map<String, Integer> tokens;
+
+        private IndexedDevice(NeeoDevice device, Map<String, Integer> tokens) {
+            this.device = device;
+            this.tokens = tokens;
+        }
+    }
+}
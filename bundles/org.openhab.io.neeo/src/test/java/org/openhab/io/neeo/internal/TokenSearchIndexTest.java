@@ -0,0 +1,337 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.neeo.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.commons.lang.StringUtils;
+import org.eclipse.smarthome.core.binding.BindingInfo;
+import org.eclipse.smarthome.core.binding.BindingInfoRegistry;
+import org.eclipse.smarthome.core.thing.Thing;
+import org.eclipse.smarthome.core.thing.ThingRegistry;
+import org.eclipse.smarthome.core.thing.ThingTypeUID;
+import org.eclipse.smarthome.core.thing.ThingUID;
+import org.eclipse.smarthome.core.thing.type.ThingType;
+import org.eclipse.smarthome.core.thing.type.ThingTypeRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.io.neeo.internal.models.NeeoDevice;
+import org.openhab.io.neeo.internal.models.NeeoDeviceType;
+import org.openhab.io.neeo.internal.models.NeeoThingUID;
+import org.openhab.io.neeo.internal.models.TokenScore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests the {@link TokenSearchIndex} against the per-device scoring of the exposed devices, as {@link TokenSearch} did
+ * before the index was introduced, on a synthetic catalogue of things.
+ *
+ * @author agent - Initial contribution
+ */
+public class TokenSearchIndexTest {
+
+    private static final String[] BINDINGS = { "hue", "sonos", "zwave", "kodi", "lgwebos" };
+    private static final String[] ROOMS = { "Living Room", "Kitchen", "Bedroom", "Office", "Garage", "Living" };
+    private static final String[] VENDORS = { "Philips", "Sonos", "Fibaro", "LG Electronics", "Aeotec" };
+    private static final String[] WORDS = { "Light", "Lamp", "Speaker", "Play", "Ceiling", "TV", "Sensor", "Dimmer",
+            "Living", "Kitchen", "Sonos", "Hue", "Color", "White", "Bulb", "Switch" };
+    private static final String[][] QUERIES = { { "living" }, { "kitchen", "light" }, { "sonos", "play" },
+            { "l" }, { "hue", "bulb", "color" }, { "open" }, { "garage", "switch" }, { "Philips" }, { "tv", "lg" },
+            { "nomatch" } };
+
+    private static final int BENCHMARK_DEVICES = 5000;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 20;
+
+    private final Logger logger = LoggerFactory.getLogger(TokenSearchIndexTest.class);
+
+    private final Map<ThingUID, Thing> things = new HashMap<>();
+    private final Map<ThingTypeUID, ThingType> thingTypes = new HashMap<>();
+    private final Map<String, BindingInfo> bindingInfos = new HashMap<>();
+
+    private ServiceContext context;
+
+    @Before
+    public void setup() {
+        final ThingRegistry thingRegistry = mock(ThingRegistry.class);
+        when(thingRegistry.get(any())).thenAnswer(invocation -> things.get(invocation.getArgument(0)));
+
+        final ThingTypeRegistry thingTypeRegistry = mock(ThingTypeRegistry.class);
+        when(thingTypeRegistry.getThingType(any())).thenAnswer(invocation -> thingTypes.get(invocation.getArgument(0)));
+
+        final BindingInfoRegistry bindingInfoRegistry = mock(BindingInfoRegistry.class);
+        when(bindingInfoRegistry.getBindingInfo(any()))
+                .thenAnswer(invocation -> bindingInfos.get(invocation.getArgument(0)));
+
+        context = mock(ServiceContext.class);
+        when(context.getThingRegistry()).thenReturn(thingRegistry);
+        when(context.getThingTypeRegistry()).thenReturn(thingTypeRegistry);
+        when(context.getBindingInfoRegistry()).thenReturn(bindingInfoRegistry);
+
+        for (String binding : BINDINGS) {
+            final BindingInfo bindingInfo = mock(BindingInfo.class);
+            when(bindingInfo.getName()).thenReturn(StringUtils.capitalize(binding) + " Binding");
+            bindingInfos.put(binding, bindingInfo);
+        }
+    }
+
+    /**
+     * Creates a random exposed device, most backed by a thing with a location, vendor and thing type
+     */
+    private NeeoDevice createDevice(Random random, int id) {
+        final String binding = BINDINGS[random.nextInt(BINDINGS.length)];
+        final NeeoThingUID uid = new NeeoThingUID(binding + ":device:thing" + id);
+
+        if (random.nextInt(10) > 0) {
+            final ThingTypeUID thingTypeUID = new ThingTypeUID(binding, "type" + random.nextInt(3));
+            thingTypes.computeIfAbsent(thingTypeUID, k -> {
+                final ThingType tt = mock(ThingType.class);
+                when(tt.getLabel()).thenReturn(randomName(random));
+                when(tt.getBindingId()).thenReturn(binding);
+                return tt;
+            });
+
+            final Thing thing = mock(Thing.class);
+            when(thing.getThingTypeUID()).thenReturn(thingTypeUID);
+            when(thing.getLocation()).thenReturn(random.nextBoolean() ? ROOMS[random.nextInt(ROOMS.length)] : null);
+            when(thing.getProperties()).thenReturn(random.nextBoolean()
+                    ? Collections.singletonMap(Thing.PROPERTY_VENDOR, VENDORS[random.nextInt(VENDORS.length)])
+                    : Collections.emptyMap());
+            things.put(uid.asThingUID(), thing);
+        }
+
+        return createDevice(uid, randomName(random));
+    }
+
+    private static NeeoDevice createDevice(NeeoThingUID uid, String name) {
+        return new NeeoDevice(uid, 0, NeeoDeviceType.ACCESSOIRE, "openHAB", name, new ArrayList<>(), null, null, null,
+                null);
+    }
+
+    private static String randomName(Random random) {
+        final int words = 1 + random.nextInt(4);
+        final StringBuilder name = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                name.append(' ');
+            }
+            name.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return name.toString();
+    }
+
+    private List<NeeoDevice> createCatalogue(int size) {
+        final Random random = new Random(42);
+        final List<NeeoDevice> devices = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            devices.add(createDevice(random, i));
+        }
+        return devices;
+    }
+
+    private TokenSearchIndex createIndex(List<NeeoDevice> devices) {
+        final TokenSearchIndex index = new TokenSearchIndex(context);
+        for (NeeoDevice device : devices) {
+            index.put(device);
+        }
+        return index;
+    }
+
+    /**
+     * Scores the devices one by one, the way {@link TokenSearch} did before the {@link TokenSearchIndex}
+     */
+    private List<TokenScore<NeeoDevice>> searchDevices(List<NeeoDevice> devices, String[] needles) {
+        final List<TokenScore<NeeoDevice>> results = new ArrayList<>();
+        for (NeeoDevice device : devices) {
+            int score = search(device.getName(), needles);
+            score += search("openhab", needles);
+            score += search(device.getUid().getBindingId(), needles);
+
+            final Thing thing = context.getThingRegistry().get(device.getUid().asThingUID());
+            if (thing != null) {
+                final String location = thing.getLocation();
+                if (location != null && StringUtils.isNotEmpty(location)) {
+                    score += search(location, needles);
+                }
+
+                final String vendor = thing.getProperties().get(Thing.PROPERTY_VENDOR);
+                if (StringUtils.isNotEmpty(vendor)) {
+                    score += search(vendor, needles);
+                }
+
+                final ThingType tt = context.getThingTypeRegistry().getThingType(thing.getThingTypeUID());
+                if (tt != null) {
+                    score += search(tt.getLabel(), needles);
+
+                    final BindingInfo bi = context.getBindingInfoRegistry().getBindingInfo(tt.getBindingId());
+                    if (bi != null) {
+                        score += search(bi.getName(), needles);
+                    }
+                }
+            }
+            results.add(new TokenScore<>(score, device));
+        }
+        return results;
+    }
+
+    private static int search(String haystack, String[] needles) {
+        return Arrays.stream(StringUtils.split(haystack, ' ')).mapToInt(hs -> searchAlgorithm(hs, needles)).sum();
+    }
+
+    private static int searchAlgorithm(String haystack, String[] needles) {
+        int score = 0;
+        for (String needle : needles) {
+            int stringPos = StringUtils.indexOfIgnoreCase(haystack, needle);
+            if (stringPos > -1) {
+                if (needle.length() < 2) {
+                    score += 1;
+                } else if (StringUtils.equalsIgnoreCase(haystack, needle)) {
+                    score += 6;
+                } else if (stringPos == 0) {
+                    score += 2;
+                } else {
+                    score += 1;
+                }
+            }
+        }
+        return score;
+    }
+
+    private static void assertSameScores(List<TokenScore<NeeoDevice>> actual, List<TokenScore<NeeoDevice>> expected) {
+        assertThat(actual.size(), is(equalTo(expected.size())));
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(actual.get(i).getItem(), is(sameInstance(expected.get(i).getItem())));
+            assertThat(actual.get(i).getScore(), is(equalTo(expected.get(i).getScore())));
+        }
+    }
+
+    private static int scoreOf(List<TokenScore<NeeoDevice>> results, NeeoThingUID uid) {
+        for (TokenScore<NeeoDevice> ts : results) {
+            if (ts.getItem().getUid().equals(uid)) {
+                return (int) ts.getScore();
+            }
+        }
+        return -1;
+    }
+
+    @Test
+    public void testSameScoresInExposureOrder() {
+        final List<NeeoDevice> devices = createCatalogue(500);
+        final TokenSearchIndex index = createIndex(devices);
+
+        for (String[] needles : QUERIES) {
+            assertSameScores(index.search(needles), searchDevices(devices, needles));
+        }
+    }
+
+    @Test
+    public void testPutReplacesTermsAndKeepsPosition() {
+        final List<NeeoDevice> devices = createCatalogue(50);
+        final TokenSearchIndex index = createIndex(devices);
+        final String[] needles = { "projector" };
+
+        final NeeoDevice renamed = createDevice(devices.get(10).getUid(), "Cinema Projector");
+        devices.set(10, renamed);
+        index.put(renamed);
+
+        final List<TokenScore<NeeoDevice>> results = index.search(needles);
+        assertThat(results.get(10).getItem(), is(sameInstance(renamed)));
+        assertThat(scoreOf(results, renamed.getUid()), is(equalTo(searchAlgorithm("openhab", needles) + 6)));
+        assertSameScores(results, searchDevices(devices, needles));
+    }
+
+    @Test
+    public void testPutReindexesChangedThing() {
+        final List<NeeoDevice> devices = createCatalogue(50);
+        final TokenSearchIndex index = createIndex(devices);
+        final String[] needles = { "attic" };
+
+        final NeeoDevice device = devices.get(20);
+        final Thing thing = mock(Thing.class);
+        when(thing.getLocation()).thenReturn("Attic");
+        when(thing.getProperties()).thenReturn(Collections.emptyMap());
+        when(thing.getThingTypeUID()).thenReturn(new ThingTypeUID("hue", "unknown"));
+        things.put(device.getUid().asThingUID(), thing);
+
+        // the index is only updated once the device is put again
+        assertThat(scoreOf(index.search(needles), device.getUid()), is(equalTo(0)));
+        index.put(device);
+        assertThat(scoreOf(index.search(needles), device.getUid()), is(equalTo(6)));
+        assertSameScores(index.search(needles), searchDevices(devices, needles));
+    }
+
+    @Test
+    public void testRemove() {
+        final List<NeeoDevice> devices = createCatalogue(50);
+        final TokenSearchIndex index = createIndex(devices);
+
+        final NeeoDevice removed = devices.remove(5);
+        index.remove(removed.getUid());
+        index.remove(new NeeoThingUID("hue:device:unknown"));
+
+        for (String[] needles : QUERIES) {
+            final List<TokenScore<NeeoDevice>> results = index.search(needles);
+            assertThat(scoreOf(results, removed.getUid()), is(equalTo(-1)));
+            assertSameScores(results, searchDevices(devices, needles));
+        }
+
+        index.put(removed);
+        devices.add(removed);
+        assertSameScores(index.search(QUERIES[0]), searchDevices(devices, QUERIES[0]));
+
+        index.clear();
+        assertThat(index.search(QUERIES[0]).isEmpty(), is(true));
+    }
+
+    @Test
+    public void benchmarkSearch() {
+        final List<NeeoDevice> devices = createCatalogue(BENCHMARK_DEVICES);
+        final TokenSearchIndex index = createIndex(devices);
+
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            for (String[] needles : QUERIES) {
+                index.search(needles);
+                searchDevices(devices, needles);
+            }
+        }
+
+        long indexNanos = 0;
+        long devicesNanos = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            for (String[] needles : QUERIES) {
+                long start = System.nanoTime();
+                assertThat(index.search(needles).size(), is(equalTo(BENCHMARK_DEVICES)));
+                indexNanos += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                assertThat(searchDevices(devices, needles).size(), is(equalTo(BENCHMARK_DEVICES)));
+                devicesNanos += System.nanoTime() - start;
+            }
+        }
+
+        final int queries = ROUNDS * QUERIES.length;
+        logger.info("Searching {} devices: {} us with the token index, {} us scoring each device", BENCHMARK_DEVICES,
+                indexNanos / queries / 1000, devicesNanos / queries / 1000);
+    }
+}
@@ -12,6 +12,7 @@
  */
 package org.openhab.io.openhabcloud.internal;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URI;
@@ -19,29 +20,36 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLEncoder;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
 
 import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.client.api.Request;
 import org.eclipse.jetty.client.api.Request.FailureListener;
 import org.eclipse.jetty.client.api.Response;
-import org.eclipse.jetty.client.api.Response.ContentListener;
+import org.eclipse.jetty.client.api.Response.AsyncContentListener;
 import org.eclipse.jetty.client.api.Response.HeadersListener;
 import org.eclipse.jetty.client.api.Result;
 import org.eclipse.jetty.client.util.BytesContentProvider;
 import org.eclipse.jetty.http.HttpField;
 import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpMethod;
 import org.eclipse.jetty.http.HttpStatus;
 import org.eclipse.jetty.util.BufferUtil;
+import org.eclipse.jetty.util.Callback;
 import org.eclipse.jetty.util.URIUtil;
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
+import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.openhab.core.OpenHAB;
@@ -67,6 +75,18 @@ import io.socket.engineio.client.Transport;
  */
 
 public class CloudClient {
+    private static final String THREADPOOL_OPENHABCLOUD = "openhabcloud";
+
+    /*
+     * Content of proxied responses is sent to the openHAB Cloud in frames of this size
+     */
+    private static final int CONTENT_FRAME_SIZE = 64 * 1024;
+
+    /*
+     * Reading of proxied responses is paused while more content than this is waiting to be written to the socket
+     */
+    private static final int MAX_PENDING_CONTENT = 1024 * 1024;
+
     /*
      * Logger for this class
      */
@@ -100,7 +120,7 @@ public class CloudClient {
     /*
      * This hashmap holds HTTP requests to local openHAB which are currently running
      */
-    private HashMap<Integer, Request> runningRequests;
+    private Map<Integer, Request> runningRequests;
 
     /*
      * This variable indicates if connection to the openHAB Cloud is currently in an established state
@@ -131,6 +151,34 @@ public class CloudClient {
     private boolean remoteAccessEnabled;
     private Set<String> exposedItems;
 
+    /*
+     * Item updates are collected for this time in milliseconds and sent as one message, 0 sends every update at once
+     */
+    private long itemUpdateBatchInterval;
+
+    /*
+     * If true, batched item updates are sent as gzip compressed JSON
+     */
+    private boolean itemUpdateCompression;
+
+    /*
+     * This variable holds item updates which have not been sent yet, their rate limit and the item update counters
+     */
+    private ItemUpdateQueue itemUpdateQueue = new ItemUpdateQueue(0);
+    private ScheduledFuture<?> itemUpdateJob;
+
+    /*
+     * This variable holds responses of local openHAB which are served again after local openHAB validated their ETag
+     */
+    private final ProxyResponseCache responseCache = new ProxyResponseCache();
+
+    /*
+     * Number of content bytes emitted since the transport was drained and the proxied responses waiting for it
+     */
+    private final Object contentLock = new Object();
+    private long pendingContent;
+    private final List<Callback> waitingContent = new ArrayList<>();
+
     /**
      * Constructor of CloudClient
      *
@@ -147,10 +195,24 @@ public class CloudClient {
         this.localBaseUrl = localBaseUrl;
         this.remoteAccessEnabled = remoteAccessEnabled;
         this.exposedItems = exposedItems;
-        runningRequests = new HashMap<Integer, Request>();
+        runningRequests = new ConcurrentHashMap<Integer, Request>();
         this.jettyClient = httpClient;
     }
 
+    /**
+     * Sets how item updates are sent to the openHAB Cloud. Must be called before connecting.
+     *
+     * @param batchInterval item updates are collected for this time in milliseconds and sent as one message, 0 sends
+     *            every update at once
+     * @param queue queue of the item updates with their rate limit, it is kept when the client is replaced
+     * @param compression if true, batched item updates are sent as gzip compressed JSON
+     */
+    public void setItemUpdateOptions(long batchInterval, ItemUpdateQueue queue, boolean compression) {
+        this.itemUpdateBatchInterval = batchInterval;
+        this.itemUpdateQueue = queue;
+        this.itemUpdateCompression = compression;
+    }
+
     /**
      * Connect to the openHAB Cloud
      */
@@ -183,6 +245,13 @@ public class CloudClient {
                         headers.put("remoteaccess", Arrays.asList(((Boolean) remoteAccessEnabled).toString()));
                     }
                 });
+                transport.on(Transport.EVENT_DRAIN, new Emitter.Listener() {
+                    @Override
+                    public void call(Object... args) {
+                        logger.trace("Transport.EVENT_DRAIN");
+                        onContentDrained(null);
+                    }
+                });
             }
         });
         socket.on(Socket.EVENT_CONNECT, new Emitter.Listener() {
@@ -222,6 +291,12 @@ public class CloudClient {
             }
         });
         socket.connect();
+
+        long flushInterval = itemUpdateBatchInterval > 0 ? itemUpdateBatchInterval : itemUpdateQueue.getRateLimit();
+        if (flushInterval > 0) {
+            itemUpdateJob = ThreadPoolManager.getScheduledPool(THREADPOOL_OPENHABCLOUD).scheduleWithFixedDelay(
+                    this::flushItemUpdates, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+        }
     }
 
     /**
@@ -245,6 +320,51 @@ public class CloudClient {
         if (runningRequests != null) {
             runningRequests.clear();
         }
+        onContentDrained(new IOException("Disconnected from the openHAB Cloud service"));
+    }
+
+    /**
+     * Counts content which is emitted to the socket but not written yet
+     */
+    private void contentEmitted(int length) {
+        synchronized (contentLock) {
+            pendingContent += length;
+        }
+    }
+
+    /**
+     * Continues reading a proxied response at once or, if too much content is waiting to be written to the socket,
+     * when the transport has been drained
+     */
+    private void resumeWhenDrained(Callback callback) {
+        synchronized (contentLock) {
+            if (pendingContent > MAX_PENDING_CONTENT) {
+                waitingContent.add(callback);
+                return;
+            }
+        }
+        callback.succeeded();
+    }
+
+    /**
+     * Continues reading all paused proxied responses
+     *
+     * @param failure if not null, the paused responses are aborted with this failure
+     */
+    private void onContentDrained(Throwable failure) {
+        List<Callback> callbacks;
+        synchronized (contentLock) {
+            pendingContent = 0;
+            callbacks = new ArrayList<>(waitingContent);
+            waitingContent.clear();
+        }
+        for (Callback callback : callbacks) {
+            if (failure != null) {
+                callback.failed(failure);
+            } else {
+                callback.succeeded();
+            }
+        }
     }
 
     /**
@@ -321,8 +441,17 @@ public class CloudClient {
             }
             request.header("X-Forwarded-Proto", proto);
 
+            String cacheKey = null;
+            ProxyResponseCache.Entry validatedEntry = null;
             if (requestMethod.equals("GET")) {
                 request.method(HttpMethod.GET);
+                cacheKey = ProxyResponseCache.getKey(requestUri.toString(), request.getHeaders());
+                ProxyResponseCache.Entry cachedEntry = cacheKey == null ? null : responseCache.get(cacheKey);
+                if (cachedEntry != null && request.getHeaders().get(HttpHeader.IF_NONE_MATCH) == null) {
+                    // let local openHAB validate the cached response instead of sending the whole response again
+                    request.header(HttpHeader.IF_NONE_MATCH, cachedEntry.getEtag());
+                    validatedEntry = cachedEntry;
+                }
             } else if (requestMethod.equals("POST")) {
                 request.method(HttpMethod.POST);
                 request.content(new BytesContentProvider(requestBody.getBytes()));
@@ -334,8 +463,9 @@ public class CloudClient {
                 logger.warn("Unsupported request method {}", requestMethod);
                 return;
             }
-            ResponseListener listener = new ResponseListener(requestId);
-            request.onResponseHeaders(listener).onResponseContent(listener).onRequestFailure(listener).send(listener);
+            ResponseListener listener = new ResponseListener(requestId, cacheKey, validatedEntry);
+            request.onResponseHeaders(listener).onResponseContentAsync(listener).onRequestFailure(listener)
+                    .send(listener);
             // If successfully submitted request to http client, add it to the list of currently
             // running requests to be able to cancel it if needed
             runningRequests.put(requestId, request);
@@ -477,18 +607,82 @@ public class CloudClient {
      */
     public void sendItemUpdate(String itemName, String itemState) {
         if (isConnected()) {
-            logger.debug("Sending update '{}' for item '{}'", itemState, itemName);
-            JSONObject itemUpdateMessage = new JSONObject();
-            try {
-                itemUpdateMessage.put("itemName", itemName);
-                itemUpdateMessage.put("itemStatus", itemState);
-                socket.emit("itemupdate", itemUpdateMessage);
-            } catch (JSONException e) {
-                logger.debug("{}", e.getMessage());
+            if (itemUpdateBatchInterval > 0) {
+                // sent with the next batch
+                itemUpdateQueue.add(itemName, itemState);
+            } else if (itemUpdateQueue.getRateLimit() > 0) {
+                itemUpdateQueue.add(itemName, itemState);
+                flushItemUpdates();
+            } else {
+                emitItemUpdate(itemName, itemState);
             }
         } else {
             logger.debug("No connection, Item update is not sent");
+            itemUpdateQueue.dropped(1);
+        }
+    }
+
+    /**
+     * Sends all queued item updates which do not exceed the rate limit of their item
+     */
+    private void flushItemUpdates() {
+        Map<String, String> itemUpdates = itemUpdateQueue.takeDue(System.currentTimeMillis());
+        if (itemUpdates.isEmpty()) {
+            return;
+        }
+        if (!isConnected()) {
+            logger.debug("No connection, {} Item updates are not sent", itemUpdates.size());
+            itemUpdateQueue.dropped(itemUpdates.size());
+        } else if (itemUpdateBatchInterval > 0) {
+            emitItemUpdates(itemUpdates);
+        } else {
+            itemUpdates.forEach(this::emitItemUpdate);
+        }
+    }
+
+    private void emitItemUpdate(String itemName, String itemState) {
+        logger.debug("Sending update '{}' for item '{}'", itemState, itemName);
+        JSONObject itemUpdateMessage = new JSONObject();
+        try {
+            itemUpdateMessage.put("itemName", itemName);
+            itemUpdateMessage.put("itemStatus", itemState);
+            socket.emit("itemupdate", itemUpdateMessage);
+            itemUpdateQueue.sent(1);
+        } catch (JSONException e) {
+            logger.debug("{}", e.getMessage());
+        }
+    }
+
+    /**
+     * Sends many item updates as one array of item updates, optionally gzip compressed
+     */
+    private void emitItemUpdates(Map<String, String> itemUpdates) {
+        logger.debug("Sending {} item updates", itemUpdates.size());
+        JSONArray itemUpdatesMessage = new JSONArray();
+        try {
+            for (Map.Entry<String, String> itemUpdate : itemUpdates.entrySet()) {
+                JSONObject itemUpdateMessage = new JSONObject();
+                itemUpdateMessage.put("itemName", itemUpdate.getKey());
+                itemUpdateMessage.put("itemStatus", itemUpdate.getValue());
+                itemUpdatesMessage.put(itemUpdateMessage);
+            }
+            if (itemUpdateCompression) {
+                socket.emit("itemupdates", compress(itemUpdatesMessage.toString()));
+            } else {
+                socket.emit("itemupdates", itemUpdatesMessage);
+            }
+            itemUpdateQueue.sent(itemUpdates.size());
+        } catch (JSONException | IOException e) {
+            logger.debug("{}", e.getMessage());
+        }
+    }
+
+    private byte[] compress(String message) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(message.getBytes(StandardCharsets.UTF_8));
         }
+        return bytes.toByteArray();
     }
 
     /**
@@ -503,6 +697,12 @@ public class CloudClient {
      */
     public void shutdown() {
         logger.info("Shutting down openHAB Cloud service connection");
+        if (itemUpdateJob != null) {
+            itemUpdateJob.cancel(true);
+            itemUpdateJob = null;
+        }
+        // pending item updates are not sent anymore
+        itemUpdateQueue.dropped(0);
         socket.disconnect();
     }
 
@@ -522,14 +722,35 @@ public class CloudClient {
      * An internal class which forwards response headers and data back to the openHAB Cloud
      */
     private class ResponseListener
-            implements Response.CompleteListener, HeadersListener, ContentListener, FailureListener {
+            implements Response.CompleteListener, HeadersListener, AsyncContentListener, FailureListener {
 
-        private static final String THREADPOOL_OPENHABCLOUD = "openhabcloud";
         private int mRequestId;
         private boolean mHeadersSent = false;
 
-        public ResponseListener(int requestId) {
+        /*
+         * Content which has not been sent yet, it is sent when a frame is full, at once if the content length is
+         * unknown, or when the response is complete
+         */
+        private final ContentFrameBuffer frames = new ContentFrameBuffer(CONTENT_FRAME_SIZE, this::emitContent);
+
+        /*
+         * The cached response which local openHAB is asked to validate, null if there is none
+         */
+        private final String cacheKey;
+        private final ProxyResponseCache.Entry validatedEntry;
+        private boolean servedFromCache;
+
+        /*
+         * The response which is collected to be cached, null if it can't be cached
+         */
+        private String cacheEtag;
+        private JSONObject cacheHeaders;
+        private ByteArrayOutputStream cacheBody;
+
+        public ResponseListener(int requestId, String cacheKey, ProxyResponseCache.Entry validatedEntry) {
             mRequestId = requestId;
+            this.cacheKey = cacheKey;
+            this.validatedEntry = validatedEntry;
         }
 
         private JSONObject getJSONHeaders(HttpFields httpFields) {
@@ -561,6 +782,18 @@ public class CloudClient {
                 }
             }
 
+            if (servedFromCache) {
+                logger.debug("Local openHAB validated the cached response to request {}", mRequestId);
+                frames.setContentLength(validatedEntry.getBody().length);
+                frames.add(ByteBuffer.wrap(validatedEntry.getBody()));
+            } else {
+                frames.flush();
+            }
+            if (cacheBody != null && result != null && !result.isFailed()) {
+                responseCache.put(cacheKey,
+                        new ProxyResponseCache.Entry(cacheEtag, cacheHeaders, cacheBody.toByteArray()));
+            }
+
             /**
              * What is this? In some cases where latency is very low the myopenhab service
              * can receive responseFinished before the headers or content are received and I
@@ -591,12 +824,34 @@ public class CloudClient {
         }
 
         @Override
-        public void onContent(Response response, ByteBuffer content) {
+        public void onContent(Response response, ByteBuffer content, Callback callback) {
             logger.debug("Jetty received response content of size {}", String.valueOf(content.remaining()));
+            if (servedFromCache) {
+                callback.succeeded();
+                return;
+            }
+            if (cacheBody != null) {
+                if (cacheBody.size() + content.remaining() > ProxyResponseCache.MAX_ENTRY_SIZE) {
+                    cacheBody = null;
+                    responseCache.remove(cacheKey);
+                } else {
+                    try {
+                        BufferUtil.writeTo(content.slice(), cacheBody);
+                    } catch (IOException e) {
+                        cacheBody = null;
+                    }
+                }
+            }
+            frames.add(content);
+            resumeWhenDrained(callback);
+        }
+
+        private void emitContent(byte[] body) {
             JSONObject responseJson = new JSONObject();
             try {
                 responseJson.put("id", mRequestId);
-                responseJson.put("body", BufferUtil.toArray(content));
+                responseJson.put("body", body);
+                contentEmitted(body.length);
                 socket.emit("responseContentBinary", responseJson);
                 logger.debug("Sent content to request {}", mRequestId);
             } catch (JSONException e) {
@@ -611,9 +866,20 @@ public class CloudClient {
                 JSONObject responseJson = new JSONObject();
                 mHeadersSent = true;
                 try {
+                    int status = response.getStatus();
+                    JSONObject headers = getJSONHeaders(response.getHeaders());
+                    frames.setContentLength(
+                            response.getHeaders().getLongField(HttpHeader.CONTENT_LENGTH.asString()));
+                    if (status == HttpStatus.NOT_MODIFIED_304 && validatedEntry != null) {
+                        servedFromCache = true;
+                        status = HttpStatus.OK_200;
+                        headers = validatedEntry.getHeaders();
+                    } else if (cacheKey != null) {
+                        startCaching(response, headers);
+                    }
                     responseJson.put("id", mRequestId);
-                    responseJson.put("headers", getJSONHeaders(response.getHeaders()));
-                    responseJson.put("responseStatusCode", response.getStatus());
+                    responseJson.put("headers", headers);
+                    responseJson.put("responseStatusCode", status);
                     responseJson.put("responseStatusText", "OK");
                     socket.emit("responseHeader", responseJson);
                     logger.debug("Sent headers to request {}", mRequestId);
@@ -625,5 +891,23 @@ public class CloudClient {
                 // We should not send headers for the second time...
             }
         }
+
+        /**
+         * Starts collecting the response for the cache, if it may be cached and is small enough
+         */
+        private void startCaching(Response response, JSONObject headers) {
+            if (response.getStatus() != HttpStatus.OK_200) {
+                return;
+            }
+            HttpFields fields = response.getHeaders();
+            if (!ProxyResponseCache.isCacheable(fields)
+                    || fields.getLongField(HttpHeader.CONTENT_LENGTH.asString()) > ProxyResponseCache.MAX_ENTRY_SIZE) {
+                responseCache.remove(cacheKey);
+                return;
+            }
+            cacheEtag = fields.get(HttpHeader.ETAG);
+            cacheHeaders = headers;
+            cacheBody = new ByteArrayOutputStream();
+        }
     }
 }
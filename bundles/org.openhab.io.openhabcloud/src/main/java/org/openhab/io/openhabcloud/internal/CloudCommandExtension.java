@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.smarthome.io.console.Console;
+import org.eclipse.smarthome.io.console.extensions.AbstractConsoleCommandExtension;
+import org.eclipse.smarthome.io.console.extensions.ConsoleCommandExtension;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * The {@link CloudCommandExtension} shows the state of the openHAB Cloud connection and the item update counters on
+ * the console.
+ *
+ * @author agent - Initial contribution
+ */
+@Component(service = ConsoleCommandExtension.class)
+public class CloudCommandExtension extends AbstractConsoleCommandExtension {
+
+    private static final String SUBCMD_STATUS = "status";
+
+    private CloudService cloudService;
+
+    public CloudCommandExtension() {
+        super("openhabcloud", "Show the state of the openHAB Cloud connection.");
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        if (args.length > 0 && SUBCMD_STATUS.equals(args[0])) {
+            printStatus(console);
+        } else if (args.length > 0) {
+            console.println(String.format("Unknown openHAB Cloud sub command '%s'", args[0]));
+            printUsage(console);
+        } else {
+            printUsage(console);
+        }
+    }
+
+    private void printStatus(Console console) {
+        console.println(String.format("Connected: %s", cloudService.isConnected()));
+        long rateLimit = cloudService.getItemUpdateRateLimit();
+        console.println(String.format("Item update rate limit: %s",
+                rateLimit > 0 ? rateLimit + " ms for each item" : "none"));
+        console.println(String.format("Item updates sent: %d, merged: %d, dropped: %d",
+                cloudService.getSentItemUpdates(), cloudService.getMergedItemUpdates(),
+                cloudService.getDroppedItemUpdates()));
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return Collections.singletonList(buildCommandUsage(SUBCMD_STATUS,
+                "shows the connection state and the number of sent, merged and dropped item updates"));
+    }
+
+    @Reference
+    protected void setCloudService(CloudService cloudService) {
+        this.cloudService = cloudService;
+    }
+
+    protected void unsetCloudService(CloudService cloudService) {
+        this.cloudService = null;
+    }
+}
@@ -71,7 +71,7 @@ import org.slf4j.LoggerFactory;
  * @author Victor Belov - Initial contribution
  * @author Kai Kreuzer - migrated code to new Jetty client and ESH APIs
  */
-@Component(immediate = true, service = { EventSubscriber.class,
+@Component(immediate = true, service = { CloudService.class, EventSubscriber.class,
         ActionService.class }, configurationPid = "org.openhab.openhabcloud", property = {
                 Constants.SERVICE_PID + "=org.openhab.openhabcloud",
                 ConfigurableService.SERVICE_PROPERTY_DESCRIPTION_URI + "=io:openhabcloud",
@@ -82,6 +82,9 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
     private static final String CFG_EXPOSE = "expose";
     private static final String CFG_BASE_URL = "baseURL";
     private static final String CFG_MODE = "mode";
+    private static final String CFG_ITEM_UPDATE_BATCH_INTERVAL = "itemUpdateBatchInterval";
+    private static final String CFG_ITEM_UPDATE_RATE_LIMIT = "itemUpdateRateLimit";
+    private static final String CFG_ITEM_UPDATE_COMPRESSION = "itemUpdateCompression";
     private static final String SECRET_FILE_NAME = "openhabcloud" + File.separator + "secret";
     private static final String DEFAULT_URL = "https://myopenhab.org/";
     private static final int DEFAULT_LOCAL_OPENHAB_MAX_CONCURRENT_REQUESTS = 200;
@@ -99,6 +102,10 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
 
     private boolean remoteAccessEnabled = true;
     private Set<String> exposedItems = null;
+    private long itemUpdateBatchInterval = 0;
+    private long itemUpdateRateLimit = 0;
+    private boolean itemUpdateCompression = false;
+    private final ItemUpdateQueue itemUpdateQueue = new ItemUpdateQueue(0);
     private int localPort;
 
     public CloudService() {
@@ -218,11 +225,16 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
             }
         }
 
+        itemUpdateBatchInterval = getLongConfig(config, CFG_ITEM_UPDATE_BATCH_INTERVAL);
+        itemUpdateRateLimit = getLongConfig(config, CFG_ITEM_UPDATE_RATE_LIMIT);
+        itemUpdateCompression = Boolean.parseBoolean(String.valueOf(config.get(CFG_ITEM_UPDATE_COMPRESSION)));
+
         logger.debug("UUID = {}, secret = {}", InstanceUUID.get(), getSecret());
 
         if (cloudClient != null) {
             cloudClient.shutdown();
         }
+        itemUpdateQueue.setRateLimit(itemUpdateRateLimit);
 
         httpClient.setMaxConnectionsPerDestination(DEFAULT_LOCAL_OPENHAB_MAX_CONCURRENT_REQUESTS);
         httpClient.setConnectTimeout(DEFAULT_LOCAL_OPENHAB_REQUEST_TIMEOUT);
@@ -239,11 +251,61 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
         cloudClient = new CloudClient(httpClient, InstanceUUID.get(), getSecret(), cloudBaseUrl, localBaseUrl,
                 remoteAccessEnabled, exposedItems);
         cloudClient.setOpenHABVersion(OpenHAB.getVersion());
+        cloudClient.setItemUpdateOptions(itemUpdateBatchInterval, itemUpdateQueue, itemUpdateCompression);
         cloudClient.connect();
         cloudClient.setListener(this);
         NotificationAction.cloudService = this;
     }
 
+    private long getLongConfig(Map<String, ?> config, String key) {
+        Object value = config.get(key);
+        if (value instanceof Number) {
+            return Math.max(0, ((Number) value).longValue());
+        } else if (value instanceof String && StringUtils.isNotBlank((String) value)) {
+            try {
+                return Math.max(0, Long.parseLong(((String) value).trim()));
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid value '{}' for '{}', using 0", value, key);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns true if the connection to the openHAB Cloud is active
+     */
+    public boolean isConnected() {
+        return cloudClient != null && cloudClient.isConnected();
+    }
+
+    /**
+     * Returns the number of item updates sent to the openHAB Cloud since the service was activated
+     */
+    public long getSentItemUpdates() {
+        return itemUpdateQueue.getSentCount();
+    }
+
+    /**
+     * Returns the number of item updates which were replaced by a newer update of the same item before being sent
+     */
+    public long getMergedItemUpdates() {
+        return itemUpdateQueue.getMergedCount();
+    }
+
+    /**
+     * Returns the number of item updates which were not sent because there was no connection
+     */
+    public long getDroppedItemUpdates() {
+        return itemUpdateQueue.getDroppedCount();
+    }
+
+    /**
+     * Returns the minimum time in milliseconds between two updates of the same item, 0 means no limit
+     */
+    public long getItemUpdateRateLimit() {
+        return itemUpdateRateLimit;
+    }
+
     @Override
     public String getActionClassName() {
         return NotificationAction.class.getCanonicalName();
@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * This class collects the content of a proxied response in frames, so it is sent to the openHAB Cloud in few large
+ * messages instead of many small ones.
+ *
+ * If the length of the response is known, a frame is sent when it is full and the last frame is sized to the
+ * remaining content. If the length is unknown, e.g. for server-sent events, long polling or chunked responses, the
+ * received content is sent at once, so it is never held back waiting for content which may not come soon.
+ * An emitted frame is not reused, as it may still be referenced when it is not written yet.
+ *
+ * @author agent - Initial contribution
+ */
+public class ContentFrameBuffer {
+
+    private final int frameSize;
+    private final Consumer<byte[]> emitter;
+
+    /*
+     * Length of the response content, -1 if it is unknown
+     */
+    private long contentLength = -1;
+    private long contentReceived;
+
+    /*
+     * Content which has not been sent yet
+     */
+    private byte[] frame;
+    private int framePosition;
+
+    /**
+     * Constructor of ContentFrameBuffer
+     *
+     * @param frameSize maximum size of a frame
+     * @param emitter receives the frames to send
+     */
+    public ContentFrameBuffer(int frameSize, Consumer<byte[]> emitter) {
+        this.frameSize = frameSize;
+        this.emitter = emitter;
+    }
+
+    /**
+     * Sets the length of the response content
+     *
+     * @param contentLength length of the response content, -1 if it is unknown
+     */
+    public void setContentLength(long contentLength) {
+        this.contentLength = contentLength;
+    }
+
+    /**
+     * Adds received content and sends the frames which are complete
+     *
+     * @param content the received content, it is consumed
+     */
+    public void add(ByteBuffer content) {
+        while (content.hasRemaining()) {
+            if (frame == null) {
+                // a frame isn't larger than the content which is still expected
+                long expected = contentLength < 0 ? content.remaining()
+                        : Math.max(contentLength - contentReceived, content.remaining());
+                frame = new byte[(int) Math.min(frameSize, expected)];
+                framePosition = 0;
+            }
+            int length = Math.min(content.remaining(), frame.length - framePosition);
+            content.get(frame, framePosition, length);
+            framePosition += length;
+            contentReceived += length;
+            if (framePosition == frame.length) {
+                emitter.accept(frame);
+                frame = null;
+            }
+        }
+        if (contentLength < 0) {
+            flush();
+        }
+    }
+
+    /**
+     * Sends the content which has not been sent yet, e.g. when the response is complete
+     */
+    public void flush() {
+        if (frame != null && framePosition > 0) {
+            emitter.accept(Arrays.copyOf(frame, framePosition));
+        }
+        frame = null;
+    }
+}
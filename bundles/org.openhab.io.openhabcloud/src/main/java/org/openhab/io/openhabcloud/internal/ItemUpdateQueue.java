@@ -0,0 +1,143 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class coalesces item updates before they are sent to the openHAB Cloud. Only the last state of an item
+ * is kept until it is sent, and an item is not sent again before the rate limit has passed. The rate limit is one
+ * value which is applied to each item separately, there is no limit per item.
+ * It also counts the sent, merged and dropped item updates. The queue is kept by the {@link CloudService}, so the
+ * counters are not reset when the connection is reconfigured.
+ *
+ * @author agent - Initial contribution
+ */
+public class ItemUpdateQueue {
+
+    /*
+     * Minimum time in milliseconds between two updates of the same item, 0 means no limit
+     */
+    private long rateLimit;
+
+    /*
+     * Last state of each item which has not been sent yet, in the order of the first update
+     */
+    private final Map<String, String> pendingUpdates = new LinkedHashMap<>();
+
+    /*
+     * Time of the last sent update of each item
+     */
+    private final Map<String, Long> lastSent = new HashMap<>();
+
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong mergedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    /**
+     * Constructor of ItemUpdateQueue
+     *
+     * @param rateLimit minimum time in milliseconds between two updates of the same item, 0 means no limit
+     */
+    public ItemUpdateQueue(long rateLimit) {
+        this.rateLimit = rateLimit;
+    }
+
+    /**
+     * Sets the rate limit which is applied from now on
+     *
+     * @param rateLimit minimum time in milliseconds between two updates of the same item, 0 means no limit
+     */
+    public synchronized void setRateLimit(long rateLimit) {
+        this.rateLimit = rateLimit;
+        if (rateLimit == 0) {
+            lastSent.clear();
+        }
+    }
+
+    public synchronized long getRateLimit() {
+        return rateLimit;
+    }
+
+    /**
+     * Adds an item update to the queue. A pending update of the same item is replaced.
+     *
+     * @param itemName name of the updated item
+     * @param itemState updated item state
+     */
+    public synchronized void add(String itemName, String itemState) {
+        if (pendingUpdates.put(itemName, itemState) != null) {
+            mergedCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Removes and returns all pending updates which may be sent now without exceeding the rate limit of their item.
+     * The returned items count as sent now for the rate limit.
+     *
+     * @param now current time in milliseconds
+     * @return map of item name to item state in the order of the first update
+     */
+    public synchronized Map<String, String> takeDue(long now) {
+        Map<String, String> due = new LinkedHashMap<>();
+        Iterator<Map.Entry<String, String>> iterator = pendingUpdates.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, String> update = iterator.next();
+            String itemName = update.getKey();
+            Long sent = lastSent.get(itemName);
+            if (sent == null || now - sent >= rateLimit) {
+                due.put(itemName, update.getValue());
+                iterator.remove();
+                if (rateLimit > 0) {
+                    lastSent.put(itemName, now);
+                }
+            }
+        }
+        return due;
+    }
+
+    /**
+     * Records that item updates have been sent.
+     *
+     * @param count number of sent item updates
+     */
+    public void sent(int count) {
+        sentCount.addAndGet(count);
+    }
+
+    /**
+     * Records that item updates could not be sent and drops all pending updates.
+     *
+     * @param count number of item updates which could not be sent
+     */
+    public synchronized void dropped(int count) {
+        droppedCount.addAndGet(count + pendingUpdates.size());
+        pendingUpdates.clear();
+    }
+
+    public long getSentCount() {
+        return sentCount.get();
+    }
+
+    public long getMergedCount() {
+        return mergedCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+}
@@ -0,0 +1,164 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpHeader;
+import org.json.JSONObject;
+
+/**
+ * This class keeps the responses of local openHAB to proxied GET requests which have an ETag, e.g. icons and
+ * static resources. A cached response is never served without asking local openHAB: the request is sent with the
+ * cached ETag, and only if local openHAB answers that the resource is not modified, the cached response is sent to
+ * the openHAB Cloud instead. The least recently used responses are removed when the cache is full.
+ *
+ * Responses are cached per request URI and the request headers they may vary on. Requests with credentials and
+ * responses which are private or vary on other request headers are never cached, so a client never gets the
+ * response to another client's request.
+ *
+ * @author agent - Initial contribution
+ */
+public class ProxyResponseCache {
+
+    /*
+     * Responses larger than this are not cached
+     */
+    public static final int MAX_ENTRY_SIZE = 512 * 1024;
+
+    /*
+     * Maximum size of all cached response bodies
+     */
+    static final int MAX_CACHE_SIZE = 8 * 1024 * 1024;
+
+    /*
+     * The request headers which are part of the cache key, in lower case
+     */
+    private static final List<String> KEY_HEADERS = Arrays.asList("accept", "accept-encoding", "accept-language");
+
+    /**
+     * A cached response
+     */
+    public static class Entry {
+        private final String etag;
+        private final JSONObject headers;
+        private final byte[] body;
+
+        public Entry(String etag, JSONObject headers, byte[] body) {
+            this.etag = etag;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public JSONObject getHeaders() {
+            return headers;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+    }
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private int size;
+
+    /**
+     * Returns the cache key of a request, or null if the response to it must not be cached because the request
+     * carries credentials
+     */
+    public static String getKey(String requestUri, HttpFields requestHeaders) {
+        if (requestHeaders.containsKey(HttpHeader.AUTHORIZATION.asString())
+                || requestHeaders.containsKey(HttpHeader.COOKIE.asString())) {
+            return null;
+        }
+        StringBuilder key = new StringBuilder(requestUri);
+        for (String header : KEY_HEADERS) {
+            String value = requestHeaders.get(header);
+            key.append('\n').append(value == null ? "" : value);
+        }
+        return key.toString();
+    }
+
+    /**
+     * Checks whether a response may be cached: it needs an ETag, must not be private and may only vary on the
+     * request headers which are part of the cache key
+     */
+    public static boolean isCacheable(HttpFields responseHeaders) {
+        if (responseHeaders.get(HttpHeader.ETAG) == null) {
+            return false;
+        }
+        String cacheControl = responseHeaders.get(HttpHeader.CACHE_CONTROL);
+        if (cacheControl != null) {
+            cacheControl = cacheControl.toLowerCase(Locale.ROOT);
+            if (cacheControl.contains("no-store") || cacheControl.contains("private")) {
+                return false;
+            }
+        }
+        for (String vary : responseHeaders.getValuesList(HttpHeader.VARY)) {
+            for (String header : vary.split(",")) {
+                header = header.trim().toLowerCase(Locale.ROOT);
+                if (!header.isEmpty() && !KEY_HEADERS.contains(header)) {
+                    // also true for "Vary: *"
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the cached response of a cache key or null, if there is none
+     */
+    public synchronized Entry get(String key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Caches a response and removes the least recently used responses if the cache is full
+     */
+    public synchronized void put(String key, Entry entry) {
+        if (entry.getBody().length > MAX_ENTRY_SIZE) {
+            return;
+        }
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            size -= previous.getBody().length;
+        }
+        size += entry.getBody().length;
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (size > MAX_CACHE_SIZE && iterator.hasNext()) {
+            size -= iterator.next().getBody().length;
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Removes the cached response of a cache key
+     */
+    public synchronized void remove(String key) {
+        Entry previous = entries.remove(key);
+        if (previous != null) {
+            size -= previous.getBody().length;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link ContentFrameBuffer}
+ *
+ * @author agent - Initial contribution
+ */
+public class ContentFrameBufferTest {
+
+    private static final int FRAME_SIZE = 16;
+
+    private final List<byte[]> frames = new ArrayList<>();
+    private final ContentFrameBuffer buffer = new ContentFrameBuffer(FRAME_SIZE, frames::add);
+    private final ByteArrayOutputStream received = new ByteArrayOutputStream();
+    private byte next;
+
+    /**
+     * Adds content with consecutive byte values
+     */
+    private void add(int length) {
+        byte[] content = new byte[length];
+        for (int i = 0; i < length; i++) {
+            content[i] = next++;
+        }
+        received.write(content, 0, length);
+        ByteBuffer buffer = ByteBuffer.wrap(content);
+        this.buffer.add(buffer);
+        assertFalse(buffer.hasRemaining());
+    }
+
+    private void assertFrameSizes(int... sizes) {
+        assertEquals(sizes.length, frames.size());
+        for (int i = 0; i < sizes.length; i++) {
+            assertEquals(sizes[i], frames.get(i).length);
+        }
+    }
+
+    private void assertContentSent() {
+        ByteArrayOutputStream sent = new ByteArrayOutputStream();
+        for (byte[] frame : frames) {
+            sent.write(frame, 0, frame.length);
+        }
+        assertArrayEquals(received.toByteArray(), sent.toByteArray());
+    }
+
+    @Test
+    public void testKnownLengthIsCollectedInFrames() {
+        buffer.setContentLength(40);
+        add(5);
+        add(5);
+        assertFrameSizes();
+        add(10);
+        assertFrameSizes(16);
+        add(20);
+        // the last frame is sized to the remaining content and sent without waiting for the completion
+        assertFrameSizes(16, 16, 8);
+        buffer.flush();
+        assertFrameSizes(16, 16, 8);
+        assertContentSent();
+    }
+
+    @Test
+    public void testSmallResponseNeedsOneFrame() {
+        buffer.setContentLength(3);
+        add(1);
+        add(2);
+        assertFrameSizes(3);
+        assertContentSent();
+    }
+
+    @Test
+    public void testIncompleteResponseIsSentOnFlush() {
+        buffer.setContentLength(100);
+        add(20);
+        add(3);
+        assertFrameSizes(16);
+        buffer.flush();
+        assertFrameSizes(16, 7);
+        assertContentSent();
+    }
+
+    @Test
+    public void testContentBeyondTheKnownLengthIsSent() {
+        buffer.setContentLength(10);
+        add(8);
+        add(30);
+        buffer.flush();
+        assertFrameSizes(10, 16, 12);
+        assertContentSent();
+    }
+
+    @Test
+    public void testUnknownLengthIsNotHeldBack() {
+        add(3);
+        // e.g. a server-sent event has to be sent at once
+        assertFrameSizes(3);
+        add(40);
+        assertFrameSizes(3, 16, 16, 8);
+        add(1);
+        assertFrameSizes(3, 16, 16, 8, 1);
+        buffer.flush();
+        assertFrameSizes(3, 16, 16, 8, 1);
+        assertContentSent();
+    }
+
+    @Test
+    public void testEmittedFramesAreNotReused() {
+        buffer.setContentLength(64);
+        add(16);
+        byte[] first = frames.get(0).clone();
+        add(16);
+        add(32);
+        assertArrayEquals(first, frames.get(0));
+        assertNotSame(frames.get(0), frames.get(1));
+        assertContentSent();
+    }
+}
@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link ItemUpdateQueue}
+ *
+ * @author agent - Initial contribution
+ */
+public class ItemUpdateQueueTest {
+
+    @Test
+    public void testUpdatesOfSameItemAreMerged() {
+        ItemUpdateQueue queue = new ItemUpdateQueue(0);
+        queue.add("Light", "ON");
+        queue.add("Temperature", "20.5");
+        queue.add("Light", "OFF");
+        queue.add("Light", "ON");
+
+        assertEquals(2, queue.getMergedCount());
+
+        Map<String, String> due = queue.takeDue(0);
+        assertEquals(Arrays.asList("Light", "Temperature"), new ArrayList<>(due.keySet()));
+        assertEquals("ON", due.get("Light"));
+        assertEquals("20.5", due.get("Temperature"));
+        assertTrue(queue.takeDue(0).isEmpty());
+
+        queue.add("Light", "OFF");
+        assertEquals(2, queue.getMergedCount());
+    }
+
+    @Test
+    public void testTakeDueWithoutRateLimit() {
+        ItemUpdateQueue queue = new ItemUpdateQueue(0);
+        queue.add("Light", "ON");
+        assertEquals(Collections.singletonMap("Light", "ON"), queue.takeDue(1000));
+        queue.add("Light", "OFF");
+        assertEquals(Collections.singletonMap("Light", "OFF"), queue.takeDue(1000));
+    }
+
+    @Test
+    public void testTakeDueAppliesRateLimitToEachItem() {
+        ItemUpdateQueue queue = new ItemUpdateQueue(1000);
+        queue.add("Light", "ON");
+        assertEquals(Collections.singletonMap("Light", "ON"), queue.takeDue(10000));
+
+        queue.add("Light", "OFF");
+        queue.add("Temperature", "20.5");
+        // the rate limit of one item does not hold back the other items
+        assertEquals(Collections.singletonMap("Temperature", "20.5"), queue.takeDue(10500));
+
+        queue.add("Light", "ON");
+        queue.add("Temperature", "21.0");
+        assertTrue(queue.takeDue(10999).isEmpty());
+        assertEquals(Collections.singletonMap("Light", "ON"), queue.takeDue(11000));
+        assertEquals(Collections.singletonMap("Temperature", "21.0"), queue.takeDue(11500));
+        assertEquals(1, queue.getMergedCount());
+    }
+
+    @Test
+    public void testChangedRateLimitIsApplied() {
+        ItemUpdateQueue queue = new ItemUpdateQueue(1000);
+        queue.add("Light", "ON");
+        queue.takeDue(10000);
+
+        queue.setRateLimit(5000);
+        assertEquals(5000, queue.getRateLimit());
+        queue.add("Light", "OFF");
+        assertTrue(queue.takeDue(11000).isEmpty());
+        assertEquals(Collections.singletonMap("Light", "OFF"), queue.takeDue(15000));
+
+        queue.setRateLimit(0);
+        queue.add("Light", "ON");
+        assertEquals(Collections.singletonMap("Light", "ON"), queue.takeDue(15001));
+    }
+
+    @Test
+    public void testDroppedCountsAndClearsPendingUpdates() {
+        ItemUpdateQueue queue = new ItemUpdateQueue(0);
+        queue.add("Light", "ON");
+        queue.add("Temperature", "20.5");
+
+        queue.dropped(3);
+        assertEquals(5, queue.getDroppedCount());
+        assertTrue(queue.takeDue(0).isEmpty());
+
+        queue.dropped(0);
+        assertEquals(5, queue.getDroppedCount());
+    }
+
+    @Test
+    public void testSentCount() {
+        ItemUpdateQueue queue = new ItemUpdateQueue(0);
+        queue.sent(1);
+        queue.sent(10);
+        assertEquals(11, queue.getSentCount());
+        assertEquals(0, queue.getMergedCount());
+        assertEquals(0, queue.getDroppedCount());
+    }
+}
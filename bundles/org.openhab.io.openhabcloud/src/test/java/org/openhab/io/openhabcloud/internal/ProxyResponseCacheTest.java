@@ -0,0 +1,179 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import static org.junit.Assert.*;
+
+import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpHeader;
+import org.junit.Test;
+
+/**
+ * Tests for {@link ProxyResponseCache}
+ *
+ * @author agent - Initial contribution
+ */
+public class ProxyResponseCacheTest {
+
+    private static final int MAX_ENTRIES = ProxyResponseCache.MAX_CACHE_SIZE / ProxyResponseCache.MAX_ENTRY_SIZE;
+    private static final byte[] MAX_BODY = new byte[ProxyResponseCache.MAX_ENTRY_SIZE];
+
+    private final ProxyResponseCache cache = new ProxyResponseCache();
+
+    private static HttpFields requestHeaders(String accept, String acceptLanguage) {
+        HttpFields fields = new HttpFields();
+        fields.put(HttpHeader.ACCEPT, accept);
+        fields.put(HttpHeader.ACCEPT_LANGUAGE, acceptLanguage);
+        fields.put(HttpHeader.USER_AGENT, "openHAB");
+        return fields;
+    }
+
+    private static HttpFields responseHeaders(String etag) {
+        HttpFields fields = new HttpFields();
+        if (etag != null) {
+            fields.put(HttpHeader.ETAG, etag);
+        }
+        fields.put(HttpHeader.CONTENT_TYPE, "image/svg+xml");
+        return fields;
+    }
+
+    private static ProxyResponseCache.Entry entry(byte[] body) {
+        return new ProxyResponseCache.Entry("\"1\"", null, body);
+    }
+
+    private void fill() {
+        for (int i = 0; i < MAX_ENTRIES; i++) {
+            cache.put("key" + i, entry(MAX_BODY));
+        }
+        for (int i = 0; i < MAX_ENTRIES; i++) {
+            assertNotNull(cache.get("key" + i));
+        }
+    }
+
+    @Test
+    public void testKeyVariesOnKeyHeaders() {
+        String key = ProxyResponseCache.getKey("/icon/light", requestHeaders("image/svg+xml", "en"));
+        assertNotNull(key);
+        assertEquals(key, ProxyResponseCache.getKey("/icon/light", requestHeaders("image/svg+xml", "en")));
+        assertNotEquals(key, ProxyResponseCache.getKey("/icon/light", requestHeaders("image/png", "en")));
+        assertNotEquals(key, ProxyResponseCache.getKey("/icon/light", requestHeaders("image/svg+xml", "de")));
+        assertNotEquals(key, ProxyResponseCache.getKey("/icon/switch", requestHeaders("image/svg+xml", "en")));
+
+        HttpFields otherAgent = requestHeaders("image/svg+xml", "en");
+        otherAgent.put(HttpHeader.USER_AGENT, "browser");
+        assertEquals(key, ProxyResponseCache.getKey("/icon/light", otherAgent));
+    }
+
+    @Test
+    public void testKeyVariesOnAcceptEncoding() {
+        HttpFields noHeaders = new HttpFields();
+        HttpFields gzip = new HttpFields();
+        gzip.put(HttpHeader.ACCEPT_ENCODING, "gzip");
+        assertNotEquals(ProxyResponseCache.getKey("/icon/light", noHeaders),
+                ProxyResponseCache.getKey("/icon/light", gzip));
+    }
+
+    @Test
+    public void testNoKeyForRequestsWithCredentials() {
+        HttpFields authorization = requestHeaders("image/svg+xml", "en");
+        authorization.put(HttpHeader.AUTHORIZATION, "Basic dXNlcjpwYXNz");
+        assertNull(ProxyResponseCache.getKey("/icon/light", authorization));
+
+        HttpFields cookie = requestHeaders("image/svg+xml", "en");
+        cookie.put(HttpHeader.COOKIE, "X-OPENHAB-SESSIONID=1");
+        assertNull(ProxyResponseCache.getKey("/icon/light", cookie));
+    }
+
+    @Test
+    public void testCacheableNeedsETag() {
+        assertTrue(ProxyResponseCache.isCacheable(responseHeaders("\"1\"")));
+        assertFalse(ProxyResponseCache.isCacheable(responseHeaders(null)));
+    }
+
+    @Test
+    public void testCacheControl() {
+        HttpFields publicResponse = responseHeaders("\"1\"");
+        publicResponse.put(HttpHeader.CACHE_CONTROL, "public, max-age=0");
+        assertTrue(ProxyResponseCache.isCacheable(publicResponse));
+
+        HttpFields noStore = responseHeaders("\"1\"");
+        noStore.put(HttpHeader.CACHE_CONTROL, "No-Store");
+        assertFalse(ProxyResponseCache.isCacheable(noStore));
+
+        HttpFields privateResponse = responseHeaders("\"1\"");
+        privateResponse.put(HttpHeader.CACHE_CONTROL, "max-age=60, private");
+        assertFalse(ProxyResponseCache.isCacheable(privateResponse));
+    }
+
+    @Test
+    public void testVary() {
+        HttpFields keyHeaders = responseHeaders("\"1\"");
+        keyHeaders.add(HttpHeader.VARY, "Accept-Encoding");
+        keyHeaders.add(HttpHeader.VARY, "accept, Accept-Language");
+        assertTrue(ProxyResponseCache.isCacheable(keyHeaders));
+
+        HttpFields otherHeader = responseHeaders("\"1\"");
+        otherHeader.add(HttpHeader.VARY, "Accept-Encoding, User-Agent");
+        assertFalse(ProxyResponseCache.isCacheable(otherHeader));
+
+        HttpFields any = responseHeaders("\"1\"");
+        any.add(HttpHeader.VARY, "*");
+        assertFalse(ProxyResponseCache.isCacheable(any));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsRemoved() {
+        fill();
+        // key0 becomes the most recently used
+        assertNotNull(cache.get("key0"));
+
+        cache.put("new", entry(new byte[1]));
+        assertNotNull(cache.get("new"));
+        assertNotNull(cache.get("key0"));
+        assertNull(cache.get("key1"));
+        assertNotNull(cache.get("key2"));
+    }
+
+    @Test
+    public void testReplacedEntryIsNotCountedTwice() {
+        fill();
+        cache.put("key0", entry(new byte[1]));
+        cache.put("new", entry(new byte[ProxyResponseCache.MAX_ENTRY_SIZE - 1]));
+        for (int i = 0; i < MAX_ENTRIES; i++) {
+            assertNotNull(cache.get("key" + i));
+        }
+        assertNotNull(cache.get("new"));
+    }
+
+    @Test
+    public void testRemovedEntryIsNotCounted() {
+        fill();
+        cache.remove("key5");
+        assertNull(cache.get("key5"));
+        cache.remove("unknown");
+
+        cache.put("new", entry(MAX_BODY));
+        for (int i = 0; i < MAX_ENTRIES; i++) {
+            if (i != 5) {
+                assertNotNull(cache.get("key" + i));
+            }
+        }
+        assertNotNull(cache.get("new"));
+    }
+
+    @Test
+    public void testLargeResponseIsNotCached() {
+        cache.put("large", entry(new byte[ProxyResponseCache.MAX_ENTRY_SIZE + 1]));
+        assertNull(cache.get("large"));
+    }
+}
@@ -101,14 +101,7 @@ public class ModbusBitUtilities {
      */
     public static Optional<DecimalType> extractStateFromRegisters(ModbusRegisterArray registers, int index,
             ModbusConstants.ValueType type) {
-        int endBitIndex = (type.getBits() >= 16 ? 16 * index : type.getBits() * index) + type.getBits() - 1;
-        // each register has 16 bits
-        int lastValidIndex = registers.size() * 16 - 1;
-        if (endBitIndex > lastValidIndex || index < 0) {
-            throw new IllegalArgumentException(
-                    String.format("Index=%d with type=%s is out-of-bounds given registers of size %d", index, type,
-                            registers.size()));
-        }
+        checkExtractIndex(registers, index, type);
         switch (type) {
             case BIT:
                 return Optional
@@ -212,6 +205,122 @@ public class ModbusBitUtilities {
         }
     }
 
+    /**
+     * Read data from registers and convert the result to primitive long
+     *
+     * This is allocation-free alternative to
+     * {@link #extractStateFromRegisters(ModbusRegisterArray, int, ModbusConstants.ValueType)} for integer types.
+     * Interpretation of <tt>index</tt> and <tt>type</tt> is the same.
+     *
+     * Note that UINT64 and UINT64_SWAP values exceeding {@link Long#MAX_VALUE} are returned as negative numbers (two's
+     * complement representation of the 64 bits). Use {@link #extractDoubleFromRegisters(ModbusRegisterArray, int,
+     * ModbusConstants.ValueType)} to get the unsigned value.
+     *
+     * @param registers list of registers, each register represent 16bit of data
+     * @param index zero based item index
+     * @param type item type, integer type
+     * @return value as long
+     * @throws IllegalArgumentException when <tt>index</tt> is out of bounds of registers, or when the type is floating
+     *             point type
+     */
+    public static long extractLongFromRegisters(ModbusRegisterArray registers, int index,
+            ModbusConstants.ValueType type) {
+        checkExtractIndex(registers, index, type);
+        switch (type) {
+            case BIT:
+                return (registers.getUnsignedShort(index / 16) >> (index % 16)) & 1;
+            case INT8:
+                return (byte) (registers.getUnsignedShort(index / 2) >> (8 * (index % 2)));
+            case UINT8:
+                return (registers.getUnsignedShort(index / 2) >> (8 * (index % 2))) & 0xff;
+            case INT16:
+                return (short) registers.getUnsignedShort(index);
+            case UINT16:
+                return registers.getUnsignedShort(index);
+            case INT32:
+                return (int) combineRegisters(registers, index, index + 1);
+            case UINT32:
+                return combineRegisters(registers, index, index + 1);
+            case INT32_SWAP:
+                return (int) combineRegisters(registers, index + 1, index);
+            case UINT32_SWAP:
+                return combineRegisters(registers, index + 1, index);
+            case INT64:
+            case UINT64:
+                return (combineRegisters(registers, index, index + 1) << 32)
+                        | combineRegisters(registers, index + 2, index + 3);
+            case INT64_SWAP:
+            case UINT64_SWAP:
+                return (combineRegisters(registers, index + 3, index + 2) << 32)
+                        | combineRegisters(registers, index + 1, index);
+            default:
+                throw new IllegalArgumentException(
+                        String.format("Type %s cannot be extracted as long, use extractDoubleFromRegisters", type));
+        }
+    }
+
+    /**
+     * Read data from registers and convert the result to primitive double
+     *
+     * This is allocation-free alternative to
+     * {@link #extractStateFromRegisters(ModbusRegisterArray, int, ModbusConstants.ValueType)}. Interpretation of
+     * <tt>index</tt> and <tt>type</tt> is the same. Unlike with <tt>extractStateFromRegisters</tt>, floating point NaN
+     * and infinity values are returned as is.
+     *
+     * Note that 64 bit integers cannot be represented accurately as double in all cases.
+     *
+     * @param registers list of registers, each register represent 16bit of data
+     * @param index zero based item index
+     * @param type item type
+     * @return value as double
+     * @throws IllegalArgumentException when <tt>index</tt> is out of bounds of registers
+     */
+    public static double extractDoubleFromRegisters(ModbusRegisterArray registers, int index,
+            ModbusConstants.ValueType type) {
+        switch (type) {
+            case FLOAT32:
+                checkExtractIndex(registers, index, type);
+                return Float.intBitsToFloat((int) combineRegisters(registers, index, index + 1));
+            case FLOAT32_SWAP:
+                checkExtractIndex(registers, index, type);
+                return Float.intBitsToFloat((int) combineRegisters(registers, index + 1, index));
+            case UINT64:
+            case UINT64_SWAP: {
+                long value = extractLongFromRegisters(registers, index, type);
+                if (value >= 0) {
+                    return value;
+                }
+                // unsigned conversion: shift to fit positive long, and compensate the lost bit
+                return ((value >>> 1) | (value & 1)) * 2.0;
+            }
+            default:
+                return extractLongFromRegisters(registers, index, type);
+        }
+    }
+
+    /**
+     * Combine two registers into unsigned 32 bit integer
+     *
+     * @param registers registers
+     * @param hiIndex index of the register containing the most significant 16 bits
+     * @param loIndex index of the register containing the least significant 16 bits
+     * @return unsigned value
+     */
+    private static long combineRegisters(ModbusRegisterArray registers, int hiIndex, int loIndex) {
+        return ((long) registers.getUnsignedShort(hiIndex) << 16) | registers.getUnsignedShort(loIndex);
+    }
+
+    private static void checkExtractIndex(ModbusRegisterArray registers, int index, ModbusConstants.ValueType type) {
+        int endBitIndex = (type.getBits() >= 16 ? 16 * index : type.getBits() * index) + type.getBits() - 1;
+        // each register has 16 bits
+        int lastValidIndex = registers.size() * 16 - 1;
+        if (endBitIndex > lastValidIndex || index < 0) {
+            throw new IllegalArgumentException(
+                    String.format("Index=%d with type=%s is out-of-bounds given registers of size %d", index, type,
+                            registers.size()));
+        }
+    }
+
     /**
      * Read data from registers and convert the result to StringType
      * Strings should start the the first byte of a register, but could
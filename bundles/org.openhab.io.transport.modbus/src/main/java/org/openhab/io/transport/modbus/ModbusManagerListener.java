@@ -34,4 +34,13 @@ public interface ModbusManagerListener {
     public void onEndpointPoolConfigurationSet(ModbusSlaveEndpoint endpoint,
             @Nullable EndpointPoolConfiguration configuration);
 
+    /**
+     * Called periodically with the transaction queue statistics of each endpoint in use
+     *
+     * @param endpoint endpoint
+     * @param statistics snapshot of the queue statistics
+     */
+    public default void onQueueStatistics(ModbusSlaveEndpoint endpoint, ModbusQueueStatistics statistics) {
+    }
+
 }
@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus;
+
+import java.util.Arrays;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Immutable snapshot of the transaction queue of a single endpoint
+ *
+ * Wait time is the time operations have waited for their turn to communicate with the endpoint. The histogram is
+ * cumulative since the endpoint was first used.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusQueueStatistics {
+
+    /**
+     * Exclusive upper bounds of the wait time histogram buckets, in milliseconds. The last bucket (not listed here)
+     * contains all wait times exceeding the last bound.
+     */
+    public static final long[] WAIT_TIME_BUCKET_UPPER_BOUNDS_MILLIS = { 10, 100, 1000, 10000 };
+
+    private final int queueDepth;
+    private final long[] waitTimeCounts;
+
+    public ModbusQueueStatistics(int queueDepth, long[] waitTimeCounts) {
+        if (waitTimeCounts.length != WAIT_TIME_BUCKET_UPPER_BOUNDS_MILLIS.length + 1) {
+            throw new IllegalArgumentException("Unexpected number of histogram buckets");
+        }
+        this.queueDepth = queueDepth;
+        this.waitTimeCounts = waitTimeCounts;
+    }
+
+    /**
+     * Get number of operations currently waiting for their turn
+     */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    /**
+     * Get count of operations per wait time bucket
+     *
+     * @return counts, index matching {@link #WAIT_TIME_BUCKET_UPPER_BOUNDS_MILLIS}
+     */
+    public long[] getWaitTimeCounts() {
+        return waitTimeCounts.clone();
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder("ModbusQueueStatistics(queueDepth=").append(queueDepth).append(", waitTimeCounts=")
+                .append(Arrays.toString(waitTimeCounts)).append(")").toString();
+    }
+}
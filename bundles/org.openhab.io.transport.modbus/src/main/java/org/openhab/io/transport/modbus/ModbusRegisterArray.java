@@ -35,6 +35,20 @@ public interface ModbusRegisterArray extends Iterable<ModbusRegister> {
      */
     ModbusRegister getRegister(int index);
 
+    /**
+     * Return register value at the given index as unsigned 16 bit integer
+     *
+     * Equivalent to <code>getRegister(index).toUnsignedShort()</code>. Implementations are encouraged to override this
+     * to avoid creating {@link ModbusRegister} instances.
+     *
+     * @param index the index of the register
+     * @return register value, between 0 and 65535 (inclusive)
+     * @throws IndexOutOfBoundsException if the index is out of bounds.
+     */
+    default int getUnsignedShort(int index) {
+        return getRegister(index).toUnsignedShort();
+    }
+
     /**
      * Get number of registers stored in this instance
      *
@@ -12,6 +12,12 @@
  */
 package org.openhab.io.transport.modbus.internal;
 
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
 import org.apache.commons.pool2.KeyedPooledObjectFactory;
 import org.apache.commons.pool2.impl.EvictionPolicy;
 import org.apache.commons.pool2.impl.GenericKeyedObjectPool;
@@ -19,13 +25,16 @@ import org.apache.commons.pool2.impl.GenericKeyedObjectPoolConfig;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
 
 import net.wimpi.modbus.net.ModbusSlaveConnection;
 
 /**
  * Pool for modbus connections.
  *
- * Only one connection is allowed to be active at a time.
+ * Number of active connections per TCP endpoint is limited by {@link ModbusPoolConfig#MAX_CONNECTIONS_PER_ENDPOINT}.
+ * Serial and UDP endpoints have at most one active connection: a serial port cannot be opened twice, and the slaves
+ * answer one request at a time.
  *
  * @author Sami Salonen - Initial contribution
  *
@@ -37,10 +46,67 @@ public class ModbusConnectionPool extends GenericKeyedObjectPool<ModbusSlaveEndp
     @NonNullByDefault({})
     private volatile EvictionPolicy<ModbusSlaveConnection> policy;
 
+    /**
+     * Connections in use for serial and UDP endpoints
+     */
+    private final Map<ModbusSlaveEndpoint, Semaphore> exclusiveEndpoints = new ConcurrentHashMap<>();
+
     public ModbusConnectionPool(KeyedPooledObjectFactory<ModbusSlaveEndpoint, ModbusSlaveConnection> factory) {
         super(factory, new ModbusPoolConfig());
     }
 
+    @Override
+    public ModbusSlaveConnection borrowObject(ModbusSlaveEndpoint key, long borrowMaxWaitMillis) throws Exception {
+        Semaphore exclusive = getExclusive(key);
+        if (exclusive != null) {
+            if (borrowMaxWaitMillis < 0) {
+                exclusive.acquire();
+            } else if (!exclusive.tryAcquire(borrowMaxWaitMillis, TimeUnit.MILLISECONDS)) {
+                throw new NoSuchElementException("Timeout waiting for idle object");
+            }
+        }
+        try {
+            return super.borrowObject(key, borrowMaxWaitMillis);
+        } catch (Exception e) {
+            if (exclusive != null) {
+                exclusive.release();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void returnObject(ModbusSlaveEndpoint key, ModbusSlaveConnection obj) {
+        try {
+            super.returnObject(key, obj);
+        } finally {
+            releaseExclusive(key);
+        }
+    }
+
+    @Override
+    public void invalidateObject(ModbusSlaveEndpoint key, ModbusSlaveConnection obj) throws Exception {
+        try {
+            super.invalidateObject(key, obj);
+        } finally {
+            releaseExclusive(key);
+        }
+    }
+
+    private @Nullable Semaphore getExclusive(ModbusSlaveEndpoint key) {
+        if (key instanceof ModbusTCPSlaveEndpoint) {
+            return null;
+        }
+        return exclusiveEndpoints.computeIfAbsent(key, k -> new Semaphore(1, true));
+    }
+
+    private void releaseExclusive(ModbusSlaveEndpoint key) {
+        Semaphore exclusive = exclusiveEndpoints.get(key);
+        if (exclusive != null && exclusive.availablePermits() == 0) {
+            exclusive.release();
+        }
+    }
+
     @Override
     public void setConfig(@Nullable GenericKeyedObjectPoolConfig conf) {
         if (conf == null) {
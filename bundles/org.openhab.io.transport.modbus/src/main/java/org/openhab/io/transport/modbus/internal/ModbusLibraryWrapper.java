@@ -310,11 +310,11 @@ public class ModbusLibraryWrapper {
                 callback.onBits(request,
                         new BitArrayWrappingBitVector(bits, Math.min(dataItemsInResponse, request.getDataLength())));
             } else if (request.getFunctionCode() == ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS) {
-                callback.onRegisters(request, new RegisterArrayWrappingInputRegister(
-                        ((ReadMultipleRegistersResponse) response).getRegisters()));
+                callback.onRegisters(request, RegisterArrayWrappingByteBuffer
+                        .fromInputRegisters(((ReadMultipleRegistersResponse) response).getRegisters()));
             } else if (request.getFunctionCode() == ModbusReadFunctionCode.READ_INPUT_REGISTERS) {
-                callback.onRegisters(request,
-                        new RegisterArrayWrappingInputRegister(((ReadInputRegistersResponse) response).getRegisters()));
+                callback.onRegisters(request, RegisterArrayWrappingByteBuffer
+                        .fromInputRegisters(((ReadInputRegistersResponse) response).getRegisters()));
             } else {
                 throw new IllegalArgumentException(
                         String.format("Unexpected function code %s", request.getFunctionCode()));
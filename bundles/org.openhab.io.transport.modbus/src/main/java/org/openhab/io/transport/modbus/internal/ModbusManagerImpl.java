@@ -14,6 +14,8 @@ package org.openhab.io.transport.modbus.internal;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -25,6 +27,7 @@ import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 import javax.imageio.IIOException;
 
@@ -39,6 +42,7 @@ import org.openhab.io.transport.modbus.ModbusCallback;
 import org.openhab.io.transport.modbus.ModbusConnectionException;
 import org.openhab.io.transport.modbus.ModbusManager;
 import org.openhab.io.transport.modbus.ModbusManagerListener;
+import org.openhab.io.transport.modbus.ModbusQueueStatistics;
 import org.openhab.io.transport.modbus.ModbusReadCallback;
 import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
 import org.openhab.io.transport.modbus.ModbusRequestBlueprint;
@@ -56,6 +60,8 @@ import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
 import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpointVisitor;
 import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
 import org.openhab.io.transport.modbus.endpoint.ModbusUDPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.ModbusPollCoalescer.CoalescedPollTask;
+import org.openhab.io.transport.modbus.internal.PrioritizedTransactionPermits.Priority;
 import org.openhab.io.transport.modbus.internal.pooling.ModbusSlaveConnectionFactoryImpl;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -79,6 +85,9 @@ import net.wimpi.modbus.net.ModbusSlaveConnection;
  * important with serial slaves but practice has shown that even many tcp slaves have limited
  * capability to handle many connections at the same time
  *
+ * TCP slaves capable of serving many transactions at the same time can be configured to allow more transactions
+ * in-flight, see {@link EndpointPoolConfiguration#getMaxConcurrentTransactions()}
+ *
  * @author Sami Salonen - Initial contribution
  */
 @Component(service = ModbusManager.class, immediate = true, configurationPid = "transport.modbus")
@@ -93,6 +102,36 @@ public class ModbusManagerImpl implements ModbusManager {
         private static final long serialVersionUID = 6939730579178506885L;
     }
 
+    /**
+     * Regular polls of an endpoint sharing the same poll period, coalesced together
+     */
+    private static class PollGroup {
+        private final ModbusSlaveEndpoint endpoint;
+        private final long pollPeriodMillis;
+
+        private PollGroup(ModbusSlaveEndpoint endpoint, long pollPeriodMillis) {
+            this.endpoint = endpoint;
+            this.pollPeriodMillis = pollPeriodMillis;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(endpoint, pollPeriodMillis);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof PollGroup)) {
+                return false;
+            }
+            PollGroup other = (PollGroup) obj;
+            return endpoint.equals(other.endpoint) && pollPeriodMillis == other.pollPeriodMillis;
+        }
+    }
+
     @FunctionalInterface
     private interface ModbusOperation<T> {
 
@@ -280,6 +319,11 @@ public class ModbusManagerImpl implements ModbusManager {
      */
     private static final String MODBUS_POLLER_THREAD_POOL_NAME = "modbusManagerPollerThreadPool";
 
+    /**
+     * Thread naming for one-off reads and writes. Separate pool ensures that these are not queued behind regular polls
+     */
+    private static final String MODBUS_ONE_OFF_THREAD_POOL_NAME = "modbusManagerOneOffThreadPool";
+
     /**
      * Log message with WARN level if the task queues exceed this limit.
      *
@@ -293,6 +337,16 @@ public class ModbusManagerImpl implements ModbusManager {
      * Presumably slow callbacks can increase queue size with callbackThreadPool
      */
     private static final long WARN_QUEUE_SIZE = 500;
+
+    /**
+     * Configuration property for the gap tolerance used when coalescing regular polls. See {@link ModbusPollCoalescer}
+     */
+    static final String CONFIG_COALESCING_GAP_TOLERANCE = "coalescingGapTolerance";
+
+    /**
+     * Coalescing of regular polls is disabled by default
+     */
+    private static final int DEFAULT_COALESCING_GAP_TOLERANCE = -1;
     private static final long MONITOR_QUEUE_INTERVAL_MILLIS = 10000;
 
     private final PollOperation pollOperation = new PollOperation();
@@ -314,11 +368,34 @@ public class ModbusManagerImpl implements ModbusManager {
     @Nullable
     private volatile ModbusSlaveConnectionFactoryImpl connectionFactory;
     private volatile Map<PollTask, ScheduledFuture<?>> scheduledPollTasks = new ConcurrentHashMap<>();
+    private final Map<PollTask, Long> pollPeriods = new ConcurrentHashMap<>();
+    /**
+     * Permits limiting the number of transactions in-flight per endpoint. Connections borrowed from the pool hold a
+     * permit until they are returned or invalidated.
+     */
+    private final Map<ModbusSlaveEndpoint, PrioritizedTransactionPermits> transactionPermits = new ConcurrentHashMap<>();
+    private final Map<ModbusSlaveConnection, PrioritizedTransactionPermits> heldPermits = new ConcurrentHashMap<>();
+    /**
+     * Gap tolerance (in registers or bits) for coalescing regular polls into fewer reads. Negative value disables
+     * coalescing.
+     */
+    private volatile int coalescingGapTolerance = DEFAULT_COALESCING_GAP_TOLERANCE;
+    /**
+     * Coalesced poll groups to re-plan after poll tasks have been unregistered, with the initial delay to use. Poll
+     * tasks are often unregistered in a row, e.g. when things are disposed, and the groups are re-planned only once
+     * for all of them.
+     */
+    private final Map<PollGroup, Long> pendingReschedules = new HashMap<>();
     /**
      * Executor for requests
      */
     @Nullable
     private volatile ScheduledExecutorService scheduledThreadPoolExecutor;
+    /**
+     * Executor for one-off requests (writes and one-off polls)
+     */
+    @Nullable
+    private volatile ScheduledExecutorService oneOffThreadPoolExecutor;
     private volatile Collection<ModbusManagerListener> listeners = new CopyOnWriteArraySet<>();
     @Nullable
     private volatile ScheduledFuture<?> monitorFuture;
@@ -374,19 +451,33 @@ public class ModbusManagerImpl implements ModbusManager {
         this.connectionFactory = connectionFactory;
     }
 
-    private Optional<ModbusSlaveConnection> borrowConnection(ModbusSlaveEndpoint endpoint) {
+    private Optional<ModbusSlaveConnection> borrowConnection(ModbusSlaveEndpoint endpoint, Priority priority) {
         Optional<ModbusSlaveConnection> connection = Optional.empty();
         KeyedObjectPool<ModbusSlaveEndpoint, ModbusSlaveConnection> pool = connectionPool;
         if (pool == null) {
             return connection;
         }
         long start = System.currentTimeMillis();
+        PrioritizedTransactionPermits permits = transactionPermits.computeIfAbsent(endpoint,
+                this::createTransactionPermits);
+        try {
+            permits.acquire(priority);
+        } catch (InterruptedException e) {
+            logger.warn("Interrupted while waiting for a connection for endpoint {}", endpoint);
+            Thread.currentThread().interrupt();
+            return connection;
+        }
         try {
             connection = Optional.ofNullable(pool.borrowObject(endpoint));
         } catch (Exception e) {
             logger.warn("Error getting a new connection for endpoint {}. Error was: {} {}", endpoint,
                     e.getClass().getName(), e.getMessage());
         }
+        if (connection.isPresent()) {
+            heldPermits.put(connection.get(), permits);
+        } else {
+            permits.release();
+        }
         if (connection.isPresent()) {
             ModbusSlaveConnection slaveConnection = connection.get();
             if (!slaveConnection.isConnected()) {
@@ -413,6 +504,8 @@ public class ModbusManagerImpl implements ModbusManager {
             } catch (Exception e) {
                 logger.warn("Error invalidating connection in pool for endpoint {}. Error was: {} {}", endpoint,
                         e.getClass().getName(), e.getMessage(), e);
+            } finally {
+                releaseTransactionPermit(con);
             }
         });
         logger.trace("invalidating connection for endpoint {} took {} ms", endpoint,
@@ -432,11 +525,44 @@ public class ModbusManagerImpl implements ModbusManager {
             } catch (Exception e) {
                 logger.warn("Error returning connection to pool for endpoint {}. Error was: {} {}", endpoint,
                         e.getClass().getName(), e.getMessage(), e);
+            } finally {
+                releaseTransactionPermit(con);
             }
         });
         logger.trace("returning connection for endpoint {} took {} ms", endpoint, System.currentTimeMillis() - start);
     }
 
+    /**
+     * Create permits limiting the number of concurrent transactions with the endpoint
+     *
+     * Only TCP endpoints support concurrent transactions, other endpoints are limited to single transaction at a time.
+     *
+     * Writes and one-off polls are given a permit before any regular polls waiting for the same endpoint.
+     */
+    private PrioritizedTransactionPermits createTransactionPermits(ModbusSlaveEndpoint endpoint) {
+        return new PrioritizedTransactionPermits(getMaxConcurrentTransactions(endpoint));
+    }
+
+    private int getMaxConcurrentTransactions(ModbusSlaveEndpoint endpoint) {
+        int maxConcurrentTransactions = 1;
+        ModbusSlaveConnectionFactoryImpl connectionFactory = this.connectionFactory;
+        EndpointPoolConfiguration configuration = connectionFactory == null ? null
+                : connectionFactory.getEndpointPoolConfiguration(endpoint);
+        if (configuration != null && endpoint instanceof ModbusTCPSlaveEndpoint) {
+            maxConcurrentTransactions = Math.max(1, Math.min(configuration.getMaxConcurrentTransactions(),
+                    ModbusPoolConfig.MAX_CONNECTIONS_PER_ENDPOINT));
+        }
+        logger.trace("Allowing {} concurrent transactions with endpoint {}", maxConcurrentTransactions, endpoint);
+        return maxConcurrentTransactions;
+    }
+
+    private void releaseTransactionPermit(ModbusSlaveConnection connection) {
+        PrioritizedTransactionPermits permits = heldPermits.remove(connection);
+        if (permits != null) {
+            permits.release();
+        }
+    }
+
     /**
      * Establishes connection to the endpoint specified by the task
      *
@@ -465,7 +591,9 @@ public class ModbusManagerImpl implements ModbusManager {
         ModbusSlaveEndpoint endpoint = task.getEndpoint();
 
         ModbusRequestBlueprint request = task.getRequest();
-        Optional<ModbusSlaveConnection> connection = timer.connection.timeSupplier(() -> borrowConnection(endpoint));
+        Priority priority = oneOffTask ? Priority.HIGH : Priority.NORMAL;
+        Optional<ModbusSlaveConnection> connection = timer.connection
+                .timeSupplier(() -> borrowConnection(endpoint, priority));
         logger.trace("Executing task {} (oneOff={})! Connection received in {} ms [operation ID {}]", task, oneOffTask,
                 System.currentTimeMillis() - connectionBorrowStart, operationId);
         if (scheduledThreadPoolExecutor == null) {
@@ -515,6 +643,15 @@ public class ModbusManagerImpl implements ModbusManager {
     }
 
     private void verifyTaskIsRegistered(PollTask task) throws PollTaskUnregistered {
+        if (task instanceof CoalescedPollTask) {
+            // Coalesced read is still relevant as long as any of the original poll tasks is registered
+            if (((CoalescedPollTask) task).getMembers().stream().noneMatch(this.scheduledPollTasks::containsKey)) {
+                String msg = String.format("All poll tasks of coalesced task %s are unregistered", task);
+                logger.debug(msg);
+                throw new PollTaskUnregistered(msg);
+            }
+            return;
+        }
         if (!this.scheduledPollTasks.containsKey(task)) {
             String msg = String.format("Poll task %s is unregistered", task);
             logger.debug(msg);
@@ -740,7 +877,7 @@ public class ModbusManagerImpl implements ModbusManager {
 
     @Override
     public ScheduledFuture<?> submitOneTimePoll(PollTask task) {
-        ScheduledExecutorService executor = scheduledThreadPoolExecutor;
+        ScheduledExecutorService executor = oneOffThreadPoolExecutor;
         Objects.requireNonNull(executor, "Not activated!");
         long scheduleTime = System.currentTimeMillis();
         logger.debug("Scheduling one-off poll task {}", task);
@@ -762,37 +899,102 @@ public class ModbusManagerImpl implements ModbusManager {
                     initialDelayMillis);
             if (scheduledPollTasks.containsKey(task)) {
                 logger.trace("Unregistering previous poll task (possibly with different period)");
-                unregisterRegularPoll(task);
+                unregisterRegularPoll(task, true);
+            }
+            pollPeriods.put(task, pollPeriodMillis);
+            if (coalescingGapTolerance >= 0) {
+                // the group is re-planned right away, including the poll tasks unregistered from it
+                pendingReschedules.remove(new PollGroup(task.getEndpoint(), pollPeriodMillis));
+                scheduleCoalescedPolls(executor, task.getEndpoint(), pollPeriodMillis, initialDelayMillis);
+            } else {
+                scheduledPollTasks.put(task, schedulePoll(executor, task, pollPeriodMillis, initialDelayMillis));
             }
-            ScheduledFuture<?> future = executor.scheduleWithFixedDelay(() -> {
-                long started = System.currentTimeMillis();
-                logger.debug("Executing scheduled ({}ms) poll task {}. Current millis: {}", pollPeriodMillis, task,
-                        started);
-                try {
-                    executeOperation(task, false, pollOperation);
-                } catch (Exception e) {
-                    // We want to catch all unexpected exceptions since all unhandled exceptions make
-                    // ScheduledExecutorService halt the polling. It is better to print out the exception, and try again
-                    // (on next poll cycle)
-                    logger.warn(
-                            "Execution of scheduled ({}ms) poll task {} failed unexpectedly. Ignoring exception, polling again according to poll interval.",
-                            pollPeriodMillis, task, e);
-                }
-                long finished = System.currentTimeMillis();
-                logger.debug(
-                        "Execution of scheduled ({}ms) poll task {} finished at {}. Was started at millis: {} (=duration of {} millis)",
-                        pollPeriodMillis, task, finished, started, finished - started);
-            }, initialDelayMillis, pollPeriodMillis, TimeUnit.MILLISECONDS);
-
-            scheduledPollTasks.put(task, future);
             logger.trace("Registered poll task {} with period {} using initial delay {}", task, pollPeriodMillis,
                     initialDelayMillis);
         }
     }
 
-    @SuppressWarnings({ "null", "unused" })
+    private ScheduledFuture<?> schedulePoll(ScheduledExecutorService executor, PollTask task, long pollPeriodMillis,
+            long initialDelayMillis) {
+        return executor.scheduleWithFixedDelay(() -> {
+            long started = System.currentTimeMillis();
+            logger.debug("Executing scheduled ({}ms) poll task {}. Current millis: {}", pollPeriodMillis, task,
+                    started);
+            try {
+                executeOperation(task, false, pollOperation);
+            } catch (Exception e) {
+                // We want to catch all unexpected exceptions since all unhandled exceptions make
+                // ScheduledExecutorService halt the polling. It is better to print out the exception, and try again
+                // (on next poll cycle)
+                logger.warn(
+                        "Execution of scheduled ({}ms) poll task {} failed unexpectedly. Ignoring exception, polling again according to poll interval.",
+                        pollPeriodMillis, task, e);
+            }
+            long finished = System.currentTimeMillis();
+            logger.debug(
+                    "Execution of scheduled ({}ms) poll task {} finished at {}. Was started at millis: {} (=duration of {} millis)",
+                    pollPeriodMillis, task, finished, started, finished - started);
+        }, initialDelayMillis, pollPeriodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * (Re-)schedule all registered polls of the endpoint sharing the same poll period as coalesced reads.
+     *
+     * Polls with equal period are due at the same time, and thus they can be merged into fewer transactions. The
+     * previous schedule of the polls is canceled, and every poll task is associated with the future of the coalesced
+     * read covering it.
+     */
+    private void scheduleCoalescedPolls(ScheduledExecutorService executor, ModbusSlaveEndpoint endpoint,
+            long pollPeriodMillis, long initialDelayMillis) {
+        List<PollTask> group = pollPeriods.entrySet().stream()
+                .filter(entry -> entry.getValue() == pollPeriodMillis && entry.getKey().getEndpoint().equals(endpoint))
+                .map(Map.Entry::getKey).collect(Collectors.toList());
+        for (PollTask member : group) {
+            ScheduledFuture<?> previous = scheduledPollTasks.get(member);
+            if (previous != null) {
+                previous.cancel(false);
+            }
+        }
+        List<CoalescedPollTask> coalescedTasks = new ModbusPollCoalescer(coalescingGapTolerance).plan(group);
+        logger.debug("Coalesced {} poll tasks of endpoint {} with period {} ms into {} reads", group.size(), endpoint,
+                pollPeriodMillis, coalescedTasks.size());
+        for (CoalescedPollTask coalesced : coalescedTasks) {
+            ScheduledFuture<?> future = schedulePoll(executor, coalesced, pollPeriodMillis, initialDelayMillis);
+            for (PollTask member : coalesced.getMembers()) {
+                scheduledPollTasks.put(member, future);
+            }
+        }
+    }
+
+    /**
+     * Re-plan the coalesced poll groups which had poll tasks unregistered
+     */
+    private void rescheduleCoalescedPolls() {
+        synchronized (this) {
+            ScheduledExecutorService executor = scheduledThreadPoolExecutor;
+            if (executor != null) {
+                pendingReschedules.forEach((group, initialDelayMillis) -> scheduleCoalescedPolls(executor,
+                        group.endpoint, group.pollPeriodMillis, initialDelayMillis));
+            }
+            pendingReschedules.clear();
+        }
+    }
+
     @Override
     public boolean unregisterRegularPoll(PollTask task) {
+        return unregisterRegularPoll(task, true);
+    }
+
+    /**
+     * Unregister a regular poll
+     *
+     * @param task poll task to unregister
+     * @param reschedule whether to re-plan the other poll tasks which were coalesced with this task. This is not
+     *            necessary when all poll tasks are unregistered.
+     * @return whether the poll task was unregistered successfully
+     */
+    @SuppressWarnings({ "null", "unused" })
+    private boolean unregisterRegularPoll(PollTask task, boolean reschedule) {
         synchronized (this) {
             ScheduledExecutorService executor = this.scheduledThreadPoolExecutor;
             ModbusSlaveConnectionFactoryImpl factory = this.connectionFactory;
@@ -814,9 +1016,20 @@ public class ModbusManagerImpl implements ModbusManager {
             factory.disconnectOnReturn(task.getEndpoint(), System.currentTimeMillis());
 
             future.cancel(true);
+            Long pollPeriodMillis = pollPeriods.remove(task);
 
             logger.info("Poll task {} canceled", task);
 
+            if (reschedule && coalescingGapTolerance >= 0 && pollPeriodMillis != null) {
+                // Other poll tasks might have been coalesced into the same read. Schedule them again, keeping the
+                // original poll timing
+                if (pendingReschedules.isEmpty()) {
+                    executor.execute(this::rescheduleCoalescedPolls);
+                }
+                pendingReschedules.merge(new PollGroup(task.getEndpoint(), pollPeriodMillis),
+                        Math.max(0, future.getDelay(TimeUnit.MILLISECONDS)), Math::min);
+            }
+
             try {
                 // Close all idle connections as well (they will be reconnected if necessary on borrow)
                 if (connectionPool != null) {
@@ -834,11 +1047,11 @@ public class ModbusManagerImpl implements ModbusManager {
 
     @Override
     public ScheduledFuture<?> submitOneTimeWrite(WriteTask task) {
-        ScheduledExecutorService scheduledThreadPoolExecutor = this.scheduledThreadPoolExecutor;
-        Objects.requireNonNull(scheduledThreadPoolExecutor, "Not activated!");
+        ScheduledExecutorService executor = oneOffThreadPoolExecutor;
+        Objects.requireNonNull(executor, "Not activated!");
         long scheduleTime = System.currentTimeMillis();
         logger.debug("Scheduling one-off write task {}", task);
-        ScheduledFuture<?> future = scheduledThreadPoolExecutor.schedule(() -> {
+        ScheduledFuture<?> future = executor.schedule(() -> {
             long millisInThreadPoolWaiting = System.currentTimeMillis() - scheduleTime;
             logger.debug("Will now execute one-off write task {}, waited in thread pool for {}", task,
                     millisInThreadPoolWaiting);
@@ -852,6 +1065,12 @@ public class ModbusManagerImpl implements ModbusManager {
             @Nullable EndpointPoolConfiguration configuration) {
         Objects.requireNonNull(connectionFactory, "Not activated!");
         connectionFactory.setEndpointPoolConfiguration(endpoint, configuration);
+        // Resize the permits in place: connections in use keep holding them, so a smaller limit is reached once they
+        // have been returned
+        PrioritizedTransactionPermits permits = transactionPermits.get(endpoint);
+        if (permits != null) {
+            permits.setMaxPermits(getMaxConcurrentTransactions(endpoint));
+        }
         for (ModbusManagerListener listener : listeners) {
             listener.onEndpointPoolConfigurationSet(endpoint, configuration);
         }
@@ -882,6 +1101,7 @@ public class ModbusManagerImpl implements ModbusManager {
     protected void activate(Map<String, Object> configProperties) {
         synchronized (this) {
             logger.info("Modbus manager activated");
+            coalescingGapTolerance = parseCoalescingGapTolerance(configProperties);
             if (connectionPool == null) {
                 constructConnectionPool();
             }
@@ -890,7 +1110,12 @@ public class ModbusManagerImpl implements ModbusManager {
                 this.scheduledThreadPoolExecutor = scheduledThreadPoolExecutor = ThreadPoolManager
                         .getScheduledPool(MODBUS_POLLER_THREAD_POOL_NAME);
             }
-            if (scheduledThreadPoolExecutor.isShutdown()) {
+            ScheduledExecutorService oneOffThreadPoolExecutor = this.oneOffThreadPoolExecutor;
+            if (oneOffThreadPoolExecutor == null) {
+                this.oneOffThreadPoolExecutor = oneOffThreadPoolExecutor = ThreadPoolManager
+                        .getScheduledPool(MODBUS_ONE_OFF_THREAD_POOL_NAME);
+            }
+            if (scheduledThreadPoolExecutor.isShutdown() || oneOffThreadPoolExecutor.isShutdown()) {
                 logger.error("Thread pool is shut down! Aborting activation of ModbusMangerImpl");
                 throw new IllegalStateException("Thread pool(s) shut down! Aborting activation of ModbusMangerImpl");
             }
@@ -899,6 +1124,19 @@ public class ModbusManagerImpl implements ModbusManager {
         }
     }
 
+    private int parseCoalescingGapTolerance(@Nullable Map<String, Object> configProperties) {
+        Object value = configProperties == null ? null : configProperties.get(CONFIG_COALESCING_GAP_TOLERANCE);
+        if (value == null) {
+            return DEFAULT_COALESCING_GAP_TOLERANCE;
+        }
+        try {
+            return Integer.parseInt(value.toString().trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid {} '{}', coalescing of polls is disabled", CONFIG_COALESCING_GAP_TOLERANCE, value);
+            return DEFAULT_COALESCING_GAP_TOLERANCE;
+        }
+    }
+
     @Deactivate
     protected void deactivate() {
         synchronized (this) {
@@ -906,8 +1144,9 @@ public class ModbusManagerImpl implements ModbusManager {
             if (connectionPool != null) {
                 Set<@NonNull PollTask> polls = getRegisteredRegularPolls();
                 for (PollTask task : polls) {
-                    unregisterRegularPoll(task);
+                    unregisterRegularPoll(task, false);
                 }
+                pendingReschedules.clear();
 
                 connectionPool.close();
                 this.connectionPool = connectionPool = null;
@@ -920,7 +1159,9 @@ public class ModbusManagerImpl implements ModbusManager {
             // Note that it is not allowed to shutdown the executor, since they will be reused when
             // when pool is received from ThreadPoolManager is called
             scheduledThreadPoolExecutor = null;
+            oneOffThreadPoolExecutor = null;
             connectionFactory = null;
+            transactionPermits.clear();
             logger.debug("Modbus manager deactivated");
         }
     }
@@ -944,20 +1185,34 @@ public class ModbusManagerImpl implements ModbusManager {
                         task.getRequest().getDataLength(), future.isDone(), future.isCancelled(),
                         future.getDelay(TimeUnit.MILLISECONDS), task);
             });
-            if (scheduledThreadPoolExecutor instanceof ThreadPoolExecutor) {
-                ThreadPoolExecutor executor = ((ThreadPoolExecutor) scheduledThreadPoolExecutor);
-                pollMonitorLogger.trace(
-                        "POLL MONITOR: scheduledThreadPoolExecutor queue size: {}, remaining space {}. Active threads {}",
-                        executor.getQueue().size(), executor.getQueue().remainingCapacity(), executor.getActiveCount());
-                if (executor.getQueue().size() >= WARN_QUEUE_SIZE) {
-                    pollMonitorLogger.warn(
-                            "Many ({}) tasks queued in scheduledThreadPoolExecutor! This might be sign of bad design or bug in the binding code.",
-                            executor.getQueue().size());
-                }
+            logExecutorQueueInfo("scheduledThreadPoolExecutor", scheduledThreadPoolExecutor);
+            ScheduledExecutorService oneOffThreadPoolExecutor = this.oneOffThreadPoolExecutor;
+            if (oneOffThreadPoolExecutor != null) {
+                logExecutorQueueInfo("oneOffThreadPoolExecutor", oneOffThreadPoolExecutor);
             }
+            transactionPermits.forEach((endpoint, permits) -> {
+                ModbusQueueStatistics statistics = permits.getStatistics();
+                pollMonitorLogger.trace("POLL MONITOR: endpoint {} transaction queue: {}", endpoint, statistics);
+                for (ModbusManagerListener listener : listeners) {
+                    listener.onQueueStatistics(endpoint, statistics);
+                }
+            });
 
             pollMonitorLogger.trace("</POLL MONITOR>");
         }
     }
 
+    private void logExecutorQueueInfo(String name, ScheduledExecutorService scheduledExecutor) {
+        if (scheduledExecutor instanceof ThreadPoolExecutor) {
+            ThreadPoolExecutor executor = ((ThreadPoolExecutor) scheduledExecutor);
+            pollMonitorLogger.trace("POLL MONITOR: {} queue size: {}, remaining space {}. Active threads {}", name,
+                    executor.getQueue().size(), executor.getQueue().remainingCapacity(), executor.getActiveCount());
+            if (executor.getQueue().size() >= WARN_QUEUE_SIZE) {
+                pollMonitorLogger.warn(
+                        "Many ({}) tasks queued in {}! This might be sign of bad design or bug in the binding code.",
+                        executor.getQueue().size(), name);
+            }
+        }
+    }
+
 }
@@ -0,0 +1,378 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import org.apache.commons.lang.builder.StandardToStringStyle;
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.BasicModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusRegister;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Planner that coalesces poll tasks into fewer Modbus read transactions.
+ *
+ * Poll tasks sharing the same endpoint, unit id and function code are sorted by start address and merged greedily
+ * into contiguous reads, as long as the gap between two requests does not exceed the configured gap tolerance and the
+ * merged read stays within the protocol limits (125 registers, 2000 coils/discrete inputs).
+ *
+ * Each merged read is represented by a {@link CoalescedPollTask} whose callback slices the response and fans it out to
+ * the callbacks of the original poll tasks.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusPollCoalescer {
+
+    /**
+     * Maximum number of registers that can be read with single request (FC3 and FC4)
+     */
+    public static final int MAX_REGISTERS_READ_COUNT = 125;
+
+    /**
+     * Maximum number of coils or discrete inputs that can be read with single request (FC1 and FC2)
+     */
+    public static final int MAX_BITS_READ_COUNT = 2000;
+
+    private final int gapTolerance;
+
+    /**
+     * Construct planner
+     *
+     * @param gapTolerance maximum number of unrequested registers/bits that can be read in between two requests to
+     *            allow merging them. Zero means that only adjacent or overlapping requests are merged.
+     */
+    public ModbusPollCoalescer(int gapTolerance) {
+        if (gapTolerance < 0) {
+            throw new IllegalArgumentException("gapTolerance should be non-negative");
+        }
+        this.gapTolerance = gapTolerance;
+    }
+
+    /**
+     * Maximum number of items (registers or bits) that can be read with single request of given function code
+     *
+     * @param functionCode read function code
+     * @return maximum item count
+     */
+    public static int getMaxReadCount(ModbusReadFunctionCode functionCode) {
+        switch (functionCode) {
+            case READ_COILS:
+            case READ_INPUT_DISCRETES:
+                return MAX_BITS_READ_COUNT;
+            case READ_MULTIPLE_REGISTERS:
+            case READ_INPUT_REGISTERS:
+                return MAX_REGISTERS_READ_COUNT;
+            default:
+                throw new IllegalArgumentException(String.format("Unexpected function code %s", functionCode));
+        }
+    }
+
+    /**
+     * Plan reads for the given poll tasks
+     *
+     * @param tasks poll tasks to coalesce. The tasks can have different endpoints.
+     * @return list of coalesced tasks. Every given task is member of exactly one coalesced task.
+     */
+    public List<CoalescedPollTask> plan(Collection<PollTask> tasks) {
+        Map<GroupKey, List<PollTask>> groups = new LinkedHashMap<>();
+        for (PollTask task : tasks) {
+            groups.computeIfAbsent(new GroupKey(task), key -> new ArrayList<>()).add(task);
+        }
+
+        List<CoalescedPollTask> planned = new ArrayList<>();
+        for (Map.Entry<GroupKey, List<PollTask>> entry : groups.entrySet()) {
+            GroupKey key = entry.getKey();
+            List<PollTask> members = entry.getValue();
+            members.sort(Comparator.comparingInt((PollTask task) -> task.getRequest().getReference())
+                    .thenComparingInt(task -> task.getRequest().getDataLength()));
+            int maxReadCount = getMaxReadCount(key.functionCode);
+
+            List<PollTask> current = new ArrayList<>();
+            int start = 0;
+            int end = 0;
+            for (PollTask task : members) {
+                ModbusReadRequestBlueprint request = task.getRequest();
+                int taskStart = request.getReference();
+                int taskEnd = taskStart + request.getDataLength();
+                if (!current.isEmpty() && taskStart <= end + gapTolerance
+                        && Math.max(end, taskEnd) - start <= maxReadCount) {
+                    end = Math.max(end, taskEnd);
+                    current.add(task);
+                    continue;
+                }
+                if (!current.isEmpty()) {
+                    planned.add(new CoalescedPollTask(key, start, end - start, current));
+                }
+                current = new ArrayList<>();
+                current.add(task);
+                start = taskStart;
+                end = taskEnd;
+            }
+            if (!current.isEmpty()) {
+                planned.add(new CoalescedPollTask(key, start, end - start, current));
+            }
+        }
+        return planned;
+    }
+
+    /**
+     * Key identifying poll tasks that can be potentially merged together
+     */
+    private static class GroupKey {
+        private final ModbusSlaveEndpoint endpoint;
+        private final int unitId;
+        private final ModbusReadFunctionCode functionCode;
+
+        private GroupKey(PollTask task) {
+            this.endpoint = task.getEndpoint();
+            this.unitId = task.getRequest().getUnitID();
+            this.functionCode = task.getRequest().getFunctionCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(endpoint, unitId, functionCode);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (obj == null || obj.getClass() != getClass()) {
+                return false;
+            }
+            GroupKey other = (GroupKey) obj;
+            return unitId == other.unitId && functionCode == other.functionCode && endpoint.equals(other.endpoint);
+        }
+    }
+
+    /**
+     * Poll task representing a single read covering one or more original poll tasks.
+     *
+     * The callback of this task slices the data and calls the callbacks of the original tasks.
+     */
+    public static class CoalescedPollTask implements PollTask {
+
+        private final Logger logger = LoggerFactory.getLogger(CoalescedPollTask.class);
+
+        private static StandardToStringStyle toStringStyle = new StandardToStringStyle();
+        static {
+            toStringStyle.setUseShortClassName(true);
+        }
+
+        private final ModbusSlaveEndpoint endpoint;
+        private final BasicModbusReadRequestBlueprint request;
+        private final List<PollTask> members;
+        private final ModbusReadCallback callback = new FanOutCallback();
+
+        private CoalescedPollTask(GroupKey key, int start, int length, List<PollTask> members) {
+            this.endpoint = key.endpoint;
+            this.members = Collections.unmodifiableList(members);
+            int maxTries = members.stream().mapToInt(task -> task.getRequest().getMaxTries()).max().orElse(1);
+            this.request = new BasicModbusReadRequestBlueprint(key.unitId, key.functionCode, start, length, maxTries);
+        }
+
+        @Override
+        public ModbusSlaveEndpoint getEndpoint() {
+            return endpoint;
+        }
+
+        @Override
+        public ModbusReadRequestBlueprint getRequest() {
+            return request;
+        }
+
+        @Override
+        public ModbusReadCallback getCallback() {
+            return callback;
+        }
+
+        /**
+         * Get the original poll tasks covered by this task
+         *
+         * @return poll tasks, sorted by start address
+         */
+        public List<PollTask> getMembers() {
+            return members;
+        }
+
+        @Override
+        public String toString() {
+            return new ToStringBuilder(this, toStringStyle).append("request", request).append("endpoint", endpoint)
+                    .append("members", members.size()).toString();
+        }
+
+        private class FanOutCallback implements ModbusReadCallback {
+
+            @Override
+            public void onRegisters(ModbusReadRequestBlueprint mergedRequest, ModbusRegisterArray registers) {
+                for (PollTask member : members) {
+                    ModbusReadRequestBlueprint memberRequest = member.getRequest();
+                    notifyMember(member, memberCallback -> memberCallback.onRegisters(memberRequest,
+                            new RegisterArraySlice(registers, memberRequest.getReference() - request.getReference(),
+                                    memberRequest.getDataLength())));
+                }
+            }
+
+            @Override
+            public void onBits(ModbusReadRequestBlueprint mergedRequest, BitArray bits) {
+                for (PollTask member : members) {
+                    ModbusReadRequestBlueprint memberRequest = member.getRequest();
+                    notifyMember(member, memberCallback -> memberCallback.onBits(memberRequest, new BitArraySlice(bits,
+                            memberRequest.getReference() - request.getReference(), memberRequest.getDataLength())));
+                }
+            }
+
+            @Override
+            public void onError(ModbusReadRequestBlueprint mergedRequest, Exception error) {
+                for (PollTask member : members) {
+                    notifyMember(member, memberCallback -> memberCallback.onError(member.getRequest(), error));
+                }
+            }
+
+            /**
+             * Call the callback of a member. An exception thrown by the callback is logged, so that it does not
+             * prevent the other members from receiving the data.
+             */
+            private void notifyMember(PollTask member, Consumer<ModbusReadCallback> notification) {
+                ModbusReadCallback memberCallback = member.getCallback();
+                if (memberCallback == null) {
+                    return;
+                }
+                try {
+                    notification.accept(memberCallback);
+                } catch (RuntimeException e) {
+                    logger.warn("Callback of coalesced poll task {} failed unexpectedly", member, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * View over part of a {@link ModbusRegisterArray}, no data is copied
+     */
+    static class RegisterArraySlice implements ModbusRegisterArray {
+        private final ModbusRegisterArray wrapped;
+        private final int offset;
+        private final int length;
+
+        RegisterArraySlice(ModbusRegisterArray wrapped, int offset, int length) {
+            if (offset < 0 || length < 0 || offset + length > wrapped.size()) {
+                throw new IndexOutOfBoundsException(String.format(
+                        "Slice (offset=%d, length=%d) out of bounds (size=%d)", offset, length, wrapped.size()));
+            }
+            this.wrapped = wrapped;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public ModbusRegister getRegister(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException();
+            }
+            return wrapped.getRegister(offset + index);
+        }
+
+        @Override
+        public int getUnsignedShort(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException();
+            }
+            return wrapped.getUnsignedShort(offset + index);
+        }
+
+        @Override
+        public int size() {
+            return length;
+        }
+
+        @Override
+        public String toString() {
+            if (length == 0) {
+                return "ModbusRegisterArrayImpl(<empty>)";
+            }
+            StringBuffer buffer = new StringBuffer(length * 2).append("ModbusRegisterArrayImpl(");
+            return appendHexString(buffer).append(')').toString();
+        }
+    }
+
+    /**
+     * View over part of a {@link BitArray}, no data is copied
+     */
+    static class BitArraySlice implements BitArray {
+        private final BitArray wrapped;
+        private final int offset;
+        private final int length;
+
+        BitArraySlice(BitArray wrapped, int offset, int length) {
+            if (offset < 0 || length < 0 || offset + length > wrapped.size()) {
+                throw new IndexOutOfBoundsException(String.format(
+                        "Slice (offset=%d, length=%d) out of bounds (size=%d)", offset, length, wrapped.size()));
+            }
+            this.wrapped = wrapped;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public boolean getBit(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException();
+            }
+            return wrapped.getBit(offset + index);
+        }
+
+        @Override
+        public int size() {
+            return length;
+        }
+
+        @Override
+        public String toString() {
+            return new StringBuilder("BitArrayImpl(bits=").append(length == 0 ? "<empty>" : toBinaryString())
+                    .append(")").toString();
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            return sizeAndValuesEquals(obj);
+        }
+
+        @Override
+        public int hashCode() {
+            return toBinaryString().hashCode();
+        }
+    }
+}
@@ -25,7 +25,9 @@ import net.wimpi.modbus.net.ModbusSlaveConnection;
  * Configuration for Modbus connection pool
  *
  * Default is that
- * - there is only one connection per endpoint
+ * - there are at most {@link #MAX_CONNECTIONS_PER_ENDPOINT} connections per TCP endpoint, and one connection per
+ * serial or UDP endpoint (see {@link ModbusConnectionPool}). The actual number of concurrent transactions is limited
+ * further by {@link ModbusManagerImpl} according to endpoint configuration (by default to one).
  * - clients are served "fairly" (first-come-first-serve)
  *
  * @author Sami Salonen - Initial contribution
@@ -34,6 +36,11 @@ import net.wimpi.modbus.net.ModbusSlaveConnection;
 @NonNullByDefault
 public class ModbusPoolConfig extends GenericKeyedObjectPoolConfig {
 
+    /**
+     * Upper limit for concurrent connections (and thus transactions in-flight) per TCP endpoint
+     */
+    public static final int MAX_CONNECTIONS_PER_ENDPOINT = 16;
+
     private EvictionPolicy<ModbusSlaveConnection> evictionPolicy = new DefaultEvictionPolicy<>();
 
     public ModbusPoolConfig() {
@@ -44,10 +51,11 @@ public class ModbusPoolConfig extends GenericKeyedObjectPoolConfig {
         // available instances in request arrival order.
         setFairness(true);
 
-        // Limit one connection per endpoint (i.e. same ip:port pair or same serial device).
-        // If there are multiple read/write requests to process at the same time, block until previous one finishes
+        // Limit connections per endpoint (i.e. same ip:port pair or same serial device).
+        // If there are more read/write requests to process at the same time, block until previous one finishes.
+        // ModbusManagerImpl limits the concurrent connections further using the endpoint configuration
         setBlockWhenExhausted(true);
-        setMaxTotalPerKey(1);
+        setMaxTotalPerKey(MAX_CONNECTIONS_PER_ENDPOINT);
 
         // block infinitely when exhausted
         setMaxWaitMillis(-1);
@@ -0,0 +1,160 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.transport.modbus.ModbusQueueStatistics;
+
+/**
+ * Permits limiting the number of concurrent transactions with a single endpoint.
+ *
+ * Unlike {@link java.util.concurrent.Semaphore}, waiting callers are served in priority order: callers with
+ * {@link Priority#HIGH} are always served before callers with {@link Priority#NORMAL}. Callers with equal priority are
+ * served first-come-first-serve.
+ *
+ * The number of permits can be changed while permits are held, see {@link #setMaxPermits(int)}.
+ *
+ * Wait times are collected to a histogram, see {@link #getStatistics()}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class PrioritizedTransactionPermits {
+
+    /**
+     * Priority of the caller
+     */
+    public enum Priority {
+        /**
+         * Writes and one-off polls, typically initiated by the user
+         */
+        HIGH,
+        /**
+         * Regular polls
+         */
+        NORMAL
+    }
+
+    private static class Waiter {
+        private final Priority priority;
+        private final long sequence;
+
+        private Waiter(Priority priority, long sequence) {
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+    }
+
+    private int maxPermits;
+    private int inUse;
+    private long sequence;
+    private final PriorityQueue<Waiter> waiters = new PriorityQueue<>(
+            Comparator.comparing((Waiter waiter) -> waiter.priority).thenComparingLong(waiter -> waiter.sequence));
+    private final long[] waitTimeCounts = new long[ModbusQueueStatistics.WAIT_TIME_BUCKET_UPPER_BOUNDS_MILLIS.length
+            + 1];
+
+    public PrioritizedTransactionPermits(int maxPermits) {
+        setMaxPermits(maxPermits);
+    }
+
+    /**
+     * Change the number of permits
+     *
+     * Permits held already stay valid. When the number of permits is reduced, callers wait until enough permits have
+     * been released to stay within the new limit.
+     *
+     * @param maxPermits new number of permits
+     */
+    public synchronized void setMaxPermits(int maxPermits) {
+        if (maxPermits <= 0) {
+            throw new IllegalArgumentException("maxPermits should be positive");
+        }
+        this.maxPermits = maxPermits;
+        notifyAll();
+    }
+
+    /**
+     * Get the number of permits
+     */
+    public synchronized int getMaxPermits() {
+        return maxPermits;
+    }
+
+    /**
+     * Acquire permit, blocking until one is available and all callers with higher priority have been served
+     *
+     * @param priority priority of the caller
+     * @throws InterruptedException when interrupted while waiting
+     */
+    public void acquire(Priority priority) throws InterruptedException {
+        long start = System.currentTimeMillis();
+        synchronized (this) {
+            Waiter waiter = new Waiter(priority, sequence++);
+            waiters.add(waiter);
+            try {
+                while (inUse >= maxPermits || waiters.peek() != waiter) {
+                    wait();
+                }
+            } catch (InterruptedException e) {
+                waiters.remove(waiter);
+                // Let the next waiter proceed in case we were first in line
+                notifyAll();
+                throw e;
+            }
+            waiters.poll();
+            inUse++;
+            // Wake up the next waiter in case there are still permits left
+            notifyAll();
+            recordWaitTime(System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * Release permit acquired previously with {@link #acquire(Priority)}
+     *
+     * @throws IllegalStateException when there is no permit to release
+     */
+    public synchronized void release() {
+        if (inUse <= 0) {
+            throw new IllegalStateException("Permit released without acquiring it");
+        }
+        inUse--;
+        notifyAll();
+    }
+
+    /**
+     * Get number of callers waiting for a permit
+     */
+    public synchronized int getQueueLength() {
+        return waiters.size();
+    }
+
+    /**
+     * Get snapshot of the queue statistics
+     */
+    public synchronized ModbusQueueStatistics getStatistics() {
+        return new ModbusQueueStatistics(waiters.size(), waitTimeCounts.clone());
+    }
+
+    private void recordWaitTime(long waitMillis) {
+        long[] upperBounds = ModbusQueueStatistics.WAIT_TIME_BUCKET_UPPER_BOUNDS_MILLIS;
+        int bucket = 0;
+        while (bucket < upperBounds.length && waitMillis >= upperBounds[bucket]) {
+            bucket++;
+        }
+        waitTimeCounts[bucket]++;
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.transport.modbus.BasicModbusRegister;
+import org.openhab.io.transport.modbus.ModbusRegister;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+
+import net.wimpi.modbus.procimg.InputRegister;
+
+/**
+ * Implementation of {@link ModbusRegisterArray} which wraps register data in a {@link ByteBuffer}
+ *
+ * The buffer is expected to contain the register data as transmitted on the wire, that is, two bytes per register in
+ * big endian order. The constructor wraps the given buffer without copying it (later changes to the buffer content are
+ * visible through this array), while {@link #fromInputRegisters(InputRegister[])} copies the register values once into
+ * a new buffer. In both cases {@link #getUnsignedShort(int)} reads the values directly from the buffer without any
+ * allocations.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class RegisterArrayWrappingByteBuffer implements ModbusRegisterArray {
+
+    private final ByteBuffer buffer;
+    private final int offset;
+    private final int size;
+
+    /**
+     * Construct register array from buffer
+     *
+     * @param buffer buffer containing the register data. The register data is read starting from the current position
+     *            of the buffer up to the limit. Position of the buffer is not modified.
+     */
+    public RegisterArrayWrappingByteBuffer(ByteBuffer buffer) {
+        this.buffer = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+        this.offset = buffer.position();
+        this.size = buffer.remaining() / 2;
+    }
+
+    /**
+     * Construct register array by copying the data from the registers of the response
+     *
+     * @param registers registers of the response
+     * @return register array backed by single byte array
+     */
+    public static RegisterArrayWrappingByteBuffer fromInputRegisters(InputRegister[] registers) {
+        byte[] data = new byte[registers.length * 2];
+        for (int i = 0; i < registers.length; i++) {
+            int value = registers[i].toUnsignedShort();
+            data[2 * i] = (byte) (value >> 8);
+            data[2 * i + 1] = (byte) value;
+        }
+        return new RegisterArrayWrappingByteBuffer(ByteBuffer.wrap(data));
+    }
+
+    @Override
+    public ModbusRegister getRegister(int index) {
+        checkIndex(index);
+        return new BasicModbusRegister(buffer.get(offset + 2 * index), buffer.get(offset + 2 * index + 1));
+    }
+
+    @Override
+    public int getUnsignedShort(int index) {
+        checkIndex(index);
+        return buffer.getShort(offset + 2 * index) & 0xffff;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.format("Index %d out of bounds (size %d)", index, size));
+        }
+    }
+
+    @Override
+    public String toString() {
+        if (size == 0) {
+            return "RegisterArrayWrappingByteBuffer(<empty>)";
+        }
+        StringBuffer stringBuffer = new StringBuffer(size * 2).append("RegisterArrayWrappingByteBuffer(");
+        return appendHexString(stringBuffer).append(')').toString();
+    }
+}
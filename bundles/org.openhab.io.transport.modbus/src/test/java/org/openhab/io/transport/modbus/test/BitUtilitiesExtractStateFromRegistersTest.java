@@ -13,7 +13,7 @@
 package org.openhab.io.transport.modbus.test;
 
 import static org.hamcrest.CoreMatchers.*;
-import static org.junit.Assert.assertThat;
+import static org.junit.Assert.*;
 
 import java.nio.ByteBuffer;
 import java.util.Collection;
@@ -37,6 +37,7 @@ import org.openhab.io.transport.modbus.ModbusBitUtilities;
 import org.openhab.io.transport.modbus.ModbusConstants.ValueType;
 import org.openhab.io.transport.modbus.ModbusRegister;
 import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.internal.RegisterArrayWrappingByteBuffer;
 
 /**
  * @author Sami Salonen - Initial contribution
@@ -401,4 +402,31 @@ public class BitUtilitiesExtractStateFromRegistersTest {
         assertThat(String.format("registers=%s, index=%d, type=%s", registers, index, type), actualState,
                 is(equalTo(expectedStateWrapped)));
     }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testExtractDoubleFromRegisters() {
+        if (expectedResult instanceof Class && Exception.class.isAssignableFrom((Class) expectedResult)) {
+            shouldThrow.expect((Class) expectedResult);
+        }
+        // Verify also the ByteBuffer backed register array
+        ByteBuffer buffer = ByteBuffer.allocate(registers.size() * 2);
+        registers.forEach(register -> buffer.put(register.getBytes()));
+        buffer.rewind();
+        ModbusRegisterArray bufferRegisters = new RegisterArrayWrappingByteBuffer(buffer);
+
+        Optional<@NonNull DecimalType> expectedStateWrapped = expectedResult instanceof DecimalType
+                ? Optional.of((DecimalType) expectedResult)
+                : (Optional<@NonNull DecimalType>) expectedResult;
+        for (ModbusRegisterArray actualRegisters : new ModbusRegisterArray[] { registers, bufferRegisters }) {
+            double actual = ModbusBitUtilities.extractDoubleFromRegisters(actualRegisters, this.index, this.type);
+            String message = String.format("registers=%s, index=%d, type=%s", actualRegisters, index, type);
+            if (expectedStateWrapped.isPresent()) {
+                assertEquals(message, expectedStateWrapped.get().doubleValue(), actual, 0.0);
+            } else {
+                // NaN or infinity
+                assertThat(message, Double.isFinite(actual), is(equalTo(false)));
+            }
+        }
+    }
 }
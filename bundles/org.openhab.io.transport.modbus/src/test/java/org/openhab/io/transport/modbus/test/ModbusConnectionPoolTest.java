@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.commons.pool2.BaseKeyedPooledObjectFactory;
+import org.apache.commons.pool2.PooledObject;
+import org.apache.commons.pool2.impl.DefaultPooledObject;
+import org.junit.After;
+import org.junit.Test;
+import org.openhab.io.transport.modbus.endpoint.ModbusSerialSlaveEndpoint;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+import org.openhab.io.transport.modbus.endpoint.ModbusUDPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.ModbusConnectionPool;
+
+import gnu.io.SerialPort;
+import net.wimpi.modbus.Modbus;
+import net.wimpi.modbus.net.ModbusSlaveConnection;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class ModbusConnectionPoolTest {
+
+    private static class ConnectionFactory
+            extends BaseKeyedPooledObjectFactory<ModbusSlaveEndpoint, ModbusSlaveConnection> {
+
+        @Override
+        public ModbusSlaveConnection create(ModbusSlaveEndpoint key) throws Exception {
+            return mock(ModbusSlaveConnection.class);
+        }
+
+        @Override
+        public PooledObject<ModbusSlaveConnection> wrap(ModbusSlaveConnection value) {
+            return new DefaultPooledObject<>(value);
+        }
+    }
+
+    private final ModbusConnectionPool pool = new ModbusConnectionPool(new ConnectionFactory());
+
+    @After
+    public void tearDown() {
+        pool.close();
+    }
+
+    /**
+     * Borrow a connection in another thread, and return it once borrowed
+     *
+     * @return whether the connection was borrowed within the timeout
+     */
+    private boolean borrowInOtherThread(ModbusSlaveEndpoint endpoint, long timeoutMillis) throws InterruptedException {
+        CountDownLatch borrowed = new CountDownLatch(1);
+        AtomicReference<ModbusSlaveConnection> connection = new AtomicReference<>();
+        Thread thread = new Thread(() -> {
+            try {
+                connection.set(pool.borrowObject(endpoint));
+                borrowed.countDown();
+            } catch (Exception e) {
+                // not borrowed
+            }
+        });
+        thread.start();
+        boolean result = borrowed.await(timeoutMillis, TimeUnit.MILLISECONDS);
+        if (!result) {
+            thread.interrupt();
+        }
+        thread.join(5000);
+        if (connection.get() != null) {
+            pool.returnObject(endpoint, connection.get());
+        }
+        return result;
+    }
+
+    @Test
+    public void testSerialEndpointHasSingleConnection() throws Exception {
+        ModbusSerialSlaveEndpoint endpoint = new ModbusSerialSlaveEndpoint("port1", 9600, SerialPort.FLOWCONTROL_NONE,
+                SerialPort.FLOWCONTROL_NONE, SerialPort.DATABITS_8, SerialPort.STOPBITS_1, SerialPort.PARITY_NONE,
+                Modbus.DEFAULT_SERIAL_ENCODING, true, 500);
+        ModbusSlaveConnection connection = pool.borrowObject(endpoint);
+        assertThat(borrowInOtherThread(endpoint, 200), is(false));
+        assertThat(pool.getNumActive(endpoint), is(equalTo(1)));
+
+        pool.returnObject(endpoint, connection);
+        assertThat(borrowInOtherThread(endpoint, 5000), is(true));
+        assertThat(pool.getNumActive(endpoint), is(equalTo(0)));
+    }
+
+    @Test
+    public void testSerialEndpointIsFreedByInvalidate() throws Exception {
+        ModbusSerialSlaveEndpoint endpoint = new ModbusSerialSlaveEndpoint("port1", 9600, SerialPort.FLOWCONTROL_NONE,
+                SerialPort.FLOWCONTROL_NONE, SerialPort.DATABITS_8, SerialPort.STOPBITS_1, SerialPort.PARITY_NONE,
+                Modbus.DEFAULT_SERIAL_ENCODING, true, 500);
+        ModbusSlaveConnection connection = pool.borrowObject(endpoint);
+        pool.invalidateObject(endpoint, connection);
+        assertThat(borrowInOtherThread(endpoint, 5000), is(true));
+    }
+
+    @Test
+    public void testUDPEndpointHasSingleConnection() throws Exception {
+        ModbusUDPSlaveEndpoint endpoint = new ModbusUDPSlaveEndpoint("127.0.0.1", 502);
+        ModbusSlaveConnection connection = pool.borrowObject(endpoint);
+        assertThat(borrowInOtherThread(endpoint, 200), is(false));
+        pool.returnObject(endpoint, connection);
+    }
+
+    @Test
+    public void testTCPEndpointHasConcurrentConnections() throws Exception {
+        ModbusTCPSlaveEndpoint endpoint = new ModbusTCPSlaveEndpoint("127.0.0.1", 502);
+        ModbusSlaveConnection connection = pool.borrowObject(endpoint);
+        assertThat(borrowInOtherThread(endpoint, 5000), is(true));
+        pool.returnObject(endpoint, connection);
+    }
+}
@@ -0,0 +1,155 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.io.transport.modbus.BasicBitArray;
+import org.openhab.io.transport.modbus.BasicModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.BasicModbusRegisterArray;
+import org.openhab.io.transport.modbus.BasicPollTaskImpl;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.ModbusPollCoalescer;
+import org.openhab.io.transport.modbus.internal.ModbusPollCoalescer.CoalescedPollTask;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class ModbusPollCoalescerTest {
+
+    private static final ModbusTCPSlaveEndpoint ENDPOINT = new ModbusTCPSlaveEndpoint("localhost", 502);
+
+    private static PollTask task(ModbusReadFunctionCode functionCode, int start, int length,
+            ModbusReadCallback callback) {
+        return new BasicPollTaskImpl(ENDPOINT,
+                new BasicModbusReadRequestBlueprint(1, functionCode, start, length, 3), callback);
+    }
+
+    private static PollTask task(int start, int length) {
+        return task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, start, length, mock(ModbusReadCallback.class));
+    }
+
+    @Test
+    public void testAdjacentRequestsAreMerged() {
+        List<CoalescedPollTask> planned = new ModbusPollCoalescer(0)
+                .plan(Arrays.asList(task(10, 2), task(0, 5), task(5, 5)));
+        assertThat(planned.size(), is(equalTo(1)));
+        assertThat(planned.get(0).getRequest().getReference(), is(equalTo(0)));
+        assertThat(planned.get(0).getRequest().getDataLength(), is(equalTo(12)));
+        assertThat(planned.get(0).getMembers().size(), is(equalTo(3)));
+    }
+
+    @Test
+    public void testGapTolerance() {
+        List<PollTask> tasks = Arrays.asList(task(0, 2), task(5, 2));
+        assertThat(new ModbusPollCoalescer(2).plan(tasks).size(), is(equalTo(2)));
+        List<CoalescedPollTask> planned = new ModbusPollCoalescer(3).plan(tasks);
+        assertThat(planned.size(), is(equalTo(1)));
+        assertThat(planned.get(0).getRequest().getDataLength(), is(equalTo(7)));
+    }
+
+    @Test
+    public void testRegisterLimitIsRespected() {
+        List<CoalescedPollTask> planned = new ModbusPollCoalescer(0)
+                .plan(Arrays.asList(task(0, 100), task(100, 25), task(125, 1)));
+        assertThat(planned.size(), is(equalTo(2)));
+        assertThat(planned.get(0).getRequest().getDataLength(), is(equalTo(125)));
+        assertThat(planned.get(1).getRequest().getReference(), is(equalTo(125)));
+    }
+
+    @Test
+    public void testDifferentFunctionCodesAreNotMerged() {
+        ModbusReadCallback callback = mock(ModbusReadCallback.class);
+        List<CoalescedPollTask> planned = new ModbusPollCoalescer(0)
+                .plan(Arrays.asList(task(ModbusReadFunctionCode.READ_INPUT_REGISTERS, 0, 2, callback),
+                        task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 2, 2, callback)));
+        assertThat(planned.size(), is(equalTo(2)));
+    }
+
+    @Test
+    public void testRegistersAreFannedOut() {
+        ModbusReadCallback callback1 = mock(ModbusReadCallback.class);
+        ModbusReadCallback callback2 = mock(ModbusReadCallback.class);
+        PollTask task1 = task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 2, callback1);
+        PollTask task2 = task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 3, 1, callback2);
+        List<CoalescedPollTask> planned = new ModbusPollCoalescer(1).plan(Arrays.asList(task1, task2));
+        assertThat(planned.size(), is(equalTo(1)));
+
+        CoalescedPollTask coalesced = planned.get(0);
+        coalesced.getCallback().onRegisters(coalesced.getRequest(), new BasicModbusRegisterArray(1, 2, 3, 4));
+
+        ArgumentCaptor<ModbusRegisterArray> captor1 = ArgumentCaptor.forClass(ModbusRegisterArray.class);
+        verify(callback1).onRegisters(eq(task1.getRequest()), captor1.capture());
+        assertThat(captor1.getValue().size(), is(equalTo(2)));
+        assertThat(captor1.getValue().getRegister(0).getValue(), is(equalTo(1)));
+        assertThat(captor1.getValue().getRegister(1).getValue(), is(equalTo(2)));
+
+        ArgumentCaptor<ModbusRegisterArray> captor2 = ArgumentCaptor.forClass(ModbusRegisterArray.class);
+        verify(callback2).onRegisters(eq(task2.getRequest()), captor2.capture());
+        assertThat(captor2.getValue().size(), is(equalTo(1)));
+        assertThat(captor2.getValue().getRegister(0).getValue(), is(equalTo(4)));
+    }
+
+    @Test
+    public void testFailingCallbackDoesNotStarveOtherMembers() {
+        ModbusReadCallback callback1 = mock(ModbusReadCallback.class);
+        ModbusReadCallback callback2 = mock(ModbusReadCallback.class);
+        doThrow(new IllegalStateException("handler failed")).when(callback1).onRegisters(any(), any());
+        doThrow(new IllegalStateException("handler failed")).when(callback1).onError(any(), any());
+        PollTask task1 = task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 2, callback1);
+        PollTask task2 = task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 2, 2, callback2);
+        List<CoalescedPollTask> planned = new ModbusPollCoalescer(0).plan(Arrays.asList(task1, task2));
+        assertThat(planned.size(), is(equalTo(1)));
+
+        CoalescedPollTask coalesced = planned.get(0);
+        coalesced.getCallback().onRegisters(coalesced.getRequest(), new BasicModbusRegisterArray(1, 2, 3, 4));
+        verify(callback2).onRegisters(eq(task2.getRequest()), any());
+
+        Exception error = new Exception("read failed");
+        coalesced.getCallback().onError(coalesced.getRequest(), error);
+        verify(callback2).onError(task2.getRequest(), error);
+    }
+
+    @Test
+    public void testBitsAndErrorsAreFannedOut() {
+        ModbusReadCallback callback1 = mock(ModbusReadCallback.class);
+        ModbusReadCallback callback2 = mock(ModbusReadCallback.class);
+        PollTask task1 = task(ModbusReadFunctionCode.READ_COILS, 0, 1, callback1);
+        PollTask task2 = task(ModbusReadFunctionCode.READ_COILS, 1, 2, callback2);
+        CoalescedPollTask coalesced = new ModbusPollCoalescer(0).plan(Arrays.asList(task1, task2)).get(0);
+
+        coalesced.getCallback().onBits(coalesced.getRequest(), new BasicBitArray(true, false, true));
+        verify(callback1).onBits(task1.getRequest(), new BasicBitArray(true));
+        verify(callback2).onBits(task2.getRequest(), new BasicBitArray(false, true));
+
+        Exception error = new Exception("test");
+        coalesced.getCallback().onError(coalesced.getRequest(), error);
+        verify(callback1).onError(task1.getRequest(), error);
+        verify(callback2).onError(task2.getRequest(), error);
+        verify(callback1, never()).onRegisters(any(), any());
+        verify(callback2, never()).onBits(eq(task1.getRequest()), any(BitArray.class));
+    }
+}
@@ -0,0 +1,149 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.internal.PrioritizedTransactionPermits;
+import org.openhab.io.transport.modbus.internal.PrioritizedTransactionPermits.Priority;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class PrioritizedTransactionPermitsTest {
+
+    private Thread startAcquire(PrioritizedTransactionPermits permits, Priority priority, String name,
+            List<String> order) throws InterruptedException {
+        int queueLength = permits.getQueueLength();
+        Thread thread = new Thread(() -> {
+            try {
+                permits.acquire(priority);
+                order.add(name);
+                permits.release();
+            } catch (InterruptedException e) {
+                order.add(name + "-interrupted");
+            }
+        });
+        thread.start();
+        // wait until the thread is queued
+        while (permits.getQueueLength() <= queueLength) {
+            Thread.sleep(5);
+        }
+        return thread;
+    }
+
+    @Test
+    public void testHighPriorityIsServedFirst() throws InterruptedException {
+        PrioritizedTransactionPermits permits = new PrioritizedTransactionPermits(1);
+        List<String> order = new CopyOnWriteArrayList<>();
+        permits.acquire(Priority.NORMAL);
+
+        Thread poll1 = startAcquire(permits, Priority.NORMAL, "poll1", order);
+        Thread poll2 = startAcquire(permits, Priority.NORMAL, "poll2", order);
+        Thread write = startAcquire(permits, Priority.HIGH, "write", order);
+        assertThat(permits.getStatistics().getQueueDepth(), is(equalTo(3)));
+
+        permits.release();
+        poll1.join(5000);
+        poll2.join(5000);
+        write.join(5000);
+
+        assertThat(order.toString(), is(equalTo("[write, poll1, poll2]")));
+        assertThat(permits.getQueueLength(), is(equalTo(0)));
+        long total = 0;
+        for (long count : permits.getStatistics().getWaitTimeCounts()) {
+            total += count;
+        }
+        assertThat(total, is(equalTo(4L)));
+    }
+
+    @Test
+    public void testInterruptedWaiterDoesNotBlockOthers() throws InterruptedException {
+        PrioritizedTransactionPermits permits = new PrioritizedTransactionPermits(1);
+        List<String> order = new CopyOnWriteArrayList<>();
+        permits.acquire(Priority.NORMAL);
+
+        Thread write = startAcquire(permits, Priority.HIGH, "write", order);
+        Thread poll = startAcquire(permits, Priority.NORMAL, "poll", order);
+        write.interrupt();
+        write.join(5000);
+
+        permits.release();
+        poll.join(5000);
+        assertThat(order.toString(), is(equalTo("[write-interrupted, poll]")));
+    }
+
+    @Test
+    public void testIncreasePermitsDuringTransaction() throws InterruptedException {
+        PrioritizedTransactionPermits permits = new PrioritizedTransactionPermits(1);
+        List<String> order = new CopyOnWriteArrayList<>();
+        permits.acquire(Priority.NORMAL);
+        Thread poll = startAcquire(permits, Priority.NORMAL, "poll", order);
+
+        // the waiting poll may proceed while the first transaction is still in-flight
+        permits.setMaxPermits(2);
+        poll.join(5000);
+        assertThat(order.toString(), is(equalTo("[poll]")));
+        permits.release();
+    }
+
+    @Test
+    public void testDecreasePermitsDuringTransaction() throws InterruptedException {
+        PrioritizedTransactionPermits permits = new PrioritizedTransactionPermits(2);
+        List<String> order = new CopyOnWriteArrayList<>();
+        permits.acquire(Priority.NORMAL);
+        permits.acquire(Priority.NORMAL);
+        permits.setMaxPermits(1);
+
+        Thread poll = startAcquire(permits, Priority.NORMAL, "poll", order);
+        // both in-flight transactions still hold their permits, one release is not enough with the new limit
+        permits.release();
+        poll.join(200);
+        assertThat(order.isEmpty(), is(true));
+
+        permits.release();
+        poll.join(5000);
+        assertThat(order.toString(), is(equalTo("[poll]")));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testReleaseWithoutAcquireFails() {
+        new PrioritizedTransactionPermits(2).release();
+    }
+
+    @Test
+    public void testReleaseTwiceFails() throws InterruptedException {
+        PrioritizedTransactionPermits permits = new PrioritizedTransactionPermits(1);
+        permits.acquire(Priority.NORMAL);
+        permits.release();
+        try {
+            permits.release();
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        // the extra release did not grant an extra permit
+        permits.acquire(Priority.NORMAL);
+        List<String> order = new CopyOnWriteArrayList<>();
+        Thread poll = startAcquire(permits, Priority.NORMAL, "poll", order);
+        assertThat(order.isEmpty(), is(true));
+        permits.release();
+        poll.join(5000);
+        assertThat(order.toString(), is(equalTo("[poll]")));
+    }
+}
@@ -14,6 +14,8 @@ package org.openhab.transform.map.internal;
 
 import java.io.FileReader;
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
 
 import org.eclipse.smarthome.core.transform.AbstractFileTransformationService;
@@ -31,7 +33,7 @@ import org.slf4j.LoggerFactory;
  * @author Gaël L'hopital - Make it localizable
  */
 @Component(immediate = true, service = TransformationService.class, property = { "smarthome.transform=MAP" })
-public class MapTransformationService extends AbstractFileTransformationService<Properties> {
+public class MapTransformationService extends AbstractFileTransformationService<Map<String, String>> {
 
     private final Logger logger = LoggerFactory.getLogger(MapTransformationService.class);
 
@@ -41,15 +43,15 @@ public class MapTransformationService extends AbstractFileTransformationService<
      * a file which is stored under the 'configurations/transform' folder. This file should be in property syntax, i.e.
      * simple lines with "key=value" pairs. To organize the various transformations one might use subfolders.
      *
-     * @param properties the list of properties which contains the key value pairs for the mapping.
+     * @param mapping the key value pairs of the mapping file
      * @param source the input to transform
      */
     @Override
-    protected String internalTransform(Properties properties, String source) throws TransformationException {
-        String target = properties.getProperty(source);
+    protected String internalTransform(Map<String, String> mapping, String source) throws TransformationException {
+        String target = mapping.get(source);
 
         if (target == null) {
-            target = properties.getProperty("");
+            target = mapping.get("");
             if (target == null) {
                 throw new TransformationException("Target value not found in map for '" + source + "'");
             }
@@ -60,10 +62,15 @@ public class MapTransformationService extends AbstractFileTransformationService<
     }
 
     @Override
-    protected Properties internalLoadTransform(String filename) throws TransformationException {
-        Properties result = new Properties();
+    protected Map<String, String> internalLoadTransform(String filename) throws TransformationException {
+        Properties properties = new Properties();
         try (FileReader reader = new FileReader(filename)) {
-            result.load(reader);
+            properties.load(reader);
+            // Properties is a synchronized Hashtable, copy the entries once so that lookups do not contend on a lock
+            Map<String, String> result = new HashMap<>(properties.size() * 4 / 3 + 1);
+            for (String key : properties.stringPropertyNames()) {
+                result.put(key, properties.getProperty(key));
+            }
             return result;
         } catch (IOException e) {
             throw new TransformationException("An error occurred while opening file.", e);
@@ -12,6 +12,10 @@
  */
 package org.openhab.transform.regex.internal;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -40,6 +44,23 @@ public class RegExTransformationService implements TransformationService {
 
     private static final Pattern SUBSTR_PATTERN = Pattern.compile("^s/(.*?[^\\\\])/(.*?[^\\\\])/(.*)$");
 
+    private static final int PATTERN_CACHE_SIZE = 200;
+
+    /**
+     * Compiled pattern of each transformation expression, i.e. the regex of a substitution or the anchored regex
+     */
+    private final Map<String, Pattern> patternCache = Collections
+            .synchronizedMap(new LinkedHashMap<String, Pattern>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.@Nullable Entry<String, Pattern> eldest) {
+                    return size() > PATTERN_CACHE_SIZE;
+                }
+            });
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+
     @Override
     public @Nullable String transform(String regExpression, String source) throws TransformationException {
         if (regExpression == null || source == null) {
@@ -56,17 +77,18 @@ public class RegExTransformationService implements TransformationService {
             String regex = substMatcher.group(1);
             String substitution = substMatcher.group(2);
             String options = substMatcher.group(3);
+            Matcher replaceMatcher = getPattern(regExpression, regex).matcher(source.trim());
             if (options.equals("g")) {
-                result = source.trim().replaceAll(regex, substitution);
+                result = replaceMatcher.replaceAll(substitution);
             } else {
-                result = source.trim().replaceFirst(regex, substitution);
+                result = replaceMatcher.replaceFirst(substitution);
             }
             if (result != null) {
                 return result;
             }
         }
 
-        Matcher matcher = Pattern.compile("^" + regExpression + "$", Pattern.DOTALL).matcher(source.trim());
+        Matcher matcher = getPattern(regExpression, null).matcher(source.trim());
         if (!matcher.matches()) {
             logger.debug(
                     "the given regex '^{}$' doesn't match the given content '{}' -> couldn't compute transformation",
@@ -95,4 +117,34 @@ public class RegExTransformationService implements TransformationService {
         return result;
     }
 
+    private Pattern getPattern(String regExpression, @Nullable String substitutionRegex) {
+        Pattern pattern = patternCache.get(regExpression);
+        if (pattern != null) {
+            cacheHits.incrementAndGet();
+            return pattern;
+        }
+        cacheMisses.incrementAndGet();
+        if (substitutionRegex != null) {
+            pattern = Pattern.compile(substitutionRegex);
+        } else {
+            pattern = Pattern.compile("^" + regExpression + "$", Pattern.DOTALL);
+        }
+        patternCache.put(regExpression, pattern);
+        return pattern;
+    }
+
+    /**
+     * Number of pattern lookups served from the cache
+     */
+    long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    /**
+     * Number of pattern lookups which required compiling the pattern
+     */
+    long getCacheMisses() {
+        return cacheMisses.get();
+    }
+
 }
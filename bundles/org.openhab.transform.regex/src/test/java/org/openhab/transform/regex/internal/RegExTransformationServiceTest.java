@@ -41,6 +41,17 @@ public class RegExTransformationServiceTest extends AbstractTransformationServic
         assertEquals("8", transformedResponse);
     }
 
+    @Test
+    public void testCompiledPatternIsReused() throws TransformationException {
+        String regex = ".*?<current_conditions>.*?<temp_c data=\"(.*?)\".*";
+        assertEquals("8", processor.transform(regex, source));
+        assertEquals("8", processor.transform(regex, source));
+        assertEquals("8", processor.transform("s/^.*$/8/", "42"));
+
+        assertEquals(2, processor.getCacheMisses());
+        assertEquals(1, processor.getCacheHits());
+    }
+
     @Test
     public void testTransformByRegex_noGroup() throws TransformationException {
 
@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.scale.internal;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Parsed content of a scale file.
+ *
+ * The ranges are indexed for lookups in O(log n): all distinct bounds are sorted, which splits the number line into
+ * elementary segments (each bound itself and the open intervals between consecutive bounds). Every range either
+ * contains a segment completely or not at all, so the matching label of each segment is resolved once when the file
+ * is loaded. A lookup then only needs a binary search over the bounds.
+ *
+ * As in the scale file, the first range containing a value wins when ranges overlap.
+ *
+ * @author agent - Initial contribution
+ */
+class ScaleTable {
+
+    private final String format;
+    private final String nonNumeric;
+    private final BigDecimal[] bounds;
+    /**
+     * Label per segment: index 2i + 1 is the label of bounds[i], index 2i the label of the open interval below
+     * bounds[i] and the last index the label of the open interval above the highest bound
+     */
+    private final String[] segmentLabels;
+
+    /**
+     * Construct table
+     *
+     * @param ranges ranges and their labels, in the order of the scale file
+     * @param format presentation format of the result
+     * @param nonNumeric label for non-numeric input, or <code>null</code> if not defined
+     */
+    ScaleTable(Map<Range, String> ranges, String format, String nonNumeric) {
+        this.format = format;
+        this.nonNumeric = nonNumeric;
+
+        TreeSet<BigDecimal> distinctBounds = new TreeSet<>();
+        for (Range range : ranges.keySet()) {
+            if (range.min != null) {
+                distinctBounds.add(range.min);
+            }
+            if (range.max != null) {
+                distinctBounds.add(range.max);
+            }
+        }
+        bounds = distinctBounds.toArray(new BigDecimal[0]);
+
+        segmentLabels = new String[2 * bounds.length + 1];
+        for (int segment = 0; segment < segmentLabels.length; segment++) {
+            BigDecimal representative = getRepresentative(segment);
+            for (Map.Entry<Range, String> entry : ranges.entrySet()) {
+                if (entry.getKey().contains(representative)) {
+                    segmentLabels[segment] = entry.getValue();
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Get a value lying in the given segment
+     */
+    private BigDecimal getRepresentative(int segment) {
+        if (bounds.length == 0) {
+            return BigDecimal.ZERO;
+        }
+        if (segment % 2 == 1) {
+            return bounds[segment / 2];
+        }
+        int upper = segment / 2;
+        if (upper == 0) {
+            return bounds[0].subtract(BigDecimal.ONE);
+        }
+        if (upper == bounds.length) {
+            return bounds[bounds.length - 1].add(BigDecimal.ONE);
+        }
+        // halving terminates always, no rounding needed
+        return bounds[upper - 1].add(bounds[upper]).divide(BigDecimal.valueOf(2));
+    }
+
+    /**
+     * Find the label of the first range containing the value
+     *
+     * @param value value to look up
+     * @return label, or <code>null</code> if no range contains the value
+     */
+    String lookup(BigDecimal value) {
+        int index = Arrays.binarySearch(bounds, value);
+        int segment = index >= 0 ? 2 * index + 1 : 2 * (-index - 1);
+        return segmentLabels[segment];
+    }
+
+    String getFormat() {
+        return format;
+    }
+
+    String getNonNumeric() {
+        return nonNumeric;
+    }
+}
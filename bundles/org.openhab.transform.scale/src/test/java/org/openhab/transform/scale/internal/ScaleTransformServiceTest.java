@@ -14,7 +14,10 @@ package org.openhab.transform.scale.internal;
 
 import static org.junit.Assert.fail;
 
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
 import java.util.Locale;
+import java.util.Map;
 
 import javax.measure.quantity.Dimensionless;
 
@@ -150,4 +153,21 @@ public class ScaleTransformServiceTest {
         Assert.assertEquals("Correcte (992) !", transformedResponse);
     }
 
+    @Test
+    public void testScaleTableLookupAtBounds() {
+        Map<Range, String> ranges = new LinkedHashMap<>();
+        ranges.put(Range.closedOpen(new BigDecimal("10"), new BigDecimal("20")), "first");
+        ranges.put(Range.closed(new BigDecimal("15"), new BigDecimal("30.0")), "second");
+        ranges.put(Range.greaterThan(new BigDecimal("30")), "third");
+        ScaleTable table = new ScaleTable(ranges, "%label%", null);
+
+        Assert.assertNull(table.lookup(new BigDecimal("9.99")));
+        Assert.assertEquals("first", table.lookup(new BigDecimal("10")));
+        Assert.assertEquals("first", table.lookup(new BigDecimal("15")));
+        Assert.assertEquals("second", table.lookup(new BigDecimal("20.00")));
+        Assert.assertEquals("second", table.lookup(new BigDecimal("30")));
+        Assert.assertEquals("third", table.lookup(new BigDecimal("30.0001")));
+        Assert.assertEquals("third", table.lookup(new BigDecimal("1E+6")));
+    }
+
 }
@@ -13,12 +13,17 @@
 package org.openhab.transform.xpath.internal;
 
 import java.io.StringReader;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -41,8 +46,34 @@ import org.xml.sax.InputSource;
 @Component(immediate = true, property = { "smarthome.transform=XPATH" })
 public class XPathTransformationService implements TransformationService {
 
+    private static final int EXPRESSION_CACHE_SIZE = 50;
+
     private final Logger logger = LoggerFactory.getLogger(XPathTransformationService.class);
 
+    private final DocumentBuilderFactory domFactory;
+    private final XPathFactory xpathFactory = XPathFactory.newInstance();
+
+    /**
+     * XPathExpression is not thread-safe, so each evaluation synchronizes on the expression
+     */
+    private final Map<String, XPathExpression> expressionCache = Collections
+            .synchronizedMap(new LinkedHashMap<String, XPathExpression>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.@Nullable Entry<String, XPathExpression> eldest) {
+                    return size() > EXPRESSION_CACHE_SIZE;
+                }
+            });
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+
+    public XPathTransformationService() {
+        domFactory = DocumentBuilderFactory.newInstance();
+        domFactory.setNamespaceAware(true);
+        domFactory.setValidating(false);
+    }
+
     @Override
     public @Nullable String transform(String xpathExpression, String source) throws TransformationException {
         if (xpathExpression == null || source == null) {
@@ -54,10 +85,10 @@ public class XPathTransformationService implements TransformationService {
         StringReader stringReader = null;
 
         try {
-            DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
-            domFactory.setNamespaceAware(true);
-            domFactory.setValidating(false);
-            DocumentBuilder builder = domFactory.newDocumentBuilder();
+            DocumentBuilder builder;
+            synchronized (domFactory) {
+                builder = domFactory.newDocumentBuilder();
+            }
 
             stringReader = new StringReader(source);
             InputSource inputSource = new InputSource(stringReader);
@@ -65,10 +96,12 @@ public class XPathTransformationService implements TransformationService {
 
             Document doc = builder.parse(inputSource);
 
-            XPath xpath = XPathFactory.newInstance().newXPath();
-            XPathExpression expr = xpath.compile(xpathExpression);
+            XPathExpression expr = getCompiledExpression(xpathExpression);
 
-            String transformationResult = (String) expr.evaluate(doc, XPathConstants.STRING);
+            String transformationResult;
+            synchronized (expr) {
+                transformationResult = (String) expr.evaluate(doc, XPathConstants.STRING);
+            }
 
             logger.debug("transformation resulted in '{}'", transformationResult);
 
@@ -82,4 +115,35 @@ public class XPathTransformationService implements TransformationService {
         }
     }
 
+    private XPathExpression getCompiledExpression(String xpathExpression) throws XPathExpressionException {
+        XPathExpression expr = expressionCache.get(xpathExpression);
+        if (expr != null) {
+            cacheHits.incrementAndGet();
+            return expr;
+        }
+        cacheMisses.incrementAndGet();
+        XPath xpath;
+        synchronized (xpathFactory) {
+            xpath = xpathFactory.newXPath();
+        }
+        expr = xpath.compile(xpathExpression);
+        expressionCache.put(xpathExpression, expr);
+        logger.trace("compiled XPath expression '{}' (cache hits {}, misses {})", xpathExpression, cacheHits.get(),
+                cacheMisses.get());
+        return expr;
+    }
+
+    /**
+     * Number of transformations using an already compiled expression
+     */
+    long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    /**
+     * Number of transformations which needed to compile the expression
+     */
+    long getCacheMisses() {
+        return cacheMisses.get();
+    }
 }
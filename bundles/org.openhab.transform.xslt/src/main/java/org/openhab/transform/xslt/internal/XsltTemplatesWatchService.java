@@ -0,0 +1,138 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.xslt.internal;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.WatchEvent;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.xml.transform.Templates;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamSource;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.config.core.ConfigConstants;
+import org.eclipse.smarthome.core.service.AbstractWatchService;
+import org.eclipse.smarthome.core.transform.TransformationService;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link XsltTemplatesWatchService} keeps the compiled XSLT stylesheets of the transform folder. Compiled
+ * {@link Templates} are thread-safe and shared by all transformations, a stylesheet is compiled again only after the
+ * file has been modified or deleted. Each entry remembers the modification time of the file it was compiled from, so
+ * templates of a compilation that raced with a file change are never served after the change.
+ *
+ * @author agent - Initial contribution
+ */
+@Component(service = XsltTemplatesWatchService.class)
+@NonNullByDefault
+public class XsltTemplatesWatchService extends AbstractWatchService {
+    static final String TRANSFORM_FOLDER = ConfigConstants.getConfigFolder() + File.separator
+            + TransformationService.TRANSFORM_FOLDER_NAME;
+
+    private final Logger logger = LoggerFactory.getLogger(XsltTemplatesWatchService.class);
+    private final TransformerFactory transformerFactory = TransformerFactory.newInstance();
+    private final Map<Path, CachedTemplates> templatesCache = new ConcurrentHashMap<>();
+
+    private static class CachedTemplates {
+        private final Templates templates;
+        private final long lastModified;
+
+        private CachedTemplates(Templates templates, long lastModified) {
+            this.templates = templates;
+            this.lastModified = lastModified;
+        }
+    }
+
+    public XsltTemplatesWatchService() {
+        super(TRANSFORM_FOLDER);
+    }
+
+    @Activate
+    @Override
+    public void activate() {
+        super.activate();
+    }
+
+    @Deactivate
+    @Override
+    public void deactivate() {
+        super.deactivate();
+        templatesCache.clear();
+    }
+
+    @Override
+    protected boolean watchSubDirectories() {
+        return true;
+    }
+
+    @Override
+    protected WatchEvent.Kind<?>[] getWatchEventKinds(@Nullable Path directory) {
+        return new WatchEvent.Kind<?>[] { ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY };
+    }
+
+    @Override
+    protected void processWatchEvent(@Nullable WatchEvent<?> event, WatchEvent.@Nullable Kind<?> kind,
+            @Nullable Path path) {
+        if (kind == OVERFLOW || path == null) {
+            // events may have been lost, we cannot tell which stylesheets are stale
+            templatesCache.clear();
+            return;
+        }
+        if (templatesCache.remove(path.toAbsolutePath().normalize()) != null) {
+            logger.debug("Stylesheet {} changed, removed compiled templates from cache", path);
+        }
+    }
+
+    /**
+     * Get the compiled stylesheet, compiling it if it is not cached yet
+     *
+     * @param filename the name of the file relative to the transform folder
+     * @return compiled stylesheet
+     * @throws TransformerConfigurationException when the stylesheet cannot be compiled
+     */
+    public Templates getTemplates(String filename) throws TransformerConfigurationException {
+        Path path = Paths.get(TRANSFORM_FOLDER, filename).toAbsolutePath().normalize();
+        // read before compiling, a change during the compilation makes the entry stale on the next lookup
+        long lastModified = path.toFile().lastModified();
+        CachedTemplates cached = templatesCache.get(path);
+        if (cached == null || cached.lastModified != lastModified) {
+            logger.debug("Compiling stylesheet {}", path);
+            Templates templates;
+            synchronized (transformerFactory) {
+                templates = transformerFactory.newTemplates(new StreamSource(path.toFile()));
+            }
+            cached = new CachedTemplates(templates, lastModified);
+            templatesCache.put(path, cached);
+        }
+        return cached.templates;
+    }
+
+    /**
+     * Get the number of compiled stylesheets in the cache
+     */
+    int getCachedTemplatesCount() {
+        return templatesCache.size();
+    }
+}
@@ -12,22 +12,21 @@
  */
 package org.openhab.transform.xslt.internal;
 
-import java.io.File;
 import java.io.StringReader;
 import java.io.StringWriter;
 
-import javax.xml.transform.Source;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.Templates;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
-import org.eclipse.smarthome.config.core.ConfigConstants;
 import org.eclipse.smarthome.core.transform.TransformationException;
 import org.eclipse.smarthome.core.transform.TransformationService;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,6 +42,13 @@ public class XsltTransformationService implements TransformationService {
 
     private final Logger logger = LoggerFactory.getLogger(XsltTransformationService.class);
 
+    private final XsltTemplatesWatchService templatesWatchService;
+
+    @Activate
+    public XsltTransformationService(@Reference XsltTemplatesWatchService templatesWatchService) {
+        this.templatesWatchService = templatesWatchService;
+    }
+
     /**
      * Transforms the input <code>source</code> by XSLT.
      *
@@ -60,37 +66,33 @@ public class XsltTransformationService implements TransformationService {
             throw new TransformationException("the given parameters 'filename' and 'source' must not be null");
         }
 
-        Source xsl = null;
+        Templates templates;
 
         try {
-            String path = ConfigConstants.getConfigFolder() + File.separator
-                    + TransformationService.TRANSFORM_FOLDER_NAME + File.separator + filename;
-            xsl = new StreamSource(new File(path));
-        } catch (Exception e) {
+            templates = templatesWatchService.getTemplates(filename);
+        } catch (TransformerConfigurationException e) {
             String message = "opening file '" + filename + "' throws exception";
 
             logger.error("{}", message, e);
             throw new TransformationException(message, e);
         }
 
-        logger.debug("about to transform '{}' by the function '{}'", source, xsl);
-
-        StringReader xml = new StringReader(source);
-        StringWriter out = new StringWriter();
+        logger.debug("about to transform '{}' by the function '{}'", source, filename);
 
-        Transformer transformer;
+        StringWriter out = new StringWriter(source.length());
 
         try {
-            transformer = TransformerFactory.newInstance().newTransformer(xsl);
-            transformer.transform(new StreamSource(xml), new StreamResult(out));
+            // Templates are thread-safe, Transformer instances are not and are created per transformation
+            templates.newTransformer().transform(new StreamSource(new StringReader(source)), new StreamResult(out));
         } catch (Exception e) {
             logger.error("transformation throws exception", e);
             throw new TransformationException("transformation throws exception", e);
         }
 
-        logger.debug("transformation resulted in '{}'", out.toString());
+        String result = out.toString();
+        logger.debug("transformation resulted in '{}'", result);
 
-        return out.toString();
+        return result;
     }
 
 }
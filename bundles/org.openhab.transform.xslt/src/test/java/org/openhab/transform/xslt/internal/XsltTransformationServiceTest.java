@@ -12,7 +12,14 @@
  */
 package org.openhab.transform.xslt.internal;
 
-import static org.junit.Assert.assertEquals;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.file.Paths;
+
+import javax.xml.transform.Templates;
+import javax.xml.transform.TransformerConfigurationException;
 
 import org.eclipse.smarthome.core.transform.TransformationException;
 import org.junit.Before;
@@ -24,11 +31,13 @@ import org.openhab.transform.xslt.internal.XsltTransformationService;
  */
 public class XsltTransformationServiceTest extends AbstractTransformationServiceTest {
 
+    private XsltTemplatesWatchService templatesWatchService;
     private XsltTransformationService processor;
 
     @Before
     public void init() {
-        processor = new XsltTransformationService();
+        templatesWatchService = new XsltTemplatesWatchService();
+        processor = new XsltTransformationService(templatesWatchService);
     }
 
     @Test
@@ -41,4 +50,34 @@ public class XsltTransformationServiceTest extends AbstractTransformationService
         assertEquals("8", transformedResponse);
     }
 
+    @Test
+    public void testCompiledStylesheetIsCachedUntilModified() throws TransformationException {
+        assertEquals("8", processor.transform("http/google_weather.xsl", source));
+        assertEquals("8", processor.transform("http/google_weather.xsl", source));
+        assertEquals(1, templatesWatchService.getCachedTemplatesCount());
+
+        templatesWatchService.processWatchEvent(null, ENTRY_MODIFY,
+                Paths.get(XsltTemplatesWatchService.TRANSFORM_FOLDER, "http", "google_weather.xsl"));
+        assertEquals(0, templatesWatchService.getCachedTemplatesCount());
+
+        assertEquals("8", processor.transform("http/google_weather.xsl", source));
+        assertEquals(1, templatesWatchService.getCachedTemplatesCount());
+    }
+
+    @Test
+    public void testStylesheetModifiedWithoutEventIsCompiledAgain() throws TransformerConfigurationException {
+        Templates templates = templatesWatchService.getTemplates("http/google_weather.xsl");
+        assertSame(templates, templatesWatchService.getTemplates("http/google_weather.xsl"));
+
+        File file = Paths.get(XsltTemplatesWatchService.TRANSFORM_FOLDER, "http", "google_weather.xsl").toFile();
+        long lastModified = file.lastModified();
+        try {
+            // modification which has not been reported by the watch service (yet)
+            assertTrue(file.setLastModified(lastModified + 2000));
+            assertNotSame(templates, templatesWatchService.getTemplates("http/google_weather.xsl"));
+        } finally {
+            file.setLastModified(lastModified);
+        }
+    }
+
 }
@@ -14,25 +14,28 @@ package org.openhab.voice.googletts.internal;
 
 import static org.openhab.voice.googletts.internal.GoogleTTSService.*;
 
-import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.util.HashSet;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 
-import org.eclipse.smarthome.config.core.ConfigConstants;
 import org.eclipse.smarthome.config.core.ConfigurableService;
 import org.eclipse.smarthome.core.audio.AudioFormat;
 import org.eclipse.smarthome.core.audio.AudioStream;
-import org.eclipse.smarthome.core.audio.ByteArrayAudioStream;
 import org.eclipse.smarthome.core.voice.TTSException;
 import org.eclipse.smarthome.core.voice.TTSService;
 import org.eclipse.smarthome.core.voice.Voice;
 import org.openhab.voice.googletts.internal.protocol.AudioEncoding;
+import org.openhab.voice.ttscache.LegacyTTSCache;
+import org.openhab.voice.ttscache.TTSCache;
+import org.openhab.voice.ttscache.TTSCacheKey;
 import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -66,11 +69,6 @@ public class GoogleTTSService implements TTSService {
      */
     static final String SERVICE_PID = "org.openhab." + SERVICE_CATEGORY + "." + SERVICE_ID;
 
-    /**
-     * Cache folder under $userdata
-     */
-    private static final String CACHE_FOLDER_NAME = "cache";
-
     /**
      * Configuration parameters
      */
@@ -105,23 +103,34 @@ public class GoogleTTSService implements TTSService {
      */
     private GoogleTTSConfig config = new GoogleTTSConfig();
 
+    /**
+     * Shared cache of the synthesized speech
+     */
+    private TTSCache ttsCache;
+
+    /**
+     * The cache folder used before the shared cache, its speech is moved to the shared cache when it is spoken again
+     */
+    private final LegacyTTSCache legacyCache = new LegacyTTSCache(SERVICE_PID);
+
     /**
      * DS activate, with access to ConfigAdmin
      */
     @Activate
     protected void activate(Map<String, Object> config) {
-        // create cache folder
-        File userData = new File(ConfigConstants.getUserDataFolder());
-        File cacheFolder = new File(new File(userData, CACHE_FOLDER_NAME), SERVICE_PID);
-        if (!cacheFolder.exists()) {
-            cacheFolder.mkdirs();
-        }
-        logger.info("Using cache folder {}", cacheFolder.getAbsolutePath());
-
-        apiImpl = new GoogleCloudAPI(cacheFolder);
+        apiImpl = new GoogleCloudAPI();
         updateConfig(config);
     }
 
+    @Reference
+    protected void setTTSCache(TTSCache ttsCache) {
+        this.ttsCache = ttsCache;
+    }
+
+    protected void unsetTTSCache(TTSCache ttsCache) {
+        this.ttsCache = null;
+    }
+
     /**
      * Initializing audio formats. Google supports 3 formats:
      * LINEAR16
@@ -218,6 +227,13 @@ public class GoogleTTSService implements TTSService {
                     audioFormats = initAudioFormats();
                 }
             }
+
+            // maintain cache
+            if (config.getPurgeCache() != null && config.getPurgeCache()) {
+                ttsCache.purge(SERVICE_ID);
+                legacyCache.purge();
+                logger.debug("Cache purged.");
+            }
         } else {
             logger.error("Missing Google Cloud TTS configuration.");
         }
@@ -306,11 +322,27 @@ public class GoogleTTSService implements TTSService {
             throw new TTSException("The passed AudioFormat is unsupported");
         }
 
-        // create the audio byte array for given text, locale, format
-        byte[] audio = apiImpl.synthesizeSpeech(trimmedText, (GoogleTTSVoice) voice, requestedFormat.getCodec());
-        if (audio == null) {
-            throw new TTSException("Could not read from Google Cloud TTS Service");
-        }
-        return new ByteArrayAudioStream(audio, requestedFormat);
+        // get the audio for given text, voice, configuration and format from the cache or from Google
+        GoogleTTSVoice googleVoice = (GoogleTTSVoice) voice;
+        String codec = requestedFormat.getCodec();
+        String configString = config.toConfigString();
+        String fileExtension = apiImpl.getFileExtension(codec);
+        TTSCacheKey key = new TTSCacheKey(SERVICE_ID, googleVoice.getTechnicalName() + "," + configString,
+                fileExtension, trimmedText);
+        return ttsCache.get(key, requestedFormat, target -> {
+            if (legacyCache.moveTo(googleVoice.getTechnicalName(), configString + trimmedText, fileExtension, target)) {
+                return;
+            }
+            byte[] audio;
+            try {
+                audio = apiImpl.synthesizeSpeech(trimmedText, googleVoice, codec);
+            } catch (IOException e) {
+                throw new TTSException("Could not read from Google Cloud TTS Service: " + e.getMessage(), e);
+            }
+            if (audio == null) {
+                throw new TTSException("Could not read from Google Cloud TTS Service");
+            }
+            Files.write(target.toPath(), audio);
+        });
     }
 }
@@ -13,6 +13,7 @@
 package org.openhab.voice.mactts.internal;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.Collections;
@@ -21,13 +22,15 @@ import java.util.Locale;
 import java.util.Set;
 
 import org.apache.commons.io.IOUtils;
-import org.eclipse.smarthome.core.audio.AudioException;
 import org.eclipse.smarthome.core.audio.AudioFormat;
 import org.eclipse.smarthome.core.audio.AudioStream;
 import org.eclipse.smarthome.core.voice.TTSException;
 import org.eclipse.smarthome.core.voice.TTSService;
 import org.eclipse.smarthome.core.voice.Voice;
+import org.openhab.voice.ttscache.TTSCache;
+import org.openhab.voice.ttscache.TTSCacheKey;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -53,6 +56,17 @@ public class MacTTSService implements TTSService {
      */
     private final Set<AudioFormat> audioFormats = initAudioFormats();
 
+    private TTSCache ttsCache;
+
+    @Reference
+    protected void setTTSCache(TTSCache ttsCache) {
+        this.ttsCache = ttsCache;
+    }
+
+    protected void unsetTTSCache(TTSCache ttsCache) {
+        this.ttsCache = null;
+    }
+
     @Override
     public Set<Voice> getAvailableVoices() {
         return this.voices;
@@ -83,10 +97,28 @@ public class MacTTSService implements TTSService {
             throw new TTSException("The passed AudioFormat is unsupported");
         }
 
+        TTSCacheKey key = new TTSCacheKey(getId(), voice.getUID(), "wav", text);
+        return ttsCache.get(key, requestedFormat, target -> synthesize(text, voice, requestedFormat, target));
+    }
+
+    /**
+     * Lets the "say" command write the speech to the given file
+     */
+    private void synthesize(String text, Voice voice, AudioFormat audioFormat, File target)
+            throws IOException, TTSException {
+        String[] command = new String[] { "say", "--voice=" + voice.getLabel(),
+                "--output-file=" + target.getAbsolutePath(), "--file-format=" + audioFormat.getContainer(),
+                "--data-format=LEI" + audioFormat.getBitDepth() + "@" + audioFormat.getFrequency(),
+                "--channels=1", // Mono
+                text };
         try {
-            return new MacTTSAudioStream(text, voice, requestedFormat);
-        } catch (AudioException e) {
-            throw new TTSException(e);
+            Process process = Runtime.getRuntime().exec(command);
+            if (process.waitFor() != 0) {
+                throw new TTSException("The 'say' command exited with code " + process.exitValue());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TTSException("The 'say' command has been interrupted", e);
         }
     }
 
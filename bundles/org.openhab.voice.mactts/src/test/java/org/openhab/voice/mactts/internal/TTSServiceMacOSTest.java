@@ -12,16 +12,21 @@
  */
 package org.openhab.voice.mactts.internal;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.Set;
 
+import org.eclipse.smarthome.core.audio.AudioException;
 import org.eclipse.smarthome.core.audio.AudioFormat;
 import org.eclipse.smarthome.core.audio.AudioStream;
+import org.eclipse.smarthome.core.audio.FileAudioStream;
 import org.eclipse.smarthome.core.voice.TTSException;
 import org.eclipse.smarthome.core.voice.Voice;
 import org.junit.Assert;
 import org.junit.Assume;
 import org.junit.Test;
+import org.openhab.voice.ttscache.TTSCache;
+import org.openhab.voice.ttscache.TTSCacheKey;
 
 /**
  * Test TTSServiceMacOS
@@ -60,6 +65,23 @@ public class TTSServiceMacOSTest {
         Assume.assumeTrue("Mac OS X".equals(System.getProperty("os.name")));
 
         MacTTSService ttsServiceMacOS = new MacTTSService();
+        ttsServiceMacOS.setTTSCache(new TTSCache() {
+            @Override
+            public AudioStream get(TTSCacheKey key, AudioFormat format, Synthesizer synthesizer) throws TTSException {
+                try {
+                    File file = File.createTempFile("mactts", ".wav");
+                    file.deleteOnExit();
+                    synthesizer.synthesize(file);
+                    return new FileAudioStream(file, format);
+                } catch (IOException | AudioException e) {
+                    throw new TTSException(e);
+                }
+            }
+
+            @Override
+            public void purge(String serviceId) {
+            }
+        });
         Set<Voice> voices = ttsServiceMacOS.getAvailableVoices();
         Set<AudioFormat> audioFormats = ttsServiceMacOS.getSupportedFormats();
         try (AudioStream audioStream = ttsServiceMacOS.synthesize("Hello", voices.iterator().next(),
@@ -14,7 +14,10 @@ package org.openhab.voice.marytts.internal;
 
 import static javax.sound.sampled.AudioSystem.NOT_SPECIFIED;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.HashSet;
 import java.util.Locale;
 import java.util.Set;
@@ -23,7 +26,10 @@ import org.eclipse.smarthome.core.audio.AudioFormat;
 import org.eclipse.smarthome.core.audio.AudioStream;
 import org.eclipse.smarthome.core.voice.TTSException;
 import org.eclipse.smarthome.core.voice.TTSService;
+import org.openhab.voice.ttscache.TTSCache;
+import org.openhab.voice.ttscache.TTSCacheKey;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -56,6 +62,8 @@ public class MaryTTSService implements TTSService {
      */
     private Set<AudioFormat> audioFormats;
 
+    private TTSCache ttsCache;
+
     protected void activate() {
         try {
             marytts = new LocalMaryInterface();
@@ -66,6 +74,15 @@ public class MaryTTSService implements TTSService {
         }
     }
 
+    @Reference
+    protected void setTTSCache(TTSCache ttsCache) {
+        this.ttsCache = ttsCache;
+    }
+
+    protected void unsetTTSCache(TTSCache ttsCache) {
+        this.ttsCache = null;
+    }
+
     @Override
     public Set<org.eclipse.smarthome.core.voice.Voice> getAvailableVoices() {
         return voices;
@@ -114,6 +131,14 @@ public class MaryTTSService implements TTSService {
         Voice maryTTSVoice = Voice.getVoice(voice.getLabel());
         AudioFormat maryTTSVoiceAudioFormat = getAudioFormat(maryTTSVoice.dbAudioFormat());
 
+        TTSCacheKey key = new TTSCacheKey(getId(), voice.getUID(), "wav", text);
+        return ttsCache.get(key, maryTTSVoiceAudioFormat,
+                target -> synthesize(text, voice, maryTTSVoiceAudioFormat, target));
+    }
+
+    private void synthesize(String text, org.eclipse.smarthome.core.voice.Voice voice, AudioFormat audioFormat,
+            File target) throws IOException, TTSException {
+        MaryTTSAudioStream audioStream;
         // Synchronize on marytts
         synchronized (marytts) {
             // Set voice (Each voice supports only a single AudioFormat)
@@ -121,11 +146,16 @@ public class MaryTTSService implements TTSService {
             marytts.setVoice(voice.getLabel());
 
             try {
-                return new MaryTTSAudioStream(marytts.generateAudio(text), maryTTSVoiceAudioFormat);
-            } catch (SynthesisException | IOException e) {
+                audioStream = new MaryTTSAudioStream(marytts.generateAudio(text), audioFormat);
+            } catch (SynthesisException e) {
                 throw new TTSException("Error generating an AudioStream", e);
             }
         }
+        try {
+            Files.copy(audioStream, target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            audioStream.close();
+        }
     }
 
     /**
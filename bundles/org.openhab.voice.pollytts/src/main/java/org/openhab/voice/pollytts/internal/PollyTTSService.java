@@ -16,28 +16,32 @@ import static java.util.stream.Collectors.toSet;
 import static org.eclipse.smarthome.core.audio.AudioFormat.*;
 import static org.openhab.voice.pollytts.internal.PollyTTSService.*;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 
-import org.eclipse.smarthome.config.core.ConfigConstants;
 import org.eclipse.smarthome.config.core.ConfigurableService;
-import org.eclipse.smarthome.core.audio.AudioException;
 import org.eclipse.smarthome.core.audio.AudioFormat;
 import org.eclipse.smarthome.core.audio.AudioStream;
 import org.eclipse.smarthome.core.voice.TTSException;
 import org.eclipse.smarthome.core.voice.TTSService;
 import org.eclipse.smarthome.core.voice.Voice;
-import org.openhab.voice.pollytts.internal.cloudapi.CachedPollyTTSCloudImpl;
+import org.openhab.voice.pollytts.internal.cloudapi.PollyTTSCloudImpl;
 import org.openhab.voice.pollytts.internal.cloudapi.PollyTTSConfig;
+import org.openhab.voice.ttscache.LegacyTTSCache;
+import org.openhab.voice.ttscache.TTSCache;
+import org.openhab.voice.ttscache.TTSCacheKey;
 import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -72,17 +76,19 @@ public class PollyTTSService implements TTSService {
      */
     static final String SERVICE_PID = "org.openhab." + SERVICE_CATEGORY + "." + SERVICE_ID;
 
+    private final Logger logger = LoggerFactory.getLogger(PollyTTSService.class);
+
+    private PollyTTSCloudImpl pollyTTSImpl;
+
     /**
-     * Cache folder under $userdata
+     * The shared cache allows for FixedLengthAudioStream and saves requests for texts that have been spoken before.
      */
-    private static final String CACHE_FOLDER_NAME = "cache";
-
-    private final Logger logger = LoggerFactory.getLogger(PollyTTSService.class);
+    private TTSCache ttsCache;
 
     /**
-     * We need the cached implementation to allow for FixedLengthAudioStream.
+     * The cache folder used before the shared cache, its speech is moved to the shared cache when it is spoken again
      */
-    private CachedPollyTTSCloudImpl pollyTTSImpl;
+    private final LegacyTTSCache legacyCache = new LegacyTTSCache(SERVICE_PID);
 
     /**
      * Set of supported voices
@@ -106,15 +112,12 @@ public class PollyTTSService implements TTSService {
         try {
             pollyTTSConfig = new PollyTTSConfig(config);
             logger.debug("Using configuration {}", config);
-
-            // create cache folder
-            File cacheFolder = new File(new File(ConfigConstants.getUserDataFolder(), CACHE_FOLDER_NAME), SERVICE_PID);
-            if (!cacheFolder.exists()) {
-                cacheFolder.mkdirs();
+            if (pollyTTSConfig.getExpireDate() > 0) {
+                logger.warn("The PollyTTS cache expiration is deprecated and ignored, configure the expiration of the "
+                        + "Text-to-Speech Cache instead");
             }
-            logger.info("Using cache folder {}", cacheFolder.getAbsolutePath());
 
-            pollyTTSImpl = new CachedPollyTTSCloudImpl(pollyTTSConfig, cacheFolder);
+            pollyTTSImpl = new PollyTTSCloudImpl(pollyTTSConfig);
 
             audioFormats.clear();
             audioFormats.addAll(initAudioFormats());
@@ -130,6 +133,15 @@ public class PollyTTSService implements TTSService {
         }
     }
 
+    @Reference
+    protected void setTTSCache(TTSCache ttsCache) {
+        this.ttsCache = ttsCache;
+    }
+
+    protected void unsetTTSCache(TTSCache ttsCache) {
+        this.ttsCache = null;
+    }
+
     @Override
     public Set<Voice> getAvailableVoices() {
         return Collections.unmodifiableSet(voices);
@@ -165,22 +177,20 @@ public class PollyTTSService implements TTSService {
             throw new TTSException("The passed AudioFormat is unsupported");
         }
 
-        // now create the input stream for given text, locale, format. There is
-        // only a default voice
-        try {
-            File cacheAudioFile = pollyTTSImpl.getTextToSpeechAsFile(text, voice.getLabel(),
-                    getApiAudioFormat(requestedFormat));
-            if (cacheAudioFile == null) {
-                throw new TTSException("Could not read from PollyTTS service");
+        // now get the audio stream for given text, voice, format from the cache or from the service
+        String apiAudioFormat = getApiAudioFormat(requestedFormat);
+        TTSCacheKey key = new TTSCacheKey(SERVICE_ID, voice.getLabel(), apiAudioFormat, text);
+        logger.debug("Audio Stream for '{}' in format {}", text, requestedFormat);
+        return ttsCache.get(key, requestedFormat, target -> {
+            if (legacyCache.moveTo(voice.getLabel(), text, apiAudioFormat, target)) {
+                return;
             }
-            logger.debug("Audio Stream for '{}' in format {}", text, requestedFormat);
-            AudioStream audioStream = new PollyTTSAudioStream(cacheAudioFile, requestedFormat);
-            return audioStream;
-        } catch (AudioException ex) {
-            throw new TTSException("Could not create AudioStream: " + ex.getMessage(), ex);
-        } catch (IOException ex) {
-            throw new TTSException("Could not read from PollyTTS service: " + ex.getMessage(), ex);
-        }
+            try (InputStream is = pollyTTSImpl.getTextToSpeech(text, voice.getLabel(), apiAudioFormat)) {
+                Files.copy(is, target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException ex) {
+                throw new TTSException("Could not read from PollyTTS service: " + ex.getMessage(), ex);
+            }
+        });
     }
 
     private Set<Voice> initVoices() {
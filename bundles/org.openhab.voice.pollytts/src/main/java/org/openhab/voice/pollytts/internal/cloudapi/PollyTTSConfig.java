@@ -33,9 +33,8 @@ public class PollyTTSConfig {
     private String accessKey = "";
     private String secretKey = "";
     private String serviceRegion = "eu-west-1";
-    private int expireDate = 0;
     private String audioFormat = "default";
-    private long lastDelete;
+    private int expireDate = 0;
 
     public PollyTTSConfig(Map<String, Object> config) {
         assertValidConfig(config);
@@ -72,7 +71,7 @@ public class PollyTTSConfig {
     }
 
     /**
-     * get the life time for cache files
+     * get the life time for cache files, it is deprecated and only read to warn that it is ignored
      */
     public int getExpireDate() {
         return expireDate;
@@ -85,26 +84,12 @@ public class PollyTTSConfig {
         return audioFormat;
     }
 
-    /**
-     * get the date when cache was cleaned last
-     */
-    public long getLastDelete() {
-        return lastDelete;
-    }
-
-    /**
-     * set the date when cache was cleaned last
-     */
-    public void setLastDelete(long lastDelete) {
-        this.lastDelete = lastDelete;
-    }
-
     @Override
     public String toString() {
         StringBuilder builder = new StringBuilder();
         builder.append("PollyTTSConfig [accessKey=").append(accessKey).append(", secretKey=").append(secretKey)
                 .append(", serviceRegion=").append(serviceRegion).append(", expireDate=").append(expireDate)
-                .append(", audioFormat=").append(audioFormat).append(", lastDelete=").append(lastDelete).append("]");
+                .append(", audioFormat=").append(audioFormat).append("]");
         return builder.toString();
     }
 }
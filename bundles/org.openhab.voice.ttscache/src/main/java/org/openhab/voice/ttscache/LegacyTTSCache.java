@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.ttscache;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.config.core.ConfigConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link LegacyTTSCache} is the cache folder a TTS service used before the {@link TTSCache} was shared.
+ *
+ * Its audio files are named like "Joanna_00a2653ac5f77063bc4ea2fee87318d3.mp3", a prefix (e.g. the voice), an MD5 hash
+ * of the text and the audio file type. A .txt file with the same name describes the audio. A file that is spoken
+ * again is moved to the shared cache, so it is not synthesized again, and the folder is deleted when it is empty.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class LegacyTTSCache {
+
+    private static final String TEXT_FILE_EXTENSION = ".txt";
+
+    private final Logger logger = LoggerFactory.getLogger(LegacyTTSCache.class);
+
+    private final File cacheFolder;
+
+    /**
+     * Creates the legacy cache of a TTS service.
+     *
+     * @param servicePid the PID of the TTS service, the cache folder was $userdata/cache/&lt;servicePid&gt;
+     */
+    public LegacyTTSCache(String servicePid) {
+        this(new File(new File(ConfigConstants.getUserDataFolder(), "cache"), servicePid));
+    }
+
+    LegacyTTSCache(File cacheFolder) {
+        this.cacheFolder = cacheFolder;
+    }
+
+    /**
+     * Moves cached speech to the given file.
+     *
+     * @param prefix the prefix of the file name, e.g. the voice
+     * @param hashedText the text the MD5 hash of the file name has been created from
+     * @param fileExtension the extension of the audio file, e.g. "mp3"
+     * @param target the file to move the speech to
+     * @return true if the speech has been moved, false if it is not in the legacy cache
+     * @throws IOException when the speech could not be moved
+     */
+    public boolean moveTo(String prefix, String hashedText, String fileExtension, File target) throws IOException {
+        if (!cacheFolder.isDirectory()) {
+            return false;
+        }
+        String baseName = prefix + "_" + TTSCacheKey.md5(hashedText);
+        File file = new File(cacheFolder, baseName + "." + fileExtension.toLowerCase());
+        if (!file.isFile()) {
+            return false;
+        }
+        logger.debug("Moving {} from the legacy cache folder {}", file.getName(), cacheFolder);
+        Files.move(file.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        Files.deleteIfExists(new File(cacheFolder, baseName + TEXT_FILE_EXTENSION).toPath());
+        if (cacheFolder.delete()) {
+            logger.debug("Deleted the empty legacy cache folder {}", cacheFolder);
+        }
+        return true;
+    }
+
+    /**
+     * Deletes the legacy cache folder with all the speech in it.
+     */
+    public void purge() {
+        File[] files = cacheFolder.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (!file.delete()) {
+                logger.debug("Could not delete {}", file);
+            }
+        }
+        if (cacheFolder.delete()) {
+            logger.debug("Deleted the legacy cache folder {}", cacheFolder);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.ttscache;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.core.audio.AudioFormat;
+import org.eclipse.smarthome.core.audio.AudioStream;
+import org.eclipse.smarthome.core.voice.TTSException;
+
+/**
+ * The {@link TTSCache} keeps synthesized speech of all TTS services, so a text that has been spoken before is not
+ * synthesized again.
+ *
+ * The cache is bounded in size and age and evicts the least recently used audio first.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public interface TTSCache {
+
+    /**
+     * Synthesizes speech into a file when it is not cached yet.
+     */
+    @FunctionalInterface
+    interface Synthesizer {
+
+        /**
+         * Writes the synthesized speech to the given file.
+         *
+         * @param target the file to write to, it exists and is empty
+         * @throws IOException when the audio could not be written
+         * @throws TTSException when the speech could not be synthesized
+         */
+        void synthesize(File target) throws IOException, TTSException;
+    }
+
+    /**
+     * Returns the cached speech for the given key or synthesizes and caches it.
+     *
+     * @param key the key of the speech
+     * @param format the format of the returned stream
+     * @param synthesizer synthesizes the speech when it is not cached
+     * @return the speech as audio stream
+     * @throws TTSException when the speech could not be synthesized or read
+     */
+    AudioStream get(TTSCacheKey key, AudioFormat format, Synthesizer synthesizer) throws TTSException;
+
+    /**
+     * Removes all cached speech of a TTS service.
+     *
+     * @param serviceId the id of the TTS service
+     */
+    void purge(String serviceId);
+}
@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.ttscache;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link TTSCacheKey} identifies a synthesized speech by the TTS service, the voice, the audio file type and the
+ * text.
+ *
+ * The voice can contain everything else that changes the audio, e.g. the pitch or speaking rate of the service.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public final class TTSCacheKey {
+
+    private final String serviceId;
+    private final String voiceId;
+    private final String fileExtension;
+    private final String text;
+    private final String fileName;
+
+    /**
+     * Creates a key.
+     *
+     * @param serviceId the id of the TTS service
+     * @param voiceId the voice and the settings of the service that change the audio
+     * @param fileExtension the extension of the audio file, e.g. "mp3"
+     * @param text the spoken text
+     */
+    public TTSCacheKey(String serviceId, String voiceId, String fileExtension, String text) {
+        this.serviceId = serviceId;
+        this.voiceId = voiceId;
+        this.fileExtension = fileExtension.toLowerCase(Locale.ROOT);
+        this.text = text;
+        this.fileName = serviceId + "_" + md5(voiceId + "\n" + text) + "." + this.fileExtension;
+    }
+
+    public String getServiceId() {
+        return serviceId;
+    }
+
+    public String getVoiceId() {
+        return voiceId;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Returns the name of the cache file, e.g. "pollytts_00a2653ac5f77063bc4ea2fee87318d3.mp3"
+     */
+    public String getFileName() {
+        return fileName;
+    }
+
+    static String md5(String value) {
+        try {
+            byte[] hash = MessageDigest.getInstance("MD5").digest(value.getBytes(StandardCharsets.UTF_8));
+            return String.format("%032x", new BigInteger(1, hash));
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform supports MD5
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        return obj instanceof TTSCacheKey && fileName.equals(((TTSCacheKey) obj).fileName);
+    }
+
+    @Override
+    public int hashCode() {
+        return fileName.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return fileName;
+    }
+}
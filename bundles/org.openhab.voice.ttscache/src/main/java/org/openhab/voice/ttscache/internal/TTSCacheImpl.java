@@ -0,0 +1,488 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.ttscache.internal;
+
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.config.core.ConfigConstants;
+import org.eclipse.smarthome.config.core.ConfigurableService;
+import org.eclipse.smarthome.core.audio.AudioException;
+import org.eclipse.smarthome.core.audio.AudioFormat;
+import org.eclipse.smarthome.core.audio.AudioStream;
+import org.eclipse.smarthome.core.audio.ByteArrayAudioStream;
+import org.eclipse.smarthome.core.audio.FileAudioStream;
+import org.eclipse.smarthome.core.voice.TTSException;
+import org.openhab.voice.ttscache.TTSCache;
+import org.openhab.voice.ttscache.TTSCacheKey;
+import org.osgi.framework.Constants;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link TTSCacheImpl} stores the synthesized speech in the folder $userdata/cache/org.openhab.voice.ttscache.
+ *
+ * An index of the cached files in least recently used order is kept in memory and rebuilt from the time stamps of the
+ * files when the cache is activated. Time stamps are updated whenever a file is used. The least recently used files
+ * are deleted when the cache grows larger than the configured size or when they have not been used for the
+ * configured number of days.
+ *
+ * Small audio that is used more than once is additionally kept in memory, so frequently spoken texts are played
+ * without reading the disk.
+ *
+ * A file that is still read by a stream, or by a stream cloned from it, is not deleted when it is evicted. It is
+ * deleted when the last of its streams is closed.
+ *
+ * Next to every audio file a .txt file with the voice and text is written, so it is possible to tell which speech is
+ * in which file.
+ *
+ * @author agent - Initial contribution
+ */
+@Component(configurationPid = TTSCacheImpl.SERVICE_PID, property = {
+        Constants.SERVICE_PID + "=" + TTSCacheImpl.SERVICE_PID,
+        ConfigurableService.SERVICE_PROPERTY_LABEL + "=Text-to-Speech Cache",
+        ConfigurableService.SERVICE_PROPERTY_DESCRIPTION_URI + "=voice:ttscache",
+        ConfigurableService.SERVICE_PROPERTY_CATEGORY + "=voice" })
+@NonNullByDefault
+public class TTSCacheImpl implements TTSCache {
+
+    static final String SERVICE_PID = "org.openhab.voice.ttscache";
+
+    static final String CONFIG_CACHE_SIZE = "cacheSize";
+    static final String CONFIG_CACHE_EXPIRATION = "cacheExpiration";
+    static final String CONFIG_MEMORY_CACHE_SIZE = "memoryCacheSize";
+
+    private static final long DEFAULT_CACHE_SIZE = 50;
+    private static final long DEFAULT_CACHE_EXPIRATION = 0;
+    private static final long DEFAULT_MEMORY_CACHE_SIZE = 1024;
+
+    /**
+     * Cache folder under $userdata
+     */
+    private static final String CACHE_FOLDER_NAME = "cache";
+
+    private static final String TEMP_FILE_PREFIX = "synthesis-";
+    private static final String TEXT_FILE_EXTENSION = ".txt";
+
+    /**
+     * Audio that is larger is never kept in memory
+     */
+    private static final long MAX_MEMORY_ENTRY_SIZE = 256 * 1024;
+
+    private static final long PURGE_INTERVAL = TimeUnit.HOURS.toMillis(1);
+
+    private final Logger logger = LoggerFactory.getLogger(TTSCacheImpl.class);
+
+    private static class CacheEntry {
+        final long size;
+        long lastUsed;
+
+        CacheEntry(long size, long lastUsed) {
+            this.size = size;
+            this.lastUsed = lastUsed;
+        }
+    }
+
+    // both maps are in access order, the least recently used entry comes first
+    private final Map<String, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, byte[]> memoryEntries = new LinkedHashMap<>(16, 0.75f, true);
+
+    // number of open streams of each file that is read, and the files to delete when their last stream is closed
+    private final Map<String, Integer> openStreams = new HashMap<>();
+    private final Set<String> pendingDeletes = new HashSet<>();
+
+    private final File cacheFolder;
+    private long size;
+    private long memorySize;
+    private long lastPurge;
+
+    private long maxSize = DEFAULT_CACHE_SIZE * 1024 * 1024;
+    private long maxAge = TimeUnit.DAYS.toMillis(DEFAULT_CACHE_EXPIRATION);
+    private long maxMemorySize = DEFAULT_MEMORY_CACHE_SIZE * 1024;
+
+    public TTSCacheImpl() {
+        this(new File(new File(ConfigConstants.getUserDataFolder(), CACHE_FOLDER_NAME), SERVICE_PID));
+    }
+
+    TTSCacheImpl(File cacheFolder) {
+        this.cacheFolder = cacheFolder;
+    }
+
+    @Activate
+    protected void activate(Map<String, Object> config) {
+        if (!cacheFolder.exists()) {
+            cacheFolder.mkdirs();
+        }
+        logger.debug("Using cache folder {}", cacheFolder.getAbsolutePath());
+        loadIndex();
+        modified(config);
+    }
+
+    @Modified
+    protected synchronized void modified(Map<String, Object> config) {
+        maxSize = getLong(config, CONFIG_CACHE_SIZE, DEFAULT_CACHE_SIZE) * 1024 * 1024;
+        maxAge = TimeUnit.DAYS.toMillis(getLong(config, CONFIG_CACHE_EXPIRATION, DEFAULT_CACHE_EXPIRATION));
+        maxMemorySize = getLong(config, CONFIG_MEMORY_CACHE_SIZE, DEFAULT_MEMORY_CACHE_SIZE) * 1024;
+        lastPurge = 0;
+        purgeExpired(System.currentTimeMillis());
+        evict(null);
+        logger.debug("Cache size is {} bytes in {} files, {} bytes in memory", size, entries.size(), memorySize);
+    }
+
+    private long getLong(Map<String, Object> config, String name, long defaultValue) {
+        Object value = config.get(name);
+        if (value == null || value.toString().trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Math.max(0, new BigDecimal(value.toString().trim()).longValue());
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid value '{}' for {}, using {}", value, name, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Rebuilds the index from the files in the cache folder, the oldest file is the least recently used one.
+     */
+    private synchronized void loadIndex() {
+        entries.clear();
+        memoryEntries.clear();
+        size = 0;
+        memorySize = 0;
+
+        File[] files = cacheFolder.listFiles();
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (File file : files) {
+            String name = file.getName();
+            if (name.startsWith(TEMP_FILE_PREFIX)) {
+                // left over from a synthesis that has been interrupted
+                deleteFile(file);
+            } else if (file.isFile() && !name.endsWith(TEXT_FILE_EXTENSION)) {
+                entries.put(name, new CacheEntry(file.length(), file.lastModified()));
+                size += file.length();
+            }
+        }
+    }
+
+    @Override
+    public AudioStream get(TTSCacheKey key, AudioFormat format, Synthesizer synthesizer) throws TTSException {
+        String fileName = key.getFileName();
+        File file = new File(cacheFolder, fileName);
+        long now = System.currentTimeMillis();
+
+        byte[] audio;
+        CacheEntry entry;
+        synchronized (this) {
+            purgeExpired(now);
+            audio = memoryEntries.get(fileName);
+            entry = entries.get(fileName);
+            if (entry != null) {
+                entry.lastUsed = now;
+            }
+        }
+
+        if (entry != null) {
+            if (file.setLastModified(now)) {
+                if (audio != null) {
+                    logger.debug("Using speech '{}' from memory", fileName);
+                    return new ByteArrayAudioStream(audio, format);
+                }
+                logger.debug("Using speech '{}' from cache", fileName);
+                return getCachedStream(file, entry.size, format);
+            }
+            // the file has been deleted by someone else
+            remove(fileName);
+        }
+
+        synthesize(key, file, synthesizer);
+        return getFileStream(file, format);
+    }
+
+    private AudioStream getCachedStream(File file, long length, AudioFormat format) throws TTSException {
+        if (length > MAX_MEMORY_ENTRY_SIZE || length > maxMemorySize) {
+            return getFileStream(file, format);
+        }
+        byte[] audio;
+        try {
+            audio = Files.readAllBytes(file.toPath());
+        } catch (IOException e) {
+            throw new TTSException("Could not read cached speech '" + file.getName() + "': " + e.getMessage(), e);
+        }
+        synchronized (this) {
+            if (entries.containsKey(file.getName()) && memoryEntries.put(file.getName(), audio) == null) {
+                memorySize += audio.length;
+                evictFromMemory();
+            }
+        }
+        return new ByteArrayAudioStream(audio, format);
+    }
+
+    private AudioStream getFileStream(File file, AudioFormat format) throws TTSException {
+        // the file is pinned before it is opened, so it can't be deleted in between
+        pin(file.getName());
+        try {
+            return new CachedFileAudioStream(file, format);
+        } catch (AudioException e) {
+            release(file.getName());
+            throw new TTSException("Could not read cached speech '" + file.getName() + "': " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Keeps a file from being deleted while a stream reads it
+     */
+    private synchronized void pin(String fileName) {
+        openStreams.merge(fileName, 1, Integer::sum);
+    }
+
+    /**
+     * Releases a file when a stream that reads it is closed, a file that has been evicted meanwhile is deleted when it
+     * is no longer read at all
+     */
+    private synchronized void release(String fileName) {
+        Integer count = openStreams.get(fileName);
+        if (count == null) {
+            return;
+        }
+        if (count > 1) {
+            openStreams.put(fileName, count - 1);
+            return;
+        }
+        openStreams.remove(fileName);
+        if (pendingDeletes.remove(fileName)) {
+            logger.trace("Deleting {} after its last stream has been closed", fileName);
+            deleteFiles(new File(cacheFolder, fileName));
+        }
+    }
+
+    private void synthesize(TTSCacheKey key, File file, Synthesizer synthesizer) throws TTSException {
+        logger.debug("Synthesizing speech '{}' for '{}'", file.getName(), key.getText());
+        File tempFile = null;
+        try {
+            tempFile = File.createTempFile(TEMP_FILE_PREFIX, "." + key.getFileExtension(), cacheFolder);
+            synthesizer.synthesize(tempFile);
+            if (tempFile.length() == 0) {
+                throw new TTSException("No speech has been synthesized for '" + key.getText() + "'");
+            }
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new TTSException("Could not synthesize '" + key.getText() + "': " + e.getMessage(), e);
+        } finally {
+            if (tempFile != null && tempFile.exists()) {
+                deleteFile(tempFile);
+            }
+        }
+
+        // write text to file for transparency too
+        // this allows to know which contents is in which audio file
+        String description = "Voice: " + key.getVoiceId() + "\nText: " + key.getText();
+        try {
+            Files.write(getTextFile(file).toPath(), description.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            logger.debug("Could not write text of {}: {}", file.getName(), e.getMessage());
+        }
+
+        synchronized (this) {
+            // the file has been replaced, so it must not be deleted when the streams of the evicted file are closed
+            pendingDeletes.remove(file.getName());
+            CacheEntry previous = entries.put(file.getName(), new CacheEntry(file.length(), System.currentTimeMillis()));
+            if (previous != null) {
+                size -= previous.size;
+            }
+            size += file.length();
+            evict(file.getName());
+        }
+    }
+
+    @Override
+    public synchronized void purge(String serviceId) {
+        String prefix = serviceId + "_";
+        int count = 0;
+        for (Iterator<String> iterator = entries.keySet().iterator(); iterator.hasNext();) {
+            String fileName = iterator.next();
+            if (fileName.startsWith(prefix)) {
+                iterator.remove();
+                delete(fileName);
+                count++;
+            }
+        }
+        logger.debug("Purged {} cached files of {}", count, serviceId);
+    }
+
+    /**
+     * Removes the least recently used files until the cache is small enough.
+     *
+     * @param keep the file that has just been added, it is not removed even when it exceeds the size on its own
+     */
+    private void evict(@Nullable String keep) {
+        Iterator<Map.Entry<String, CacheEntry>> iterator = entries.entrySet().iterator();
+        while (size > maxSize && iterator.hasNext()) {
+            Map.Entry<String, CacheEntry> entry = iterator.next();
+            if (!entry.getKey().equals(keep)) {
+                logger.trace("Evicting {}", entry.getKey());
+                iterator.remove();
+                size -= entry.getValue().size;
+                delete(entry.getKey());
+            }
+        }
+        evictFromMemory();
+    }
+
+    private void evictFromMemory() {
+        Iterator<byte[]> iterator = memoryEntries.values().iterator();
+        while (memorySize > maxMemorySize && iterator.hasNext()) {
+            memorySize -= iterator.next().length;
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Removes the files that have not been used for the configured time, this is checked at most once per hour.
+     */
+    private void purgeExpired(long now) {
+        if (maxAge == 0 || now - lastPurge < PURGE_INTERVAL) {
+            return;
+        }
+        lastPurge = now;
+        Iterator<Map.Entry<String, CacheEntry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, CacheEntry> entry = iterator.next();
+            if (now - entry.getValue().lastUsed <= maxAge) {
+                // all following entries have been used more recently
+                break;
+            }
+            logger.trace("Expiring {}", entry.getKey());
+            iterator.remove();
+            size -= entry.getValue().size;
+            delete(entry.getKey());
+        }
+    }
+
+    private synchronized void remove(String fileName) {
+        CacheEntry entry = entries.remove(fileName);
+        if (entry != null) {
+            size -= entry.size;
+            delete(fileName);
+        }
+    }
+
+    /**
+     * Deletes a file that has already been removed from the index, or defers it while the file is read
+     */
+    private void delete(String fileName) {
+        byte[] audio = memoryEntries.remove(fileName);
+        if (audio != null) {
+            memorySize -= audio.length;
+        }
+        if (openStreams.containsKey(fileName)) {
+            logger.trace("Deferring the deletion of {} until its streams are closed", fileName);
+            pendingDeletes.add(fileName);
+        } else {
+            deleteFiles(new File(cacheFolder, fileName));
+        }
+    }
+
+    private void deleteFiles(File file) {
+        deleteFile(file);
+        deleteFile(getTextFile(file));
+    }
+
+    private File getTextFile(File file) {
+        return new File(cacheFolder, file.getName() + TEXT_FILE_EXTENSION);
+    }
+
+    private void deleteFile(File file) {
+        try {
+            Files.deleteIfExists(file.toPath());
+        } catch (IOException e) {
+            logger.debug("Could not delete {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * A {@link FileAudioStream} that releases the pinned file when it is closed, its cloned streams pin the file too
+     */
+    private class CachedFileAudioStream extends FileAudioStream {
+
+        private final String fileName;
+        private boolean closed;
+
+        CachedFileAudioStream(File file, AudioFormat format) throws AudioException {
+            super(file, format);
+            this.fileName = file.getName();
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                if (!closed) {
+                    closed = true;
+                    release(fileName);
+                }
+            }
+        }
+
+        @Override
+        public InputStream getClonedStream() throws AudioException {
+            pin(fileName);
+            InputStream clonedStream;
+            try {
+                clonedStream = super.getClonedStream();
+            } catch (AudioException e) {
+                release(fileName);
+                throw e;
+            }
+            return new FilterInputStream(clonedStream) {
+                private boolean closed;
+
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        if (!closed) {
+                            closed = true;
+                            release(fileName);
+                        }
+                    }
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.ttscache;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for {@link LegacyTTSCache}.
+ *
+ * @author agent - Initial contribution
+ */
+public class LegacyTTSCacheTest {
+
+    // MD5 hash of "hello", as the cache file names of the TTS services had it
+    private static final String HELLO_FILE_NAME = "Joanna_5d41402abc4b2a76b9719d911017c592";
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private File legacyFolder;
+    private LegacyTTSCache legacyCache;
+
+    @Before
+    public void setUp() throws Exception {
+        legacyFolder = new File(folder.getRoot(), "org.openhab.voice.pollytts");
+        legacyFolder.mkdirs();
+        legacyCache = new LegacyTTSCache(legacyFolder);
+    }
+
+    private File write(String fileName, String content) throws Exception {
+        File file = new File(legacyFolder, fileName);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    @Test
+    public void cachedSpeechIsMoved() throws Exception {
+        write(HELLO_FILE_NAME + ".mp3", "audio");
+        write(HELLO_FILE_NAME + ".txt", "hello");
+        write("Joanna_other.mp3", "other audio");
+        File target = folder.newFile("target.mp3");
+
+        assertTrue(legacyCache.moveTo("Joanna", "hello", "MP3", target));
+
+        assertEquals("audio", new String(Files.readAllBytes(target.toPath()), StandardCharsets.UTF_8));
+        assertFalse(new File(legacyFolder, HELLO_FILE_NAME + ".mp3").exists());
+        assertFalse(new File(legacyFolder, HELLO_FILE_NAME + ".txt").exists());
+        assertTrue(new File(legacyFolder, "Joanna_other.mp3").exists());
+    }
+
+    @Test
+    public void uncachedSpeechIsNotMoved() throws Exception {
+        write(HELLO_FILE_NAME + ".mp3", "audio");
+        File target = folder.newFile("target.mp3");
+
+        assertFalse(legacyCache.moveTo("Joanna", "hello", "ogg", target));
+        assertFalse(legacyCache.moveTo("Matthew", "hello", "mp3", target));
+        assertFalse(legacyCache.moveTo("Joanna", "bye", "mp3", target));
+        assertEquals(0, target.length());
+    }
+
+    @Test
+    public void emptyFolderIsDeleted() throws Exception {
+        write(HELLO_FILE_NAME + ".mp3", "audio");
+        write(HELLO_FILE_NAME + ".txt", "hello");
+
+        assertTrue(legacyCache.moveTo("Joanna", "hello", "mp3", folder.newFile("target.mp3")));
+        assertFalse(legacyFolder.exists());
+        assertFalse(legacyCache.moveTo("Joanna", "hello", "mp3", folder.newFile("other.mp3")));
+    }
+
+    @Test
+    public void purgeDeletesTheFolder() throws Exception {
+        write(HELLO_FILE_NAME + ".mp3", "audio");
+        write(HELLO_FILE_NAME + ".txt", "hello");
+
+        legacyCache.purge();
+        assertFalse(legacyFolder.exists());
+        legacyCache.purge();
+    }
+}
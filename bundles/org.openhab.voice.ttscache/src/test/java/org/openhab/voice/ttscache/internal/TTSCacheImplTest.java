@@ -0,0 +1,175 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.ttscache.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.smarthome.core.audio.AudioFormat;
+import org.eclipse.smarthome.core.audio.AudioStream;
+import org.eclipse.smarthome.core.audio.FileAudioStream;
+import org.eclipse.smarthome.core.voice.TTSException;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openhab.voice.ttscache.TTSCache.Synthesizer;
+import org.openhab.voice.ttscache.TTSCacheKey;
+
+/**
+ * Tests for {@link TTSCacheImpl}.
+ *
+ * @author agent - Initial contribution
+ */
+public class TTSCacheImplTest {
+
+    private static final int AUDIO_SIZE = 400 * 1024;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final AtomicInteger synthesized = new AtomicInteger();
+    private final Synthesizer synthesizer = target -> {
+        synthesized.incrementAndGet();
+        Files.write(target.toPath(), new byte[AUDIO_SIZE]);
+    };
+
+    private TTSCacheImpl cache;
+
+    @Before
+    public void setUp() {
+        cache = new TTSCacheImpl(folder.getRoot());
+        Map<String, Object> config = new HashMap<>();
+        config.put(TTSCacheImpl.CONFIG_CACHE_SIZE, 1);
+        cache.activate(config);
+    }
+
+    private AudioStream get(String serviceId, String text) throws Exception {
+        return cache.get(new TTSCacheKey(serviceId, "voice", "wav", text), AudioFormat.WAV, synthesizer);
+    }
+
+    private File getFile(String serviceId, String text) {
+        return new File(folder.getRoot(), new TTSCacheKey(serviceId, "voice", "wav", text).getFileName());
+    }
+
+    @Test
+    public void cachedSpeechIsNotSynthesizedAgain() throws Exception {
+        get("service", "hello").close();
+        get("service", "hello").close();
+        get("service", "hello").close();
+
+        assertThat(synthesized.get(), is(1));
+        assertTrue(getFile("service", "hello").exists());
+    }
+
+    @Test
+    public void leastRecentlyUsedSpeechIsEvicted() throws Exception {
+        get("service", "first").close();
+        get("service", "second").close();
+        // the first text is used again, so the second one is the least recently used
+        get("service", "first").close();
+        get("service", "third").close();
+
+        assertThat(synthesized.get(), is(3));
+        assertTrue(getFile("service", "first").exists());
+        assertFalse(getFile("service", "second").exists());
+        assertTrue(getFile("service", "third").exists());
+    }
+
+    @Test
+    public void evictedSpeechIsDeletedWhenItsStreamIsClosed() throws Exception {
+        AudioStream stream = get("service", "first");
+        get("service", "second").close();
+        get("service", "third").close();
+
+        // the first text is evicted, but its file is still read
+        assertTrue(getFile("service", "first").exists());
+        assertThat(stream.read(), is(0));
+
+        stream.close();
+        assertFalse(getFile("service", "first").exists());
+        assertFalse(new File(folder.getRoot(), getFile("service", "first").getName() + ".txt").exists());
+        stream.close();
+
+        get("service", "first").close();
+        assertThat(synthesized.get(), is(4));
+    }
+
+    @Test
+    public void evictedSpeechIsKeptForClonedStreams() throws Exception {
+        AudioStream stream = get("service", "first");
+        InputStream clonedStream = ((FileAudioStream) stream).getClonedStream();
+        stream.close();
+        get("service", "second").close();
+        get("service", "third").close();
+
+        assertTrue(getFile("service", "first").exists());
+        assertThat(clonedStream.read(), is(0));
+
+        clonedStream.close();
+        assertFalse(getFile("service", "first").exists());
+    }
+
+    @Test
+    public void speechSynthesizedAgainIsNotDeletedByTheStreamOfTheEvictedFile() throws Exception {
+        AudioStream stream = get("service", "first");
+        get("service", "second").close();
+        get("service", "third").close();
+        get("service", "first").close();
+
+        stream.close();
+        assertTrue(getFile("service", "first").exists());
+        get("service", "first").close();
+        assertThat(synthesized.get(), is(4));
+    }
+
+    @Test
+    public void indexIsRebuiltFromTheCacheFolder() throws Exception {
+        get("service", "hello").close();
+
+        setUp();
+        get("service", "hello").close();
+
+        assertThat(synthesized.get(), is(1));
+    }
+
+    @Test
+    public void purgeOnlyRemovesSpeechOfTheService() throws Exception {
+        get("service", "hello").close();
+        get("other", "hello").close();
+
+        cache.purge("service");
+
+        assertFalse(getFile("service", "hello").exists());
+        assertTrue(getFile("other", "hello").exists());
+    }
+
+    @Test(expected = TTSException.class)
+    public void failedSynthesisIsNotCached() throws Exception {
+        try {
+            cache.get(new TTSCacheKey("service", "voice", "wav", "hello"), AudioFormat.WAV, target -> {
+                throw new IOException("failed");
+            });
+        } finally {
+            assertThat(folder.getRoot().list().length, is(0));
+        }
+    }
+}
@@ -14,6 +14,9 @@ package org.openhab.voice.voicerss.internal;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Locale;
@@ -22,16 +25,18 @@ import java.util.Set;
 
 import org.eclipse.smarthome.config.core.ConfigConstants;
 import org.eclipse.smarthome.config.core.ConfigurableService;
-import org.eclipse.smarthome.core.audio.AudioException;
 import org.eclipse.smarthome.core.audio.AudioFormat;
 import org.eclipse.smarthome.core.audio.AudioStream;
 import org.eclipse.smarthome.core.voice.TTSException;
 import org.eclipse.smarthome.core.voice.TTSService;
 import org.eclipse.smarthome.core.voice.Voice;
+import org.openhab.voice.ttscache.TTSCache;
+import org.openhab.voice.ttscache.TTSCacheKey;
 import org.openhab.voice.voicerss.internal.cloudapi.CachedVoiceRSSCloudImpl;
 import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -47,7 +52,7 @@ import org.slf4j.LoggerFactory;
         ConfigurableService.SERVICE_PROPERTY_CATEGORY + "=voice" })
 public class VoiceRSSTTSService implements TTSService {
 
-    /** Cache folder name is below userdata/voicerss/cache. */
+    /** Folder of the prefilled cache is below userdata/voicerss/cache. */
     private static final String CACHE_FOLDER_NAME = "voicerss" + File.separator + "cache";
 
     // API Key comes from ConfigAdmin
@@ -57,10 +62,15 @@ public class VoiceRSSTTSService implements TTSService {
     private final Logger logger = LoggerFactory.getLogger(VoiceRSSTTSService.class);
 
     /**
-     * We need the cached implementation to allow for FixedLengthAudioStream.
+     * The cached implementation provides the files of the prefilled cache.
      */
     private CachedVoiceRSSCloudImpl voiceRssImpl;
 
+    /**
+     * The shared cache allows for FixedLengthAudioStream and saves requests for texts that have been spoken before.
+     */
+    private TTSCache ttsCache;
+
     /**
      * Set of supported voices
      */
@@ -81,7 +91,7 @@ public class VoiceRSSTTSService implements TTSService {
             voices = initVoices();
             audioFormats = initAudioFormats();
 
-            logger.debug("Using VoiceRSS cache folder {}", getCacheFolderName());
+            logger.debug("Using VoiceRSS prefilled cache folder {}", getCacheFolderName());
         } catch (IllegalStateException e) {
             logger.error("Failed to activate VoiceRSS: {}", e.getMessage(), e);
         }
@@ -94,6 +104,15 @@ public class VoiceRSSTTSService implements TTSService {
         }
     }
 
+    @Reference
+    protected void setTTSCache(TTSCache ttsCache) {
+        this.ttsCache = ttsCache;
+    }
+
+    protected void unsetTTSCache(TTSCache ttsCache) {
+        this.ttsCache = null;
+    }
+
     @Override
     public Set<Voice> getAvailableVoices() {
         return Collections.unmodifiableSet(voices);
@@ -136,18 +155,21 @@ public class VoiceRSSTTSService implements TTSService {
 
         // now create the input stream for given text, locale, format. There is
         // only a default voice
-        try {
-            File cacheAudioFile = voiceRssImpl.getTextToSpeechAsFile(apiKey, trimmedText,
-                    voice.getLocale().toLanguageTag(), getApiAudioFormat(requestedFormat));
-            if (cacheAudioFile == null) {
-                throw new TTSException("Could not read from VoiceRSS service");
+        String locale = voice.getLocale().toLanguageTag();
+        String apiAudioFormat = getApiAudioFormat(requestedFormat);
+        TTSCacheKey key = new TTSCacheKey(getId(), voice.getUID(), apiAudioFormat, trimmedText);
+        return ttsCache.get(key, requestedFormat, target -> {
+            File prefilledFile = voiceRssImpl.getCachedFile(trimmedText, locale, apiAudioFormat);
+            if (prefilledFile != null) {
+                Files.copy(prefilledFile.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                return;
             }
-            return new VoiceRSSAudioStream(cacheAudioFile, requestedFormat);
-        } catch (AudioException ex) {
-            throw new TTSException("Could not create AudioStream: " + ex.getMessage(), ex);
-        } catch (IOException ex) {
-            throw new TTSException("Could not read from VoiceRSS service: " + ex.getMessage(), ex);
-        }
+            try (InputStream is = voiceRssImpl.getTextToSpeech(apiKey, trimmedText, locale, apiAudioFormat)) {
+                Files.copy(is, target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException ex) {
+                throw new TTSException("Could not read from VoiceRSS service: " + ex.getMessage(), ex);
+            }
+        });
     }
 
     /**
@@ -55,11 +55,21 @@ public class CachedVoiceRSSCloudImpl extends VoiceRSSCloudImpl {
         }
     }
 
+    /**
+     * Returns the audio file in the cache folder without using the service.
+     *
+     * @return the audio file or null if the text is not cached
+     */
+    public File getCachedFile(String text, String locale, String audioFormat) {
+        File audioFileInCache = getAudioFile(text, locale, audioFormat);
+        return audioFileInCache.exists() ? audioFileInCache : null;
+    }
+
     public File getTextToSpeechAsFile(String apiKey, String text, String locale, String audioFormat)
             throws IOException {
         String fileNameInCache = getUniqueFilenameForText(text, locale);
         // check if in cache
-        File audioFileInCache = new File(cacheFolder, fileNameInCache + "." + audioFormat.toLowerCase());
+        File audioFileInCache = getAudioFile(text, locale, audioFormat);
         if (audioFileInCache.exists()) {
             return audioFileInCache;
         }
@@ -83,6 +93,10 @@ public class CachedVoiceRSSCloudImpl extends VoiceRSSCloudImpl {
         }
     }
 
+    private File getAudioFile(String text, String locale, String audioFormat) {
+        return new File(cacheFolder, getUniqueFilenameForText(text, locale) + "." + audioFormat.toLowerCase());
+    }
+
     /**
      * Gets a unique filename for a give text, by creating a MD5 hash of it. It
      * will be preceded by the locale.